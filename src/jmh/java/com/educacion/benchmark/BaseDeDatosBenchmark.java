@@ -0,0 +1,81 @@
+package com.educacion.benchmark;
+
+import com.educacion.dao.ConnectionLease;
+import com.educacion.dao.ConnectionPool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Base de datos SQLite poblada para un benchmark.
+ * <ul>
+ *     <li>{@code memoria}: una única conexión a una base en memoria; el pool (máximo 1)
+ *     serializa los hilos, como haría cualquier uso seguro de esa conexión.</li>
+ *     <li>{@code archivo}: archivo temporal en modo WAL con varias conexiones.</li>
+ * </ul>
+ */
+public final class BaseDeDatosBenchmark implements AutoCloseable {
+
+    public static final String MEMORIA = "memoria";
+    public static final String ARCHIVO = "archivo";
+
+    private static final int CONEXIONES_ARCHIVO = 8;
+
+    private final ConnectionPool pool;
+    private final Path archivo;
+
+    private BaseDeDatosBenchmark(ConnectionPool pool, Path archivo) {
+        this.pool = pool;
+        this.archivo = archivo;
+    }
+
+    public static BaseDeDatosBenchmark abrir(String almacenamiento, int filas) throws SQLException {
+        BaseDeDatosBenchmark base = switch (almacenamiento) {
+            case MEMORIA -> new BaseDeDatosBenchmark(
+                    new ConnectionPool("jdbc:sqlite::memory:", 1, 1, Duration.ofSeconds(30), Duration.ZERO), null);
+            case ARCHIVO -> {
+                Path archivo = archivoTemporal();
+                yield new BaseDeDatosBenchmark(new ConnectionPool("jdbc:sqlite:" + archivo, 1, CONEXIONES_ARCHIVO,
+                        Duration.ofSeconds(30), Duration.ZERO), archivo);
+            }
+            default -> throw new IllegalArgumentException("Almacenamiento desconocido: " + almacenamiento);
+        };
+        try (ConnectionLease lease = base.pool.lease()) {
+            if (base.archivo != null) {
+                try (Statement stmt = lease.connection().createStatement()) {
+                    stmt.execute("PRAGMA journal_mode=WAL");
+                }
+            }
+            DatosBenchmark.crearTabla(lease.connection());
+            DatosBenchmark.poblar(lease.connection(), filas);
+        }
+        return base;
+    }
+
+    public ConnectionPool pool() {
+        return pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+        if (archivo != null) {
+            Files.deleteIfExists(archivo);
+            Files.deleteIfExists(Path.of(archivo + "-wal"));
+            Files.deleteIfExists(Path.of(archivo + "-shm"));
+        }
+    }
+
+    private static Path archivoTemporal() {
+        try {
+            return Files.createTempFile("estudiantes-bench", ".db");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.educacion.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Datos de prueba compartidos por los benchmarks JMH.
+ */
+public final class DatosBenchmark {
+
+    public static final String[] CURSOS = {
+            "Java Básico", "Spring Framework", "Testing y TDD", "Microservicios", "React y Frontend",
+            "Python", "Bases de Datos", "DevOps"
+    };
+
+    private static final String[] NOMBRES = {
+            "Ana", "Pedro", "María", "Carlos", "Laura", "Juan", "Lucía", "Diego", "Sofía", "Jorge"
+    };
+
+    private static final String[] APELLIDOS = {
+            "García", "López", "Rodríguez", "Mendoza", "Martínez", "Pérez", "Sánchez", "Torres"
+    };
+
+    private DatosBenchmark() {
+    }
+
+    public static void crearTabla(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS estudiantes (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    nombre VARCHAR(100) NOT NULL,
+                    email VARCHAR(150) UNIQUE NOT NULL,
+                    edad INTEGER NOT NULL CHECK (edad >= 18 AND edad <= 100),
+                    curso VARCHAR(200) NOT NULL DEFAULT 'Sin asignar',
+                    fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    activo BOOLEAN DEFAULT TRUE
+                )
+            """);
+        }
+    }
+
+    /** Inserta {@code filas} estudiantes activos con emails únicos en una sola transacción. */
+    public static void poblar(Connection connection, int filas) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "INSERT INTO estudiantes(nombre, email, edad, curso) VALUES(?,?,?,?)")) {
+            for (int i = 0; i < filas; i++) {
+                pstmt.setString(1, nombre(i));
+                pstmt.setString(2, email(i));
+                pstmt.setInt(3, edad(i));
+                pstmt.setString(4, curso(i));
+                pstmt.addBatch();
+                if (i % 10_000 == 9_999) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    public static String nombre(int i) {
+        return NOMBRES[i % NOMBRES.length] + " " + APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length] + " " + i;
+    }
+
+    public static String email(int i) {
+        return "estudiante" + i + "@email.com";
+    }
+
+    public static int edad(int i) {
+        return 18 + i % 60;
+    }
+
+    public static String curso(int i) {
+        return CURSOS[i % CURSOS.length];
+    }
+}
@@ -0,0 +1,90 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas que devuelven Estudiante frente a las que devuelven EstudianteRegistro:
+ * listar toda la tabla y leer por ID a través de CachingEstudianteDAO, con todos los IDs
+ * ya en caché. Con {@code -prof gc} se ven los bytes reservados por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EstudianteRegistroBenchmark {
+
+    @Param({"10000"})
+    public int filas;
+
+    private Connection connection;
+    private EstudianteDAOImpl dao;
+    private CachingEstudianteDAO cache;
+    private long siguienteId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatosBenchmark.crearTabla(connection);
+        DatosBenchmark.poblar(connection, filas);
+        dao = new EstudianteDAOImpl(() -> connection);
+        // Con holgura: cada segmento tiene su propio límite y los IDs no se reparten exactamente igual
+        cache = new CachingEstudianteDAO(dao, 2 * filas, CachingEstudianteDAO.TTL_POR_DEFECTO,
+                CachingEstudianteDAO.TTL_NEGATIVO_POR_DEFECTO);
+        for (long id = 1; id <= filas; id++) {
+            cache.obtenerRegistroPorId(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Estudiante> obtenerTodos() {
+        return dao.obtenerTodos();
+    }
+
+    @Benchmark
+    public List<EstudianteRegistro> obtenerRegistros() {
+        return dao.obtenerRegistros();
+    }
+
+    @Benchmark
+    public Optional<Estudiante> cacheObtenerPorId() {
+        return cache.obtenerPorId(proximoId());
+    }
+
+    @Benchmark
+    public Optional<EstudianteRegistro> cacheObtenerRegistroPorId() {
+        return cache.obtenerRegistroPorId(proximoId());
+    }
+
+    private long proximoId() {
+        siguienteId = siguienteId % filas + 1;
+        return siguienteId;
+    }
+}
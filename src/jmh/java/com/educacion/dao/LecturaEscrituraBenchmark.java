@@ -0,0 +1,124 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas por ID con escrituras concurrentes sobre un archivo en WAL (perfil RAPIDO).
+ * <ul>
+ *     <li>{@code unica}: una sola conexión para todo; las lecturas esperan a las escrituras.</li>
+ *     <li>{@code compartida}: un pool para lecturas y escrituras, sin separar.</li>
+ *     <li>{@code separada}: pool de solo lectura más un escritor serializado.</li>
+ * </ul>
+ * {@code mixto} ejecuta 3 hilos lectores y 1 escritor; {@code soloLecturas} escala con -t.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LecturaEscrituraBenchmark {
+
+    private static final int CONEXIONES_LECTURA = 8;
+
+    @Param({"100000"})
+    public int filas;
+
+    @Param({"unica", "compartida", "separada"})
+    public String conexiones;
+
+    private Path archivo;
+    private ConnectionPool lecturas;
+    private ConnectionPool escrituras;
+    private EstudianteDAO dao;
+
+    @State(Scope.Thread)
+    public static class Hilo {
+        SplittableRandom random;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            random = new SplittableRandom(params.getThreadIndex());
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        archivo = Files.createTempFile("estudiantes-bench", ".db");
+        String url = "jdbc:sqlite:" + archivo;
+        Duration espera = Duration.ofSeconds(30);
+        escrituras = new ConnectionPool(PerfilSqlite.RAPIDO.fabrica(url), 1,
+                "compartida".equals(conexiones) ? CONEXIONES_LECTURA : 1, espera, Duration.ZERO);
+        try (ConnectionLease lease = escrituras.lease()) {
+            DatosBenchmark.crearTabla(lease.connection());
+            DatosBenchmark.poblar(lease.connection(), filas);
+            new SchemaManager().aplicar(lease.connection());
+        }
+        dao = switch (conexiones) {
+            case "unica", "compartida" -> new EstudianteDAOImpl(escrituras);
+            case "separada" -> {
+                lecturas = new ConnectionPool(PerfilSqlite.RAPIDO.fabricaLectura(url), 1, CONEXIONES_LECTURA,
+                        espera, Duration.ZERO);
+                yield new EstudianteDAOImpl(lecturas, escrituras);
+            }
+            default -> throw new IllegalArgumentException("Modo desconocido: " + conexiones);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (lecturas != null) {
+            lecturas.close();
+        }
+        escrituras.close();
+        Files.deleteIfExists(archivo);
+        Files.deleteIfExists(Path.of(archivo + "-wal"));
+        Files.deleteIfExists(Path.of(archivo + "-shm"));
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(3)
+    public Optional<Estudiante> leer(Hilo hilo) {
+        return dao.obtenerPorId(1L + hilo.random.nextInt(filas));
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(1)
+    public boolean escribir(Hilo hilo) {
+        int i = hilo.random.nextInt(filas);
+        return dao.actualizar(new Estudiante(i + 1L, DatosBenchmark.nombre(i), DatosBenchmark.email(i),
+                DatosBenchmark.edad(i), DatosBenchmark.curso(hilo.random.nextInt(filas))));
+    }
+
+    @Benchmark
+    public Optional<Estudiante> soloLecturas(Hilo hilo) {
+        return dao.obtenerPorId(1L + hilo.random.nextInt(filas));
+    }
+}
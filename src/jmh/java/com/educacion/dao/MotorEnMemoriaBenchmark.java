@@ -0,0 +1,92 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas típicas con el DAO de SQLite (en memoria, con los índices de {@link SchemaManager})
+ * frente a {@link InMemoryEstudianteDAO}, con los mismos datos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MotorEnMemoriaBenchmark {
+
+    private static final String CURSO = DatosBenchmark.CURSOS[0];
+
+    @Param({"100000"})
+    public int filas;
+
+    @Param({"sqlite", "memoria"})
+    public String motor;
+
+    private Connection connection;
+    private EstudianteDAO dao;
+
+    @Setup
+    public void setUp() throws SQLException {
+        if (motor.equals("sqlite")) {
+            connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+            SchemaManager schemaManager = new SchemaManager();
+            schemaManager.aplicar(connection);
+            DatosBenchmark.poblar(connection, filas);
+            schemaManager.analizar(connection);
+            dao = new EstudianteDAOImpl(() -> connection);
+        } else {
+            List<Estudiante> estudiantes = new ArrayList<>(filas);
+            for (int i = 0; i < filas; i++) {
+                estudiantes.add(new Estudiante(DatosBenchmark.nombre(i), DatosBenchmark.email(i),
+                        DatosBenchmark.edad(i), DatosBenchmark.curso(i)));
+            }
+            dao = new InMemoryEstudianteDAO();
+            dao.crearTodos(estudiantes, 10_000);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Estudiante> obtenerPorId() {
+        return dao.obtenerPorId(ThreadLocalRandom.current().nextLong(1, filas + 1));
+    }
+
+    /** Primeras 100 filas de un curso, ordenadas por nombre. */
+    @Benchmark
+    public List<Estudiante> primerosDelCurso() {
+        return dao.obtenerPorFiltro(FiltroEstudiantes.builder().curso(CURSO).limite(100).build());
+    }
+
+    @Benchmark
+    public boolean existeEmail() {
+        return dao.existeEmail(DatosBenchmark.email(ThreadLocalRandom.current().nextInt(filas)));
+    }
+}
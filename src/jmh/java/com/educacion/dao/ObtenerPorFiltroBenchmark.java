@@ -0,0 +1,93 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Consultas por curso y edad sobre 1M de filas, con y sin los índices parciales de
+ * {@link SchemaManager}. filtroEnJava es la alternativa sin consulta específica:
+ * recorrer todos los estudiantes y filtrar en memoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObtenerPorFiltroBenchmark {
+
+    private static final String CURSO = DatosBenchmark.CURSOS[0];
+
+    @Param({"1000000"})
+    public int filas;
+
+    @Param({"false", "true"})
+    public boolean indices;
+
+    private Connection connection;
+    private EstudianteDAOImpl dao;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatosBenchmark.crearTabla(connection);
+        DatosBenchmark.poblar(connection, filas);
+        if (indices) {
+            SchemaManager schemaManager = new SchemaManager();
+            schemaManager.aplicar(connection);
+            schemaManager.analizar(connection);
+        }
+        dao = new EstudianteDAOImpl(() -> connection);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /** Curso y edad 18-19: ~8.300 filas de 1M. */
+    @Benchmark
+    public List<Estudiante> cursoYEdad() {
+        return dao.obtenerPorFiltro(FiltroEstudiantes.builder().curso(CURSO).edadEntre(18, 19).build());
+    }
+
+    /** Una sola edad: ~16.700 filas, ordenadas por nombre. */
+    @Benchmark
+    public List<Estudiante> rangoEdad() {
+        return dao.obtenerPorRangoEdad(18, 18);
+    }
+
+    /** Primeras 100 filas de un curso de 125.000: con índice no hace falta ordenar el curso entero. */
+    @Benchmark
+    public List<Estudiante> primerosDelCurso() {
+        return dao.obtenerPorFiltro(FiltroEstudiantes.builder().curso(CURSO).limite(100).build());
+    }
+
+    @Benchmark
+    public List<Estudiante> filtroEnJava() {
+        try (Stream<Estudiante> estudiantes = dao.streamTodos()) {
+            return estudiantes
+                    .filter(e -> CURSO.equals(e.getCurso()) && e.getEdad() >= 18 && e.getEdad() <= 19)
+                    .toList();
+        }
+    }
+}
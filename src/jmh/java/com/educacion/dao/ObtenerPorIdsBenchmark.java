@@ -0,0 +1,81 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lista de un curso: un obtenerPorId por estudiante frente a obtenerPorIds
+ * (IN por bloques con statements reutilizados). Tiempo por lista completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObtenerPorIdsBenchmark {
+
+    @Param({"100000"})
+    public int filas;
+
+    @Param({"10", "100", "1000"})
+    public int tamanoLista;
+
+    private Connection connection;
+    private EstudianteDAOImpl dao;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatosBenchmark.crearTabla(connection);
+        DatosBenchmark.poblar(connection, filas);
+        dao = new EstudianteDAOImpl(() -> connection);
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new ArrayList<>(tamanoLista);
+        for (int i = 0; i < tamanoLista; i++) {
+            ids.add(1L + random.nextInt(filas));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Map<Long, Estudiante> unoPorUno() {
+        Map<Long, Estudiante> estudiantes = new HashMap<>();
+        for (Long id : ids) {
+            dao.obtenerPorId(id).ifPresent(e -> estudiantes.put(id, e));
+        }
+        return estudiantes;
+    }
+
+    @Benchmark
+    public Map<Long, Estudiante> enBloques() {
+        return dao.obtenerPorIds(ids);
+    }
+}
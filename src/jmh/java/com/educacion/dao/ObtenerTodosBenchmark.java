@@ -0,0 +1,97 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * obtenerTodos sobre una tabla de 100k filas: lectura original (SELECT * y columnas
+ * por nombre) frente a la proyección explícita con índices de columna.
+ * El contador "filas" da directamente filas/segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObtenerTodosBenchmark {
+
+    @Param({"100000"})
+    public int filas;
+
+    private Connection connection;
+    private EstudianteDAOImpl dao;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Filas {
+        public long filas;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            filas = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatosBenchmark.crearTabla(connection);
+        DatosBenchmark.poblar(connection, filas);
+        dao = new EstudianteDAOImpl(() -> connection);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /** Lectura tal como estaba antes: SELECT *, getX("columna") y LocalDateTime.now() por fila. */
+    @Benchmark
+    public List<Estudiante> antes(Filas contador) throws SQLException {
+        List<Estudiante> estudiantes = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM estudiantes WHERE activo = TRUE ORDER BY nombre")) {
+            while (rs.next()) {
+                estudiantes.add(new Estudiante(
+                        rs.getLong("id"),
+                        rs.getString("nombre"),
+                        rs.getString("email"),
+                        rs.getInt("edad"),
+                        rs.getString("curso")));
+            }
+        }
+        contador.filas += estudiantes.size();
+        return estudiantes;
+    }
+
+    @Benchmark
+    public List<Estudiante> despues(Filas contador) {
+        List<Estudiante> estudiantes = dao.obtenerTodos();
+        contador.filas += estudiantes.size();
+        return estudiantes;
+    }
+}
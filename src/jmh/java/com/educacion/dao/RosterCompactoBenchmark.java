@@ -0,0 +1,76 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.RosterCompacto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * obtenerTodos frente a obtenerRoster sobre la misma tabla. Con {@code -prof gc}
+ * se ve además cuántos bytes reserva cada uno por llamada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RosterCompactoBenchmark {
+
+    @Param({"100000"})
+    public int filas;
+
+    private Connection connection;
+    private EstudianteDAOImpl dao;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatosBenchmark.crearTabla(connection);
+        DatosBenchmark.poblar(connection, filas);
+        dao = new EstudianteDAOImpl(() -> connection);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Estudiante> obtenerTodos() {
+        return dao.obtenerTodos();
+    }
+
+    @Benchmark
+    public RosterCompacto obtenerRoster() {
+        return dao.obtenerRoster();
+    }
+
+    /** Recorrer una columna del roster, sin crear ningún Estudiante. */
+    @Benchmark
+    public long sumarEdades() {
+        RosterCompacto roster = dao.obtenerRoster();
+        long suma = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            suma += roster.edad(i);
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,94 @@
+package com.educacion.dao;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Altas concurrentes con ShardedEstudianteDAO sobre archivos en WAL, con 1, 2 y 4 shards y
+ * los perfiles RAPIDO y DURABLE. Cada alta solo escribe en el shard de su email, con su
+ * propio escritor, y no toca la base de datos de rutas; con DURABLE cada alta espera además
+ * un fsync de su shard. Para ver el escalado hacen falta al menos tantos núcleos como hilos;
+ * {@code listar} mide el coste de mezclar los shards al leer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ShardedEstudianteDAOBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"RAPIDO", "DURABLE"})
+    public PerfilSqlite perfil;
+
+    @Param({"10000"})
+    public int filas;
+
+    private Path directorio;
+    private ShardedEstudianteDAO dao;
+    private final AtomicLong siguiente = new AtomicLong();
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        directorio = Files.createTempDirectory("estudiantes-shards");
+        dao = ShardedEstudianteDAO.abrir(directorio, shards, perfil);
+        List<Estudiante> iniciales = Stream.generate(this::nuevo).limit(filas).toList();
+        dao.crearTodos(iniciales);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dao.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public Estudiante crear() {
+        return dao.crear(nuevo());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Estudiante> listar() {
+        return dao.obtenerTodos();
+    }
+
+    private Estudiante nuevo() {
+        long n = siguiente.getAndIncrement();
+        int i = (int) (n % filas);
+        // El email lleva el número de secuencia para que nunca se repita
+        return new Estudiante(DatosBenchmark.nombre(i), n + "." + DatosBenchmark.email(i),
+                DatosBenchmark.edad(i), DatosBenchmark.curso(i));
+    }
+}
@@ -0,0 +1,110 @@
+package com.educacion.servicio;
+
+import com.educacion.benchmark.BaseDeDatosBenchmark;
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.dao.EstudianteDAOImpl;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones principales de EstudianteServicio contra SQLite real.
+ * Parámetros: tamaño de la tabla y almacenamiento (memoria / archivo).
+ * La cantidad de hilos se elige al ejecutar con la opción -t de JMH, por ejemplo:
+ * {@code -Djmh.args="EstudianteServicioBenchmark -t 4"}.
+ * Cada método parte de una base recién poblada, porque JMH crea el estado por benchmark.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EstudianteServicioBenchmark {
+
+    @Param({"1000", "100000"})
+    public int filas;
+
+    @Param({BaseDeDatosBenchmark.MEMORIA, BaseDeDatosBenchmark.ARCHIVO})
+    public String almacenamiento;
+
+    private BaseDeDatosBenchmark base;
+    private EstudianteServicio servicio;
+
+    /** Estado por hilo: generador de IDs aleatorios y contador para emails nuevos. */
+    @State(Scope.Thread)
+    public static class Hilo {
+        SplittableRandom random;
+        int hilo;
+        int creados;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            hilo = params.getThreadIndex();
+            random = new SplittableRandom(hilo);
+        }
+
+        long idAleatorio(int filas) {
+            return 1 + random.nextInt(filas);
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        base = BaseDeDatosBenchmark.abrir(almacenamiento, filas);
+        servicio = new EstudianteServicio(new EstudianteDAOImpl(base.pool()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        base.close();
+    }
+
+    @Benchmark
+    public Estudiante crearEstudiante(Hilo hilo) {
+        int n = hilo.creados++;
+        return servicio.crearEstudiante("Nuevo Estudiante " + n, "nuevo-" + hilo.hilo + "-" + n + "@email.com", 25, "Java");
+    }
+
+    @Benchmark
+    public Optional<Estudiante> obtenerEstudiantePorId(Hilo hilo) {
+        return servicio.obtenerEstudiantePorId(hilo.idAleatorio(filas));
+    }
+
+    @Benchmark
+    public List<Estudiante> obtenerTodosLosEstudiantes() {
+        return servicio.obtenerTodosLosEstudiantes();
+    }
+
+    @Benchmark
+    public Estudiante actualizarEstudiante(Hilo hilo) {
+        long id = hilo.idAleatorio(filas);
+        int i = (int) id - 1;
+        // Mantiene el email de la fila para medir el camino habitual (sin cambio de email)
+        return servicio.actualizarEstudiante(id, DatosBenchmark.nombre(i), DatosBenchmark.email(i),
+                18 + hilo.random.nextInt(80), DatosBenchmark.curso(i + 1));
+    }
+
+    @Benchmark
+    public boolean eliminarEstudiante(Hilo hilo) {
+        return servicio.eliminarEstudiante(hilo.idAleatorio(filas));
+    }
+}
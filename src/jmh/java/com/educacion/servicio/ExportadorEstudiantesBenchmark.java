@@ -0,0 +1,107 @@
+package com.educacion.servicio;
+
+import com.educacion.benchmark.BaseDeDatosBenchmark;
+import com.educacion.dao.EstudianteDAOImpl;
+import com.educacion.modelo.Estudiante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Exportar todos los estudiantes de una base en archivo: obtenerTodos y escribir cada fila
+ * con un BufferedWriter, como se hacía antes, frente a ExportadorEstudiantes en sus formatos,
+ * con gzip y repartido en shards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportadorEstudiantesBenchmark {
+
+    @Param({"100000"})
+    public int filas;
+
+    private BaseDeDatosBenchmark base;
+    private EstudianteDAOImpl dao;
+    private ExportadorEstudiantes exportador;
+    private Path directorio;
+
+    @Setup(Level.Trial)
+    public void abrirBase() throws SQLException, IOException {
+        base = BaseDeDatosBenchmark.abrir(BaseDeDatosBenchmark.ARCHIVO, filas);
+        dao = new EstudianteDAOImpl(base.pool());
+        exportador = new ExportadorEstudiantes(dao);
+        directorio = Files.createTempDirectory("exportacion");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarBase() throws IOException {
+        base.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public long obtenerTodosYEscribirCsv() throws IOException {
+        List<Estudiante> estudiantes = dao.obtenerTodos();
+        try (Writer escritor = Files.newBufferedWriter(directorio.resolve("todos.csv"), StandardCharsets.UTF_8)) {
+            escritor.write(ExportadorEstudiantes.CABECERA_CSV);
+            for (Estudiante estudiante : estudiantes) {
+                escritor.write(estudiante.getId() + "," + estudiante.getNombre() + "," + estudiante.getEmail() + ","
+                        + estudiante.getEdad() + "," + estudiante.getCurso() + "," + estudiante.getFechaRegistro() + "\n");
+            }
+        }
+        return estudiantes.size();
+    }
+
+    @Benchmark
+    public long exportarCsv() throws IOException {
+        return exportador.exportar(directorio.resolve("exportado.csv"), ExportadorEstudiantes.Formato.CSV, false);
+    }
+
+    @Benchmark
+    public long exportarNdjson() throws IOException {
+        return exportador.exportar(directorio.resolve("exportado.ndjson"), ExportadorEstudiantes.Formato.NDJSON, false);
+    }
+
+    @Benchmark
+    public long exportarBinario() throws IOException {
+        return exportador.exportar(directorio.resolve("exportado.bin"), ExportadorEstudiantes.Formato.BINARIO, false);
+    }
+
+    @Benchmark
+    public long exportarCsvGzip() throws IOException {
+        return exportador.exportar(directorio.resolve("exportado.csv.gz"), ExportadorEstudiantes.Formato.CSV, true);
+    }
+
+    @Benchmark
+    public int exportarCsvPorShards() throws IOException {
+        return exportador.exportarPorShards(directorio.resolve("shards"), ExportadorEstudiantes.Formato.CSV, false, 4).size();
+    }
+}
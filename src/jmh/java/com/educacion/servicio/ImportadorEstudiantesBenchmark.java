@@ -0,0 +1,103 @@
+package com.educacion.servicio;
+
+import com.educacion.benchmark.BaseDeDatosBenchmark;
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.dao.EstudianteDAOImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importar un CSV de estudiantes: ImportadorEstudiantes frente a leer línea a línea y llamar
+ * a crearEstudiante por fila, la única vía que había antes. Cada invocación parte de una
+ * base vacía, en memoria o en archivo (donde crearEstudiante confirma una transacción por fila).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportadorEstudiantesBenchmark {
+
+    @Param({"20000"})
+    public int filas;
+
+    @Param({BaseDeDatosBenchmark.MEMORIA, BaseDeDatosBenchmark.ARCHIVO})
+    public String almacenamiento;
+
+    @Param({"1", "4"})
+    public int hilos;
+
+    private Path archivo;
+    private BaseDeDatosBenchmark base;
+    private EstudianteDAOImpl dao;
+
+    @Setup(Level.Trial)
+    public void crearArchivo() throws IOException {
+        archivo = Files.createTempFile("estudiantes", ".csv");
+        try (Writer escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write("nombre,email,edad,curso\n");
+            for (int i = 0; i < filas; i++) {
+                escritor.write(DatosBenchmark.nombre(i) + "," + DatosBenchmark.email(i) + ","
+                        + DatosBenchmark.edad(i) + "," + DatosBenchmark.curso(i) + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void abrirBase() throws SQLException {
+        base = BaseDeDatosBenchmark.abrir(almacenamiento, 0);
+        dao = new EstudianteDAOImpl(base.pool());
+    }
+
+    @TearDown(Level.Invocation)
+    public void cerrarBase() throws IOException {
+        base.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void borrarArchivo() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public ImportadorEstudiantes.Progreso importador() throws IOException {
+        return ImportadorEstudiantes.builder(dao).hilos(hilos).build().importar(archivo);
+    }
+
+    @Benchmark
+    public int crearEstudiantePorFila() throws IOException {
+        EstudianteServicio servicio = new EstudianteServicio(dao);
+        int creados = 0;
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            lector.readLine();
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                String[] campos = linea.split(",");
+                servicio.crearEstudiante(campos[0], campos[1], Integer.parseInt(campos[2]), campos[3]);
+                creados++;
+            }
+        }
+        return creados;
+    }
+}
@@ -0,0 +1,141 @@
+package com.educacion.servicio;
+
+import com.educacion.benchmark.DatosBenchmark;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificar y decodificar una lista de estudiantes con EstudianteCodec, con la serialización
+ * de Java y en JSON. Estudiante no es Serializable, así que la serialización de Java usa un
+ * record con los mismos siete campos. El JSON es el de la exportación NDJSON (BufferSalida)
+ * y se lee con el analizador del importador (ParserRegistros), que recorre todas las claves
+ * pero solo se queda con nombre, email, edad y curso.
+ *
+ * <p>Para 1000 estudiantes ocupan: codec 65,5 KB, Java 94,7 KB y JSON 160,3 KB.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializacionEstudianteBenchmark {
+
+    @Param({"1000"})
+    public int estudiantes;
+
+    private List<Estudiante> lista;
+    private ArrayList<EstudianteSerializable> listaSerializable;
+    private ByteBuffer buffer;
+    private ByteBuffer codificado;
+    private byte[] serializado;
+    private byte[] json;
+
+    record EstudianteSerializable(Long id, String nombre, String email, int edad, String curso,
+                                  LocalDateTime fechaRegistro, boolean activo) implements Serializable {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        lista = new ArrayList<>(estudiantes);
+        listaSerializable = new ArrayList<>(estudiantes);
+        LocalDateTime fecha = LocalDateTime.of(2024, 9, 1, 8, 30, 0);
+        for (int i = 0; i < estudiantes; i++) {
+            Estudiante estudiante = new Estudiante((long) i + 1, DatosBenchmark.nombre(i), DatosBenchmark.email(i),
+                    DatosBenchmark.edad(i), DatosBenchmark.curso(i), fecha.plusMinutes(i), true);
+            lista.add(estudiante);
+            listaSerializable.add(new EstudianteSerializable(estudiante.getId(), estudiante.getNombre(),
+                    estudiante.getEmail(), estudiante.getEdad(), estudiante.getCurso(),
+                    estudiante.getFechaRegistro(), estudiante.isActivo()));
+        }
+        buffer = ByteBuffer.allocate(EstudianteCodec.tamano(lista));
+        codificado = ByteBuffer.allocate(buffer.capacity());
+        EstudianteCodec.codificarTodos(lista, codificado);
+        codificado.flip();
+        serializado = javaCodificar();
+        json = jsonCodificar();
+    }
+
+    @Benchmark
+    public int codecCodificar() {
+        buffer.clear();
+        EstudianteCodec.codificarTodos(lista, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public List<Estudiante> codecDecodificar() {
+        return EstudianteCodec.decodificarTodos(codificado.duplicate());
+    }
+
+    @Benchmark
+    public byte[] javaCodificar() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (ObjectOutputStream objetos = new ObjectOutputStream(salida)) {
+            objetos.writeObject(listaSerializable);
+        }
+        return salida.toByteArray();
+    }
+
+    @Benchmark
+    public Object javaDecodificar() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objetos = new ObjectInputStream(new ByteArrayInputStream(serializado))) {
+            return objetos.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonCodificar() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (BufferSalida json = new BufferSalida(Channels.newChannel(salida))) {
+            for (Estudiante estudiante : lista) {
+                json.ascii("{\"id\":").decimal(estudiante.getId())
+                        .ascii(",\"nombre\":").json(estudiante.getNombre())
+                        .ascii(",\"email\":").json(estudiante.getEmail())
+                        .ascii(",\"edad\":").decimal(estudiante.getEdad())
+                        .ascii(",\"curso\":").json(estudiante.getCurso())
+                        .ascii(",\"fecha_registro\":\"").fecha(estudiante.getFechaRegistro())
+                        .ascii("\",\"activo\":").ascii(estudiante.isActivo() ? "true" : "false")
+                        .ascii("}\n");
+            }
+        }
+        return salida.toByteArray();
+    }
+
+    @Benchmark
+    public List<ParserRegistros.Campos> jsonDecodificar() {
+        List<ParserRegistros.Campos> registros = new ArrayList<>(estudiantes);
+        int inicio = 0;
+        for (int i = 0; i < json.length; i++) {
+            if (json[i] == '\n') {
+                registros.add(ParserRegistros.parsearJson(json, inicio, i));
+                inicio = i + 1;
+            }
+        }
+        return registros;
+    }
+}
@@ -0,0 +1,49 @@
+package com.educacion.servicio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * validarDatosEstudiante por sí sola, sin base de datos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidacionBenchmark {
+
+    private EstudianteServicio servicio;
+
+    @Setup
+    public void setUp() {
+        // El DAO no se usa al validar
+        servicio = new EstudianteServicio(null);
+    }
+
+    @Benchmark
+    public void datosValidos() {
+        servicio.validarDatosEstudiante("  María Rodríguez ", "maria.rodriguez@email.com", 25, "Testing y TDD");
+    }
+
+    @Benchmark
+    public String emailInvalido() {
+        try {
+            servicio.validarDatosEstudiante("María Rodríguez", "maria.rodriguez-email.com", 25, "Testing y TDD");
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache for {@link #obtenerPorId(Long)}, {@link #obtenerPorIds(Collection)} and
+ * {@link #obtenerRegistroPorId(long)} in front of another EstudianteDAO.
+ * Entries expire after a TTL and the least recently used ones are evicted once the
+ * size bound is reached. Missing ids are cached too, with their own (shorter) TTL.
+ * Every write through this DAO invalidates the ids it touches.
+ *
+ * <p>The cache is split into segments, each an LRU map guarded by its own lock.
+ * Students are cached as immutable {@link EstudianteRegistro}s: obtenerRegistroPorId returns
+ * the cached instance itself, while obtenerPorId and obtenerPorIds build a new Estudiante
+ * from it, so callers may mutate what they get back. The entry also keeps the registration
+ * date as a LocalDateTime, built once when it is stored, so a hit only allocates the
+ * Estudiante. Registration dates are kept to the millisecond (the SQLite DAO stores whole seconds).
+ */
+public class CachingEstudianteDAO extends DelegatingEstudianteDAO {
+
+    public static final int MAX_ENTRADAS_POR_DEFECTO = 10_000;
+    public static final Duration TTL_POR_DEFECTO = Duration.ofMinutes(5);
+    public static final Duration TTL_NEGATIVO_POR_DEFECTO = Duration.ofSeconds(30);
+
+    private static final int MAX_SEGMENTOS = 16;
+    private static final int ENTRADAS_MINIMAS_POR_SEGMENTO = 64;
+
+    /** Counters since the cache was created; {@code size} is the current number of entries. */
+    public record Stats(long hits, long misses, long evictions, long size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final Segmento[] segmentos;
+    private final long ttlNanos;
+    private final long ttlNegativoNanos;
+    private final LongSupplier reloj;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingEstudianteDAO(EstudianteDAO delegate) {
+        this(delegate, MAX_ENTRADAS_POR_DEFECTO, TTL_POR_DEFECTO, TTL_NEGATIVO_POR_DEFECTO);
+    }
+
+    public CachingEstudianteDAO(EstudianteDAO delegate, int maxEntradas, Duration ttl, Duration ttlNegativo) {
+        this(delegate, maxEntradas, ttl, ttlNegativo, System::nanoTime);
+    }
+
+    CachingEstudianteDAO(EstudianteDAO delegate, int maxEntradas, Duration ttl, Duration ttlNegativo, LongSupplier reloj) {
+        super(delegate);
+        if (maxEntradas <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntradas);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.ttlNegativoNanos = ttlNegativo.toNanos();
+        this.reloj = reloj;
+
+        int cantidad = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTOS, maxEntradas / ENTRADAS_MINIMAS_POR_SEGMENTO)));
+        this.segmentos = new Segmento[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            int capacidad = maxEntradas / cantidad + (i < maxEntradas % cantidad ? 1 : 0);
+            segmentos[i] = new Segmento(capacidad);
+        }
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        if (id == null) {
+            return delegate.obtenerPorId(null);
+        }
+        Segmento segmento = segmentoDe(id);
+        long generacion;
+        synchronized (segmento) {
+            Entrada entrada = segmento.get(id);
+            if (entrada != null) {
+                if (reloj.getAsLong() - entrada.expiraEn < 0) {
+                    hits.increment();
+                    return Optional.ofNullable(entrada.estudiante());
+                }
+                segmento.remove(id);
+            }
+            generacion = segmento.generacion;
+        }
+
+        misses.increment();
+        Optional<Estudiante> cargado = delegate.obtenerPorId(id);
+        guardar(id, generacion, cargado.map(EstudianteRegistro::desde).orElse(null));
+        return cargado;
+    }
+
+    /** Like obtenerPorId, but a hit returns the cached record itself, without allocating. */
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        Segmento segmento = segmentoDe(id);
+        long generacion;
+        synchronized (segmento) {
+            Entrada entrada = segmento.get(id);
+            if (entrada != null) {
+                if (reloj.getAsLong() - entrada.expiraEn < 0) {
+                    hits.increment();
+                    return Optional.ofNullable(entrada.registro);
+                }
+                segmento.remove(id);
+            }
+            generacion = segmento.generacion;
+        }
+
+        misses.increment();
+        Optional<EstudianteRegistro> cargado = delegate.obtenerRegistroPorId(id);
+        guardar(id, generacion, cargado.orElse(null));
+        return cargado;
+    }
+
+    /** Caches a loaded value (null for a missing id) unless a write touched its segment meanwhile. */
+    private void guardar(Long id, long generacion, EstudianteRegistro cargado) {
+        Segmento segmento = segmentoDe(id);
+        synchronized (segmento) {
+            // A write invalidated this segment while we were loading: the value may be stale.
+            if (segmento.generacion == generacion) {
+                long ttl = cargado != null ? ttlNanos : ttlNegativoNanos;
+                if (ttl > 0) {
+                    segmento.put(id, new Entrada(cargado, reloj.getAsLong() + ttl));
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves the cached ids and loads all the others with a single call to the wrapped DAO.
+     * Ids that turn out not to exist are cached as negative entries, like in obtenerPorId.
+     */
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        Map<Long, Estudiante> resultado = new LinkedHashMap<>();
+        Map<Long, Long> generaciones = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        long ahora = reloj.getAsLong();
+        for (Long id : ids) {
+            if (id == null || !vistos.add(id)) {
+                continue;
+            }
+            Segmento segmento = segmentoDe(id);
+            synchronized (segmento) {
+                Entrada entrada = segmento.get(id);
+                if (entrada != null && ahora - entrada.expiraEn < 0) {
+                    hits.increment();
+                    if (entrada.registro != null) {
+                        resultado.put(id, entrada.estudiante());
+                    }
+                    continue;
+                }
+                if (entrada != null) {
+                    segmento.remove(id);
+                }
+                generaciones.put(id, segmento.generacion);
+            }
+            misses.increment();
+            faltantes.add(id);
+        }
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        Map<Long, Estudiante> cargados = delegate.obtenerPorIds(faltantes);
+        for (Long id : faltantes) {
+            Estudiante cargado = cargados.get(id);
+            guardar(id, generaciones.get(id), cargado == null ? null : EstudianteRegistro.desde(cargado));
+        }
+        if (resultado.isEmpty()) {
+            return cargados;
+        }
+        // Rebuild in the order of the request, mixing cached and loaded students.
+        Map<Long, Estudiante> ordenado = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Estudiante estudiante = id == null ? null : resultado.getOrDefault(id, cargados.get(id));
+            if (estudiante != null) {
+                ordenado.putIfAbsent(id, estudiante);
+            }
+        }
+        return ordenado;
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        Estudiante creado = delegate.crear(estudiante);
+        invalidar(creado.getId());
+        return creado;
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        Optional<Estudiante> creado = delegate.crearSiEmailLibre(estudiante);
+        creado.ifPresent(c -> invalidar(c.getId()));
+        return creado;
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        ResultadoLote resultado = delegate.crearTodos(estudiantes, tamanoLote);
+        resultado.getCreados().forEach(creado -> invalidar(creado.getId()));
+        return resultado;
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        try {
+            return delegate.actualizar(estudiante);
+        } finally {
+            invalidar(estudiante.getId());
+        }
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        try {
+            return delegate.actualizarYObtener(estudiante, esperado);
+        } finally {
+            invalidar(estudiante.getId());
+        }
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
+        try {
+            return delegate.eliminar(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    /** Drops the cached entry (positive or negative) for this id. */
+    public void invalidar(Long id) {
+        if (id == null) {
+            return;
+        }
+        Segmento segmento = segmentoDe(id);
+        synchronized (segmento) {
+            segmento.remove(id);
+            segmento.generacion++;
+        }
+    }
+
+    public void invalidarTodo() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+                segmento.generacion++;
+            }
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                size += segmento.size();
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segmento segmentoDe(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return segmentos[(int) (h >>> 32) & (segmentos.length - 1)];
+    }
+
+    /**
+     * A cached lookup; {@code registro} is null for an id known not to exist.
+     * LocalDateTime is immutable, so every Estudiante built from the entry can share {@code fechaRegistro}.
+     */
+    private record Entrada(EstudianteRegistro registro, LocalDateTime fechaRegistro, long expiraEn) {
+
+        Entrada(EstudianteRegistro registro, long expiraEn) {
+            this(registro, registro == null ? null : registro.fechaRegistro(), expiraEn);
+        }
+
+        /** A new Estudiante with the cached data, or null for a negative entry. */
+        Estudiante estudiante() {
+            if (registro == null) {
+                return null;
+            }
+            return new Estudiante(registro.id(), registro.nombre(), registro.email(), registro.edad(),
+                    registro.curso(), fechaRegistro, registro.activo());
+        }
+    }
+
+    private final class Segmento extends LinkedHashMap<Long, Entrada> {
+
+        private final int capacidad;
+        private long generacion;
+
+        private Segmento(int capacidad) {
+            super(16, 0.75f, true);
+            this.capacidad = capacidad;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entrada> eldest) {
+            if (size() > capacidad) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.educacion.dao;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A connection borrowed for the duration of a try-with-resources block.
+ * Closing the lease hands the connection back to whoever lent it;
+ * it never closes the underlying JDBC connection itself.
+ */
+public final class ConnectionLease implements AutoCloseable {
+
+    private static final Runnable SIN_DEVOLUCION = () -> { };
+
+    private final Connection connection;
+    private final boolean exclusiva;
+    private final Runnable devolucion;
+    private final AtomicBoolean devuelta = new AtomicBoolean();
+    // Locks taken through retener, released when the lease is closed.
+    private List<Lock> retenidos;
+
+    ConnectionLease(Connection connection, Runnable devolucion) {
+        this(connection, true, devolucion);
+    }
+
+    /**
+     * @param exclusiva whether no other thread can use the connection while the lease is open
+     */
+    ConnectionLease(Connection connection, boolean exclusiva, Runnable devolucion) {
+        this.connection = connection;
+        this.exclusiva = exclusiva;
+        this.devolucion = devolucion;
+    }
+
+    /**
+     * Wraps a connection whose lifecycle is managed by the caller.
+     * Closing the lease is a no-op, and the connection may be shared with other threads.
+     */
+    static ConnectionLease unmanaged(Connection connection) {
+        return new ConnectionLease(connection, false, SIN_DEVOLUCION);
+    }
+
+    public Connection connection() {
+        if (devuelta.get()) {
+            throw new IllegalStateException("Connection lease already returned");
+        }
+        return connection;
+    }
+
+    /** True for pooled leases: the connection is this lease's alone until it is returned. */
+    boolean exclusiva() {
+        return exclusiva;
+    }
+
+    /** Takes the lock, unless this lease already holds it, and keeps it until the lease is closed. */
+    void retener(Lock lock) {
+        if (retenidos == null) {
+            retenidos = new ArrayList<>(1);
+        } else if (retenidos.contains(lock)) {
+            return;
+        }
+        lock.lock();
+        retenidos.add(lock);
+    }
+
+    @Override
+    public void close() {
+        if (devuelta.compareAndSet(false, true)) {
+            try {
+                if (retenidos != null) {
+                    retenidos.forEach(Lock::unlock);
+                }
+            } finally {
+                devolucion.run();
+            }
+        }
+    }
+}
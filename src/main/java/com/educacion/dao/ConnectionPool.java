@@ -0,0 +1,298 @@
+package com.educacion.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of JDBC connections.
+ * Implements the {@code Supplier<Connection>} contract expected by {@link EstudianteDAOImpl}:
+ * connections handed out by {@link #get()} go back to the pool when they are closed.
+ * Code that can use try-with-resources should prefer {@link #lease()}.
+ */
+public class ConnectionPool implements Supplier<Connection>, AutoCloseable {
+
+    /** Opens a new physical connection. */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /** Point-in-time view of the pool counters. */
+    public record Metrics(int active, int idle, int total, long borrows, long timeouts,
+                          long totalWaitNanos, long maxWaitNanos) {
+
+        public long averageWaitNanos() {
+            return borrows == 0 ? 0 : totalWaitNanos / borrows;
+        }
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long idleTimeoutNanos;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    public ConnectionPool(String jdbcUrl, int minSize, int maxSize, Duration borrowTimeout, Duration idleTimeout) {
+        this(() -> DriverManager.getConnection(jdbcUrl), minSize, maxSize, borrowTimeout, idleTimeout);
+    }
+
+    /**
+     * @param idleTimeout connections idle for longer than this are closed, as long as
+     *                    at least {@code minSize} remain open; {@code Duration.ZERO} disables eviction
+     */
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, Duration borrowTimeout, Duration idleTimeout) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutNanos = borrowTimeout.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.permits = new Semaphore(maxSize, true);
+
+        try {
+            for (int i = 0; i < minSize; i++) {
+                idle.offerLast(abrir());
+            }
+        } catch (SQLException e) {
+            close();
+            throw new RuntimeException("Error opening pooled connections: " + e.getMessage(), e);
+        }
+
+        if (idleTimeoutNanos > 0) {
+            long periodo = Math.max(idleTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(10));
+            evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "connection-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleWithFixedDelay(this::evictIdle, periodo, periodo, TimeUnit.NANOSECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting at most the configured borrow timeout.
+     * Idle connections are validated before being handed out.
+     *
+     * @throws SQLTimeoutException if no connection became available in time
+     */
+    public ConnectionLease lease() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long inicio = System.nanoTime();
+        boolean adquirido;
+        try {
+            adquirido = permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        registrarEspera(System.nanoTime() - inicio);
+        if (!adquirido) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + Duration.ofNanos(borrowTimeoutNanos)
+                    + " waiting for a connection (max pool size " + maxSize + ")");
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = tomarValida();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        active.incrementAndGet();
+        return new ConnectionLease(pooled.connection, () -> devolver(pooled));
+    }
+
+    /**
+     * Supplier contract: returns a pooled connection that goes back to the pool
+     * when {@link Connection#close()} is called on it.
+     */
+    @Override
+    public Connection get() {
+        ConnectionLease lease;
+        try {
+            lease = lease();
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not borrow a connection: " + e.getMessage(), e);
+        }
+        Connection fisica = lease.connection();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        lease.close();
+                        yield null;
+                    }
+                    case "isClosed" -> {
+                        try {
+                            lease.connection();
+                            yield fisica.isClosed();
+                        } catch (IllegalStateException e) {
+                            yield true;
+                        }
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Pooled" + fisica;
+                    default -> {
+                        try {
+                            yield method.invoke(lease.connection(), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    /** Upper bound of open connections; also the useful limit of concurrent callers. */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public Metrics metrics() {
+        return new Metrics(active.get(), idle.size(), total.get(), borrows.sum(), timeouts.sum(),
+                totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    /**
+     * Closes every idle connection and stops the evictor.
+     * Connections currently leased are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destruir(pooled);
+        }
+    }
+
+    private PooledConnection tomarValida() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (esValida(pooled.connection)) {
+                return pooled;
+            }
+            destruir(pooled);
+        }
+        return abrir();
+    }
+
+    private void devolver(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            if (closed || !restablecer(pooled.connection)) {
+                destruir(pooled);
+            } else {
+                pooled.ultimoUso = System.nanoTime();
+                // LIFO: the most recently used connection is the next one handed out,
+                // which leaves the rest to age out through idle eviction.
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean restablecer(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long ahora = System.nanoTime();
+        for (PooledConnection pooled : idle) {
+            if (total.get() <= minSize) {
+                return;
+            }
+            if (ahora - pooled.ultimoUso > idleTimeoutNanos && idle.remove(pooled)) {
+                destruir(pooled);
+            }
+        }
+    }
+
+    private PooledConnection abrir() throws SQLException {
+        PooledConnection pooled = new PooledConnection(factory.open());
+        total.incrementAndGet();
+        return pooled;
+    }
+
+    private void destruir(PooledConnection pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+            // The connection is being discarded anyway.
+        }
+    }
+
+    private boolean esValida(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void registrarEspera(long nanos) {
+        borrows.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static final class PooledConnection {
+        private final Connection connection;
+        private volatile long ultimoUso = System.nanoTime();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
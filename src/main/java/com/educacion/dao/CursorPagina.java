@@ -0,0 +1,14 @@
+package com.educacion.dao;
+
+/**
+ * Position after the last row of a page, in {@code ORDER BY nombre, id} order.
+ * Pass it back to {@link EstudianteDAO#obtenerPagina(CursorPagina, int)} to read the next page.
+ */
+public record CursorPagina(String nombre, long id) {
+
+    public CursorPagina {
+        if (nombre == null) {
+            throw new IllegalArgumentException("Cursor nombre is required");
+        }
+    }
+}
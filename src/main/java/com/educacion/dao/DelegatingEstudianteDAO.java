@@ -0,0 +1,122 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Base class for EstudianteDAO decorators.
+ * Forwards every operation to the wrapped DAO so subclasses only override
+ * the operations they add behaviour to.
+ */
+public abstract class DelegatingEstudianteDAO implements EstudianteDAO {
+
+    protected final EstudianteDAO delegate;
+
+    protected DelegatingEstudianteDAO(EstudianteDAO delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate DAO is required");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        return delegate.crear(estudiante);
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        return delegate.obtenerPorId(id);
+    }
+
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        return delegate.obtenerPorIds(ids);
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        return delegate.obtenerTodos();
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        return delegate.obtenerPorFiltro(filtro);
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        return delegate.actualizar(estudiante);
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
+        return delegate.eliminar(id);
+    }
+
+    @Override
+    public boolean existeEmail(String email) {
+        return delegate.existeEmail(email);
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        return delegate.crearSiEmailLibre(estudiante);
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        return delegate.actualizarYObtener(estudiante, esperado);
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        return delegate.crearTodos(estudiantes, tamanoLote);
+    }
+
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        return delegate.obtenerPagina(cursor, limite);
+    }
+
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        return delegate.streamTodos(fetchSize);
+    }
+
+    @Override
+    public RosterCompacto obtenerRoster() {
+        return delegate.obtenerRoster();
+    }
+
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        return delegate.streamPorRangoId(idDesde, idHasta, fetchSize);
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        return delegate.obtenerIdMaximo();
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        return delegate.obtenerRegistroPorId(id);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistros() {
+        return delegate.obtenerRegistros();
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        return delegate.obtenerRegistrosPorFiltro(filtro);
+    }
+}
@@ -0,0 +1,138 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Answers {@link #existeEmail(String)} from memory instead of querying the database.
+ * The index holds the emails of the active students: it is loaded once from the wrapped
+ * DAO on construction and kept up to date by the write methods of this decorator.
+ * Writes made through other DAO instances are not seen, so every writer to the
+ * {@code estudiantes} table should go through the same decorated DAO.
+ *
+ * <p>Emails are compared exactly, like the UNIQUE constraint on the column does.
+ * The database constraint remains the source of truth for concurrent inserts.
+ */
+public class EmailIndexedEstudianteDAO extends DelegatingEstudianteDAO {
+
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> emailPorId = new ConcurrentHashMap<>();
+    private final Object escritura = new Object();
+
+    public EmailIndexedEstudianteDAO(EstudianteDAO delegate) {
+        super(delegate);
+        recargar();
+    }
+
+    /** Rebuilds the index from the active rows of the wrapped DAO. */
+    public void recargar() {
+        synchronized (escritura) {
+            emails.clear();
+            emailPorId.clear();
+            try (Stream<Estudiante> estudiantes = delegate.streamTodos()) {
+                estudiantes.forEach(this::registrar);
+            }
+        }
+    }
+
+    @Override
+    public boolean existeEmail(String email) {
+        return email != null && emails.contains(email);
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        Estudiante creado = delegate.crear(estudiante);
+        synchronized (escritura) {
+            registrar(creado);
+        }
+        return creado;
+    }
+
+    /**
+     * An email already in the index is rejected without reaching the database,
+     * which would refuse it anyway; the rest go to the atomic insert.
+     */
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        if (existeEmail(estudiante.getEmail())) {
+            return Optional.empty();
+        }
+        Optional<Estudiante> creado = delegate.crearSiEmailLibre(estudiante);
+        creado.ifPresent(c -> {
+            synchronized (escritura) {
+                registrar(c);
+            }
+        });
+        return creado;
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        ResultadoLote resultado = delegate.crearTodos(estudiantes, tamanoLote);
+        synchronized (escritura) {
+            resultado.getCreados().forEach(this::registrar);
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        boolean actualizado = delegate.actualizar(estudiante);
+        if (actualizado) {
+            synchronized (escritura) {
+                reemplazar(estudiante);
+            }
+        }
+        return actualizado;
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        ResultadoActualizacion resultado = delegate.actualizarYObtener(estudiante, esperado);
+        if (resultado.isActualizado()) {
+            synchronized (escritura) {
+                reemplazar(resultado.estudiante());
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
+        boolean eliminado = delegate.eliminar(id);
+        if (eliminado) {
+            synchronized (escritura) {
+                String anterior = emailPorId.remove(id);
+                if (anterior != null) {
+                    emails.remove(anterior);
+                }
+            }
+        }
+        return eliminado;
+    }
+
+    public int size() {
+        return emails.size();
+    }
+
+    private void reemplazar(Estudiante estudiante) {
+        String anterior = emailPorId.remove(estudiante.getId());
+        if (anterior != null) {
+            emails.remove(anterior);
+        }
+        registrar(estudiante);
+    }
+
+    private void registrar(Estudiante estudiante) {
+        if (estudiante.getId() != null && estudiante.getEmail() != null) {
+            emailPorId.put(estudiante.getId(), estudiante.getEmail());
+            emails.add(estudiante.getEmail());
+        }
+    }
+}
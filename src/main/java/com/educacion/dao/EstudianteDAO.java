@@ -1,18 +1,143 @@
 package com.educacion.dao;
 
 import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for Data Access Object for Estudiante.
  * Defines the contract for persistence operations.
  */
 public interface EstudianteDAO {
+
+    /** Number of rows committed together by {@link #crearTodos(Collection)}. */
+    int TAMANO_LOTE_POR_DEFECTO = 500;
+
+    /** Rows requested from the driver at a time by {@link #streamTodos()}. */
+    int FETCH_SIZE_POR_DEFECTO = 1_000;
+
     Estudiante crear(Estudiante estudiante);
     Optional<Estudiante> obtenerPorId(Long id);
+
+    /**
+     * Looks up several active students at once with {@code WHERE id IN (...)} queries,
+     * instead of one round trip per id. Ids that do not exist (or are inactive) are
+     * left out of the result, which follows the order of {@code ids}.
+     */
+    Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids);
+
+    /** The active students ordered by nombre and id. */
     List<Estudiante> obtenerTodos();
+
+    /**
+     * Active students matching every criterion present in {@code filtro},
+     * ordered by nombre and id. Backed by the partial indexes of {@link SchemaManager}.
+     */
+    List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro);
+
+    default List<Estudiante> obtenerPorCurso(String curso) {
+        return obtenerPorFiltro(FiltroEstudiantes.builder().curso(curso).build());
+    }
+
+    /** Both bounds are inclusive. */
+    default List<Estudiante> obtenerPorRangoEdad(int edadMinima, int edadMaxima) {
+        return obtenerPorFiltro(FiltroEstudiantes.builder().edadEntre(edadMinima, edadMaxima).build());
+    }
+
     boolean actualizar(Estudiante estudiante);
     boolean eliminar(Long id);
     boolean existeEmail(String email);
+
+    /**
+     * Inserts the student unless its email is already taken, in a single statement.
+     * Returns the created student with its generated id, or empty when the email
+     * belongs to another row (active or not). Unlike {@code existeEmail} + {@code crear}
+     * this cannot race with a concurrent insert of the same email.
+     */
+    Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante);
+
+    /**
+     * Updates nombre, email, edad and curso of the active student with the id of
+     * {@code estudiante} and returns the stored row, in a single statement.
+     * When {@code esperado} is not null the update only applies if the row still holds
+     * the values of {@code esperado} (compare-and-set), so a concurrent change is
+     * reported instead of silently overwritten. A duplicate email is detected by the
+     * UNIQUE constraint and reported as {@code CONFLICTO_EMAIL}.
+     */
+    ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado);
+
+    /**
+     * Inserts all the students, committing once every {@code tamanoLote} rows.
+     * Generated ids are written back into each created Estudiante; rows that
+     * cannot be inserted are reported in the result instead of aborting the batch.
+     */
+    ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote);
+
+    default ResultadoLote crearTodos(Collection<Estudiante> estudiantes) {
+        return crearTodos(estudiantes, TAMANO_LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * Returns up to {@code limite} active students ordered by nombre and id,
+     * starting right after {@code cursor} (or from the beginning when it is null).
+     */
+    Pagina obtenerPagina(CursorPagina cursor, int limite);
+
+    /**
+     * Streams the active students in the same order as {@link #obtenerTodos()},
+     * mapping rows lazily from the database cursor.
+     * The stream holds a connection until it is closed, so use it in try-with-resources.
+     */
+    Stream<Estudiante> streamTodos(int fetchSize);
+
+    default Stream<Estudiante> streamTodos() {
+        return streamTodos(FETCH_SIZE_POR_DEFECTO);
+    }
+
+    /**
+     * Streams the active students with {@code idDesde <= id < idHasta}, ordered by id.
+     * Disjoint ranges can be read in parallel (one connection each), which is how an export
+     * is split into shards. Close the stream, as with {@link #streamTodos(int)}.
+     */
+    Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize);
+
+    /** Highest id ever assigned, including deleted students; 0 when the table is empty. */
+    long obtenerIdMaximo();
+
+    /**
+     * The active students of {@link #obtenerTodos()}, in the same order, stored column by
+     * column instead of as one Estudiante per row. The default builds it from
+     * {@link #streamTodos()}; implementations may fill it without creating the Estudiante.
+     */
+    default RosterCompacto obtenerRoster() {
+        RosterCompacto.Builder roster = RosterCompacto.builder();
+        try (Stream<Estudiante> estudiantes = streamTodos()) {
+            estudiantes.forEach(roster::agregar);
+        }
+        return roster.build();
+    }
+
+    /**
+     * {@link #obtenerPorId(Long)} as an immutable {@link EstudianteRegistro}, which can be
+     * shared and cached without copying. The defaults of the {@code *Registro*} methods
+     * convert the Estudiante; implementations may map the row directly.
+     */
+    default Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        return obtenerPorId(id).map(EstudianteRegistro::desde);
+    }
+
+    /** {@link #obtenerTodos()} as immutable records, in the same order. */
+    default List<EstudianteRegistro> obtenerRegistros() {
+        return obtenerTodos().stream().map(EstudianteRegistro::desde).toList();
+    }
+
+    /** {@link #obtenerPorFiltro(FiltroEstudiantes)} as immutable records, in the same order. */
+    default List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        return obtenerPorFiltro(filtro).stream().map(EstudianteRegistro::desde).toList();
+    }
 }
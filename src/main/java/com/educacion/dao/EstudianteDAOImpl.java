@@ -1,29 +1,142 @@
 package com.educacion.dao;
 
 import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * SQLite implementation of {@link EstudianteDAO}.
+ *
+ * <p>It can take a single connection source for everything or, for a file database in WAL
+ * mode, separate sources for reads and writes
+ * ({@link #EstudianteDAOImpl(Supplier, Supplier)}). With the split:
+ * <ul>
+ *   <li>Reads ({@code obtener*}, {@code streamTodos}, {@code existeEmail}) borrow a
+ *       connection from the read source, typically a pool opened with
+ *       {@link PerfilSqlite#fabricaLectura(String)}. They never wait for writes: WAL gives each
+ *       statement a snapshot of the last committed state.</li>
+ *   <li>Writes are serialized in this DAO and go through the write source one at a time,
+ *       so they never compete for SQLite's single write lock.</li>
+ *   <li>Every write is committed before its method returns, so any read that starts afterwards,
+ *       on any thread, sees it. A read that overlaps a write sees the state before or after
+ *       it, never a partial write.</li>
+ *   <li>A single statement reads one snapshot; methods that run several statements
+ *       ({@code obtenerPorIds} over 512 ids, {@code obtenerPagina} across pages) may see
+ *       writes committed in between. {@code streamTodos} keeps one snapshot until it is closed,
+ *       which also keeps SQLite from checkpointing past it: close streams promptly.</li>
+ * </ul>
+ * Separate sources need a file database: every connection to {@code jdbc:sqlite::memory:}
+ * opens its own empty database.
+ */
 public class EstudianteDAOImpl implements EstudianteDAO {
 
-    private final Supplier<Connection> connectionSupplier;
+    // Explicit projection: the column order below is what mapRowToEstudiante reads by index.
+    private static final String COLUMNAS = "id, nombre, email, edad, curso, fecha_registro, activo";
+    private static final int COL_ID = 1;
+    private static final int COL_NOMBRE = 2;
+    private static final int COL_EMAIL = 3;
+    private static final int COL_EDAD = 4;
+    private static final int COL_CURSO = 5;
+    private static final int COL_FECHA_REGISTRO = 6;
+    private static final int COL_ACTIVO = 7;
+
+    private static final String SQL_INSERTAR = "INSERT INTO estudiantes(nombre, email, edad, curso) VALUES(?,?,?,?)";
+    private static final String SQL_INSERTAR_SI_EMAIL_LIBRE =
+            "INSERT INTO estudiantes(nombre, email, edad, curso) VALUES(?,?,?,?) ON CONFLICT(email) DO NOTHING RETURNING id";
+    private static final String SQL_ULTIMO_ID = "SELECT last_insert_rowid()";
+    private static final String SQL_POR_ID = "SELECT " + COLUMNAS + " FROM estudiantes WHERE id = ? AND activo = TRUE";
+    private static final String SQL_POR_IDS = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE AND id IN (";
+    // Chunk sizes for obtenerPorIds: powers of two up to 512, below SQLite's limit
+    // of host parameters per statement (999 in older builds). Each chunk is padded
+    // up to the next size, so only these few statements are ever compiled and cached.
+    private static final int MAX_IDS_POR_CONSULTA = 512;
+    private static final String[] SQL_POR_IDS_POR_TAMANO = sqlPorIdsPorTamano();
+    // Ties on nombre are broken by id, the order ShardedEstudianteDAO merges shards in.
+    private static final String SQL_TODOS = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE ORDER BY nombre, id";
+    private static final String SQL_RANGO_ID = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE AND id >= ? AND id < ? ORDER BY id";
+    private static final String SQL_ID_MAXIMO = "SELECT COALESCE(MAX(id), 0) FROM estudiantes";
+    private static final String SQL_FILTRO = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE";
+    private static final String SQL_PRIMERA_PAGINA = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE ORDER BY nombre, id LIMIT ?";
+    private static final String SQL_PAGINA = "SELECT " + COLUMNAS + " FROM estudiantes WHERE activo = TRUE AND (nombre, id) > (?, ?) ORDER BY nombre, id LIMIT ?";
+    private static final String SQL_ACTUALIZAR = "UPDATE estudiantes SET nombre = ?, email = ?, edad = ?, curso = ? WHERE id = ? AND activo = TRUE";
+    private static final String SQL_ACTUALIZAR_Y_OBTENER = "UPDATE estudiantes SET nombre = ?, email = ?, edad = ?, curso = ?"
+            + " WHERE id = ? AND activo = TRUE RETURNING " + COLUMNAS;
+    private static final String SQL_ACTUALIZAR_SI_SIN_CAMBIOS = "UPDATE estudiantes SET nombre = ?, email = ?, edad = ?, curso = ?"
+            + " WHERE id = ? AND activo = TRUE AND nombre = ? AND email = ? AND edad = ? AND curso = ? RETURNING " + COLUMNAS;
+    private static final String SQL_EXISTE_ACTIVO = "SELECT 1 FROM estudiantes WHERE id = ? AND activo = TRUE";
+    private static final String SQL_ELIMINAR = "UPDATE estudiantes SET activo = FALSE WHERE id = ?";
+    private static final String SQL_EXISTE_EMAIL = "SELECT 1 FROM estudiantes WHERE email = ? AND activo = TRUE";
+
+    // Upper bound on the SQL shapes prepared through the statement cache: the fixed
+    // statements above (SQL_FILTRO is only a prefix), one per obtenerPorIds chunk size
+    // and one per combination of the four optional criteria in listarPorFiltro. Some
+    // filter shapes have the same text as a fixed statement and share its entry.
+    private static final int SENTENCIAS_FIJAS = 14;
+    private static final int FORMAS_FILTRO = 1 << 4;
+
+    /**
+     * Statements kept compiled per connection when no size is given: room for every SQL
+     * shape this DAO prepares, so a mixed workload never evicts and re-prepares a statement.
+     */
+    public static final int STATEMENTS_POR_CONEXION_POR_DEFECTO =
+            SENTENCIAS_FIJAS + SQL_POR_IDS_POR_TAMANO.length + FORMAS_FILTRO;
+
+    private final Supplier<Connection> lecturas;
+    private final Supplier<Connection> escrituras;
+    // Only with separate sources: serializes writes so at most one holds a writer connection.
+    private final ReentrantLock escritor;
+    private final StatementCache statements;
 
     public EstudianteDAOImpl(Supplier<Connection> connectionSupplier) {
-        this.connectionSupplier = connectionSupplier;
+        this(connectionSupplier, STATEMENTS_POR_CONEXION_POR_DEFECTO);
+    }
+
+    public EstudianteDAOImpl(Supplier<Connection> connectionSupplier, int statementsPorConexion) {
+        this.lecturas = connectionSupplier;
+        this.escrituras = connectionSupplier;
+        this.escritor = null;
+        this.statements = new StatementCache(statementsPorConexion);
+    }
+
+    /**
+     * Reads and writes from separate sources; see the class comment for the guarantees.
+     *
+     * @param lecturas  read-only connections, usually a {@link ConnectionPool} sized to the cores
+     * @param escrituras writer connections; only one is in use at a time
+     */
+    public EstudianteDAOImpl(Supplier<Connection> lecturas, Supplier<Connection> escrituras) {
+        this(lecturas, escrituras, STATEMENTS_POR_CONEXION_POR_DEFECTO);
+    }
+
+    public EstudianteDAOImpl(Supplier<Connection> lecturas, Supplier<Connection> escrituras, int statementsPorConexion) {
+        this.lecturas = Objects.requireNonNull(lecturas, "lecturas");
+        this.escrituras = Objects.requireNonNull(escrituras, "escrituras");
+        this.escritor = new ReentrantLock(true);
+        this.statements = new StatementCache(statementsPorConexion);
     }
 
     @Override
     public Estudiante crear(Estudiante estudiante) {
-        String sql = "INSERT INTO estudiantes(nombre, email, edad, curso) VALUES(?,?,?,?)";
-        // The connection is NOT managed here. It will be managed by the caller.
-        try (PreparedStatement pstmt = connectionSupplier.get().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, estudiante.getNombre());
-            pstmt.setString(2, estudiante.getEmail());
-            pstmt.setInt(3, estudiante.getEdad());
-            pstmt.setString(4, estudiante.getCurso());
+        try (ConnectionLease lease = leaseEscritura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
+            asignarParametrosInsercion(pstmt, estudiante);
             pstmt.executeUpdate();
 
             try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
@@ -37,14 +150,140 @@ public class EstudianteDAOImpl implements EstudianteDAO {
         }
     }
 
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        try (ConnectionLease lease = leaseEscritura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_INSERTAR_SI_EMAIL_LIBRE);
+            asignarParametrosInsercion(pstmt, estudiante);
+            // DO NOTHING skips the row on a duplicate email, so RETURNING yields no id.
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                estudiante.setId(rs.getLong(1));
+                return Optional.of(estudiante);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error creating student: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + tamanoLote);
+        }
+        ResultadoLote resultado = new ResultadoLote();
+        if (estudiantes.isEmpty()) {
+            return resultado;
+        }
+        try (ConnectionLease lease = leaseEscritura()) {
+            // Prepared first: on a shared connection this takes its lock before the transaction starts.
+            PreparedStatement pstmt = statements.preparar(lease, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
+            Connection connection = lease.connection();
+            boolean autoCommitPrevio = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<Estudiante> lote = new ArrayList<>(Math.min(tamanoLote, estudiantes.size()));
+                int indiceInicial = 0;
+                for (Estudiante estudiante : estudiantes) {
+                    lote.add(estudiante);
+                    if (lote.size() == tamanoLote) {
+                        insertarLote(connection, pstmt, lote, indiceInicial, resultado);
+                        indiceInicial += lote.size();
+                        lote.clear();
+                    }
+                }
+                if (!lote.isEmpty()) {
+                    insertarLote(connection, pstmt, lote, indiceInicial, resultado);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommitPrevio);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error creating students in batch: " + e.getMessage(), e);
+        }
+        return resultado;
+    }
+
+    /**
+     * Sends one chunk with executeBatch and commits it.
+     * If any row is rejected the chunk is rolled back and replayed row by row,
+     * so the valid rows are still committed and the failures are reported.
+     */
+    private void insertarLote(Connection connection, PreparedStatement pstmt, List<Estudiante> lote,
+                              int indiceInicial, ResultadoLote resultado) throws SQLException {
+        long ultimoId;
+        try {
+            for (Estudiante estudiante : lote) {
+                asignarParametrosInsercion(pstmt, estudiante);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            ultimoId = ultimoIdInsertado(connection);
+            connection.commit();
+        } catch (SQLException e) {
+            pstmt.clearBatch();
+            connection.rollback();
+            insertarFilaPorFila(connection, pstmt, lote, indiceInicial, resultado);
+            return;
+        }
+        // The whole chunk ran inside one write transaction on this connection,
+        // so SQLite handed out consecutive rowids ending at ultimoId.
+        long id = ultimoId - lote.size() + 1;
+        for (Estudiante estudiante : lote) {
+            estudiante.setId(id++);
+            resultado.registrarCreado(estudiante);
+        }
+    }
+
+    private void insertarFilaPorFila(Connection connection, PreparedStatement pstmt, List<Estudiante> lote,
+                                     int indiceInicial, ResultadoLote resultado) throws SQLException {
+        List<Estudiante> insertados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Estudiante estudiante = lote.get(i);
+            try {
+                asignarParametrosInsercion(pstmt, estudiante);
+                pstmt.executeUpdate();
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        estudiante.setId(generatedKeys.getLong(1));
+                    }
+                }
+                insertados.add(estudiante);
+            } catch (SQLException e) {
+                resultado.registrarFallo(indiceInicial + i, estudiante, e.getMessage());
+            }
+        }
+        connection.commit();
+        insertados.forEach(resultado::registrarCreado);
+    }
+
+    // Only called from crearTodos, whose lease already holds a shared connection's lock.
+    private long ultimoIdInsertado(Connection connection) throws SQLException {
+        try (ResultSet rs = statements.preparar(connection, SQL_ULTIMO_ID).executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
     @Override
     public Optional<Estudiante> obtenerPorId(Long id) {
-        String sql = "SELECT * FROM estudiantes WHERE id = ? AND activo = TRUE";
-        try (PreparedStatement pstmt = connectionSupplier.get().prepareStatement(sql)) {
+        return buscarPorId(id, this::mapRowToEstudiante);
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        return buscarPorId(id, EstudianteDAOImpl::mapRowToRegistro);
+    }
+
+    private <T> Optional<T> buscarPorId(long id, MapeadorFila<T> mapeador) {
+        try (ConnectionLease lease = leaseLectura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_POR_ID);
             pstmt.setLong(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToEstudiante(rs));
+                    return Optional.of(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -53,14 +292,79 @@ public class EstudianteDAOImpl implements EstudianteDAO {
         return Optional.empty();
     }
 
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.removeIf(Objects::isNull);
+        if (distintos.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Estudiante> encontrados = new HashMap<>(distintos.size() * 2);
+        try (ConnectionLease lease = leaseLectura()) {
+            for (int desde = 0; desde < distintos.size(); desde += MAX_IDS_POR_CONSULTA) {
+                List<Long> bloque = distintos.subList(desde, Math.min(desde + MAX_IDS_POR_CONSULTA, distintos.size()));
+                int tamano = tamanoConRelleno(bloque.size());
+                PreparedStatement pstmt = statements.preparar(lease, SQL_POR_IDS_POR_TAMANO[Integer.numberOfTrailingZeros(tamano)]);
+                for (int i = 0; i < tamano; i++) {
+                    // Padding repeats the last id: duplicates inside IN do not change the result.
+                    pstmt.setLong(i + 1, bloque.get(Math.min(i, bloque.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Estudiante estudiante = mapRowToEstudiante(rs);
+                        encontrados.put(estudiante.getId(), estudiante);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching students by ids: " + e.getMessage(), e);
+        }
+        Map<Long, Estudiante> resultado = new LinkedHashMap<>(encontrados.size() * 2);
+        for (Long id : distintos) {
+            Estudiante estudiante = encontrados.get(id);
+            if (estudiante != null) {
+                resultado.put(id, estudiante);
+            }
+        }
+        return resultado;
+    }
+
+    /** Smallest power of two that holds {@code ids} parameters. */
+    private static int tamanoConRelleno(int ids) {
+        return ids <= 1 ? 1 : Integer.highestOneBit(ids - 1) << 1;
+    }
+
+    /** Index i holds the query with 2^i placeholders. */
+    private static String[] sqlPorIdsPorTamano() {
+        String[] sqls = new String[Integer.numberOfTrailingZeros(MAX_IDS_POR_CONSULTA) + 1];
+        for (int i = 0; i < sqls.length; i++) {
+            int parametros = 1 << i;
+            StringBuilder sql = new StringBuilder(SQL_POR_IDS.length() + parametros * 2);
+            sql.append(SQL_POR_IDS);
+            for (int p = 0; p < parametros; p++) {
+                sql.append(p == 0 ? "?" : ",?");
+            }
+            sqls[i] = sql.append(')').toString();
+        }
+        return sqls;
+    }
+
     @Override
     public List<Estudiante> obtenerTodos() {
-        String sql = "SELECT * FROM estudiantes WHERE activo = TRUE ORDER BY nombre";
-        List<Estudiante> estudiantes = new ArrayList<>();
-        try (Statement stmt = connectionSupplier.get().createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        return listarTodos(this::mapRowToEstudiante);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistros() {
+        return listarTodos(EstudianteDAOImpl::mapRowToRegistro);
+    }
+
+    private <T> List<T> listarTodos(MapeadorFila<T> mapeador) {
+        List<T> estudiantes = new ArrayList<>();
+        try (ConnectionLease lease = leaseLectura();
+             ResultSet rs = statements.preparar(lease, SQL_TODOS).executeQuery()) {
             while (rs.next()) {
-                estudiantes.add(mapRowToEstudiante(rs));
+                estudiantes.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching all students: " + e.getMessage(), e);
@@ -68,10 +372,167 @@ public class EstudianteDAOImpl implements EstudianteDAO {
         return estudiantes;
     }
 
+    /**
+     * Fills the roster straight from the ResultSet: nombre and email are read as their
+     * UTF-8 bytes ({@code getBytes} on a TEXT column), so no String is created for them.
+     */
+    @Override
+    public RosterCompacto obtenerRoster() {
+        RosterCompacto.Builder roster = RosterCompacto.builder();
+        try (ConnectionLease lease = leaseLectura();
+             ResultSet rs = statements.preparar(lease, SQL_TODOS).executeQuery()) {
+            while (rs.next()) {
+                roster.agregar(
+                        rs.getLong(COL_ID),
+                        rs.getBytes(COL_NOMBRE),
+                        rs.getBytes(COL_EMAIL),
+                        rs.getInt(COL_EDAD),
+                        rs.getString(COL_CURSO),
+                        FechasSqlite.epochSegundos(rs.getString(COL_FECHA_REGISTRO), RosterCompacto.SIN_FECHA)
+                );
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching the student roster: " + e.getMessage(), e);
+        }
+        return roster.build();
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        return listarPorFiltro(filtro, this::mapRowToEstudiante);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        return listarPorFiltro(filtro, EstudianteDAOImpl::mapRowToRegistro);
+    }
+
+    private <T> List<T> listarPorFiltro(FiltroEstudiantes filtro, MapeadorFila<T> mapeador) {
+        // One SQL shape per combination of criteria; FORMAS_FILTRO counts them in the default cache size.
+        StringBuilder sql = new StringBuilder(SQL_FILTRO);
+        if (filtro.curso() != null) {
+            sql.append(" AND curso = ?");
+        }
+        if (filtro.edadMinima() != null) {
+            sql.append(" AND edad >= ?");
+        }
+        if (filtro.edadMaxima() != null) {
+            sql.append(" AND edad <= ?");
+        }
+        sql.append(" ORDER BY nombre, id");
+        if (filtro.limite() != null) {
+            sql.append(" LIMIT ?");
+        }
+
+        List<T> estudiantes = new ArrayList<>();
+        try (ConnectionLease lease = leaseLectura()) {
+            PreparedStatement pstmt = statements.preparar(lease, sql.toString());
+            int parametro = 1;
+            if (filtro.curso() != null) {
+                pstmt.setString(parametro++, filtro.curso());
+            }
+            if (filtro.edadMinima() != null) {
+                pstmt.setInt(parametro++, filtro.edadMinima());
+            }
+            if (filtro.edadMaxima() != null) {
+                pstmt.setInt(parametro++, filtro.edadMaxima());
+            }
+            if (filtro.limite() != null) {
+                pstmt.setInt(parametro, filtro.limite());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    estudiantes.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching filtered students: " + e.getMessage(), e);
+        }
+        return estudiantes;
+    }
+
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limite);
+        }
+        List<Estudiante> estudiantes = new ArrayList<>();
+        try (ConnectionLease lease = leaseLectura()) {
+            PreparedStatement pstmt;
+            if (cursor == null) {
+                pstmt = statements.preparar(lease, SQL_PRIMERA_PAGINA);
+                // One extra row tells whether there is a next page.
+                pstmt.setLong(1, limite + 1L);
+            } else {
+                pstmt = statements.preparar(lease, SQL_PAGINA);
+                pstmt.setString(1, cursor.nombre());
+                pstmt.setLong(2, cursor.id());
+                pstmt.setLong(3, limite + 1L);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    estudiantes.add(mapRowToEstudiante(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching page of students: " + e.getMessage(), e);
+        }
+        if (estudiantes.size() <= limite) {
+            return new Pagina(estudiantes, null);
+        }
+        estudiantes.remove(limite);
+        Estudiante ultimo = estudiantes.get(limite - 1);
+        return new Pagina(estudiantes, new CursorPagina(ultimo.getNombre(), ultimo.getId()));
+    }
+
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        return abrirCursor(SQL_TODOS, fetchSize);
+    }
+
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        return abrirCursor(SQL_RANGO_ID, fetchSize, idDesde, idHasta);
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        try (ConnectionLease lease = leaseLectura();
+             ResultSet rs = statements.preparar(lease, SQL_ID_MAXIMO).executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching the highest student id: " + e.getMessage(), e);
+        }
+    }
+
+    private Stream<Estudiante> abrirCursor(String sql, int fetchSize, long... parametros) {
+        ConnectionLease lease = null;
+        PreparedStatement pstmt = null;
+        try {
+            lease = leaseLectura();
+            // Not taken from the statement cache: the cursor stays open while the caller
+            // consumes the stream, and the connection may be used for other statements meanwhile.
+            pstmt = lease.connection().prepareStatement(sql);
+            pstmt.setFetchSize(fetchSize);
+            for (int i = 0; i < parametros.length; i++) {
+                pstmt.setLong(i + 1, parametros[i]);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            CursorEstudiantes cursor = new CursorEstudiantes(lease, pstmt, rs);
+            return StreamSupport.stream(cursor, false).onClose(cursor::cerrar);
+        } catch (SQLException e) {
+            cerrarSilenciosamente(pstmt);
+            if (lease != null) {
+                lease.close();
+            }
+            throw new RuntimeException("Error streaming students: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean actualizar(Estudiante estudiante) {
-        String sql = "UPDATE estudiantes SET nombre = ?, email = ?, edad = ?, curso = ? WHERE id = ? AND activo = TRUE";
-        try (PreparedStatement pstmt = connectionSupplier.get().prepareStatement(sql)) {
+        try (ConnectionLease lease = leaseEscritura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_ACTUALIZAR);
             pstmt.setString(1, estudiante.getNombre());
             pstmt.setString(2, estudiante.getEmail());
             pstmt.setInt(3, estudiante.getEdad());
@@ -84,10 +545,62 @@ public class EstudianteDAOImpl implements EstudianteDAO {
         }
     }
 
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        try (ConnectionLease lease = leaseEscritura()) {
+            PreparedStatement pstmt = statements.preparar(lease, esperado == null ? SQL_ACTUALIZAR_Y_OBTENER : SQL_ACTUALIZAR_SI_SIN_CAMBIOS);
+            pstmt.setString(1, estudiante.getNombre());
+            pstmt.setString(2, estudiante.getEmail());
+            pstmt.setInt(3, estudiante.getEdad());
+            pstmt.setString(4, estudiante.getCurso());
+            pstmt.setLong(5, estudiante.getId());
+            if (esperado != null) {
+                pstmt.setString(6, esperado.getNombre());
+                pstmt.setString(7, esperado.getEmail());
+                pstmt.setInt(8, esperado.getEdad());
+                pstmt.setString(9, esperado.getCurso());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return ResultadoActualizacion.actualizado(mapRowToEstudiante(rs));
+                }
+            } catch (SQLException e) {
+                if (esViolacionUnica(e)) {
+                    return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.CONFLICTO_EMAIL);
+                }
+                throw e;
+            }
+            // Nothing matched. Without an expected row that can only mean a missing id;
+            // with one, a second lookup (only on this rare path) tells both cases apart.
+            if (esperado == null || !existeActivo(lease, estudiante.getId())) {
+                return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.NO_ENCONTRADO);
+            }
+            return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.MODIFICADO_CONCURRENTEMENTE);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating student: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean existeActivo(ConnectionLease lease, long id) throws SQLException {
+        PreparedStatement pstmt = statements.preparar(lease, SQL_EXISTE_ACTIVO);
+        pstmt.setLong(1, id);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * The driver reports every constraint violation with the same error code,
+     * so the UNIQUE one is recognised by its message.
+     */
+    private static boolean esViolacionUnica(SQLException e) {
+        return e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed");
+    }
+
     @Override
     public boolean eliminar(Long id) {
-        String sql = "UPDATE estudiantes SET activo = FALSE WHERE id = ?";
-        try (PreparedStatement pstmt = connectionSupplier.get().prepareStatement(sql)) {
+        try (ConnectionLease lease = leaseEscritura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_ELIMINAR);
             pstmt.setLong(1, id);
             int affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
@@ -98,8 +611,8 @@ public class EstudianteDAOImpl implements EstudianteDAO {
 
     @Override
     public boolean existeEmail(String email) {
-        String sql = "SELECT 1 FROM estudiantes WHERE email = ? AND activo = TRUE";
-        try (PreparedStatement pstmt = connectionSupplier.get().prepareStatement(sql)) {
+        try (ConnectionLease lease = leaseLectura()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_EXISTE_EMAIL);
             pstmt.setString(1, email);
             try (ResultSet rs = pstmt.executeQuery()) {
                 return rs.next();
@@ -109,13 +622,145 @@ public class EstudianteDAOImpl implements EstudianteDAO {
         }
     }
 
+    public StatementCache.Stats statementCacheStats() {
+        return statements.stats();
+    }
+
+    /**
+     * Pooled connections are borrowed per operation and returned when the lease closes.
+     * Any other supplier hands out a connection managed by the caller, so it is NOT closed here;
+     * it may be shared by several threads, so its cached statements are used under its lock.
+     */
+    private ConnectionLease leaseLectura() throws SQLException {
+        return lease(lecturas);
+    }
+
+    private ConnectionLease leaseEscritura() throws SQLException {
+        if (escritor == null) {
+            return lease(escrituras);
+        }
+        escritor.lock();
+        ConnectionLease lease;
+        try {
+            lease = lease(escrituras);
+        } catch (SQLException | RuntimeException e) {
+            escritor.unlock();
+            throw e;
+        }
+        return new ConnectionLease(lease.connection(), lease.exclusiva(), () -> {
+            try {
+                lease.close();
+            } finally {
+                escritor.unlock();
+            }
+        });
+    }
+
+    // A pool lends each operation its own connection; any other supplier is used as is.
+    private static ConnectionLease lease(Supplier<Connection> fuente) throws SQLException {
+        if (fuente instanceof ConnectionPool pool) {
+            return pool.lease();
+        }
+        return ConnectionLease.unmanaged(fuente.get());
+    }
+
+    private static void cerrarSilenciosamente(AutoCloseable recurso) {
+        if (recurso == null) {
+            return;
+        }
+        try {
+            recurso.close();
+        } catch (Exception ignored) {
+            // Closing is best effort once the result has been consumed or abandoned.
+        }
+    }
+
+    private void asignarParametrosInsercion(PreparedStatement pstmt, Estudiante estudiante) throws SQLException {
+        pstmt.setString(1, estudiante.getNombre());
+        pstmt.setString(2, estudiante.getEmail());
+        pstmt.setInt(3, estudiante.getEdad());
+        pstmt.setString(4, estudiante.getCurso());
+    }
+
+    /**
+     * Reads the columns of {@link #COLUMNAS} by position and keeps the stored
+     * fecha_registro and activo values instead of generating new ones.
+     */
     private Estudiante mapRowToEstudiante(ResultSet rs) throws SQLException {
         return new Estudiante(
-                rs.getLong("id"),
-                rs.getString("nombre"),
-                rs.getString("email"),
-                rs.getInt("edad"),
-                rs.getString("curso")
+                rs.getLong(COL_ID),
+                rs.getString(COL_NOMBRE),
+                rs.getString(COL_EMAIL),
+                rs.getInt(COL_EDAD),
+                rs.getString(COL_CURSO),
+                FechasSqlite.parsear(rs.getString(COL_FECHA_REGISTRO)),
+                rs.getBoolean(COL_ACTIVO)
         );
     }
+
+    /**
+     * Same columns as mapRowToEstudiante; fecha_registro goes straight to epoch milliseconds
+     * without building a LocalDateTime.
+     */
+    private static EstudianteRegistro mapRowToRegistro(ResultSet rs) throws SQLException {
+        long segundos = FechasSqlite.epochSegundos(rs.getString(COL_FECHA_REGISTRO), EstudianteRegistro.SIN_FECHA);
+        return new EstudianteRegistro(
+                rs.getLong(COL_ID),
+                rs.getString(COL_NOMBRE),
+                rs.getString(COL_EMAIL),
+                rs.getInt(COL_EDAD),
+                rs.getString(COL_CURSO),
+                segundos == EstudianteRegistro.SIN_FECHA ? EstudianteRegistro.SIN_FECHA : segundos * 1_000,
+                rs.getBoolean(COL_ACTIVO)
+        );
+    }
+
+    /** Builds one result object from the current row. */
+    @FunctionalInterface
+    private interface MapeadorFila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    /** Maps one row per tryAdvance and releases the statement and connection when exhausted or closed. */
+    private final class CursorEstudiantes extends Spliterators.AbstractSpliterator<Estudiante> {
+
+        private final ConnectionLease lease;
+        private final PreparedStatement pstmt;
+        private final ResultSet rs;
+        private boolean cerrado;
+
+        private CursorEstudiantes(ConnectionLease lease, PreparedStatement pstmt, ResultSet rs) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.lease = lease;
+            this.pstmt = pstmt;
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Estudiante> action) {
+            if (cerrado) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    cerrar();
+                    return false;
+                }
+                action.accept(mapRowToEstudiante(rs));
+                return true;
+            } catch (SQLException e) {
+                cerrar();
+                throw new RuntimeException("Error streaming students: " + e.getMessage(), e);
+            }
+        }
+
+        private void cerrar() {
+            if (!cerrado) {
+                cerrado = true;
+                cerrarSilenciosamente(rs);
+                cerrarSilenciosamente(pstmt);
+                lease.close();
+            }
+        }
+    }
 }
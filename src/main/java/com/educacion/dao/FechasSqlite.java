@@ -0,0 +1,71 @@
+package com.educacion.dao;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads the DATETIME values SQLite stores as text.
+ * {@code CURRENT_TIMESTAMP} produces "yyyy-MM-dd HH:mm:ss", which is parsed by hand
+ * to avoid the formatter machinery on every row; any other layout falls back to ISO parsing.
+ */
+final class FechasSqlite {
+
+    private FechasSqlite() {
+    }
+
+    static LocalDateTime parsear(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        if (texto.length() == 19 && texto.charAt(4) == '-' && texto.charAt(7) == '-'
+                && texto.charAt(10) == ' ' && texto.charAt(13) == ':' && texto.charAt(16) == ':') {
+            int anio = digitos(texto, 0, 4);
+            int mes = digitos(texto, 5, 7);
+            int dia = digitos(texto, 8, 10);
+            int hora = digitos(texto, 11, 13);
+            int minuto = digitos(texto, 14, 16);
+            int segundo = digitos(texto, 17, 19);
+            if ((anio | mes | dia | hora | minuto | segundo) >= 0) {
+                return LocalDateTime.of(anio, mes, dia, hora, minuto, segundo);
+            }
+        }
+        return LocalDateTime.parse(texto.replace(' ', 'T'));
+    }
+
+    /**
+     * Seconds since the epoch, reading the text as UTC, or {@code siNula} when it is null.
+     * The usual layout is converted without creating a LocalDateTime.
+     */
+    static long epochSegundos(String texto, long siNula) {
+        if (texto == null) {
+            return siNula;
+        }
+        if (texto.length() == 19 && texto.charAt(4) == '-' && texto.charAt(7) == '-'
+                && texto.charAt(10) == ' ' && texto.charAt(13) == ':' && texto.charAt(16) == ':') {
+            int anio = digitos(texto, 0, 4);
+            int mes = digitos(texto, 5, 7);
+            int dia = digitos(texto, 8, 10);
+            int hora = digitos(texto, 11, 13);
+            int minuto = digitos(texto, 14, 16);
+            int segundo = digitos(texto, 17, 19);
+            if ((anio | mes | dia | hora | minuto | segundo) >= 0 && hora < 24 && minuto < 60 && segundo < 60) {
+                return LocalDate.of(anio, mes, dia).toEpochDay() * 86_400 + hora * 3_600 + minuto * 60 + segundo;
+            }
+        }
+        return parsear(texto).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** Parses texto[desde, hasta) as a decimal number, or returns -1 if it contains a non-digit. */
+    private static int digitos(String texto, int desde, int hasta) {
+        int valor = 0;
+        for (int i = desde; i < hasta; i++) {
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+}
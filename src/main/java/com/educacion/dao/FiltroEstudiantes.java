@@ -0,0 +1,71 @@
+package com.educacion.dao;
+
+/**
+ * Criteria for {@link EstudianteDAO#obtenerPorFiltro(FiltroEstudiantes)}.
+ * Every criterion is optional (null means "any"); the ones present are combined with AND.
+ * Only active students are ever returned.
+ *
+ * <pre>{@code
+ * FiltroEstudiantes filtro = FiltroEstudiantes.builder()
+ *         .curso("Java")
+ *         .edadEntre(18, 25)
+ *         .limite(100)
+ *         .build();
+ * }</pre>
+ */
+public record FiltroEstudiantes(String curso, Integer edadMinima, Integer edadMaxima, Integer limite) {
+
+    public FiltroEstudiantes {
+        if (edadMinima != null && edadMaxima != null && edadMinima > edadMaxima) {
+            throw new IllegalArgumentException("Invalid age range: " + edadMinima + " > " + edadMaxima);
+        }
+        if (limite != null && limite <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limite);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String curso;
+        private Integer edadMinima;
+        private Integer edadMaxima;
+        private Integer limite;
+
+        private Builder() {
+        }
+
+        public Builder curso(String curso) {
+            this.curso = curso;
+            return this;
+        }
+
+        public Builder edadMinima(int edadMinima) {
+            this.edadMinima = edadMinima;
+            return this;
+        }
+
+        public Builder edadMaxima(int edadMaxima) {
+            this.edadMaxima = edadMaxima;
+            return this;
+        }
+
+        /** Both bounds are inclusive. */
+        public Builder edadEntre(int edadMinima, int edadMaxima) {
+            return edadMinima(edadMinima).edadMaxima(edadMaxima);
+        }
+
+        /** Maximum number of rows, taken in {@code ORDER BY nombre, id} order. */
+        public Builder limite(int limite) {
+            this.limite = limite;
+            return this;
+        }
+
+        public FiltroEstudiantes build() {
+            return new FiltroEstudiantes(curso, edadMinima, edadMaxima, limite);
+        }
+    }
+}
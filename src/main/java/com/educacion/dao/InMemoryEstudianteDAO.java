@@ -0,0 +1,612 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@link EstudianteDAO} that keeps every student in memory, with no SQL involved.
+ * Meant for edge nodes and load tests; behaves like {@link EstudianteDAOImpl} over the
+ * managed schema, including soft deletes, AUTOINCREMENT-style ids that are never reused,
+ * the table constraints (an email stays taken by deleted students) and
+ * {@code ORDER BY nombre, id} in SQLite's code point order.
+ *
+ * <p>Rows live in a {@link LongObjectMap} keyed by id, with secondary indexes on email
+ * (all rows), curso and nombre (active rows, sorted). Rows are immutable and every call
+ * returns fresh {@link Estudiante} copies. A read-write lock lets reads run in parallel;
+ * writes are serialized. {@link #streamTodos(int)} streams a copy taken when it is called.
+ *
+ * <p>With a directory, changes are persisted through a {@link SnapshotJournal}: each write is
+ * appended to a log before it becomes visible, and a snapshot is taken every
+ * {@code intervaloSnapshot} and on {@link #close()}, which also bounds recovery time.
+ */
+public class InMemoryEstudianteDAO implements EstudianteDAO, AutoCloseable {
+
+    /** Immutable stored row. */
+    record Fila(long id, String nombre, String email, int edad, String curso,
+                LocalDateTime fechaRegistro, boolean activo) {
+
+        Fila conActivo(boolean activo) {
+            return new Fila(id, nombre, email, edad, curso, fechaRegistro, activo);
+        }
+
+        Fila conDatos(Estudiante estudiante) {
+            return new Fila(id, estudiante.getNombre(), estudiante.getEmail(), estudiante.getEdad(),
+                    estudiante.getCurso(), fechaRegistro, activo);
+        }
+
+        Estudiante aEstudiante() {
+            return new Estudiante(id, nombre, email, edad, curso, fechaRegistro, activo);
+        }
+
+        EstudianteRegistro aRegistro() {
+            long millis = fechaRegistro == null
+                    ? EstudianteRegistro.SIN_FECHA
+                    : fechaRegistro.toInstant(ZoneOffset.UTC).toEpochMilli();
+            return new EstudianteRegistro(id, nombre, email, edad, curso, millis, activo);
+        }
+    }
+
+    // Constraint messages follow SQLite's, so callers see the same text from both implementations.
+    private static final String VIOLACION_EMAIL = "UNIQUE constraint failed: estudiantes.email";
+
+    private static final Comparator<Fila> POR_NOMBRE_E_ID =
+            Comparator.comparing(Fila::nombre, OrdenSqlite.TEXTO).thenComparingLong(Fila::id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectMap<Fila> porId = new LongObjectMap<>();
+    private final Map<String, Fila> porEmail = new HashMap<>();
+    private final Map<String, NavigableSet<Fila>> porCurso = new HashMap<>();
+    private final NavigableSet<Fila> porNombre = new TreeSet<>(POR_NOMBRE_E_ID);
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private final SnapshotJournal journal;
+    private final ScheduledExecutorService snapshots;
+    private final Object snapshotEnCurso = new Object();
+
+    /** Volatile store: the data is lost when the process ends. */
+    public InMemoryEstudianteDAO() {
+        this.journal = null;
+        this.snapshots = null;
+    }
+
+    /**
+     * Persistent store in {@code directorio}, recovered from its snapshot and log if present.
+     *
+     * @param intervaloSnapshot time between automatic snapshots; {@code Duration.ZERO} only
+     *                          snapshots on {@link #snapshot()} and {@link #close()}
+     */
+    public InMemoryEstudianteDAO(Path directorio, Duration intervaloSnapshot) {
+        this.journal = new SnapshotJournal(directorio);
+        try {
+            journal.recuperar(this::aplicar);
+        } catch (IOException e) {
+            throw new RuntimeException("Error recovering students from " + directorio + ": " + e.getMessage(), e);
+        }
+        if (intervaloSnapshot.isZero()) {
+            this.snapshots = null;
+        } else {
+            this.snapshots = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "estudiantes-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodo = intervaloSnapshot.toMillis();
+            snapshots.scheduleWithFixedDelay(this::snapshotProgramado, periodo, periodo, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        lock.writeLock().lock();
+        try {
+            String violacion = violacion(estudiante, 0L);
+            if (violacion != null) {
+                throw new RuntimeException("Error creating student: " + violacion);
+            }
+            estudiante.setId(insertar(estudiante).id());
+            return estudiante;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        lock.writeLock().lock();
+        try {
+            String violacion = violacion(estudiante, 0L);
+            if (VIOLACION_EMAIL.equals(violacion)) {
+                return Optional.empty();
+            }
+            if (violacion != null) {
+                throw new RuntimeException("Error creating student: " + violacion);
+            }
+            estudiante.setId(insertar(estudiante).id());
+            return Optional.of(estudiante);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + tamanoLote);
+        }
+        ResultadoLote resultado = new ResultadoLote();
+        List<Estudiante> lote = new ArrayList<>(Math.min(tamanoLote, estudiantes.size()));
+        int indiceInicial = 0;
+        for (Estudiante estudiante : estudiantes) {
+            lote.add(estudiante);
+            if (lote.size() == tamanoLote) {
+                insertarLote(lote, indiceInicial, resultado);
+                indiceInicial += lote.size();
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            insertarLote(lote, indiceInicial, resultado);
+        }
+        return resultado;
+    }
+
+    /** One lock acquisition and one log write per chunk, like a transaction per chunk in SQLite. */
+    private void insertarLote(List<Estudiante> lote, int indiceInicial, ResultadoLote resultado) {
+        lock.writeLock().lock();
+        try {
+            List<Fila> filas = new ArrayList<>(lote.size());
+            List<Estudiante> creados = new ArrayList<>(lote.size());
+            Set<String> emailsDelLote = new HashSet<>();
+            long id = secuencia.get();
+            for (int i = 0; i < lote.size(); i++) {
+                Estudiante estudiante = lote.get(i);
+                String violacion = violacion(estudiante, 0L);
+                if (violacion == null && !emailsDelLote.add(estudiante.getEmail())) {
+                    violacion = VIOLACION_EMAIL;
+                }
+                if (violacion != null) {
+                    resultado.registrarFallo(indiceInicial + i, estudiante, violacion);
+                } else {
+                    filas.add(nuevaFila(++id, estudiante));
+                    creados.add(estudiante);
+                }
+            }
+            registrar(filas);
+            for (int i = 0; i < filas.size(); i++) {
+                aplicar(filas.get(i));
+                creados.get(i).setId(filas.get(i).id());
+                resultado.registrarCreado(creados.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        lock.readLock().lock();
+        try {
+            Fila fila = porId.get(id);
+            return fila != null && fila.activo() ? Optional.of(fila.aEstudiante()) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        lock.readLock().lock();
+        try {
+            Fila fila = porId.get(id);
+            return fila != null && fila.activo() ? Optional.of(fila.aRegistro()) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        Map<Long, Estudiante> estudiantes = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                Fila fila = id == null ? null : porId.get(id);
+                if (fila != null && fila.activo()) {
+                    estudiantes.put(id, fila.aEstudiante());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return estudiantes;
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        lock.readLock().lock();
+        try {
+            return copiar(porNombre, Integer.MAX_VALUE, Fila::aEstudiante);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistros() {
+        lock.readLock().lock();
+        try {
+            return copiar(porNombre, Integer.MAX_VALUE, Fila::aRegistro);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        return filtrar(filtro, Fila::aEstudiante);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        return filtrar(filtro, Fila::aRegistro);
+    }
+
+    private <T> List<T> filtrar(FiltroEstudiantes filtro, Function<Fila, T> mapeo) {
+        int limite = filtro.limite() == null ? Integer.MAX_VALUE : filtro.limite();
+        int edadMinima = filtro.edadMinima() == null ? Integer.MIN_VALUE : filtro.edadMinima();
+        int edadMaxima = filtro.edadMaxima() == null ? Integer.MAX_VALUE : filtro.edadMaxima();
+        lock.readLock().lock();
+        try {
+            NavigableSet<Fila> candidatos = filtro.curso() == null
+                    ? porNombre
+                    : porCurso.getOrDefault(filtro.curso(), Collections.emptyNavigableSet());
+            List<T> estudiantes = new ArrayList<>();
+            for (Fila fila : candidatos) {
+                if (estudiantes.size() == limite) {
+                    break;
+                }
+                if (fila.edad() >= edadMinima && fila.edad() <= edadMaxima) {
+                    estudiantes.add(mapeo.apply(fila));
+                }
+            }
+            return estudiantes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limite);
+        }
+        List<Estudiante> estudiantes;
+        lock.readLock().lock();
+        try {
+            NavigableSet<Fila> desde = cursor == null
+                    ? porNombre
+                    : porNombre.tailSet(new Fila(cursor.id(), cursor.nombre(), null, 0, null, null, true), false);
+            estudiantes = copiar(desde, limite + 1, Fila::aEstudiante);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (estudiantes.size() <= limite) {
+            return new Pagina(estudiantes, null);
+        }
+        estudiantes.remove(limite);
+        Estudiante ultimo = estudiantes.get(limite - 1);
+        return new Pagina(estudiantes, new CursorPagina(ultimo.getNombre(), ultimo.getId()));
+    }
+
+    /** Streams a copy of the active students taken when this method is called. */
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        return obtenerTodos().stream();
+    }
+
+    /** Streams a copy of the range taken when this method is called. Ids are dense, so it probes each one. */
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        List<Estudiante> estudiantes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long hasta = Math.min(idHasta, secuencia.get() + 1);
+            for (long id = Math.max(idDesde, 1); id < hasta; id++) {
+                Fila fila = porId.get(id);
+                if (fila != null && fila.activo()) {
+                    estudiantes.add(fila.aEstudiante());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return estudiantes.stream();
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        return secuencia.get();
+    }
+
+    /** Fills the roster from the stored rows without creating an Estudiante per row. */
+    @Override
+    public RosterCompacto obtenerRoster() {
+        lock.readLock().lock();
+        try {
+            RosterCompacto.Builder roster = RosterCompacto.builder(porNombre.size());
+            for (Fila fila : porNombre) {
+                roster.agregar(fila.id(), fila.nombre().getBytes(StandardCharsets.UTF_8),
+                        fila.email().getBytes(StandardCharsets.UTF_8), fila.edad(), fila.curso(),
+                        fila.fechaRegistro() == null ? RosterCompacto.SIN_FECHA : fila.fechaRegistro().toEpochSecond(ZoneOffset.UTC));
+            }
+            return roster.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        ResultadoActualizacion resultado = actualizarYObtener(estudiante, null);
+        if (resultado.estado() == ResultadoActualizacion.Estado.CONFLICTO_EMAIL) {
+            throw new RuntimeException("Error updating student: " + VIOLACION_EMAIL);
+        }
+        return resultado.isActualizado();
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        lock.writeLock().lock();
+        try {
+            Fila actual = estudiante.getId() == null ? null : porId.get(estudiante.getId());
+            if (actual == null || !actual.activo()) {
+                return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.NO_ENCONTRADO);
+            }
+            if (esperado != null && !coincide(actual, esperado)) {
+                return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.MODIFICADO_CONCURRENTEMENTE);
+            }
+            String violacion = violacion(estudiante, actual.id());
+            if (VIOLACION_EMAIL.equals(violacion)) {
+                return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.CONFLICTO_EMAIL);
+            }
+            if (violacion != null) {
+                throw new RuntimeException("Error updating student: " + violacion);
+            }
+            Fila nueva = actual.conDatos(estudiante);
+            registrar(nueva);
+            aplicar(nueva);
+            return ResultadoActualizacion.actualizado(nueva.aEstudiante());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Like the SQL soft delete: true whenever the id exists, even if it was already deleted. */
+    @Override
+    public boolean eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            Fila actual = porId.get(id);
+            if (actual == null) {
+                return false;
+            }
+            if (actual.activo()) {
+                Fila eliminada = actual.conActivo(false);
+                registrar(eliminada);
+                aplicar(eliminada);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existeEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Fila fila = porEmail.get(email);
+            return fila != null && fila.activo();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of every row and drops the log entries it covers.
+     * Writers are only blocked while the rows are collected, not while the file is written.
+     */
+    public void snapshot() {
+        if (journal == null) {
+            throw new IllegalStateException("In-memory DAO has no persistence directory");
+        }
+        synchronized (snapshotEnCurso) {
+            long generacion;
+            List<Fila> filas;
+            lock.writeLock().lock();
+            try {
+                generacion = journal.rotar();
+                filas = new ArrayList<>(porId.size());
+                porId.forEachValue(filas::add);
+            } catch (IOException e) {
+                throw new RuntimeException("Error rotating the student journal: " + e.getMessage(), e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                journal.escribirSnapshot(generacion, filas);
+            } catch (IOException e) {
+                throw new RuntimeException("Error writing student snapshot: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Stops the periodic snapshots and, when persistent, takes a last snapshot. */
+    @Override
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        if (snapshots != null) {
+            // Let a running snapshot finish instead of interrupting it halfway through its file.
+            snapshots.shutdown();
+            try {
+                snapshots.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (snapshotEnCurso) {
+            snapshot();
+            lock.writeLock().lock();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Error closing the student journal: " + e.getMessage(), e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void snapshotProgramado() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            // The log still holds every change; the next run tries again.
+        }
+    }
+
+    /**
+     * The constraint the row would break, checked in SQLite's order (NOT NULL, CHECK, UNIQUE),
+     * or null if it can be stored. {@code id} is the row being updated, or 0 for an insert.
+     */
+    private String violacion(Estudiante estudiante, long id) {
+        if (estudiante.getNombre() == null) {
+            return "NOT NULL constraint failed: estudiantes.nombre";
+        }
+        if (estudiante.getEmail() == null) {
+            return "NOT NULL constraint failed: estudiantes.email";
+        }
+        if (estudiante.getCurso() == null) {
+            return "NOT NULL constraint failed: estudiantes.curso";
+        }
+        if (estudiante.getEdad() < 18 || estudiante.getEdad() > 100) {
+            return "CHECK constraint failed: edad >= 18 AND edad <= 100";
+        }
+        Fila conEmail = porEmail.get(estudiante.getEmail());
+        if (conEmail != null && conEmail.id() != id) {
+            return VIOLACION_EMAIL;
+        }
+        return null;
+    }
+
+    private static boolean coincide(Fila actual, Estudiante esperado) {
+        // SQL equality: a null expected value never matches
+        return esperado.getNombre() != null && esperado.getNombre().equals(actual.nombre())
+                && esperado.getEmail() != null && esperado.getEmail().equals(actual.email())
+                && esperado.getEdad() == actual.edad()
+                && esperado.getCurso() != null && esperado.getCurso().equals(actual.curso());
+    }
+
+    private Fila insertar(Estudiante estudiante) {
+        Fila fila = nuevaFila(secuencia.get() + 1, estudiante);
+        registrar(fila);
+        aplicar(fila);
+        return fila;
+    }
+
+    private static Fila nuevaFila(long id, Estudiante estudiante) {
+        // Same value and precision as SQLite's CURRENT_TIMESTAMP
+        LocalDateTime ahora = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        return new Fila(id, estudiante.getNombre(), estudiante.getEmail(), estudiante.getEdad(),
+                estudiante.getCurso(), ahora, true);
+    }
+
+    /** Logs before the change becomes visible, so nothing readable is ever missing from disk. */
+    private void registrar(Fila fila) {
+        if (journal != null) {
+            try {
+                journal.registrar(fila);
+            } catch (IOException e) {
+                throw new RuntimeException("Error writing the student journal: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void registrar(List<Fila> filas) {
+        if (journal != null && !filas.isEmpty()) {
+            try {
+                journal.registrar(filas);
+            } catch (IOException e) {
+                throw new RuntimeException("Error writing the student journal: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Stores the row and updates every index; also used to replay the journal. */
+    private void aplicar(Fila fila) {
+        Fila anterior = porId.put(fila.id(), fila);
+        if (anterior != null) {
+            if (anterior.activo()) {
+                porNombre.remove(anterior);
+                NavigableSet<Fila> delCurso = porCurso.get(anterior.curso());
+                delCurso.remove(anterior);
+                if (delCurso.isEmpty()) {
+                    porCurso.remove(anterior.curso());
+                }
+            }
+            porEmail.remove(anterior.email());
+        }
+        porEmail.put(fila.email(), fila);
+        if (fila.activo()) {
+            porNombre.add(fila);
+            porCurso.computeIfAbsent(fila.curso(), curso -> new TreeSet<>(POR_NOMBRE_E_ID)).add(fila);
+        }
+        if (fila.id() > secuencia.get()) {
+            secuencia.set(fila.id());
+        }
+    }
+
+    // Sized from the whole index: size() on a tailSet view walks it.
+    private <T> List<T> copiar(Iterable<Fila> filas, int limite, Function<Fila, T> mapeo) {
+        List<T> estudiantes = new ArrayList<>(Math.min(porNombre.size(), limite));
+        for (Fila fila : filas) {
+            if (estudiantes.size() == limite) {
+                break;
+            }
+            estudiantes.add(mapeo.apply(fila));
+        }
+        return estudiantes;
+    }
+}
@@ -0,0 +1,174 @@
+package com.educacion.dao;
+
+import com.educacion.metricas.MetricasOperacion;
+import com.educacion.metricas.RegistroMetricas;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Records call count, error count and latency of every DAO operation under the name
+ * {@code dao.<method>}. The recorders are looked up once on construction, so the
+ * per-call cost is two {@link System#nanoTime()} reads plus a few lock-free increments.
+ *
+ * <p>For {@link #streamTodos(int)} and {@link #streamPorRangoId} only the time to open
+ * the cursor is measured, not the time the caller spends consuming it.
+ */
+public class InstrumentedEstudianteDAO extends DelegatingEstudianteDAO {
+
+    private final MetricasOperacion crear;
+    private final MetricasOperacion obtenerPorId;
+    private final MetricasOperacion obtenerPorIds;
+    private final MetricasOperacion obtenerTodos;
+    private final MetricasOperacion obtenerPorFiltro;
+    private final MetricasOperacion actualizar;
+    private final MetricasOperacion actualizarYObtener;
+    private final MetricasOperacion eliminar;
+    private final MetricasOperacion existeEmail;
+    private final MetricasOperacion crearSiEmailLibre;
+    private final MetricasOperacion crearTodos;
+    private final MetricasOperacion obtenerPagina;
+    private final MetricasOperacion streamTodos;
+    private final MetricasOperacion obtenerRoster;
+    private final MetricasOperacion streamPorRangoId;
+    private final MetricasOperacion obtenerIdMaximo;
+    private final MetricasOperacion obtenerRegistroPorId;
+    private final MetricasOperacion obtenerRegistros;
+    private final MetricasOperacion obtenerRegistrosPorFiltro;
+
+    public InstrumentedEstudianteDAO(EstudianteDAO delegate, RegistroMetricas registro) {
+        super(delegate);
+        this.crear = registro.operacion("dao.crear");
+        this.obtenerPorId = registro.operacion("dao.obtenerPorId");
+        this.obtenerPorIds = registro.operacion("dao.obtenerPorIds");
+        this.obtenerTodos = registro.operacion("dao.obtenerTodos");
+        this.obtenerPorFiltro = registro.operacion("dao.obtenerPorFiltro");
+        this.actualizar = registro.operacion("dao.actualizar");
+        this.actualizarYObtener = registro.operacion("dao.actualizarYObtener");
+        this.eliminar = registro.operacion("dao.eliminar");
+        this.existeEmail = registro.operacion("dao.existeEmail");
+        this.crearSiEmailLibre = registro.operacion("dao.crearSiEmailLibre");
+        this.crearTodos = registro.operacion("dao.crearTodos");
+        this.obtenerPagina = registro.operacion("dao.obtenerPagina");
+        this.streamTodos = registro.operacion("dao.streamTodos");
+        this.obtenerRoster = registro.operacion("dao.obtenerRoster");
+        this.streamPorRangoId = registro.operacion("dao.streamPorRangoId");
+        this.obtenerIdMaximo = registro.operacion("dao.obtenerIdMaximo");
+        this.obtenerRegistroPorId = registro.operacion("dao.obtenerRegistroPorId");
+        this.obtenerRegistros = registro.operacion("dao.obtenerRegistros");
+        this.obtenerRegistrosPorFiltro = registro.operacion("dao.obtenerRegistrosPorFiltro");
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        return medir(crear, () -> delegate.crear(estudiante));
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        return medir(obtenerPorId, () -> delegate.obtenerPorId(id));
+    }
+
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        return medir(obtenerPorIds, () -> delegate.obtenerPorIds(ids));
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        return medir(obtenerTodos, delegate::obtenerTodos);
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        return medir(obtenerPorFiltro, () -> delegate.obtenerPorFiltro(filtro));
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        return medir(actualizar, () -> delegate.actualizar(estudiante));
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        return medir(actualizarYObtener, () -> delegate.actualizarYObtener(estudiante, esperado));
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
+        return medir(eliminar, () -> delegate.eliminar(id));
+    }
+
+    @Override
+    public boolean existeEmail(String email) {
+        return medir(existeEmail, () -> delegate.existeEmail(email));
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        return medir(crearSiEmailLibre, () -> delegate.crearSiEmailLibre(estudiante));
+    }
+
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        return medir(crearTodos, () -> delegate.crearTodos(estudiantes, tamanoLote));
+    }
+
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        return medir(obtenerPagina, () -> delegate.obtenerPagina(cursor, limite));
+    }
+
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        return medir(streamTodos, () -> delegate.streamTodos(fetchSize));
+    }
+
+    @Override
+    public RosterCompacto obtenerRoster() {
+        return medir(obtenerRoster, delegate::obtenerRoster);
+    }
+
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        return medir(streamPorRangoId, () -> delegate.streamPorRangoId(idDesde, idHasta, fetchSize));
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        return medir(obtenerIdMaximo, delegate::obtenerIdMaximo);
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        return medir(obtenerRegistroPorId, () -> delegate.obtenerRegistroPorId(id));
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistros() {
+        return medir(obtenerRegistros, delegate::obtenerRegistros);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        return medir(obtenerRegistrosPorFiltro, () -> delegate.obtenerRegistrosPorFiltro(filtro));
+    }
+
+    private static <T> T medir(MetricasOperacion metricas, Supplier<T> operacion) {
+        long inicio = System.nanoTime();
+        try {
+            T resultado = operacion.get();
+            metricas.registrar(System.nanoTime() - inicio);
+            return resultado;
+        } catch (RuntimeException e) {
+            metricas.registrarError(System.nanoTime() - inicio);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.educacion.dao;
+
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from positive {@code long} keys to objects, without boxing the keys.
+ * There is no removal: {@link InMemoryEstudianteDAO} soft-deletes, so rows only ever get added
+ * or replaced, which keeps linear probing free of tombstones.
+ * Not thread-safe; the owner guards it with its own lock.
+ */
+final class LongObjectMap<V> {
+
+    private static final long SIN_CLAVE = 0L;
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private long[] claves;
+    private Object[] valores;
+    private int tamano;
+
+    LongObjectMap() {
+        claves = new long[CAPACIDAD_INICIAL];
+        valores = new Object[CAPACIDAD_INICIAL];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long clave) {
+        long[] claves = this.claves;
+        int mascara = claves.length - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            long actual = claves[i];
+            if (actual == clave) {
+                return (V) valores[i];
+            }
+            if (actual == SIN_CLAVE) {
+                return null;
+            }
+        }
+    }
+
+    /** @return the previous value, or null if the key was absent */
+    @SuppressWarnings("unchecked")
+    V put(long clave, V valor) {
+        if (clave <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + clave);
+        }
+        int mascara = claves.length - 1;
+        int i = indice(clave, mascara);
+        while (claves[i] != SIN_CLAVE) {
+            if (claves[i] == clave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        // Kept at most half full so probe sequences stay short.
+        if (++tamano * 2 > claves.length) {
+            crecer();
+        }
+        return null;
+    }
+
+    int size() {
+        return tamano;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> accion) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != SIN_CLAVE) {
+                accion.accept((V) valores[i]);
+            }
+        }
+    }
+
+    private void crecer() {
+        long[] clavesPrevias = claves;
+        Object[] valoresPrevios = valores;
+        claves = new long[clavesPrevias.length * 2];
+        valores = new Object[clavesPrevias.length * 2];
+        int mascara = claves.length - 1;
+        for (int j = 0; j < clavesPrevias.length; j++) {
+            long clave = clavesPrevias[j];
+            if (clave != SIN_CLAVE) {
+                int i = indice(clave, mascara);
+                while (claves[i] != SIN_CLAVE) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clave;
+                valores[i] = valoresPrevios[j];
+            }
+        }
+    }
+
+    // Sequential ids would cluster in neighbouring slots; the multiplier spreads them.
+    private static int indice(long clave, int mascara) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
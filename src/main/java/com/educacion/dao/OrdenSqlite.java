@@ -0,0 +1,32 @@
+package com.educacion.dao;
+
+import java.util.Comparator;
+
+/**
+ * Orders text the way SQLite's default BINARY collation does: by the UTF-8 bytes, which is
+ * Unicode code point order. {@link String#compareTo} compares UTF-16 units instead and puts
+ * characters outside the BMP before U+E000..U+FFFF, so it can disagree with
+ * {@code ORDER BY nombre}.
+ */
+final class OrdenSqlite {
+
+    static final Comparator<String> TEXTO = OrdenSqlite::comparar;
+
+    private OrdenSqlite() {
+    }
+
+    static int comparar(String a, String b) {
+        int limite = Math.min(a.length(), b.length());
+        for (int i = 0; i < limite; i++) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(i);
+            if (ca != cb) {
+                if (Character.isSurrogate(ca) || Character.isSurrogate(cb)) {
+                    return Integer.compare(a.codePointAt(i), b.codePointAt(i));
+                }
+                return ca - cb;
+            }
+        }
+        return a.length() - b.length();
+    }
+}
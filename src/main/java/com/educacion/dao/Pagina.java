@@ -0,0 +1,19 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import java.util.List;
+
+/**
+ * One page of active students.
+ * {@code siguiente} is null when this is the last page.
+ */
+public record Pagina(List<Estudiante> estudiantes, CursorPagina siguiente) {
+
+    public Pagina {
+        estudiantes = List.copyOf(estudiantes);
+    }
+
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
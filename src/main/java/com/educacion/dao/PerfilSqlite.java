@@ -0,0 +1,89 @@
+package com.educacion.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection-level SQLite tuning, applied every time a connection is opened.
+ *
+ * <p>Both profiles use WAL, so readers never block the writer and a commit appends to the
+ * log instead of rewriting pages. They differ in what a power loss may cost:
+ * <ul>
+ *   <li>{@link #DURABLE}: {@code synchronous=FULL}, every commit is fsynced before returning.
+ *       No memory-mapped I/O, so an I/O error surfaces as an error instead of a crash.</li>
+ *   <li>{@link #RAPIDO}: {@code synchronous=NORMAL}, the WAL is only fsynced at checkpoints.
+ *       The database cannot be corrupted, but the last commits before a power loss may be
+ *       rolled back. Adds a 256 MiB mmap window, a larger page cache and in-memory temp tables.</li>
+ * </ul>
+ * In-memory databases ignore the journal and synchronous settings.
+ *
+ * <pre>{@code
+ * ConnectionPool pool = new ConnectionPool(PerfilSqlite.RAPIDO.fabrica(url), 1, 4, timeout, idle);
+ * }</pre>
+ */
+public enum PerfilSqlite {
+
+    DURABLE("FULL", 0, -16_000, "DEFAULT"),
+    RAPIDO("NORMAL", 256L * 1024 * 1024, -64_000, "MEMORY");
+
+    /** How long a connection waits for a lock held by another connection before failing. */
+    static final int BUSY_TIMEOUT_MS = 5_000;
+
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSize;
+    private final String tempStore;
+
+    /**
+     * @param cacheSize SQLite convention: negative values are KiB, positive values are pages
+     */
+    PerfilSqlite(String synchronous, long mmapSize, int cacheSize, String tempStore) {
+        this.synchronous = synchronous;
+        this.mmapSize = mmapSize;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+    }
+
+    public void aplicar(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            // journal_mode is stored in the database file; the rest only last for this connection
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+        }
+    }
+
+    /** Opens connections to {@code jdbcUrl} with this profile already applied. */
+    public ConnectionPool.ConnectionFactory fabrica(String jdbcUrl) {
+        return () -> abrir(jdbcUrl, false);
+    }
+
+    /**
+     * Like {@link #fabrica(String)}, but the connections reject any write
+     * ({@code PRAGMA query_only}). Meant for the read pool of {@link EstudianteDAOImpl}.
+     */
+    public ConnectionPool.ConnectionFactory fabricaLectura(String jdbcUrl) {
+        return () -> abrir(jdbcUrl, true);
+    }
+
+    private Connection abrir(String jdbcUrl, boolean soloLectura) throws SQLException {
+        Connection connection = DriverManager.getConnection(jdbcUrl);
+        try {
+            aplicar(connection);
+            if (soloLectura) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,35 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+
+/**
+ * Outcome of {@link EstudianteDAO#actualizarYObtener(Estudiante, Estudiante)}.
+ * {@code estudiante} is the row as stored after the update, and null for every other state.
+ */
+public record ResultadoActualizacion(Estado estado, Estudiante estudiante) {
+
+    public enum Estado {
+        ACTUALIZADO,
+        /** No active student has that id. */
+        NO_ENCONTRADO,
+        /** The new email belongs to another student. */
+        CONFLICTO_EMAIL,
+        /** The row no longer matches the expected values: someone else changed it first. */
+        MODIFICADO_CONCURRENTEMENTE
+    }
+
+    public static ResultadoActualizacion actualizado(Estudiante estudiante) {
+        return new ResultadoActualizacion(Estado.ACTUALIZADO, estudiante);
+    }
+
+    public static ResultadoActualizacion fallido(Estado estado) {
+        if (estado == Estado.ACTUALIZADO) {
+            throw new IllegalArgumentException("An updated result needs the stored row");
+        }
+        return new ResultadoActualizacion(estado, null);
+    }
+
+    public boolean isActualizado() {
+        return estado == Estado.ACTUALIZADO;
+    }
+}
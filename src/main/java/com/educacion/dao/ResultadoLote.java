@@ -0,0 +1,48 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch insert.
+ * Keeps the students that were created and, for every rejected row, its
+ * position in the submitted collection and the reason it failed.
+ */
+public class ResultadoLote {
+
+    private final List<Estudiante> creados = new ArrayList<>();
+    private final List<Fallo> fallos = new ArrayList<>();
+
+    /**
+     * A row that could not be inserted.
+     * {@code indice} is the zero-based position of the row in the submitted collection.
+     */
+    public record Fallo(int indice, Estudiante estudiante, String motivo) {
+    }
+
+    public void registrarCreado(Estudiante estudiante) {
+        creados.add(estudiante);
+    }
+
+    public void registrarFallo(int indice, Estudiante estudiante, String motivo) {
+        fallos.add(new Fallo(indice, estudiante, motivo));
+    }
+
+    public List<Estudiante> getCreados() {
+        return Collections.unmodifiableList(creados);
+    }
+
+    public List<Fallo> getFallos() {
+        return Collections.unmodifiableList(fallos);
+    }
+
+    public boolean tieneFallos() {
+        return !fallos.isEmpty();
+    }
+
+    public int getTotalProcesados() {
+        return creados.size() + fallos.size();
+    }
+}
@@ -0,0 +1,769 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spreads the students over several EstudianteDAOs (shards), usually one SQLite file each,
+ * so that writes to different shards do not wait for the same database lock.
+ *
+ * <p>A new student goes to the shard picked by the hash of its email and stays there.
+ * Its id is the id assigned by that shard shifted left, with the shard number in the low
+ * bits ({@code local << bits | shard}, with just enough bits for the number of shards),
+ * so any id leads straight to its shard. The number of shards is therefore part of the ids:
+ * it is stored in the routing database and cannot change once students exist.
+ *
+ * <p>Email uniqueness across shards comes from that placement: every email is created in its
+ * home shard, so the home shard's UNIQUE constraint rejects a taken email in the same
+ * transaction as the insert, and creates in different shards share no lock or database.
+ * Only an update can leave an email outside its home shard. Those moved emails are kept in a
+ * routing table ({@code rutas_email}, in its own database, loaded into memory on startup)
+ * and checked in memory before every create or email change. Creates and email changes
+ * within the home shard share a read lock; only an update that moves an email to another
+ * shard, or leaves a moved one, takes it exclusively and writes to the routing database.
+ * A move checks the email's home shard for an active student only: unlike in a single
+ * database, a deleted student there does not keep the email from being moved.
+ * The routing table is only kept in sync by this class: every writer must go through the
+ * same instance. A crash between recording a move and updating the student leaves that
+ * email taken but unused.
+ *
+ * <p>Reads that span shards query them in parallel and merge the per-shard results, which
+ * every shard already returns sorted: {@link #obtenerTodos()}, {@link #obtenerPorFiltro},
+ * {@link #obtenerPagina} and {@link #streamTodos(int)} by nombre (code point order, like
+ * SQLite) and then id, and {@link #streamPorRangoId} by id. A page or a filter with a limit
+ * reads up to that many rows from each shard.
+ */
+public class ShardedEstudianteDAO implements EstudianteDAO, AutoCloseable {
+
+    /** Reader connections per shard opened by {@link #abrir}. */
+    public static final int LECTORES_POR_SHARD = 4;
+
+    // Same text as SQLite's UNIQUE constraint on estudiantes.email.
+    private static final String VIOLACION_EMAIL = "UNIQUE constraint failed: estudiantes.email";
+
+    static final List<String> TABLAS_RUTAS = List.of(
+            "CREATE TABLE IF NOT EXISTS rutas_email (email TEXT PRIMARY KEY NOT NULL, shard INTEGER NOT NULL) WITHOUT ROWID",
+            "CREATE TABLE IF NOT EXISTS configuracion_shards (id INTEGER PRIMARY KEY CHECK (id = 1), shards INTEGER NOT NULL)"
+    );
+
+    private static final String SQL_REGISTRAR_SHARDS = "INSERT INTO configuracion_shards(id, shards) VALUES(1, ?) ON CONFLICT(id) DO NOTHING";
+    private static final String SQL_SHARDS = "SELECT shards FROM configuracion_shards WHERE id = 1";
+    private static final String SQL_MOVIDOS = "SELECT email, shard FROM rutas_email";
+    private static final String SQL_REGISTRAR_MOVIDO =
+            "INSERT INTO rutas_email(email, shard) VALUES(?, ?) ON CONFLICT(email) DO UPDATE SET shard = excluded.shard";
+    private static final String SQL_OLVIDAR_MOVIDO = "DELETE FROM rutas_email WHERE email = ? AND shard = ?";
+
+    private static final Comparator<Estudiante> POR_NOMBRE_E_ID =
+            Comparator.comparing(Estudiante::getNombre, OrdenSqlite.TEXTO).thenComparingLong(Estudiante::getId);
+    private static final Comparator<Estudiante> POR_ID = Comparator.comparingLong(Estudiante::getId);
+
+    // Updates read the current email before changing it; a stripe per id keeps that pair atomic.
+    private static final int BLOQUEOS_ACTUALIZACION = 64;
+
+    private final List<EstudianteDAO> shards;
+    private final int bitsShard;
+    private final long mascaraShard;
+    private final Supplier<Connection> rutas;
+    private final StatementCache statements = new StatementCache(EstudianteDAOImpl.STATEMENTS_POR_CONEXION_POR_DEFECTO);
+    // Emails moved out of their home shard by an update, with the shard that holds them now.
+    // Mirrors rutas_email and only changes under the write lock of movimientos.
+    private final Map<String, Integer> movidos = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock movimientos = new ReentrantReadWriteLock();
+    private final ReentrantLock[] bloqueosActualizacion = new ReentrantLock[BLOQUEOS_ACTUALIZACION];
+    private final List<AutoCloseable> recursos;
+
+    /**
+     * @param shards DAOs over separate databases, each with the {@link SchemaManager} schema;
+     *               their order is the shard number and must not change
+     * @param rutas  connections to the routing database; its tables are created if missing
+     * @throws IllegalStateException if the routing database was created for another number of shards
+     */
+    public ShardedEstudianteDAO(List<? extends EstudianteDAO> shards, Supplier<Connection> rutas) {
+        this(shards, rutas, List.of());
+    }
+
+    private ShardedEstudianteDAO(List<? extends EstudianteDAO> shards, Supplier<Connection> rutas,
+                                 List<AutoCloseable> recursos) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.bitsShard = 32 - Integer.numberOfLeadingZeros(shards.size() - 1);
+        this.mascaraShard = (1L << bitsShard) - 1;
+        this.rutas = Objects.requireNonNull(rutas, "rutas");
+        this.recursos = recursos;
+        for (int i = 0; i < BLOQUEOS_ACTUALIZACION; i++) {
+            bloqueosActualizacion[i] = new ReentrantLock();
+        }
+        prepararRutas();
+    }
+
+    /**
+     * Opens (or creates) {@code estudiantes-<n>.db} for every shard and {@code rutas.db} in the
+     * directory, each with its own pools: a writer and up to {@link #LECTORES_POR_SHARD}
+     * readers per shard. {@link #close()} closes them.
+     */
+    public static ShardedEstudianteDAO abrir(Path directorio, int cantidad, PerfilSqlite perfil) throws SQLException {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive: " + cantidad);
+        }
+        Duration espera = Duration.ofSeconds(5);
+        Duration inactividad = Duration.ofMinutes(5);
+        List<AutoCloseable> recursos = new ArrayList<>();
+        try {
+            List<EstudianteDAO> shards = new ArrayList<>(cantidad);
+            for (int shard = 0; shard < cantidad; shard++) {
+                String url = "jdbc:sqlite:" + directorio.resolve("estudiantes-" + shard + ".db");
+                ConnectionPool escrituras = new ConnectionPool(perfil.fabrica(url), 1, 1, espera, inactividad);
+                recursos.add(escrituras);
+                try (ConnectionLease lease = escrituras.lease()) {
+                    new SchemaManager().aplicar(lease.connection());
+                }
+                ConnectionPool lecturas = new ConnectionPool(perfil.fabricaLectura(url), 1, LECTORES_POR_SHARD,
+                        espera, inactividad);
+                recursos.add(lecturas);
+                shards.add(new EstudianteDAOImpl(lecturas, escrituras));
+            }
+            ConnectionPool rutas = new ConnectionPool(perfil.fabrica("jdbc:sqlite:" + directorio.resolve("rutas.db")),
+                    1, LECTORES_POR_SHARD, espera, inactividad);
+            recursos.add(rutas);
+            return new ShardedEstudianteDAO(shards, rutas, recursos);
+        } catch (SQLException | RuntimeException e) {
+            recursos.forEach(ShardedEstudianteDAO::cerrarSilenciosamente);
+            throw e;
+        }
+    }
+
+    public int cantidadShards() {
+        return shards.size();
+    }
+
+    /** Shard that holds the student with this id. */
+    public int shardDe(long id) {
+        return (int) (id & mascaraShard);
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        int shard = shardParaEmail(estudiante.getEmail());
+        movimientos.readLock().lock();
+        try {
+            if (estaMovido(estudiante.getEmail())) {
+                throw new RuntimeException("Error creating student: " + VIOLACION_EMAIL);
+            }
+            shards.get(shard).crear(estudiante);
+        } finally {
+            movimientos.readLock().unlock();
+        }
+        estudiante.setId(idGlobal(estudiante.getId(), shard));
+        return estudiante;
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        int shard = shardParaEmail(estudiante.getEmail());
+        Optional<Estudiante> creado;
+        movimientos.readLock().lock();
+        try {
+            if (estaMovido(estudiante.getEmail())) {
+                return Optional.empty();
+            }
+            creado = shards.get(shard).crearSiEmailLibre(estudiante);
+        } finally {
+            movimientos.readLock().unlock();
+        }
+        creado.ifPresent(c -> c.setId(idGlobal(c.getId(), shard)));
+        return creado;
+    }
+
+    /**
+     * Inserts each shard's part of the batch in parallel; every shard rejects the rows whose
+     * email it already holds, including repeats within the batch. Rows whose email was moved
+     * to another shard fail without reaching a shard. The result lists rows in the order of
+     * {@code estudiantes}.
+     */
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + tamanoLote);
+        }
+        List<Estudiante> lista = List.copyOf(estudiantes);
+        ResultadoLote.Fallo[] fallos = new ResultadoLote.Fallo[lista.size()];
+        List<List<Estudiante>> porShard = new ArrayList<>(shards.size());
+        List<List<Integer>> indicesPorShard = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            porShard.add(new ArrayList<>());
+            indicesPorShard.add(new ArrayList<>());
+        }
+        List<ResultadoLote> resultados;
+        movimientos.readLock().lock();
+        try {
+            for (int i = 0; i < lista.size(); i++) {
+                Estudiante estudiante = lista.get(i);
+                if (estaMovido(estudiante.getEmail())) {
+                    fallos[i] = new ResultadoLote.Fallo(i, estudiante, VIOLACION_EMAIL);
+                    continue;
+                }
+                int shard = shardParaEmail(estudiante.getEmail());
+                porShard.get(shard).add(estudiante);
+                indicesPorShard.get(shard).add(i);
+            }
+            resultados = enCadaShard(shard -> porShard.get(shard).isEmpty()
+                    ? new ResultadoLote()
+                    : shards.get(shard).crearTodos(porShard.get(shard), tamanoLote));
+        } finally {
+            movimientos.readLock().unlock();
+        }
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<Integer> indices = indicesPorShard.get(shard);
+            for (ResultadoLote.Fallo fallo : resultados.get(shard).getFallos()) {
+                int indice = indices.get(fallo.indice());
+                fallos[indice] = new ResultadoLote.Fallo(indice, fallo.estudiante(), fallo.motivo());
+            }
+            for (Estudiante creado : resultados.get(shard).getCreados()) {
+                creado.setId(idGlobal(creado.getId(), shard));
+            }
+        }
+
+        ResultadoLote resultado = new ResultadoLote();
+        for (int i = 0; i < lista.size(); i++) {
+            if (fallos[i] != null) {
+                resultado.registrarFallo(i, fallos[i].estudiante(), fallos[i].motivo());
+            } else {
+                resultado.registrarCreado(lista.get(i));
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        if (id == null || !esIdValido(id)) {
+            return Optional.empty();
+        }
+        int shard = shardDe(id);
+        return shards.get(shard).obtenerPorId(idLocal(id)).map(e -> conIdGlobal(e, shard));
+    }
+
+    /** One obtenerPorIds per shard that holds any of the ids. */
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        List<List<Long>> localesPorShard = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            localesPorShard.add(new ArrayList<>());
+        }
+        for (Long id : ids) {
+            if (id != null && esIdValido(id)) {
+                localesPorShard.get(shardDe(id)).add(idLocal(id));
+            }
+        }
+        Map<Long, Estudiante> encontrados = new LinkedHashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (localesPorShard.get(shard).isEmpty()) {
+                continue;
+            }
+            for (Estudiante estudiante : shards.get(shard).obtenerPorIds(localesPorShard.get(shard)).values()) {
+                conIdGlobal(estudiante, shard);
+                encontrados.put(estudiante.getId(), estudiante);
+            }
+        }
+        Map<Long, Estudiante> resultado = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Estudiante estudiante = id == null ? null : encontrados.get(id);
+            if (estudiante != null) {
+                resultado.putIfAbsent(id, estudiante);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        return mezclar(enCadaShard(shard -> conIdsGlobales(shards.get(shard).obtenerTodos(), shard)),
+                POR_NOMBRE_E_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        int limite = filtro.limite() == null ? Integer.MAX_VALUE : filtro.limite();
+        return mezclar(enCadaShard(shard -> conIdsGlobales(shards.get(shard).obtenerPorFiltro(filtro), shard)),
+                POR_NOMBRE_E_ID, limite);
+    }
+
+    /**
+     * Reads the next {@code limite} rows of every shard after the cursor and keeps the first
+     * {@code limite} of their merge. The cursor holds a global id; for each shard it becomes
+     * the highest local id whose global id does not exceed it.
+     */
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limite);
+        }
+        List<Pagina> paginas = enCadaShard(shard -> shards.get(shard).obtenerPagina(
+                cursor == null ? null : new CursorPagina(cursor.nombre(), Math.floorDiv(cursor.id() - shard, 1L << bitsShard)),
+                limite));
+        List<List<Estudiante>> filas = new ArrayList<>(paginas.size());
+        boolean hayMas = false;
+        for (int shard = 0; shard < paginas.size(); shard++) {
+            filas.add(conIdsGlobales(new ArrayList<>(paginas.get(shard).estudiantes()), shard));
+            hayMas |= paginas.get(shard).hayMas();
+        }
+        List<Estudiante> estudiantes = mezclar(filas, POR_NOMBRE_E_ID, limite + 1);
+        if (estudiantes.size() > limite) {
+            estudiantes.remove(limite);
+            hayMas = true;
+        }
+        if (!hayMas || estudiantes.isEmpty()) {
+            return new Pagina(estudiantes, null);
+        }
+        Estudiante ultimo = estudiantes.get(estudiantes.size() - 1);
+        return new Pagina(estudiantes, new CursorPagina(ultimo.getNombre(), ultimo.getId()));
+    }
+
+    /** Holds one cursor per shard until the stream is closed. */
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        return abrirMezcla(shard -> shards.get(shard).streamTodos(fetchSize), POR_NOMBRE_E_ID);
+    }
+
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        long paso = 1L << bitsShard;
+        return abrirMezcla(shard -> shards.get(shard).streamPorRangoId(
+                Math.ceilDiv(idDesde - shard, paso), Math.ceilDiv(idHasta - shard, paso), fetchSize), POR_ID);
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        List<Long> maximos = enCadaShard(shard -> shards.get(shard).obtenerIdMaximo());
+        long maximo = 0;
+        for (int shard = 0; shard < maximos.size(); shard++) {
+            if (maximos.get(shard) > 0) {
+                maximo = Math.max(maximo, idGlobal(maximos.get(shard), shard));
+            }
+        }
+        return maximo;
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        Long id = estudiante.getId();
+        if (id == null || !esIdValido(id)) {
+            return false;
+        }
+        int shard = shardDe(id);
+        EstudianteDAO dao = shards.get(shard);
+        ReentrantLock bloqueo = bloqueoActualizacion(id);
+        bloqueo.lock();
+        try {
+            Optional<Estudiante> actual = dao.obtenerPorId(idLocal(id));
+            if (actual.isEmpty()) {
+                return false;
+            }
+            Estudiante local = conId(estudiante, idLocal(id));
+            if (Objects.equals(actual.get().getEmail(), estudiante.getEmail())) {
+                return dao.actualizar(local);
+            }
+            return cambiarEmail(shard, actual.get().getEmail(), estudiante.getEmail(),
+                    () -> dao.actualizar(local), actualizado -> actualizado,
+                    () -> {
+                        throw new RuntimeException("Error updating student: " + VIOLACION_EMAIL);
+                    });
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        Long id = estudiante.getId();
+        if (id == null || !esIdValido(id)) {
+            return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.NO_ENCONTRADO);
+        }
+        int shard = shardDe(id);
+        EstudianteDAO dao = shards.get(shard);
+        ReentrantLock bloqueo = bloqueoActualizacion(id);
+        bloqueo.lock();
+        try {
+            Optional<Estudiante> actual = dao.obtenerPorId(idLocal(id));
+            if (actual.isEmpty()) {
+                return ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.NO_ENCONTRADO);
+            }
+            Estudiante local = conId(estudiante, idLocal(id));
+            ResultadoActualizacion resultado = Objects.equals(actual.get().getEmail(), estudiante.getEmail())
+                    ? dao.actualizarYObtener(local, esperado)
+                    : cambiarEmail(shard, actual.get().getEmail(), estudiante.getEmail(),
+                            () -> dao.actualizarYObtener(local, esperado), ResultadoActualizacion::isActualizado,
+                            // Like the single-database UPDATE: a row that no longer matches is not
+                            // updated, so it reports the concurrent change rather than the email.
+                            () -> ResultadoActualizacion.fallido(esperado != null && !coincide(actual.get(), esperado)
+                                    ? ResultadoActualizacion.Estado.MODIFICADO_CONCURRENTEMENTE
+                                    : ResultadoActualizacion.Estado.CONFLICTO_EMAIL));
+            if (resultado.estudiante() != null) {
+                conIdGlobal(resultado.estudiante(), shard);
+            }
+            return resultado;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /** Soft delete: the row keeps its email, so it stays taken, in the routing table too if it was moved. */
+    @Override
+    public boolean eliminar(Long id) {
+        if (id == null || !esIdValido(id)) {
+            return false;
+        }
+        return shards.get(shardDe(id)).eliminar(idLocal(id));
+    }
+
+    /** Asks the shard that holds the email: the one it was moved to, or else its home shard. */
+    @Override
+    public boolean existeEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        Integer movido = movidos.get(email);
+        return shards.get(movido != null ? movido : shardParaEmail(email)).existeEmail(email);
+    }
+
+    /** Closes the pools opened by {@link #abrir}; DAOs passed to the constructor are left open. */
+    @Override
+    public void close() {
+        recursos.forEach(ShardedEstudianteDAO::cerrarSilenciosamente);
+        statements.cerrar();
+    }
+
+    private void prepararRutas() {
+        try (ConnectionLease lease = leaseRutas(); Statement stmt = lease.connection().createStatement()) {
+            for (String tabla : TABLAS_RUTAS) {
+                stmt.execute(tabla);
+            }
+            PreparedStatement registrar = statements.preparar(lease, SQL_REGISTRAR_SHARDS);
+            registrar.setInt(1, shards.size());
+            registrar.executeUpdate();
+            try (ResultSet rs = statements.preparar(lease, SQL_SHARDS).executeQuery()) {
+                int registrados = rs.next() ? rs.getInt(1) : shards.size();
+                if (registrados != shards.size()) {
+                    throw new IllegalStateException("The routing database belongs to " + registrados
+                            + " shards, not " + shards.size());
+                }
+            }
+            try (ResultSet rs = statements.preparar(lease, SQL_MOVIDOS).executeQuery()) {
+                while (rs.next()) {
+                    movidos.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error preparing the email routing table: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean estaMovido(String email) {
+        return email != null && movidos.containsKey(email);
+    }
+
+    /**
+     * Runs an update that changes the student's email, keeping the moved emails in step: a new
+     * email whose home is another shard is recorded as moved before the update, and a moved
+     * email the student leaves is forgotten once the update succeeds.
+     *
+     * @param conflicto what to return (or throw) when the new email is already taken
+     */
+    private <R> R cambiarEmail(int shard, String emailAnterior, String emailNuevo, Supplier<R> actualizar,
+                               Predicate<R> actualizado, Supplier<R> conflicto) {
+        boolean mueve = emailNuevo != null && shardParaEmail(emailNuevo) != shard;
+        // Only this student's updates, serialized by its update lock, touch its own email's entry.
+        boolean dejaMovido = emailAnterior != null && Objects.equals(movidos.get(emailAnterior), shard);
+        Lock bloqueo = mueve || dejaMovido ? movimientos.writeLock() : movimientos.readLock();
+        bloqueo.lock();
+        try {
+            if (estaMovido(emailNuevo) || (mueve && shards.get(shardParaEmail(emailNuevo)).existeEmail(emailNuevo))) {
+                return conflicto.get();
+            }
+            if (mueve) {
+                registrarMovido(emailNuevo, shard);
+            }
+            R resultado;
+            try {
+                resultado = actualizar.get();
+            } catch (RuntimeException e) {
+                if (mueve) {
+                    olvidarMovido(emailNuevo, shard);
+                }
+                throw e;
+            }
+            if (!actualizado.test(resultado)) {
+                if (mueve) {
+                    olvidarMovido(emailNuevo, shard);
+                }
+            } else if (dejaMovido) {
+                olvidarMovido(emailAnterior, shard);
+            }
+            return resultado;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /** Called with the write lock of movimientos held. */
+    private void registrarMovido(String email, int shard) {
+        try (ConnectionLease lease = leaseRutas()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_REGISTRAR_MOVIDO);
+            pstmt.setString(1, email);
+            pstmt.setInt(2, shard);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error recording moved email: " + e.getMessage(), e);
+        }
+        movidos.put(email, shard);
+    }
+
+    /** Called with the write lock of movimientos held. */
+    private void olvidarMovido(String email, int shard) {
+        try (ConnectionLease lease = leaseRutas()) {
+            PreparedStatement pstmt = statements.preparar(lease, SQL_OLVIDAR_MOVIDO);
+            pstmt.setString(1, email);
+            pstmt.setInt(2, shard);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing moved email: " + e.getMessage(), e);
+        }
+        movidos.remove(email, shard);
+    }
+
+    private ConnectionLease leaseRutas() throws SQLException {
+        if (rutas instanceof ConnectionPool pool) {
+            return pool.lease();
+        }
+        return ConnectionLease.unmanaged(rutas.get());
+    }
+
+    /** Runs the task for every shard, in parallel when there are several, and returns the results in shard order. */
+    private <T> List<T> enCadaShard(IntFunction<T> tarea) {
+        if (shards.size() == 1) {
+            return List.of(tarea.apply(0));
+        }
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> tareas = new ArrayList<>(shards.size());
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int numero = shard;
+                tareas.add(ejecutor.submit(() -> tarea.apply(numero)));
+            }
+            List<T> resultados = new ArrayList<>(shards.size());
+            for (Future<T> futuro : tareas) {
+                resultados.add(esperar(futuro));
+            }
+            return resultados;
+        }
+    }
+
+    private static <T> T esperar(Future<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException("Error in shard: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /** The first {@code limite} rows of the k-way merge of lists that are each sorted by {@code orden}. */
+    private static List<Estudiante> mezclar(List<List<Estudiante>> listas, Comparator<Estudiante> orden, int limite) {
+        int total = 0;
+        List<Iterator<Estudiante>> fuentes = new ArrayList<>(listas.size());
+        for (List<Estudiante> lista : listas) {
+            total += lista.size();
+            fuentes.add(lista.iterator());
+        }
+        List<Estudiante> resultado = new ArrayList<>(Math.min(total, limite));
+        Mezcla<Estudiante> mezcla = new Mezcla<>(fuentes, orden);
+        while (resultado.size() < limite && mezcla.hasNext()) {
+            resultado.add(mezcla.next());
+        }
+        return resultado;
+    }
+
+    /** Opens one stream per shard and merges them lazily; closing the result closes them all. */
+    private Stream<Estudiante> abrirMezcla(IntFunction<Stream<Estudiante>> abrir, Comparator<Estudiante> orden) {
+        List<Stream<Estudiante>> abiertos = new ArrayList<>(shards.size());
+        try {
+            List<Iterator<Estudiante>> fuentes = new ArrayList<>(shards.size());
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int numero = shard;
+                Stream<Estudiante> stream = abrir.apply(shard);
+                abiertos.add(stream);
+                fuentes.add(stream.map(e -> conIdGlobal(e, numero)).iterator());
+            }
+            Mezcla<Estudiante> mezcla = new Mezcla<>(fuentes, orden);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(mezcla,
+                            Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> cerrarTodos(abiertos));
+        } catch (RuntimeException e) {
+            cerrarTodos(abiertos);
+            throw e;
+        }
+    }
+
+    private static void cerrarTodos(List<Stream<Estudiante>> streams) {
+        RuntimeException error = null;
+        for (Stream<Estudiante> stream : streams) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** Home shard of the email: where a student with it is created. */
+    int shardParaEmail(String email) {
+        if (email == null || shards.size() == 1) {
+            return 0;
+        }
+        // String.hashCode is weak in its low bits for similar emails; spread it first
+        int h = email.hashCode() * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), shards.size());
+    }
+
+    private boolean esIdValido(long id) {
+        return id > 0 && shardDe(id) < shards.size();
+    }
+
+    private long idGlobal(long idLocal, int shard) {
+        return idLocal << bitsShard | shard;
+    }
+
+    private long idLocal(long id) {
+        return id >>> bitsShard;
+    }
+
+    private Estudiante conIdGlobal(Estudiante estudiante, int shard) {
+        estudiante.setId(idGlobal(estudiante.getId(), shard));
+        return estudiante;
+    }
+
+    private List<Estudiante> conIdsGlobales(List<Estudiante> estudiantes, int shard) {
+        estudiantes.forEach(e -> conIdGlobal(e, shard));
+        return estudiantes;
+    }
+
+    private ReentrantLock bloqueoActualizacion(long id) {
+        return bloqueosActualizacion[(int) ((id * 0x9E3779B97F4A7C15L) >>> 58)];
+    }
+
+    /** The student with another id, leaving the caller's object untouched. */
+    private static Estudiante conId(Estudiante estudiante, long id) {
+        return new Estudiante(id, estudiante.getNombre(), estudiante.getEmail(), estudiante.getEdad(),
+                estudiante.getCurso(), estudiante.getFechaRegistro(), estudiante.isActivo());
+    }
+
+    private static boolean coincide(Estudiante actual, Estudiante esperado) {
+        return Objects.equals(actual.getNombre(), esperado.getNombre())
+                && Objects.equals(actual.getEmail(), esperado.getEmail())
+                && actual.getEdad() == esperado.getEdad()
+                && Objects.equals(actual.getCurso(), esperado.getCurso());
+    }
+
+    private static void cerrarSilenciosamente(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception ignored) {
+            // Closing is best effort; the pools release what they can.
+        }
+    }
+
+    /** K-way merge of sorted iterators: a heap holds the current head of each one. */
+    private static final class Mezcla<T> implements Iterator<T> {
+
+        private final PriorityQueue<Cabeza<T>> cabezas;
+
+        private Mezcla(List<Iterator<T>> fuentes, Comparator<? super T> orden) {
+            this.cabezas = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                    (a, b) -> orden.compare(a.actual, b.actual));
+            for (Iterator<T> fuente : fuentes) {
+                if (fuente.hasNext()) {
+                    cabezas.add(new Cabeza<>(fuente.next(), fuente));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cabezas.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Cabeza<T> cabeza = cabezas.poll();
+            if (cabeza == null) {
+                throw new NoSuchElementException();
+            }
+            T actual = cabeza.actual;
+            if (cabeza.resto.hasNext()) {
+                cabeza.actual = cabeza.resto.next();
+                cabezas.add(cabeza);
+            }
+            return actual;
+        }
+    }
+
+    private static final class Cabeza<T> {
+
+        private T actual;
+        private final Iterator<T> resto;
+
+        private Cabeza(T actual, Iterator<T> resto) {
+            this.actual = actual;
+            this.resto = resto;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.educacion.dao;
+
+import com.educacion.dao.InMemoryEstudianteDAO.Fila;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistence for {@link InMemoryEstudianteDAO}: full snapshots plus an append-only log of
+ * the rows written since.
+ *
+ * <p>Files are numbered by generation. {@code snapshot-N.bin} holds every row as it was when
+ * {@code log-N.bin} was started, so recovery loads the newest complete snapshot and replays
+ * the logs from its generation on. Snapshots are written to a temporary file and renamed,
+ * so a crash while writing one leaves the previous generation intact.
+ *
+ * <p>Each log record is {@code [length][crc32][row]}. Every write reaches the OS before the
+ * DAO method returns, so a process crash loses nothing; a torn record at the end of the log
+ * (power loss) fails its checksum and is truncated on recovery. The log is only fsynced on
+ * rotation and close. Not thread-safe: the DAO calls it under its write lock.
+ */
+final class SnapshotJournal implements AutoCloseable {
+
+    private static final int MAGIC_SNAPSHOT = 0x45535431;
+    private static final int CABECERA = Integer.BYTES * 2;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final Pattern NOMBRE_ARCHIVO = Pattern.compile("(snapshot|log)-(\\d+)\\.bin");
+
+    private final Path directorio;
+    private final Codificador codificador = new Codificador();
+    private final ByteArrayOutputStream pendiente = new ByteArrayOutputStream(256);
+    private final DataOutputStream salida = new DataOutputStream(pendiente);
+    private FileChannel log;
+    private long generacion;
+
+    SnapshotJournal(Path directorio) {
+        this.directorio = directorio;
+    }
+
+    /**
+     * Loads the newest snapshot and replays the logs after it into {@code destino},
+     * then opens the log for appending. Called once, before any other method.
+     */
+    void recuperar(Consumer<Fila> destino) throws IOException {
+        Files.createDirectories(directorio);
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.forEach(archivo -> {
+                Matcher m = NOMBRE_ARCHIVO.matcher(archivo.getFileName().toString());
+                if (m.matches()) {
+                    (m.group(1).equals("snapshot") ? snapshots : logs).put(Long.parseLong(m.group(2)), archivo);
+                }
+            });
+        }
+        generacion = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        if (!snapshots.isEmpty()) {
+            leerSnapshot(snapshots.lastEntry().getValue(), destino);
+        }
+        Path ultimo = null;
+        for (var entrada : logs.tailMap(generacion, true).entrySet()) {
+            if (ultimo != null) {
+                // Only the log being written at the time of a crash can end in a torn record.
+                throw new IOException("Corrupt journal file: " + ultimo);
+            }
+            if (!reproducirLog(entrada.getValue(), destino)) {
+                ultimo = entrada.getValue();
+            }
+            generacion = entrada.getKey();
+        }
+        log = abrirLog(generacion);
+    }
+
+    void registrar(Fila fila) throws IOException {
+        try {
+            codificador.escribir(fila, salida);
+            escribirTodo(log, pendiente);
+        } finally {
+            // A failed write must not leave its bytes in front of the next record.
+            pendiente.reset();
+        }
+    }
+
+    /** Appends several rows with a single write. */
+    void registrar(Collection<Fila> filas) throws IOException {
+        try {
+            for (Fila fila : filas) {
+                codificador.escribir(fila, salida);
+            }
+            escribirTodo(log, pendiente);
+        } finally {
+            pendiente.reset();
+        }
+    }
+
+    /**
+     * Starts a new log generation. Rows written from now on go to the new log; the caller
+     * then writes the current state with {@link #escribirSnapshot(long, Collection)}.
+     *
+     * @return the new generation
+     */
+    long rotar() throws IOException {
+        FileChannel nuevo = abrirLog(generacion + 1);
+        log.force(false);
+        log.close();
+        log = nuevo;
+        return ++generacion;
+    }
+
+    /**
+     * Writes the rows as snapshot {@code generacion} and deletes the files it supersedes.
+     * Safe to call without the DAO lock: it only touches the snapshot and older files.
+     */
+    void escribirSnapshot(long generacion, Collection<Fila> filas) throws IOException {
+        Path temporal = directorio.resolve("snapshot-" + generacion + ".tmp");
+        // Own encoder and buffer: this runs outside the DAO lock, concurrently with registrar.
+        Codificador codificadorSnapshot = new Codificador();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024 + 256);
+        DataOutputStream datos = new DataOutputStream(bytes);
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            datos.writeInt(MAGIC_SNAPSHOT);
+            datos.writeLong(filas.size());
+            for (Fila fila : filas) {
+                codificadorSnapshot.escribir(fila, datos);
+                if (bytes.size() >= 64 * 1024) {
+                    escribirTodo(canal, bytes);
+                }
+            }
+            datos.flush();
+            escribirTodo(canal, bytes);
+            canal.force(true);
+        }
+        Files.move(temporal, directorio.resolve("snapshot-" + generacion + ".bin"), StandardCopyOption.ATOMIC_MOVE);
+        borrarAnteriores(generacion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.force(false);
+            log.close();
+        }
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteArrayOutputStream bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        bytes.reset();
+    }
+
+    private static void leerSnapshot(Path archivo, Consumer<Fila> destino) throws IOException {
+        ByteBuffer contenido = ByteBuffer.wrap(Files.readAllBytes(archivo));
+        if (contenido.remaining() < Integer.BYTES + Long.BYTES || contenido.getInt() != MAGIC_SNAPSHOT) {
+            throw new IOException("Not a snapshot file: " + archivo);
+        }
+        long filas = contenido.getLong();
+        for (long i = 0; i < filas; i++) {
+            Fila fila = leerRegistro(contenido);
+            if (fila == null) {
+                throw new IOException("Corrupt snapshot file: " + archivo);
+            }
+            destino.accept(fila);
+        }
+    }
+
+    /**
+     * Replays every intact record. A torn or corrupt tail is cut off.
+     *
+     * @return true if the whole file was intact
+     */
+    private static boolean reproducirLog(Path archivo, Consumer<Fila> destino) throws IOException {
+        ByteBuffer contenido = ByteBuffer.wrap(Files.readAllBytes(archivo));
+        int validos = 0;
+        Fila fila;
+        while ((fila = leerRegistro(contenido)) != null) {
+            destino.accept(fila);
+            validos = contenido.position();
+        }
+        if (validos == contenido.limit()) {
+            return true;
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(validos);
+        }
+        return false;
+    }
+
+    /** Reads the record at the buffer position, or returns null if it is incomplete or corrupt. */
+    private static Fila leerRegistro(ByteBuffer contenido) throws IOException {
+        if (contenido.remaining() < CABECERA) {
+            return null;
+        }
+        int inicio = contenido.position();
+        int longitud = contenido.getInt();
+        int esperado = contenido.getInt();
+        if (longitud < 0 || longitud > contenido.remaining()) {
+            contenido.position(inicio);
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(contenido.array(), contenido.position(), longitud);
+        if ((int) crc.getValue() != esperado) {
+            contenido.position(inicio);
+            return null;
+        }
+        DataInputStream datos = new DataInputStream(new ByteArrayInputStream(
+                contenido.array(), contenido.position(), longitud));
+        contenido.position(contenido.position() + longitud);
+        long id = datos.readLong();
+        String nombre = datos.readUTF();
+        String email = datos.readUTF();
+        int edad = datos.readInt();
+        String curso = datos.readUTF();
+        long segundos = datos.readLong();
+        boolean activo = datos.readBoolean();
+        LocalDateTime fecha = segundos == SIN_FECHA ? null : LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+        return new Fila(id, nombre, email, edad, curso, fecha, activo);
+    }
+
+    private FileChannel abrirLog(long generacion) throws IOException {
+        return FileChannel.open(directorio.resolve("log-" + generacion + ".bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void borrarAnteriores(long generacion) throws IOException {
+        List<Path> obsoletos = new ArrayList<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.forEach(archivo -> {
+                Matcher m = NOMBRE_ARCHIVO.matcher(archivo.getFileName().toString());
+                if (m.matches() && Long.parseLong(m.group(2)) < generacion) {
+                    obsoletos.add(archivo);
+                }
+            });
+        }
+        for (Path archivo : obsoletos) {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    /** Frames one row as {@code [length][crc32][row]}. */
+    private static final class Codificador {
+
+        private final ByteArrayOutputStream fila = new ByteArrayOutputStream(128);
+        private final DataOutputStream datos = new DataOutputStream(fila);
+        private final CRC32 crc = new CRC32();
+
+        void escribir(Fila registro, DataOutputStream destino) throws IOException {
+            fila.reset();
+            datos.writeLong(registro.id());
+            datos.writeUTF(registro.nombre());
+            datos.writeUTF(registro.email());
+            datos.writeInt(registro.edad());
+            datos.writeUTF(registro.curso());
+            datos.writeLong(registro.fechaRegistro() == null ? SIN_FECHA : registro.fechaRegistro().toEpochSecond(ZoneOffset.UTC));
+            datos.writeBoolean(registro.activo());
+            crc.reset();
+            byte[] bytes = fila.toByteArray();
+            crc.update(bytes);
+            destino.writeInt(bytes.length);
+            destino.writeInt((int) crc.getValue());
+            destino.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.educacion.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LRU cache of prepared statements, keyed by connection and SQL text.
+ * Statements handed out by the cache stay owned by it: callers must close their
+ * ResultSets but never the statement. Evicted statements are closed, and entries of
+ * connections that have been closed are dropped on the next miss.
+ *
+ * A cached statement is shared by every caller on its connection. Leases that may share
+ * their connection with other threads must go through {@link #preparar(ConnectionLease, String)},
+ * which keeps the connection's statements locked until the lease is closed.
+ */
+public class StatementCache {
+
+    /** Counters since the cache was created. */
+    public record Stats(long hits, long misses, long evictions) {
+    }
+
+    private final int maxPorConexion;
+    private final Map<Connection, StatementsDeConexion> porConexion = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StatementCache(int maxPorConexion) {
+        if (maxPorConexion <= 0) {
+            throw new IllegalArgumentException("Statement cache size must be positive: " + maxPorConexion);
+        }
+        this.maxPorConexion = maxPorConexion;
+    }
+
+    public PreparedStatement preparar(ConnectionLease lease, String sql) throws SQLException {
+        return preparar(lease, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Returns the cached statement for the lease's connection. Unless the lease owns its
+     * connection exclusively, the lease also holds that connection's lock until it is closed,
+     * so binding, executing and reading the statement never interleave with another thread
+     * using the same cached statement.
+     */
+    public PreparedStatement preparar(ConnectionLease lease, String sql, int autoGeneratedKeys) throws SQLException {
+        Connection connection = lease.connection();
+        if (!lease.exclusiva()) {
+            lease.retener(statementsDe(connection).bloqueo);
+        }
+        return preparar(connection, sql, autoGeneratedKeys);
+    }
+
+    public PreparedStatement preparar(Connection connection, String sql) throws SQLException {
+        return preparar(connection, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Returns the cached statement for this connection and SQL, compiling it on a miss.
+     * A given SQL text is expected to always be prepared with the same {@code autoGeneratedKeys} flag.
+     * The caller must be the only thread using the connection's statements.
+     */
+    public PreparedStatement preparar(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        StatementsDeConexion statements = statementsDe(connection);
+        synchronized (statements) {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt != null && !pstmt.isClosed()) {
+                hits.increment();
+                return pstmt;
+            }
+            misses.increment();
+            pstmt = connection.prepareStatement(sql, autoGeneratedKeys);
+            statements.put(sql, pstmt);
+            return pstmt;
+        }
+    }
+
+    /** Closes and forgets every statement cached for the given connection. */
+    public void invalidar(Connection connection) {
+        StatementsDeConexion statements = porConexion.remove(connection);
+        if (statements != null) {
+            synchronized (statements) {
+                statements.values().forEach(StatementCache::cerrarSilenciosamente);
+                statements.clear();
+            }
+        }
+    }
+
+    /** Closes every cached statement. */
+    public void cerrar() {
+        porConexion.keySet().forEach(this::invalidar);
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private StatementsDeConexion statementsDe(Connection connection) {
+        StatementsDeConexion statements = porConexion.get(connection);
+        if (statements == null) {
+            purgarConexionesCerradas();
+            statements = porConexion.computeIfAbsent(connection, c -> new StatementsDeConexion());
+        }
+        return statements;
+    }
+
+    private void purgarConexionesCerradas() {
+        for (Connection connection : porConexion.keySet()) {
+            try {
+                if (connection.isClosed()) {
+                    invalidar(connection);
+                }
+            } catch (SQLException e) {
+                invalidar(connection);
+            }
+        }
+    }
+
+    private static void cerrarSilenciosamente(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException ignored) {
+            // Nothing useful to do with a statement that fails to close.
+        }
+    }
+
+    private final class StatementsDeConexion extends LinkedHashMap<String, PreparedStatement> {
+
+        // Held by a shared connection's lease from its first cached statement until it closes.
+        private final ReentrantLock bloqueo = new ReentrantLock();
+
+        private StatementsDeConexion() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > maxPorConexion) {
+                evictions.increment();
+                cerrarSilenciosamente(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind mode for EstudianteDAO: mutations are queued and a single writer thread
+ * applies them on its own connection, committing up to {@code maxLote} of them per
+ * transaction. A group is closed when it is full or {@code linger} after its first
+ * mutation, whichever comes first. Each mutation's future completes only after its
+ * group commits, with the result or with the error of that one mutation.
+ *
+ * <p>The queue is bounded: once it is full, callers block until the writer catches up.
+ *
+ * <p>Reads go to the wrapped DAO. Point reads see the queued writes:
+ * {@link #obtenerPorId(Long)}, {@link #obtenerPorIds} and {@link #obtenerRegistroPorId(long)}
+ * answer a student with a queued delete as missing, and wait for the queue to drain before
+ * reading a student with a queued update, since the update may still be rejected (an
+ * unknown id, a UNIQUE conflict or a failed compare-and-set). {@link #existeEmail(String)}
+ * counts the emails of queued creates and updates, so it errs towards "taken" until a
+ * rejected write leaves the queue. Range reads ({@link #obtenerTodos()}, {@link #obtenerPorFiltro}, {@link #obtenerPagina},
+ * {@link #streamTodos(int)}, {@link #streamPorRangoId}, {@link #obtenerRoster()},
+ * {@link #obtenerRegistros()}, {@link #obtenerRegistrosPorFiltro}) and
+ * {@link #obtenerIdMaximo()} wait for the queue to drain first.
+ *
+ * <p>The synchronous write methods of the interface go through the same queue and wait
+ * for their own result, so concurrent callers still share transactions.
+ *
+ * <p>If the writer thread dies (an {@link Error} or any other unexpected throwable), the DAO
+ * closes itself: the mutations in flight and in the queue fail, later ones are rejected as
+ * after {@link #close()}, and reads keep going to the wrapped DAO.
+ */
+public class WriteBehindEstudianteDAO extends DelegatingEstudianteDAO implements AutoCloseable {
+
+    public static final int CAPACIDAD_COLA_POR_DEFECTO = 10_000;
+    public static final int MAX_LOTE_POR_DEFECTO = 256;
+    public static final Duration LINGER_POR_DEFECTO = Duration.ofMillis(2);
+
+    /** Marks the end of the queue; the writer stops when it reaches it. */
+    private static final Operacion<Void> FIN = new Operacion<>(dao -> null, true, () -> { });
+
+    private final BlockingQueue<Operacion<?>> cola;
+    private final int maxLote;
+    private final long lingerNanos;
+    private final Connection conexion;
+    private final EstudianteDAO escritor;
+    private final Thread hiloEscritor;
+
+    private final Map<Long, Pendiente> pendientesPorId = new ConcurrentHashMap<>();
+    private final Map<String, Integer> emailsPendientes = new ConcurrentHashMap<>();
+    // Submissions hold the read lock so close() cannot slip FIN in front of them.
+    private final ReadWriteLock cierre = new ReentrantReadWriteLock();
+    private volatile boolean cerrado;
+
+    private final LongAdder operaciones = new LongAdder();
+    private final LongAdder transacciones = new LongAdder();
+
+    public WriteBehindEstudianteDAO(EstudianteDAO lecturas, Supplier<Connection> conexiones) {
+        this(lecturas, conexiones, CAPACIDAD_COLA_POR_DEFECTO, MAX_LOTE_POR_DEFECTO, LINGER_POR_DEFECTO);
+    }
+
+    /**
+     * @param lecturas   DAO that serves the reads
+     * @param conexiones source of the writer's dedicated connection, taken once and closed by {@link #close()}
+     */
+    public WriteBehindEstudianteDAO(EstudianteDAO lecturas, Supplier<Connection> conexiones,
+                                    int capacidadCola, int maxLote, Duration linger) {
+        super(lecturas);
+        if (capacidadCola <= 0 || maxLote <= 0) {
+            throw new IllegalArgumentException("Invalid write-behind sizes: queue=" + capacidadCola + ", batch=" + maxLote);
+        }
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("Linger must not be negative: " + linger);
+        }
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.maxLote = maxLote;
+        this.lingerNanos = linger.toNanos();
+        this.conexion = conexiones.get();
+        this.escritor = new EstudianteDAOImpl(() -> conexion);
+        this.hiloEscritor = new Thread(this::escribir, "estudiantes-write-behind");
+        hiloEscritor.setDaemon(true);
+        hiloEscritor.start();
+    }
+
+    public CompletableFuture<Estudiante> crearAsync(Estudiante estudiante) {
+        String email = estudiante.getEmail();
+        sumarEmailPendiente(email);
+        return encolar(new Operacion<>(dao -> dao.crear(estudiante), false, () -> restarEmailPendiente(email)));
+    }
+
+    public CompletableFuture<Boolean> actualizarAsync(Estudiante estudiante) {
+        return encolarActualizacion(estudiante, dao -> dao.actualizar(estudiante));
+    }
+
+    public CompletableFuture<Boolean> eliminarAsync(Long id) {
+        Pendiente pendiente = new Pendiente(true);
+        marcarPendiente(id, pendiente);
+        return encolar(new Operacion<>(dao -> dao.eliminar(id), false, () -> desmarcarPendiente(id, pendiente)));
+    }
+
+    /** Blocks until every mutation queued before this call has been committed (or has failed). */
+    public void vaciar() {
+        if (cerrado) {
+            // close() already drained the queue.
+            return;
+        }
+        esperar(encolar(new Operacion<>(dao -> null, false, () -> { })));
+    }
+
+    /** Mutations waiting for the writer. */
+    public int pendientes() {
+        return cola.size();
+    }
+
+    /** Mutations applied so far and transactions used to commit them. */
+    public long getOperaciones() {
+        return operaciones.sum();
+    }
+
+    public long getTransacciones() {
+        return transacciones.sum();
+    }
+
+    @Override
+    public Estudiante crear(Estudiante estudiante) {
+        return esperar(crearAsync(estudiante));
+    }
+
+    @Override
+    public Optional<Estudiante> crearSiEmailLibre(Estudiante estudiante) {
+        String email = estudiante.getEmail();
+        sumarEmailPendiente(email);
+        return esperar(encolar(new Operacion<>(dao -> dao.crearSiEmailLibre(estudiante), false,
+                () -> restarEmailPendiente(email))));
+    }
+
+    /** Runs in its own transactions on the writer thread, after the mutations queued before it. */
+    @Override
+    public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+        return esperar(encolar(new Operacion<>(dao -> dao.crearTodos(estudiantes, tamanoLote), true, () -> { })));
+    }
+
+    @Override
+    public boolean actualizar(Estudiante estudiante) {
+        return esperar(actualizarAsync(estudiante));
+    }
+
+    @Override
+    public ResultadoActualizacion actualizarYObtener(Estudiante estudiante, Estudiante esperado) {
+        return esperar(encolarActualizacion(estudiante, dao -> dao.actualizarYObtener(estudiante, esperado)));
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
+        return esperar(eliminarAsync(id));
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerPorId(Long id) {
+        if (id != null && eliminacionPendiente(id)) {
+            return Optional.empty();
+        }
+        return delegate.obtenerPorId(id);
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroPorId(long id) {
+        if (eliminacionPendiente(id)) {
+            return Optional.empty();
+        }
+        return delegate.obtenerRegistroPorId(id);
+    }
+
+    @Override
+    public Map<Long, Estudiante> obtenerPorIds(Collection<Long> ids) {
+        if (pendientesPorId.isEmpty()) {
+            return delegate.obtenerPorIds(ids);
+        }
+        List<Long> sinEliminar = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id != null && !eliminacionPendiente(id)) {
+                sinEliminar.add(id);
+            }
+        }
+        return delegate.obtenerPorIds(sinEliminar);
+    }
+
+    @Override
+    public boolean existeEmail(String email) {
+        return (email != null && emailsPendientes.containsKey(email)) || delegate.existeEmail(email);
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodos() {
+        vaciar();
+        return delegate.obtenerTodos();
+    }
+
+    @Override
+    public List<Estudiante> obtenerPorFiltro(FiltroEstudiantes filtro) {
+        vaciar();
+        return delegate.obtenerPorFiltro(filtro);
+    }
+
+    @Override
+    public Pagina obtenerPagina(CursorPagina cursor, int limite) {
+        vaciar();
+        return delegate.obtenerPagina(cursor, limite);
+    }
+
+    @Override
+    public Stream<Estudiante> streamTodos(int fetchSize) {
+        vaciar();
+        return delegate.streamTodos(fetchSize);
+    }
+
+    @Override
+    public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+        vaciar();
+        return delegate.streamPorRangoId(idDesde, idHasta, fetchSize);
+    }
+
+    @Override
+    public long obtenerIdMaximo() {
+        vaciar();
+        return delegate.obtenerIdMaximo();
+    }
+
+    @Override
+    public RosterCompacto obtenerRoster() {
+        vaciar();
+        return delegate.obtenerRoster();
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistros() {
+        vaciar();
+        return delegate.obtenerRegistros();
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosPorFiltro(FiltroEstudiantes filtro) {
+        vaciar();
+        return delegate.obtenerRegistrosPorFiltro(filtro);
+    }
+
+    /**
+     * Stops accepting mutations, waits for the writer to apply the queued ones
+     * and closes the writer connection.
+     */
+    @Override
+    public void close() {
+        cierre.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        } finally {
+            cierre.writeLock().unlock();
+        }
+        try {
+            cola.put(FIN);
+            hiloEscritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                conexion.close();
+            } catch (SQLException ignored) {
+                // Nothing is left to commit at this point.
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> encolarActualizacion(Estudiante estudiante, Function<EstudianteDAO, T> accion) {
+        Long id = estudiante.getId();
+        String email = estudiante.getEmail();
+        Pendiente pendiente = new Pendiente(false);
+        marcarPendiente(id, pendiente);
+        sumarEmailPendiente(email);
+        return encolar(new Operacion<>(accion, false, () -> {
+            desmarcarPendiente(id, pendiente);
+            restarEmailPendiente(email);
+        }));
+    }
+
+    private <T> CompletableFuture<T> encolar(Operacion<T> operacion) {
+        cierre.readLock().lock();
+        try {
+            if (cerrado) {
+                operacion.fallar(new IllegalStateException("Write-behind DAO is closed"));
+            } else {
+                // Blocks while the queue is full: this is the backpressure on bursty writers.
+                cola.put(operacion);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            operacion.fallar(new IllegalStateException("Interrupted while queuing a write", e));
+        } finally {
+            cierre.readLock().unlock();
+        }
+        return operacion.futuro;
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * True if the last queued write for the id is a delete. A queued update is waited for
+     * instead, so the caller then reads the committed row, whether the update applied or not.
+     */
+    private boolean eliminacionPendiente(long id) {
+        Pendiente pendiente = pendientesPorId.get(id);
+        if (pendiente == null) {
+            return false;
+        }
+        if (pendiente.eliminacion) {
+            return true;
+        }
+        vaciar();
+        return false;
+    }
+
+    private void marcarPendiente(Long id, Pendiente pendiente) {
+        if (id != null) {
+            pendientesPorId.put(id, pendiente);
+        }
+    }
+
+    // Removes the entry only if it is still this write's: a newer queued write for the id keeps its own.
+    private void desmarcarPendiente(Long id, Pendiente pendiente) {
+        if (id != null) {
+            pendientesPorId.remove(id, pendiente);
+        }
+    }
+
+    private void sumarEmailPendiente(String email) {
+        if (email != null) {
+            emailsPendientes.merge(email, 1, Integer::sum);
+        }
+    }
+
+    private void restarEmailPendiente(String email) {
+        if (email != null) {
+            emailsPendientes.computeIfPresent(email, (clave, cuenta) -> cuenta == 1 ? null : cuenta - 1);
+        }
+    }
+
+    private void escribir() {
+        List<Operacion<?>> grupo = new ArrayList<>(Math.min(maxLote, 1_024));
+        Operacion<?> siguiente = null;
+        try {
+            while (true) {
+                Operacion<?> primera = siguiente != null ? siguiente : cola.take();
+                siguiente = null;
+                if (primera == FIN) {
+                    return;
+                }
+                if (primera.aislada) {
+                    ejecutarAislada(primera);
+                    continue;
+                }
+                grupo.add(primera);
+                long limite = System.nanoTime() + lingerNanos;
+                while (grupo.size() < maxLote) {
+                    Operacion<?> operacion = cola.poll();
+                    if (operacion == null) {
+                        long restante = limite - System.nanoTime();
+                        operacion = restante > 0 ? cola.poll(restante, TimeUnit.NANOSECONDS) : null;
+                        if (operacion == null) {
+                            break;
+                        }
+                    }
+                    if (operacion.aislada) {
+                        siguiente = operacion;
+                        break;
+                    }
+                    grupo.add(operacion);
+                }
+                ejecutarGrupo(grupo);
+                grupo.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortar(new IllegalStateException("Write-behind writer was interrupted"), grupo, siguiente);
+        } catch (Throwable e) {
+            abortar(new IllegalStateException("Write-behind writer stopped: " + e, e), grupo, siguiente);
+        }
+    }
+
+    /**
+     * Called by a dying writer: fails the mutations it holds and every queued one, and closes
+     * the DAO so no caller waits for a writer that is gone.
+     */
+    private void abortar(RuntimeException error, List<Operacion<?>> grupo, Operacion<?> siguiente) {
+        grupo.forEach(operacion -> operacion.fallar(error));
+        if (siguiente != null && siguiente != FIN) {
+            siguiente.fallar(error);
+        }
+        // Callers blocked on a full queue hold the read lock; draining lets them finish.
+        while (!cierre.writeLock().tryLock()) {
+            fallarEncoladas(error);
+            Thread.yield();
+        }
+        try {
+            cerrado = true;
+        } finally {
+            cierre.writeLock().unlock();
+        }
+        fallarEncoladas(error);
+        try {
+            conexion.close();
+        } catch (SQLException ignored) {
+            // Closing rolls back the open transaction, whose mutations have already failed.
+        }
+    }
+
+    private void fallarEncoladas(RuntimeException error) {
+        Operacion<?> operacion;
+        while ((operacion = cola.poll()) != null) {
+            if (operacion != FIN) {
+                operacion.fallar(error);
+            }
+        }
+    }
+
+    private void ejecutarGrupo(List<Operacion<?>> grupo) {
+        try {
+            conexion.setAutoCommit(false);
+            // A failing statement only undoes itself in SQLite: the rest of the group still commits.
+            for (Operacion<?> operacion : grupo) {
+                operacion.ejecutar(escritor);
+            }
+            conexion.commit();
+            transacciones.increment();
+            operaciones.add(grupo.size());
+            grupo.forEach(Operacion::completar);
+        } catch (SQLException e) {
+            revertir();
+            RuntimeException error = new RuntimeException("Error committing student writes: " + e.getMessage(), e);
+            grupo.forEach(operacion -> operacion.fallar(error));
+        } catch (Throwable e) {
+            // Undo the group before setAutoCommit(true) would commit it; the writer then stops.
+            revertir();
+            throw e;
+        } finally {
+            try {
+                conexion.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // The next group sets the mode again before using the connection.
+            }
+        }
+    }
+
+    private void ejecutarAislada(Operacion<?> operacion) {
+        operacion.ejecutar(escritor);
+        transacciones.increment();
+        operaciones.increment();
+        operacion.completar();
+    }
+
+    private void revertir() {
+        try {
+            conexion.rollback();
+        } catch (SQLException ignored) {
+            // The original failure is the one reported to the callers.
+        }
+    }
+
+    /** Marks an id with a queued update or delete; one instance per write. */
+    private static final class Pendiente {
+
+        private final boolean eliminacion;
+
+        private Pendiente(boolean eliminacion) {
+            this.eliminacion = eliminacion;
+        }
+    }
+
+    /** One queued mutation. Only the writer thread calls ejecutar and completar. */
+    private static final class Operacion<T> {
+
+        private final Function<EstudianteDAO, T> accion;
+        private final boolean aislada;
+        private final Runnable alTerminar;
+        private final CompletableFuture<T> futuro = new CompletableFuture<>();
+        private T resultado;
+        private RuntimeException error;
+
+        private Operacion(Function<EstudianteDAO, T> accion, boolean aislada, Runnable alTerminar) {
+            this.accion = accion;
+            this.aislada = aislada;
+            this.alTerminar = alTerminar;
+        }
+
+        private void ejecutar(EstudianteDAO dao) {
+            try {
+                resultado = accion.apply(dao);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        private void completar() {
+            if (error != null) {
+                fallar(error);
+                return;
+            }
+            alTerminar.run();
+            futuro.complete(resultado);
+        }
+
+        private void fallar(RuntimeException causa) {
+            if (futuro.isDone()) {
+                return;
+            }
+            alTerminar.run();
+            futuro.completeExceptionally(causa);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.educacion.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales (estilo HDR).
+ * Cada potencia de dos se divide en 32 sub-cubetas, así que los percentiles tienen
+ * un error relativo menor al 3,2 %. Los valores hasta 2^42 ns (unos 73 minutos) se
+ * registran con esa precisión; los mayores se acumulan en la última cubeta.
+ * Registrar es un incremento atómico sin bloqueos.
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_SUB_CUBETA = 5;
+    private static final int SUB_CUBETAS = 1 << BITS_SUB_CUBETA;
+    private static final int EXPONENTE_MAXIMO = 42;
+    static final int CUBETAS = (EXPONENTE_MAXIMO - BITS_SUB_CUBETA + 1) * SUB_CUBETAS;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+
+    public void registrar(long nanos) {
+        cuentas.incrementAndGet(indice(nanos));
+    }
+
+    /** Copia de las cuentas actuales; permite calcular percentiles sin bloquear a quien registra. */
+    public long[] copiarCuentas() {
+        long[] copia = new long[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cuentas.get(i);
+        }
+        return copia;
+    }
+
+    /**
+     * Percentil (0-100] sobre una copia de cuentas.
+     * Devuelve el mayor valor que cae en la misma cubeta que el percentil buscado.
+     */
+    public static long percentil(long[] cuentas, double percentil) {
+        long total = 0;
+        for (long cuenta : cuentas) {
+            total += cuenta;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return valorMaximo(i);
+            }
+        }
+        return valorMaximo(cuentas.length - 1);
+    }
+
+    static int indice(long nanos) {
+        if (nanos < SUB_CUBETAS) {
+            return (int) Math.max(0, nanos);
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponente >= EXPONENTE_MAXIMO) {
+            return CUBETAS - 1;
+        }
+        int desplazamiento = exponente - BITS_SUB_CUBETA;
+        int sub = (int) (nanos >>> desplazamiento) & (SUB_CUBETAS - 1);
+        return (desplazamiento + 1) * SUB_CUBETAS + sub;
+    }
+
+    static long valorMaximo(int indice) {
+        if (indice < SUB_CUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUB_CUBETAS - 1;
+        long sub = indice % SUB_CUBETAS;
+        return ((SUB_CUBETAS + sub + 1) << desplazamiento) - 1;
+    }
+}
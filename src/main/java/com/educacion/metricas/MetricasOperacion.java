@@ -0,0 +1,57 @@
+package com.educacion.metricas;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de una operación: llamadas, errores y latencia.
+ * Pensado para quedarse siempre activo: registrar solo suma en LongAdder
+ * e incrementa una cubeta del histograma.
+ */
+public class MetricasOperacion {
+
+    /** Resumen de una operación en un instante dado. Las latencias están en nanosegundos. */
+    public record Resumen(long llamadas, long errores, long mediaNanos, long p50Nanos,
+                          long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+
+    private final String nombre;
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder nanosTotales = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final HistogramaLatencia histograma = new HistogramaLatencia();
+
+    MetricasOperacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void registrar(long nanos) {
+        llamadas.increment();
+        nanosTotales.add(nanos);
+        maxNanos.accumulate(nanos);
+        histograma.registrar(nanos);
+    }
+
+    public void registrarError(long nanos) {
+        errores.increment();
+        registrar(nanos);
+    }
+
+    public Resumen resumen() {
+        long[] cuentas = histograma.copiarCuentas();
+        long totalLlamadas = llamadas.sum();
+        return new Resumen(
+                totalLlamadas,
+                errores.sum(),
+                totalLlamadas == 0 ? 0 : nanosTotales.sum() / totalLlamadas,
+                HistogramaLatencia.percentil(cuentas, 50),
+                HistogramaLatencia.percentil(cuentas, 99),
+                HistogramaLatencia.percentil(cuentas, 99.9),
+                maxNanos.get());
+    }
+}
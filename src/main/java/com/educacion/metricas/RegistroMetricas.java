@@ -0,0 +1,117 @@
+package com.educacion.metricas;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Registro de las métricas de todas las operaciones instrumentadas.
+ * Quien instrumenta obtiene su MetricasOperacion una sola vez (al construirse)
+ * y registra directamente sobre ella, así el camino caliente no busca en el mapa.
+ */
+public class RegistroMetricas implements AutoCloseable {
+
+    private final Map<String, MetricasOperacion> operaciones = new ConcurrentHashMap<>();
+    private ScheduledExecutorService volcador;
+
+    public MetricasOperacion operacion(String nombre) {
+        return operaciones.computeIfAbsent(nombre, MetricasOperacion::new);
+    }
+
+    /** Resumen de cada operación, ordenado por nombre. */
+    public SortedMap<String, MetricasOperacion.Resumen> instantanea() {
+        SortedMap<String, MetricasOperacion.Resumen> resumen = new TreeMap<>();
+        operaciones.forEach((nombre, metricas) -> resumen.put(nombre, metricas.resumen()));
+        return Collections.unmodifiableSortedMap(resumen);
+    }
+
+    /** Una línea por operación, con las latencias en microsegundos y punto decimal en cualquier locale. */
+    public String comoTexto() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format(Locale.ROOT, "%-40s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operacion", "llamadas", "errores", "media_us", "p50_us", "p99_us", "p999_us", "max_us"));
+        instantanea().forEach((nombre, r) -> texto.append(String.format(Locale.ROOT, "%-40s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                nombre, r.llamadas(), r.errores(), micros(r.mediaNanos()), micros(r.p50Nanos()),
+                micros(r.p99Nanos()), micros(r.p999Nanos()), micros(r.maxNanos()))));
+        return texto.toString();
+    }
+
+    /** Objeto JSON con una entrada por operación; las latencias van en nanosegundos. */
+    public String comoJson() {
+        StringBuilder json = new StringBuilder("{");
+        boolean primero = true;
+        for (Map.Entry<String, MetricasOperacion.Resumen> entrada : instantanea().entrySet()) {
+            MetricasOperacion.Resumen r = entrada.getValue();
+            if (!primero) {
+                json.append(',');
+            }
+            primero = false;
+            json.append('"').append(escaparJson(entrada.getKey())).append("\":{")
+                    .append("\"llamadas\":").append(r.llamadas())
+                    .append(",\"errores\":").append(r.errores())
+                    .append(",\"media_ns\":").append(r.mediaNanos())
+                    .append(",\"p50_ns\":").append(r.p50Nanos())
+                    .append(",\"p99_ns\":").append(r.p99Nanos())
+                    .append(",\"p999_ns\":").append(r.p999Nanos())
+                    .append(",\"max_ns\":").append(r.maxNanos())
+                    .append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Envía periódicamente el volcado (texto o JSON) al destino indicado, por ejemplo un logger.
+     * Usa un único hilo daemon que se detiene con close().
+     */
+    public synchronized void programarVolcado(Duration periodo, boolean json, Consumer<String> destino) {
+        if (volcador == null) {
+            volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "volcado-metricas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        long nanos = periodo.toNanos();
+        volcador.scheduleAtFixedRate(() -> destino.accept(json ? comoJson() : comoTexto()),
+                nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (volcador != null) {
+            volcador.shutdownNow();
+            volcador = null;
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private static String escaparJson(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> escapado.append("\\\"");
+                case '\\' -> escapado.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        escapado.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escapado.append(c);
+                    }
+                }
+            }
+        }
+        return escapado.toString();
+    }
+}
@@ -0,0 +1,294 @@
+package com.educacion.modelo;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato binario compacto de Estudiante, para enviarlo entre servicios o guardarlo en
+ * cachés de disco. Escribe y lee directamente en un ByteBuffer: al codificar no se crea
+ * ningún objeto y al decodificar solo el Estudiante y sus Strings.
+ *
+ * <p>Un estudiante ocupa:
+ * <pre>
+ *   versión (1 byte) | longitud del resto (varint) | indicadores (1 byte)
+ *   | id (varint, si lo tiene) | edad (varint) | fecha de registro (varint, si la tiene)
+ *   | nombre | email | curso
+ * </pre>
+ * Los indicadores dicen si está activo y si tiene id y fecha de registro. La fecha se guarda
+ * en segundos desde epoch (UTC), así que se pierden las fracciones de segundo. Los enteros
+ * son varints con signo (zigzag): los valores pequeños ocupan un byte. Cada texto es su
+ * longitud en UTF-8 más uno (0 para null) seguida de los bytes.
+ *
+ * <p>La longitud permite que una versión posterior agregue campos al final: quien lea con
+ * esta versión los salta. Una lista es la versión, el número de estudiantes y cada
+ * estudiante sin su byte de versión.
+ *
+ * <p>Si el buffer no tiene sitio se lanza BufferOverflowException y si le faltan bytes
+ * BufferUnderflowException, como en cualquier ByteBuffer; {@link #tamano} dice cuánto reservar.
+ */
+public final class EstudianteCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int ACTIVO = 1;
+    private static final int CON_ID = 1 << 1;
+    private static final int CON_FECHA = 1 << 2;
+
+    private EstudianteCodec() {
+    }
+
+    /** Bytes que ocupa el estudiante codificado con {@link #codificar(Estudiante, ByteBuffer)}. */
+    public static int tamano(Estudiante estudiante) {
+        return 1 + tamanoRegistro(estudiante);
+    }
+
+    /** Bytes que ocupa la lista codificada con {@link #codificarTodos}. */
+    public static int tamano(List<Estudiante> estudiantes) {
+        int bytes = 1 + tamanoVarint(estudiantes.size());
+        for (Estudiante estudiante : estudiantes) {
+            bytes += tamanoRegistro(estudiante);
+        }
+        return bytes;
+    }
+
+    /** Escribe el estudiante desde la posición actual del buffer y la avanza. */
+    public static void codificar(Estudiante estudiante, ByteBuffer buffer) {
+        buffer.put(VERSION);
+        codificarRegistro(estudiante, buffer);
+    }
+
+    /** Lee un estudiante desde la posición actual del buffer y la deja tras él. */
+    public static Estudiante decodificar(ByteBuffer buffer) {
+        comprobarVersion(buffer.get());
+        return decodificarRegistro(buffer);
+    }
+
+    public static void codificarTodos(List<Estudiante> estudiantes, ByteBuffer buffer) {
+        buffer.put(VERSION);
+        escribirVarint(buffer, estudiantes.size());
+        for (Estudiante estudiante : estudiantes) {
+            codificarRegistro(estudiante, buffer);
+        }
+    }
+
+    public static List<Estudiante> decodificarTodos(ByteBuffer buffer) {
+        comprobarVersion(buffer.get());
+        long cantidad = leerVarint(buffer);
+        // Cada estudiante ocupa al menos 6 bytes: no se reserva más de lo que cabe en el buffer
+        if (cantidad < 0 || cantidad > buffer.remaining() / 6) {
+            throw new IllegalArgumentException("Número de estudiantes no válido: " + cantidad);
+        }
+        List<Estudiante> estudiantes = new ArrayList<>((int) cantidad);
+        for (long i = 0; i < cantidad; i++) {
+            estudiantes.add(decodificarRegistro(buffer));
+        }
+        return estudiantes;
+    }
+
+    private static int tamanoRegistro(Estudiante estudiante) {
+        int contenido = tamanoContenido(estudiante);
+        return tamanoVarint(contenido) + contenido;
+    }
+
+    private static int tamanoContenido(Estudiante estudiante) {
+        int bytes = 1 + tamanoVarint(zigzag(estudiante.getEdad()));
+        if (estudiante.getId() != null) {
+            bytes += tamanoVarint(zigzag(estudiante.getId()));
+        }
+        if (estudiante.getFechaRegistro() != null) {
+            bytes += tamanoVarint(zigzag(estudiante.getFechaRegistro().toEpochSecond(ZoneOffset.UTC)));
+        }
+        return bytes + tamanoTexto(estudiante.getNombre()) + tamanoTexto(estudiante.getEmail())
+                + tamanoTexto(estudiante.getCurso());
+    }
+
+    /**
+     * El registro y cada texto reservan un byte para su longitud, que basta hasta 127 bytes,
+     * y la escriben al final: así no hay que calcularla antes recorriendo los textos.
+     */
+    private static void codificarRegistro(Estudiante estudiante, ByteBuffer buffer) {
+        int inicio = buffer.position();
+        buffer.put((byte) 0);
+        Long id = estudiante.getId();
+        LocalDateTime fecha = estudiante.getFechaRegistro();
+        buffer.put((byte) ((estudiante.isActivo() ? ACTIVO : 0) | (id != null ? CON_ID : 0)
+                | (fecha != null ? CON_FECHA : 0)));
+        if (id != null) {
+            escribirVarint(buffer, zigzag(id));
+        }
+        escribirVarint(buffer, zigzag(estudiante.getEdad()));
+        if (fecha != null) {
+            escribirVarint(buffer, zigzag(fecha.toEpochSecond(ZoneOffset.UTC)));
+        }
+        escribirTexto(buffer, estudiante.getNombre());
+        escribirTexto(buffer, estudiante.getEmail());
+        escribirTexto(buffer, estudiante.getCurso());
+        escribirLongitud(buffer, inicio, buffer.position() - inicio - 1);
+    }
+
+    /** Escribe la longitud en el byte reservado en inicio, desplazando el contenido si no cabe en él. */
+    private static void escribirLongitud(ByteBuffer buffer, int inicio, long longitud) {
+        int fin = buffer.position();
+        int extra = tamanoVarint(longitud) - 1;
+        if (extra > 0) {
+            if (buffer.limit() - fin < extra) {
+                throw new BufferOverflowException();
+            }
+            for (int i = fin - 1; i > inicio; i--) {
+                buffer.put(i + extra, buffer.get(i));
+            }
+        }
+        buffer.position(inicio);
+        escribirVarint(buffer, longitud);
+        buffer.position(fin + extra);
+    }
+
+    private static Estudiante decodificarRegistro(ByteBuffer buffer) {
+        long longitud = leerVarint(buffer);
+        if (longitud < 0 || longitud > buffer.remaining()) {
+            throw new IllegalArgumentException("Longitud de estudiante no válida: " + longitud);
+        }
+        int fin = buffer.position() + (int) longitud;
+        int indicadores = buffer.get();
+        Long id = (indicadores & CON_ID) != 0 ? desZigzag(leerVarint(buffer)) : null;
+        int edad = (int) desZigzag(leerVarint(buffer));
+        LocalDateTime fecha = (indicadores & CON_FECHA) != 0
+                ? LocalDateTime.ofEpochSecond(desZigzag(leerVarint(buffer)), 0, ZoneOffset.UTC)
+                : null;
+        String nombre = leerTexto(buffer);
+        String email = leerTexto(buffer);
+        String curso = leerTexto(buffer);
+        if (buffer.position() > fin) {
+            throw new IllegalArgumentException("El estudiante ocupa más que su longitud");
+        }
+        // Campos de una versión posterior que esta no conoce
+        buffer.position(fin);
+        return new Estudiante(id, nombre, email, edad, curso, fecha, (indicadores & ACTIVO) != 0);
+    }
+
+    private static void comprobarVersion(byte version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de codificación no soportada: " + version);
+        }
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long desZigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static int tamanoVarint(long valor) {
+        // 7 bits por byte; 0 ocupa un byte
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(valor) + 6) / 7);
+    }
+
+    private static void escribirVarint(ByteBuffer buffer, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            buffer.put((byte) (valor & 0x7F | 0x80));
+            valor >>>= 7;
+        }
+        buffer.put((byte) valor);
+    }
+
+    private static long leerVarint(ByteBuffer buffer) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = buffer.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint de más de 10 bytes");
+    }
+
+    private static int tamanoTexto(String texto) {
+        if (texto == null) {
+            return 1;
+        }
+        int bytes = longitudUtf8(texto);
+        return tamanoVarint(bytes + 1L) + bytes;
+    }
+
+    /** Bytes del texto en UTF-8, contando un byte por cada suplente suelto. */
+    private static int longitudUtf8(String texto) {
+        int bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static void escribirTexto(ByteBuffer buffer, String texto) {
+        if (texto == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        int inicio = buffer.position();
+        buffer.put((byte) 0);
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int punto = Character.toCodePoint(c, texto.charAt(++i));
+                buffer.put((byte) (0xF0 | punto >> 18)).put((byte) (0x80 | punto >> 12 & 0x3F))
+                        .put((byte) (0x80 | punto >> 6 & 0x3F)).put((byte) (0x80 | punto & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Suplente suelto: '?', como String.getBytes
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        // Longitud más uno: el 0 es null
+        escribirLongitud(buffer, inicio, buffer.position() - inicio);
+    }
+
+    /**
+     * Con un buffer en el heap el String se crea directamente desde su array; con uno
+     * directo hay que copiar antes los bytes.
+     */
+    private static String leerTexto(ByteBuffer buffer) {
+        long longitud = leerVarint(buffer) - 1;
+        if (longitud < 0) {
+            return null;
+        }
+        if (longitud > buffer.remaining()) {
+            throw new IllegalArgumentException("Texto de " + longitud + " bytes, quedan " + buffer.remaining());
+        }
+        int bytes = (int) longitud;
+        String texto;
+        if (buffer.hasArray()) {
+            texto = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + bytes);
+        } else {
+            byte[] copia = new byte[bytes];
+            buffer.get(copia);
+            texto = new String(copia, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,79 @@
+package com.educacion.modelo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Versión inmutable de Estudiante para las lecturas.
+ *
+ * <p>Frente a Estudiante: el id es un {@code long} primitivo (no hay Long que reservar), la
+ * fecha de registro se guarda en milisegundos desde epoch (UTC) y el LocalDateTime solo se
+ * crea si se pide con {@link #fechaRegistro()}, y ningún constructor consulta el reloj. Al
+ * ser inmutable, la misma instancia se puede compartir entre hilos y guardar en cachés sin
+ * copiarla; los métodos {@code with*} devuelven una copia con un campo cambiado.
+ *
+ * <p>Solo representa estudiantes ya guardados, que siempre tienen id.
+ */
+public record EstudianteRegistro(long id, String nombre, String email, int edad, String curso,
+                                 long fechaRegistroMillis, boolean activo) {
+
+    /** Valor de {@link #fechaRegistroMillis()} para los estudiantes sin fecha de registro. */
+    public static final long SIN_FECHA = Long.MIN_VALUE;
+
+    /** Copia los datos del Estudiante, que debe tener id. */
+    public static EstudianteRegistro desde(Estudiante estudiante) {
+        if (estudiante.getId() == null) {
+            throw new IllegalArgumentException("El estudiante no tiene ID");
+        }
+        return new EstudianteRegistro(estudiante.getId(), estudiante.getNombre(), estudiante.getEmail(),
+                estudiante.getEdad(), estudiante.getCurso(), aMillis(estudiante.getFechaRegistro()),
+                estudiante.isActivo());
+    }
+
+    /** Crea un Estudiante nuevo, modificable, con los mismos datos. */
+    public Estudiante aEstudiante() {
+        return new Estudiante(id, nombre, email, edad, curso, fechaRegistro(), activo);
+    }
+
+    public boolean tieneFechaRegistro() {
+        return fechaRegistroMillis != SIN_FECHA;
+    }
+
+    /** La fecha de registro (UTC), creada en cada llamada, o null si no tiene. */
+    public LocalDateTime fechaRegistro() {
+        if (fechaRegistroMillis == SIN_FECHA) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(fechaRegistroMillis, 1_000),
+                Math.floorMod(fechaRegistroMillis, 1_000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public EstudianteRegistro withNombre(String nombre) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, fechaRegistroMillis, activo);
+    }
+
+    public EstudianteRegistro withEmail(String email) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, fechaRegistroMillis, activo);
+    }
+
+    public EstudianteRegistro withEdad(int edad) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, fechaRegistroMillis, activo);
+    }
+
+    public EstudianteRegistro withCurso(String curso) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, fechaRegistroMillis, activo);
+    }
+
+    public EstudianteRegistro withFechaRegistro(LocalDateTime fechaRegistro) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, aMillis(fechaRegistro), activo);
+    }
+
+    public EstudianteRegistro withActivo(boolean activo) {
+        return new EstudianteRegistro(id, nombre, email, edad, curso, fechaRegistroMillis, activo);
+    }
+
+    /** Milisegundos desde epoch de la fecha leída como UTC; se descartan los submilisegundos. */
+    private static long aMillis(LocalDateTime fecha) {
+        return fecha == null ? SIN_FECHA : fecha.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,254 @@
+package com.educacion.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Listado de estudiantes de solo lectura guardado por columnas, para rosters grandes.
+ *
+ * <p>Un {@code List<Estudiante>} de 1M de filas reserva por cada una un Estudiante, un Long,
+ * un LocalDateTime y tres Strings. Aquí cada columna es un array primitivo:
+ * <ul>
+ *   <li>IDs y edades en {@code long[]} e {@code int[]}.</li>
+ *   <li>La fecha de registro en segundos desde epoch (UTC), {@link #SIN_FECHA} si no tiene.</li>
+ *   <li>El curso como código en un diccionario, porque hay pocos cursos distintos.</li>
+ *   <li>Nombre y email en UTF-8 dentro de un único {@code byte[]} compartido, con sus offsets.</li>
+ * </ul>
+ * Los Estudiante se crean al pedirlos ({@link #estudiante(int)}, {@link #comoLista()}), así que
+ * conviene leer las columnas directamente cuando solo hace falta una. Todas las filas son de
+ * estudiantes activos.
+ */
+public final class RosterCompacto implements Iterable<Estudiante> {
+
+    /** Valor de {@link #fechaRegistroEpoch(int)} para los estudiantes sin fecha de registro. */
+    public static final long SIN_FECHA = Long.MIN_VALUE;
+
+    private static final RosterCompacto VACIO = builder(0).build();
+
+    private final int tamano;
+    private final long[] ids;
+    private final int[] edades;
+    private final long[] fechas;
+    private final int[] codigosCurso;
+    private final String[] cursos;
+    private final byte[] texto;
+    // El nombre de la fila i ocupa texto[offsets[2i], offsets[2i+1]) y su email texto[offsets[2i+1], offsets[2i+2]).
+    private final int[] offsets;
+
+    private RosterCompacto(Builder builder) {
+        this.tamano = builder.tamano;
+        this.ids = Arrays.copyOf(builder.ids, tamano);
+        this.edades = Arrays.copyOf(builder.edades, tamano);
+        this.fechas = Arrays.copyOf(builder.fechas, tamano);
+        this.codigosCurso = Arrays.copyOf(builder.codigosCurso, tamano);
+        this.cursos = builder.cursos.toArray(String[]::new);
+        this.texto = Arrays.copyOf(builder.texto, builder.bytesTexto);
+        this.offsets = Arrays.copyOf(builder.offsets, 2 * tamano + 1);
+    }
+
+    public static RosterCompacto vacio() {
+        return VACIO;
+    }
+
+    public static Builder builder() {
+        return new Builder(1_024);
+    }
+
+    /** @param capacidad filas previstas, para no redimensionar los arrays mientras se llena */
+    public static Builder builder(int capacidad) {
+        return new Builder(capacidad);
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public long id(int fila) {
+        return ids[comprobar(fila)];
+    }
+
+    public int edad(int fila) {
+        return edades[comprobar(fila)];
+    }
+
+    /** Segundos desde epoch (UTC) o {@link #SIN_FECHA}. */
+    public long fechaRegistroEpoch(int fila) {
+        return fechas[comprobar(fila)];
+    }
+
+    public LocalDateTime fechaRegistro(int fila) {
+        long segundos = fechaRegistroEpoch(fila);
+        return segundos == SIN_FECHA ? null : LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+    }
+
+    /** Posición del curso de la fila en {@link #cursos()}. */
+    public int codigoCurso(int fila) {
+        return codigosCurso[comprobar(fila)];
+    }
+
+    public String curso(int fila) {
+        return cursos[codigoCurso(fila)];
+    }
+
+    /** Diccionario de cursos, en orden de aparición. */
+    public List<String> cursos() {
+        return List.of(cursos);
+    }
+
+    public String nombre(int fila) {
+        int i = 2 * comprobar(fila);
+        return new String(texto, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+    }
+
+    public String email(int fila) {
+        int i = 2 * comprobar(fila) + 1;
+        return new String(texto, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+    }
+
+    /** Crea un Estudiante nuevo con los datos de la fila. */
+    public Estudiante estudiante(int fila) {
+        return new Estudiante(id(fila), nombre(fila), email(fila), edad(fila), curso(fila), fechaRegistro(fila), true);
+    }
+
+    /** Vista de solo lectura que crea cada Estudiante al pedirlo con {@code get}. */
+    public List<Estudiante> comoLista() {
+        return new Vista();
+    }
+
+    @Override
+    public Iterator<Estudiante> iterator() {
+        return comoLista().iterator();
+    }
+
+    /** Bytes ocupados por los arrays de datos, sin contar las cabeceras de los objetos. */
+    public long bytesDatos() {
+        return (long) tamano * (Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES)
+                + texto.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    private int comprobar(int fila) {
+        if (fila < 0 || fila >= tamano) {
+            throw new IndexOutOfBoundsException("Fila " + fila + " fuera de rango (tamaño " + tamano + ")");
+        }
+        return fila;
+    }
+
+    private final class Vista extends AbstractList<Estudiante> implements RandomAccess {
+
+        @Override
+        public Estudiante get(int fila) {
+            return estudiante(fila);
+        }
+
+        @Override
+        public int size() {
+            return tamano;
+        }
+    }
+
+    /**
+     * Llena las columnas fila a fila. Los arrays crecen al doble cuando se llenan y
+     * {@link #build()} los recorta al tamaño final.
+     */
+    public static final class Builder {
+
+        private int tamano;
+        private long[] ids;
+        private int[] edades;
+        private long[] fechas;
+        private int[] codigosCurso;
+        private byte[] texto;
+        private int bytesTexto;
+        private int[] offsets;
+        private final List<String> cursos = new ArrayList<>();
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        private Builder(int capacidad) {
+            if (capacidad < 0) {
+                throw new IllegalArgumentException("La capacidad no puede ser negativa");
+            }
+            ids = new long[capacidad];
+            edades = new int[capacidad];
+            fechas = new long[capacidad];
+            codigosCurso = new int[capacidad];
+            texto = new byte[(int) Math.min(Integer.MAX_VALUE - 8, capacidad * 32L)];
+            offsets = new int[2 * capacidad + 1];
+        }
+
+        public Builder agregar(Estudiante estudiante) {
+            if (estudiante.getId() == null) {
+                throw new IllegalArgumentException("El estudiante no tiene ID");
+            }
+            LocalDateTime fecha = estudiante.getFechaRegistro();
+            return agregar(estudiante.getId(),
+                    utf8(estudiante.getNombre()), utf8(estudiante.getEmail()),
+                    estudiante.getEdad(), estudiante.getCurso(),
+                    fecha == null ? SIN_FECHA : fecha.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        /**
+         * Agrega una fila con el nombre y el email ya codificados en UTF-8, como los entrega
+         * la base de datos, sin pasar por String.
+         */
+        public Builder agregar(long id, byte[] nombreUtf8, byte[] emailUtf8, int edad, String curso, long fechaEpoch) {
+            if (nombreUtf8 == null || emailUtf8 == null || curso == null) {
+                throw new IllegalArgumentException("Nombre, email y curso son obligatorios");
+            }
+            if (tamano == ids.length) {
+                crecerFilas();
+            }
+            int necesarios = bytesTexto + nombreUtf8.length + emailUtf8.length;
+            if (necesarios < 0) {
+                throw new IllegalStateException("El roster supera los 2 GiB de texto");
+            }
+            if (necesarios > texto.length) {
+                texto = Arrays.copyOf(texto, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(necesarios, 2L * texto.length)));
+            }
+            ids[tamano] = id;
+            edades[tamano] = edad;
+            fechas[tamano] = fechaEpoch;
+            codigosCurso[tamano] = codigos.computeIfAbsent(curso, c -> {
+                cursos.add(c);
+                return cursos.size() - 1;
+            });
+            System.arraycopy(nombreUtf8, 0, texto, bytesTexto, nombreUtf8.length);
+            bytesTexto += nombreUtf8.length;
+            offsets[2 * tamano + 1] = bytesTexto;
+            System.arraycopy(emailUtf8, 0, texto, bytesTexto, emailUtf8.length);
+            bytesTexto += emailUtf8.length;
+            offsets[2 * tamano + 2] = bytesTexto;
+            tamano++;
+            return this;
+        }
+
+        public RosterCompacto build() {
+            return new RosterCompacto(this);
+        }
+
+        private static byte[] utf8(String texto) {
+            return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void crecerFilas() {
+            int capacidad = Math.max(16, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacidad);
+            edades = Arrays.copyOf(edades, capacidad);
+            fechas = Arrays.copyOf(fechas, capacidad);
+            codigosCurso = Arrays.copyOf(codigosCurso, capacidad);
+            offsets = Arrays.copyOf(offsets, 2 * capacidad + 1);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.educacion.servicio;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Escribe en un canal a través de un ByteBuffer directo de {@link #TAMANO} bytes tomado de
+ * un pool compartido, así la memoria de una exportación no depende del número de filas.
+ * Los textos se codifican en UTF-8 directamente en el buffer, sin crear un byte[] por campo.
+ * {@link #close()} vacía el buffer y lo devuelve al pool, pero no cierra el canal.
+ * No es thread-safe: cada exportación (o shard) usa el suyo.
+ */
+final class BufferSalida implements Closeable {
+
+    static final int TAMANO = 64 * 1024;
+
+    /** Buffers que se conservan para reutilizar; el resto los libera el GC. */
+    private static final int MAXIMO_EN_POOL = 16;
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    // Lo que ocupa el escape JSON más largo: barra, u y cuatro dígitos hexadecimales
+    private static final int MAXIMO_ESCAPE_JSON = 6;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel canal;
+    private ByteBuffer buffer;
+
+    BufferSalida(WritableByteChannel canal) {
+        this.canal = canal;
+        ByteBuffer reutilizado = POOL.poll();
+        this.buffer = reutilizado != null ? reutilizado : ByteBuffer.allocateDirect(TAMANO);
+    }
+
+    BufferSalida ascii(char c) throws IOException {
+        asegurar(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    BufferSalida ascii(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            ascii(texto.charAt(i));
+        }
+        return this;
+    }
+
+    /** Entero de 4 bytes, big-endian (compatible con DataInputStream.readInt). */
+    BufferSalida entero(int valor) throws IOException {
+        asegurar(Integer.BYTES);
+        buffer.putInt(valor);
+        return this;
+    }
+
+    /**
+     * El estudiante en el formato de {@link EstudianteCodec}. Si no cabe en el buffer entero
+     * (textos de más de 64 KiB) se codifica aparte en un buffer de su tamaño.
+     */
+    BufferSalida estudiante(Estudiante estudiante) throws IOException {
+        int bytes = EstudianteCodec.tamano(estudiante);
+        if (bytes > buffer.capacity()) {
+            vaciar();
+            ByteBuffer grande = ByteBuffer.allocate(bytes);
+            EstudianteCodec.codificar(estudiante, grande);
+            grande.flip();
+            while (grande.hasRemaining()) {
+                canal.write(grande);
+            }
+            return this;
+        }
+        asegurar(bytes);
+        EstudianteCodec.codificar(estudiante, buffer);
+        return this;
+    }
+
+    /** El número en decimal, sin pasar por String. */
+    BufferSalida decimal(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            return ascii(Long.toString(valor));
+        }
+        asegurar(20);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            valor = -valor;
+        }
+        int digitos = 1;
+        for (long resto = valor / 10; resto > 0; resto /= 10) {
+            digitos++;
+        }
+        int fin = buffer.position() + digitos;
+        for (int i = fin - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + valor % 10));
+            valor /= 10;
+        }
+        buffer.position(fin);
+        return this;
+    }
+
+    /** La fecha como "yyyy-MM-dd HH:mm:ss", el mismo formato con el que la guarda SQLite. */
+    BufferSalida fecha(LocalDateTime fecha) throws IOException {
+        int anio = fecha.getYear();
+        if (anio < 0 || anio > 9_999) {
+            return ascii(fecha.toString());
+        }
+        asegurar(19);
+        digitos(anio, 4);
+        buffer.put((byte) '-');
+        digitos(fecha.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        digitos(fecha.getDayOfMonth(), 2);
+        buffer.put((byte) ' ');
+        digitos(fecha.getHour(), 2);
+        buffer.put((byte) ':');
+        digitos(fecha.getMinute(), 2);
+        buffer.put((byte) ':');
+        digitos(fecha.getSecond(), 2);
+        return this;
+    }
+
+    BufferSalida utf8(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            i = caracter(texto, i);
+        }
+        return this;
+    }
+
+    /** Campo CSV (RFC 4180): entre comillas solo si contiene comas, comillas o saltos de línea. */
+    BufferSalida csv(String texto) throws IOException {
+        if (!necesitaComillas(texto)) {
+            return utf8(texto);
+        }
+        ascii('"');
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                ascii('"');
+            }
+            i = caracter(texto, i);
+        }
+        return ascii('"');
+    }
+
+    /** Cadena JSON entre comillas, con los escapes obligatorios. */
+    BufferSalida json(String texto) throws IOException {
+        ascii('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                asegurar(2);
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c == '\n') {
+                asegurar(2);
+                buffer.put((byte) '\\').put((byte) 'n');
+            } else if (c == '\r') {
+                asegurar(2);
+                buffer.put((byte) '\\').put((byte) 'r');
+            } else if (c == '\t') {
+                asegurar(2);
+                buffer.put((byte) '\\').put((byte) 't');
+            } else if (c < 0x20) {
+                asegurar(MAXIMO_ESCAPE_JSON);
+                buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+            } else {
+                i = caracter(texto, i);
+            }
+        }
+        return ascii('"');
+    }
+
+    /** Escribe en el canal lo que quede en el buffer. */
+    void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            vaciar();
+        } finally {
+            ByteBuffer devuelto = buffer;
+            buffer = null;
+            devuelto.clear();
+            if (POOL.size() < MAXIMO_EN_POOL) {
+                POOL.offer(devuelto);
+            }
+        }
+    }
+
+    /**
+     * Codifica el char en la posición i (o el par suplente que empieza ahí) y devuelve la
+     * posición del último char consumido. Un suplente suelto se escribe como '?', igual que
+     * hace String.getBytes.
+     */
+    private int caracter(String texto, int i) throws IOException {
+        char c = texto.charAt(i);
+        if (c < 0x80) {
+            asegurar(1);
+            buffer.put((byte) c);
+            return i;
+        }
+        asegurar(4);
+        if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                && Character.isLowSurrogate(texto.charAt(i + 1))) {
+            int punto = Character.toCodePoint(c, texto.charAt(++i));
+            buffer.put((byte) (0xF0 | punto >> 18)).put((byte) (0x80 | punto >> 12 & 0x3F))
+                    .put((byte) (0x80 | punto >> 6 & 0x3F)).put((byte) (0x80 | punto & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+        return i;
+    }
+
+    private void digitos(int valor, int cantidad) {
+        int fin = buffer.position() + cantidad;
+        for (int i = fin - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + valor % 10));
+            valor /= 10;
+        }
+        buffer.position(fin);
+    }
+
+    private void asegurar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            vaciar();
+        }
+    }
+
+    private static boolean necesitaComillas(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,17 +1,35 @@
 package com.educacion.servicio;
 
 import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import com.educacion.dao.CursorPagina;
 import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.Pagina;
+import com.educacion.dao.ResultadoActualizacion;
+import com.educacion.dao.ResultadoLote;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // Servicio para la lógica de negocio de los Estudiantes.
 // Refactorizado
 
 public class EstudianteServicio {
 
+    // Tamaño máximo de página que se acepta en obtenerPaginaEstudiantes
+    public static final int LIMITE_MAXIMO_PAGINA = 1_000;
+
     private final EstudianteDAO estudianteDAO;
+    private final ValidadorEstudiante validador = new ValidadorEstudiante();
 
     /**
      * Constructor que recibe el DAO
@@ -23,11 +41,52 @@ public class EstudianteServicio {
 
     public Estudiante crearEstudiante(String nombre, String email, int edad, String curso) {
         validarDatosEstudiante(nombre, email, edad, curso);
-        if (estudianteDAO.existeEmail(email)) {
-            throw new IllegalArgumentException("Ya existe un estudiante con el email: " + email);
-        }
+        // Un solo INSERT: la restricción UNIQUE decide si el email ya está en uso
         Estudiante nuevoEstudiante = new Estudiante(nombre, email, edad, curso);
-        return estudianteDAO.crear(nuevoEstudiante);
+        return estudianteDAO.crearSiEmailLibre(nuevoEstudiante)
+                .orElseThrow(() -> new IllegalArgumentException("Ya existe un estudiante con el email: " + email));
+    }
+
+    public ResultadoLote crearEstudiantes(Collection<Estudiante> estudiantes) {
+        return crearEstudiantes(estudiantes, EstudianteDAO.TAMANO_LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * Alta masiva de estudiantes (por ejemplo, una cohorte completa).
+     * Las filas con datos inválidos se reportan como fallos con su posición original
+     * y el resto se inserta en lotes de tamanoLote filas.
+     */
+    public ResultadoLote crearEstudiantes(Collection<Estudiante> estudiantes, int tamanoLote) {
+        if (estudiantes == null) {
+            throw new IllegalArgumentException("La lista de estudiantes es obligatoria");
+        }
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser un número positivo");
+        }
+        ResultadoLote resultado = new ResultadoLote();
+        List<Estudiante> validos = new ArrayList<>(estudiantes.size());
+        int[] indicesOriginales = new int[estudiantes.size()];
+        int indice = 0;
+        for (Estudiante estudiante : estudiantes) {
+            try {
+                validarDatosEstudiante(estudiante.getNombre(), estudiante.getEmail(), estudiante.getEdad(), estudiante.getCurso());
+                indicesOriginales[validos.size()] = indice;
+                validos.add(estudiante);
+            } catch (IllegalArgumentException e) {
+                resultado.registrarFallo(indice, estudiante, e.getMessage());
+            }
+            indice++;
+        }
+        if (validos.isEmpty()) {
+            return resultado;
+        }
+
+        ResultadoLote resultadoDAO = estudianteDAO.crearTodos(validos, tamanoLote);
+        resultadoDAO.getCreados().forEach(resultado::registrarCreado);
+        for (ResultadoLote.Fallo fallo : resultadoDAO.getFallos()) {
+            resultado.registrarFallo(indicesOriginales[fallo.indice()], fallo.estudiante(), fallo.motivo());
+        }
+        return resultado;
     }
 
     public Optional<Estudiante> obtenerEstudiantePorId(Long id) {
@@ -37,54 +96,177 @@ public class EstudianteServicio {
         return estudianteDAO.obtenerPorId(id);
     }
 
+    /**
+     * Obtiene varios estudiantes en una sola consulta (por ejemplo, la lista de un curso).
+     * Los IDs que no existen no aparecen en el resultado, que respeta el orden recibido.
+     */
+    public Map<Long, Estudiante> obtenerEstudiantesPorIds(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("La lista de IDs es obligatoria");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("ID debe ser un número positivo");
+            }
+        }
+        return estudianteDAO.obtenerPorIds(ids);
+    }
+
     public List<Estudiante> obtenerTodosLosEstudiantes() {
         return estudianteDAO.obtenerTodos();
     }
 
-    public Estudiante actualizarEstudiante(Long id, String nombre, String email, int edad, String curso) {
+    /**
+     * Los mismos estudiantes que obtenerTodosLosEstudiantes, guardados por columnas:
+     * ocupa mucha menos memoria en listados grandes.
+     */
+    public RosterCompacto obtenerRosterEstudiantes() {
+        return estudianteDAO.obtenerRoster();
+    }
+
+    public List<Estudiante> obtenerEstudiantesPorCurso(String curso) {
+        if (curso == null || curso.trim().isEmpty()) {
+            throw new IllegalArgumentException("El curso es obligatorio");
+        }
+        return estudianteDAO.obtenerPorCurso(curso);
+    }
+
+    /**
+     * Estudiantes con edad entre edadMinima y edadMaxima (ambas incluidas), ordenados por nombre.
+     */
+    public List<Estudiante> obtenerEstudiantesPorRangoEdad(int edadMinima, int edadMaxima) {
+        if (edadMinima > edadMaxima) {
+            throw new IllegalArgumentException("La edad mínima no puede ser mayor que la edad máxima");
+        }
+        return estudianteDAO.obtenerPorRangoEdad(edadMinima, edadMaxima);
+    }
+
+    /**
+     * Consulta combinada (curso, rango de edad y límite); el filtrado se hace en la base de datos.
+     */
+    public List<Estudiante> obtenerEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro es obligatorio");
+        }
+        return estudianteDAO.obtenerPorFiltro(filtro);
+    }
+
+    /**
+     * Como obtenerEstudiantePorId, pero devuelve el registro inmutable: crea menos objetos
+     * y, con CachingEstudianteDAO, un acierto de la caché no crea ninguno.
+     */
+    public Optional<EstudianteRegistro> obtenerRegistroEstudiantePorId(Long id) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("ID debe ser un número positivo");
         }
-        validarDatosEstudiante(nombre, email, edad, curso);
+        return estudianteDAO.obtenerRegistroPorId(id);
+    }
 
-        Estudiante estudiante = estudianteDAO.obtenerPorId(id)
-                .orElseThrow(() -> new IllegalArgumentException("No existe estudiante con ID: " + id));
+    /** Los mismos estudiantes que obtenerTodosLosEstudiantes, como registros inmutables. */
+    public List<EstudianteRegistro> obtenerRegistrosEstudiantes() {
+        return estudianteDAO.obtenerRegistros();
+    }
 
-        if (!estudiante.getEmail().equals(email) && estudianteDAO.existeEmail(email)) {
-            throw new IllegalArgumentException("Ya existe un estudiante con el email: " + email);
+    /** Los mismos estudiantes que obtenerEstudiantesPorFiltro, como registros inmutables. */
+    public List<EstudianteRegistro> obtenerRegistrosEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro es obligatorio");
         }
+        return estudianteDAO.obtenerRegistrosPorFiltro(filtro);
+    }
 
-        estudiante.setNombre(nombre);
-        estudiante.setEmail(email);
-        estudiante.setEdad(edad);
-        estudiante.setCurso(curso);
+    /**
+     * Devuelve una página de estudiantes ordenada por nombre.
+     * Para la primera página el cursor es null; para las siguientes se usa pagina.siguiente().
+     */
+    public Pagina obtenerPaginaEstudiantes(CursorPagina cursor, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("El límite de la página debe estar entre 1 y " + LIMITE_MAXIMO_PAGINA);
+        }
+        return estudianteDAO.obtenerPagina(cursor, limite);
+    }
+
+    /**
+     * Recorre todos los estudiantes sin cargarlos en memoria.
+     * El Stream mantiene una conexión abierta: debe cerrarse (try-with-resources).
+     */
+    public Stream<Estudiante> streamTodosLosEstudiantes() {
+        return estudianteDAO.streamTodos();
+    }
 
-        boolean actualizado = estudianteDAO.actualizar(estudiante);
-        if (!actualizado) {
-            throw new RuntimeException("No se pudo actualizar el estudiante con ID: " + id);
+    /**
+     * Exporta todos los estudiantes activos al archivo sin cargarlos en memoria
+     * (ver ExportadorEstudiantes) y devuelve cuántos se escribieron.
+     */
+    public long exportarEstudiantes(Path archivo, ExportadorEstudiantes.Formato formato, boolean gzip) {
+        try {
+            return new ExportadorEstudiantes(estudianteDAO).exportar(archivo, formato, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al exportar los estudiantes: " + e.getMessage(), e);
         }
-        return estudiante;
     }
 
-    public boolean eliminarEstudiante(Long id) {
+    /**
+     * Exporta los estudiantes activos en paralelo, un archivo por tramo de IDs.
+     * El DAO debe admitir varios cursores abiertos a la vez (pool de conexiones).
+     */
+    public List<ExportadorEstudiantes.ArchivoExportado> exportarEstudiantesPorShards(
+            Path directorio, ExportadorEstudiantes.Formato formato, boolean gzip, int shards) {
+        try {
+            return new ExportadorEstudiantes(estudianteDAO).exportarPorShards(directorio, formato, gzip, shards);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al exportar los estudiantes: " + e.getMessage(), e);
+        }
+    }
+
+    public Estudiante actualizarEstudiante(Long id, String nombre, String email, int edad, String curso) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("ID debe ser un número positivo");
         }
-        return estudianteDAO.eliminar(id);
+        validarDatosEstudiante(nombre, email, edad, curso);
+
+        // Un solo UPDATE ... RETURNING: sin leer antes ni comprobar el email por separado
+        Estudiante cambios = new Estudiante(id, nombre, email, edad, curso);
+        return resolverActualizacion(estudianteDAO.actualizarYObtener(cambios, null), id, email);
     }
 
-    private void validarDatosEstudiante(String nombre, String email, int edad, String curso) {
-        if (nombre == null || nombre.trim().isEmpty() || nombre.trim().length() < 2) {
-            throw new IllegalArgumentException("El nombre es obligatorio y debe tener al menos 2 caracteres");
-        }
-        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
-            throw new IllegalArgumentException("El formato del email no es válido");
+    /**
+     * Actualización optimista para flujos de leer-modificar-escribir.
+     * Solo se aplica si el estudiante sigue como estaba cuando se leyó (leido);
+     * si otro cambio llegó antes, falla en lugar de pisarlo.
+     */
+    public Estudiante actualizarEstudianteLeido(Estudiante leido, String nombre, String email, int edad, String curso) {
+        if (leido == null) {
+            throw new IllegalArgumentException("El estudiante leído es obligatorio");
         }
-        if (edad < 18 || edad > 100) {
-            throw new IllegalArgumentException("La edad debe estar entre 18 y 100 años");
+        Long id = leido.getId();
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("ID debe ser un número positivo");
         }
-        if (curso == null || curso.trim().isEmpty()) {
-            throw new IllegalArgumentException("El curso es obligatorio");
+        validarDatosEstudiante(nombre, email, edad, curso);
+
+        Estudiante cambios = new Estudiante(id, nombre, email, edad, curso);
+        return resolverActualizacion(estudianteDAO.actualizarYObtener(cambios, leido), id, email);
+    }
+
+    private Estudiante resolverActualizacion(ResultadoActualizacion resultado, Long id, String email) {
+        return switch (resultado.estado()) {
+            case ACTUALIZADO -> resultado.estudiante();
+            case NO_ENCONTRADO -> throw new IllegalArgumentException("No existe estudiante con ID: " + id);
+            case CONFLICTO_EMAIL -> throw new IllegalArgumentException("Ya existe un estudiante con el email: " + email);
+            case MODIFICADO_CONCURRENTEMENTE -> throw new RuntimeException("No se pudo actualizar el estudiante con ID: " + id);
+        };
+    }
+
+    public boolean eliminarEstudiante(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("ID debe ser un número positivo");
         }
+        return estudianteDAO.eliminar(id);
+    }
+
+    // Visibilidad de paquete para poder medirla por separado en los benchmarks
+    void validarDatosEstudiante(String nombre, String email, int edad, String curso) {
+        validador.validar(nombre, email, edad, curso);
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.CursorPagina;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.Pagina;
+import com.educacion.dao.ResultadoLote;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Fachada asíncrona de EstudianteServicio.
+ * Cada operación se ejecuta en su propio hilo virtual y devuelve un CompletableFuture;
+ * los errores de validación y de base de datos completan el futuro con la excepción.
+ *
+ * Como mucho maxConcurrencia operaciones llegan a la vez al servicio; el resto espera
+ * su turno sin ocupar un hilo de plataforma. Conviene igualarlo al tamaño máximo del
+ * pool de conexiones (ConnectionPool.maxSize()), así nadie espera dentro del pool.
+ * Con un EstudianteDAOImpl de una sola conexión también es seguro, pero las operaciones
+ * se turnan en esa conexión: para leer en paralelo, conviene un DAO sobre un ConnectionPool.
+ *
+ * streamTodosLosEstudiantes no se ofrece: el Stream retiene una conexión mientras se consume.
+ * Tampoco exportarEstudiantesPorShards, que ocupa una conexión por shard con un solo turno.
+ */
+public class EstudianteServicioAsync implements AutoCloseable {
+
+    private final EstudianteServicio servicio;
+    private final Semaphore turnos;
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EstudianteServicioAsync(EstudianteServicio servicio, int maxConcurrencia) {
+        if (servicio == null) {
+            throw new IllegalArgumentException("El servicio es obligatorio");
+        }
+        if (maxConcurrencia <= 0) {
+            throw new IllegalArgumentException("La concurrencia máxima debe ser un número positivo");
+        }
+        this.servicio = servicio;
+        this.turnos = new Semaphore(maxConcurrencia, true);
+    }
+
+    public CompletableFuture<Estudiante> crearEstudiante(String nombre, String email, int edad, String curso) {
+        return ejecutar(() -> servicio.crearEstudiante(nombre, email, edad, curso));
+    }
+
+    public CompletableFuture<ResultadoLote> crearEstudiantes(Collection<Estudiante> estudiantes) {
+        return ejecutar(() -> servicio.crearEstudiantes(estudiantes));
+    }
+
+    public CompletableFuture<Optional<Estudiante>> obtenerEstudiantePorId(Long id) {
+        return ejecutar(() -> servicio.obtenerEstudiantePorId(id));
+    }
+
+    public CompletableFuture<Map<Long, Estudiante>> obtenerEstudiantesPorIds(Collection<Long> ids) {
+        return ejecutar(() -> servicio.obtenerEstudiantesPorIds(ids));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerTodosLosEstudiantes() {
+        return ejecutar(servicio::obtenerTodosLosEstudiantes);
+    }
+
+    public CompletableFuture<RosterCompacto> obtenerRosterEstudiantes() {
+        return ejecutar(servicio::obtenerRosterEstudiantes);
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerEstudiantesPorCurso(String curso) {
+        return ejecutar(() -> servicio.obtenerEstudiantesPorCurso(curso));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerEstudiantesPorRangoEdad(int edadMinima, int edadMaxima) {
+        return ejecutar(() -> servicio.obtenerEstudiantesPorRangoEdad(edadMinima, edadMaxima));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        return ejecutar(() -> servicio.obtenerEstudiantesPorFiltro(filtro));
+    }
+
+    public CompletableFuture<Optional<EstudianteRegistro>> obtenerRegistroEstudiantePorId(Long id) {
+        return ejecutar(() -> servicio.obtenerRegistroEstudiantePorId(id));
+    }
+
+    public CompletableFuture<List<EstudianteRegistro>> obtenerRegistrosEstudiantes() {
+        return ejecutar(servicio::obtenerRegistrosEstudiantes);
+    }
+
+    public CompletableFuture<List<EstudianteRegistro>> obtenerRegistrosEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        return ejecutar(() -> servicio.obtenerRegistrosEstudiantesPorFiltro(filtro));
+    }
+
+    public CompletableFuture<Pagina> obtenerPaginaEstudiantes(CursorPagina cursor, int limite) {
+        return ejecutar(() -> servicio.obtenerPaginaEstudiantes(cursor, limite));
+    }
+
+    public CompletableFuture<Long> exportarEstudiantes(Path archivo, ExportadorEstudiantes.Formato formato, boolean gzip) {
+        return ejecutar(() -> servicio.exportarEstudiantes(archivo, formato, gzip));
+    }
+
+    public CompletableFuture<Estudiante> actualizarEstudiante(Long id, String nombre, String email, int edad, String curso) {
+        return ejecutar(() -> servicio.actualizarEstudiante(id, nombre, email, edad, curso));
+    }
+
+    public CompletableFuture<Estudiante> actualizarEstudianteLeido(Estudiante leido, String nombre, String email, int edad, String curso) {
+        return ejecutar(() -> servicio.actualizarEstudianteLeido(leido, nombre, email, edad, curso));
+    }
+
+    public CompletableFuture<Boolean> eliminarEstudiante(Long id) {
+        return ejecutar(() -> servicio.eliminarEstudiante(id));
+    }
+
+    /**
+     * Deja de aceptar operaciones y espera a que terminen las ya enviadas.
+     * Las operaciones pedidas después devuelven un futuro fallido con RejectedExecutionException.
+     */
+    @Override
+    public void close() {
+        ejecutor.close();
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+        try {
+            return CompletableFuture.supplyAsync(() -> conTurno(operacion), ejecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T conTurno(Supplier<T> operacion) {
+        try {
+            turnos.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            return operacion.get();
+        } finally {
+            turnos.release();
+        }
+    }
+}
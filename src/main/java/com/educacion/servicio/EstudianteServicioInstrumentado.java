@@ -0,0 +1,196 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.CursorPagina;
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.Pagina;
+import com.educacion.dao.ResultadoLote;
+import com.educacion.metricas.MetricasOperacion;
+import com.educacion.metricas.RegistroMetricas;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * EstudianteServicio que mide cada operación con el nombre servicio.<metodo>.
+ * La validación se mide aparte (servicio.validarDatosEstudiante); junto con un
+ * InstrumentedEstudianteDAO (dao.*) permite ver cuánto tiempo se va en validar,
+ * en la comprobación del email y en el SQL.
+ */
+public class EstudianteServicioInstrumentado extends EstudianteServicio {
+
+    private final MetricasOperacion crearEstudiante;
+    private final MetricasOperacion crearEstudiantes;
+    private final MetricasOperacion obtenerEstudiantePorId;
+    private final MetricasOperacion obtenerEstudiantesPorIds;
+    private final MetricasOperacion obtenerTodosLosEstudiantes;
+    private final MetricasOperacion obtenerRosterEstudiantes;
+    private final MetricasOperacion obtenerEstudiantesPorCurso;
+    private final MetricasOperacion obtenerEstudiantesPorRangoEdad;
+    private final MetricasOperacion obtenerEstudiantesPorFiltro;
+    private final MetricasOperacion obtenerRegistroEstudiantePorId;
+    private final MetricasOperacion obtenerRegistrosEstudiantes;
+    private final MetricasOperacion obtenerRegistrosEstudiantesPorFiltro;
+    private final MetricasOperacion obtenerPaginaEstudiantes;
+    private final MetricasOperacion streamTodosLosEstudiantes;
+    private final MetricasOperacion exportarEstudiantes;
+    private final MetricasOperacion exportarEstudiantesPorShards;
+    private final MetricasOperacion actualizarEstudiante;
+    private final MetricasOperacion actualizarEstudianteLeido;
+    private final MetricasOperacion eliminarEstudiante;
+    private final MetricasOperacion validarDatosEstudiante;
+
+    public EstudianteServicioInstrumentado(EstudianteDAO estudianteDAO, RegistroMetricas registro) {
+        super(estudianteDAO);
+        this.crearEstudiante = registro.operacion("servicio.crearEstudiante");
+        this.crearEstudiantes = registro.operacion("servicio.crearEstudiantes");
+        this.obtenerEstudiantePorId = registro.operacion("servicio.obtenerEstudiantePorId");
+        this.obtenerEstudiantesPorIds = registro.operacion("servicio.obtenerEstudiantesPorIds");
+        this.obtenerTodosLosEstudiantes = registro.operacion("servicio.obtenerTodosLosEstudiantes");
+        this.obtenerRosterEstudiantes = registro.operacion("servicio.obtenerRosterEstudiantes");
+        this.obtenerEstudiantesPorCurso = registro.operacion("servicio.obtenerEstudiantesPorCurso");
+        this.obtenerEstudiantesPorRangoEdad = registro.operacion("servicio.obtenerEstudiantesPorRangoEdad");
+        this.obtenerEstudiantesPorFiltro = registro.operacion("servicio.obtenerEstudiantesPorFiltro");
+        this.obtenerRegistroEstudiantePorId = registro.operacion("servicio.obtenerRegistroEstudiantePorId");
+        this.obtenerRegistrosEstudiantes = registro.operacion("servicio.obtenerRegistrosEstudiantes");
+        this.obtenerRegistrosEstudiantesPorFiltro = registro.operacion("servicio.obtenerRegistrosEstudiantesPorFiltro");
+        this.obtenerPaginaEstudiantes = registro.operacion("servicio.obtenerPaginaEstudiantes");
+        this.streamTodosLosEstudiantes = registro.operacion("servicio.streamTodosLosEstudiantes");
+        this.exportarEstudiantes = registro.operacion("servicio.exportarEstudiantes");
+        this.exportarEstudiantesPorShards = registro.operacion("servicio.exportarEstudiantesPorShards");
+        this.actualizarEstudiante = registro.operacion("servicio.actualizarEstudiante");
+        this.actualizarEstudianteLeido = registro.operacion("servicio.actualizarEstudianteLeido");
+        this.eliminarEstudiante = registro.operacion("servicio.eliminarEstudiante");
+        this.validarDatosEstudiante = registro.operacion("servicio.validarDatosEstudiante");
+    }
+
+    @Override
+    public Estudiante crearEstudiante(String nombre, String email, int edad, String curso) {
+        return medir(crearEstudiante, () -> super.crearEstudiante(nombre, email, edad, curso));
+    }
+
+    // crearEstudiantes(Collection) delega en esta sobrecarga, así que se mide una sola vez
+    @Override
+    public ResultadoLote crearEstudiantes(Collection<Estudiante> estudiantes, int tamanoLote) {
+        return medir(crearEstudiantes, () -> super.crearEstudiantes(estudiantes, tamanoLote));
+    }
+
+    @Override
+    public Optional<Estudiante> obtenerEstudiantePorId(Long id) {
+        return medir(obtenerEstudiantePorId, () -> super.obtenerEstudiantePorId(id));
+    }
+
+    @Override
+    public Map<Long, Estudiante> obtenerEstudiantesPorIds(Collection<Long> ids) {
+        return medir(obtenerEstudiantesPorIds, () -> super.obtenerEstudiantesPorIds(ids));
+    }
+
+    @Override
+    public List<Estudiante> obtenerTodosLosEstudiantes() {
+        return medir(obtenerTodosLosEstudiantes, super::obtenerTodosLosEstudiantes);
+    }
+
+    @Override
+    public RosterCompacto obtenerRosterEstudiantes() {
+        return medir(obtenerRosterEstudiantes, super::obtenerRosterEstudiantes);
+    }
+
+    @Override
+    public List<Estudiante> obtenerEstudiantesPorCurso(String curso) {
+        return medir(obtenerEstudiantesPorCurso, () -> super.obtenerEstudiantesPorCurso(curso));
+    }
+
+    @Override
+    public List<Estudiante> obtenerEstudiantesPorRangoEdad(int edadMinima, int edadMaxima) {
+        return medir(obtenerEstudiantesPorRangoEdad, () -> super.obtenerEstudiantesPorRangoEdad(edadMinima, edadMaxima));
+    }
+
+    @Override
+    public List<Estudiante> obtenerEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        return medir(obtenerEstudiantesPorFiltro, () -> super.obtenerEstudiantesPorFiltro(filtro));
+    }
+
+    @Override
+    public Optional<EstudianteRegistro> obtenerRegistroEstudiantePorId(Long id) {
+        return medir(obtenerRegistroEstudiantePorId, () -> super.obtenerRegistroEstudiantePorId(id));
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosEstudiantes() {
+        return medir(obtenerRegistrosEstudiantes, super::obtenerRegistrosEstudiantes);
+    }
+
+    @Override
+    public List<EstudianteRegistro> obtenerRegistrosEstudiantesPorFiltro(FiltroEstudiantes filtro) {
+        return medir(obtenerRegistrosEstudiantesPorFiltro, () -> super.obtenerRegistrosEstudiantesPorFiltro(filtro));
+    }
+
+    @Override
+    public Pagina obtenerPaginaEstudiantes(CursorPagina cursor, int limite) {
+        return medir(obtenerPaginaEstudiantes, () -> super.obtenerPaginaEstudiantes(cursor, limite));
+    }
+
+    @Override
+    public Stream<Estudiante> streamTodosLosEstudiantes() {
+        return medir(streamTodosLosEstudiantes, super::streamTodosLosEstudiantes);
+    }
+
+    @Override
+    public long exportarEstudiantes(Path archivo, ExportadorEstudiantes.Formato formato, boolean gzip) {
+        return medir(exportarEstudiantes, () -> super.exportarEstudiantes(archivo, formato, gzip));
+    }
+
+    @Override
+    public List<ExportadorEstudiantes.ArchivoExportado> exportarEstudiantesPorShards(
+            Path directorio, ExportadorEstudiantes.Formato formato, boolean gzip, int shards) {
+        return medir(exportarEstudiantesPorShards,
+                () -> super.exportarEstudiantesPorShards(directorio, formato, gzip, shards));
+    }
+
+    @Override
+    public Estudiante actualizarEstudiante(Long id, String nombre, String email, int edad, String curso) {
+        return medir(actualizarEstudiante, () -> super.actualizarEstudiante(id, nombre, email, edad, curso));
+    }
+
+    @Override
+    public Estudiante actualizarEstudianteLeido(Estudiante leido, String nombre, String email, int edad, String curso) {
+        return medir(actualizarEstudianteLeido, () -> super.actualizarEstudianteLeido(leido, nombre, email, edad, curso));
+    }
+
+    @Override
+    public boolean eliminarEstudiante(Long id) {
+        return medir(eliminarEstudiante, () -> super.eliminarEstudiante(id));
+    }
+
+    @Override
+    void validarDatosEstudiante(String nombre, String email, int edad, String curso) {
+        long inicio = System.nanoTime();
+        try {
+            super.validarDatosEstudiante(nombre, email, edad, curso);
+            validarDatosEstudiante.registrar(System.nanoTime() - inicio);
+        } catch (RuntimeException e) {
+            validarDatosEstudiante.registrarError(System.nanoTime() - inicio);
+            throw e;
+        }
+    }
+
+    private static <T> T medir(MetricasOperacion metricas, Supplier<T> operacion) {
+        long inicio = System.nanoTime();
+        try {
+            T resultado = operacion.get();
+            metricas.registrar(System.nanoTime() - inicio);
+            return resultado;
+        } catch (RuntimeException e) {
+            metricas.registrarError(System.nanoTime() - inicio);
+            throw e;
+        }
+    }
+}
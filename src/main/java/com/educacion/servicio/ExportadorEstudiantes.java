@@ -0,0 +1,267 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteCodec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación del listado completo de estudiantes activos a CSV, NDJSON o un formato
+ * binario compacto, pensada para listados que no caben en memoria.
+ *
+ * <p>Las filas se leen del cursor de la base de datos ({@link EstudianteDAO#streamTodos(int)})
+ * y se codifican una a una en un ByteBuffer directo reutilizado, que se vuelca al archivo
+ * cuando se llena. La memoria usada es la misma con mil filas que con diez millones.
+ * Opcionalmente la salida se comprime con gzip.
+ *
+ * <p>{@link #exportarPorShards} reparte el rango de IDs en tramos y exporta cada uno a su
+ * archivo en paralelo, con un cursor por tramo: el DAO debe poder abrir varios cursores a la
+ * vez (un EstudianteDAOImpl con pool de conexiones, o InMemoryEstudianteDAO).
+ *
+ * <p>Formatos:
+ * <ul>
+ *   <li>CSV: cabecera {@code id,nombre,email,edad,curso,fecha_registro}; se puede volver a
+ *       importar con {@link ImportadorEstudiantes}.</li>
+ *   <li>NDJSON: un objeto por línea con esas mismas claves.</li>
+ *   <li>BINARIO: {@link #MAGIA_BINARIO} (int big-endian) seguido de cada estudiante en el
+ *       formato de {@link EstudianteCodec}; se lee con {@link EstudianteCodec#decodificar}
+ *       hasta agotar el archivo.</li>
+ * </ul>
+ */
+public class ExportadorEstudiantes {
+
+    /** Primeros 4 bytes del formato binario: "EST" y la versión 2. */
+    public static final int MAGIA_BINARIO = 0x45535402;
+
+    static final String CABECERA_CSV = "id,nombre,email,edad,curso,fecha_registro\n";
+
+    // Filas que pide el cursor a la base de datos en cada viaje
+    private static final int FETCH_SIZE = 1_000;
+
+    public enum Formato {
+        CSV("csv"), NDJSON("ndjson"), BINARIO("bin");
+
+        private final String extension;
+
+        Formato(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /** Un archivo generado por {@link #exportarPorShards} y las filas que contiene. */
+    public record ArchivoExportado(Path archivo, long filas) {
+    }
+
+    private final EstudianteDAO estudianteDAO;
+
+    public ExportadorEstudiantes(EstudianteDAO estudianteDAO) {
+        this.estudianteDAO = estudianteDAO;
+    }
+
+    /**
+     * Escribe todos los estudiantes activos, ordenados por nombre, en la salida y devuelve
+     * cuántos se escribieron. La salida no se cierra; con gzip se escribe el final del
+     * formato comprimido.
+     */
+    public long exportar(OutputStream salida, Formato formato, boolean gzip) throws IOException {
+        if (salida == null || formato == null) {
+            throw new IllegalArgumentException("La salida y el formato son obligatorios");
+        }
+        OutputStream sinCerrar = new SinCerrar(salida);
+        try (OutputStream destino = gzip ? new GZIPOutputStream(sinCerrar, BufferSalida.TAMANO) : sinCerrar;
+             WritableByteChannel canal = Channels.newChannel(destino);
+             Stream<Estudiante> estudiantes = estudianteDAO.streamTodos(FETCH_SIZE)) {
+            return escribir(estudiantes, canal, formato);
+        }
+    }
+
+    /**
+     * Escribe todos los estudiantes activos, ordenados por nombre, en el archivo y devuelve
+     * cuántos se escribieron. Se escribe en un temporal que sustituye al archivo al terminar,
+     * así un fallo a mitad no deja un archivo incompleto con el nombre final.
+     */
+    public long exportar(Path archivo, Formato formato, boolean gzip) throws IOException {
+        if (archivo == null || formato == null) {
+            throw new IllegalArgumentException("El archivo y el formato son obligatorios");
+        }
+        try (Stream<Estudiante> estudiantes = estudianteDAO.streamTodos(FETCH_SIZE)) {
+            return escribir(estudiantes, archivo, formato, gzip);
+        }
+    }
+
+    /**
+     * Reparte los IDs entre {@code shards} tramos del mismo tamaño y exporta cada tramo,
+     * ordenado por id, a {@code estudiantes-<n>.<extension>[.gz]} dentro del directorio,
+     * todos a la vez. Los archivos CSV llevan cada uno su cabecera.
+     */
+    public List<ArchivoExportado> exportarPorShards(Path directorio, Formato formato, boolean gzip, int shards)
+            throws IOException {
+        if (directorio == null || formato == null) {
+            throw new IllegalArgumentException("El directorio y el formato son obligatorios");
+        }
+        if (shards <= 0) {
+            throw new IllegalArgumentException("El número de shards debe ser positivo");
+        }
+        Files.createDirectories(directorio);
+        long idMaximo = estudianteDAO.obtenerIdMaximo();
+        long porShard = Math.max(1, (idMaximo + shards - 1) / shards);
+        List<Future<ArchivoExportado>> tareas = new ArrayList<>(shards);
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int shard = 0; shard < shards; shard++) {
+                long desde = 1 + shard * porShard;
+                long hasta = shard == shards - 1 ? Long.MAX_VALUE : desde + porShard;
+                Path archivo = directorio.resolve("estudiantes-" + shard + "." + formato.extension() + (gzip ? ".gz" : ""));
+                tareas.add(ejecutor.submit(() -> {
+                    try (Stream<Estudiante> estudiantes = estudianteDAO.streamPorRangoId(desde, hasta, FETCH_SIZE)) {
+                        return new ArchivoExportado(archivo, escribir(estudiantes, archivo, formato, gzip));
+                    }
+                }));
+            }
+            List<ArchivoExportado> archivos = new ArrayList<>(shards);
+            for (Future<ArchivoExportado> tarea : tareas) {
+                archivos.add(esperar(tarea, ejecutor));
+            }
+            return archivos;
+        }
+    }
+
+    private long escribir(Stream<Estudiante> estudiantes, Path archivo, Formato formato, boolean gzip)
+            throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        long filas;
+        try (FileChannel canalArchivo = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (gzip) {
+                try (GZIPOutputStream comprimido = new GZIPOutputStream(Channels.newOutputStream(canalArchivo), BufferSalida.TAMANO)) {
+                    filas = escribir(estudiantes, Channels.newChannel(comprimido), formato);
+                }
+            } else {
+                filas = escribir(estudiantes, canalArchivo, formato);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return filas;
+    }
+
+    private static long escribir(Stream<Estudiante> estudiantes, WritableByteChannel canal, Formato formato)
+            throws IOException {
+        long filas = 0;
+        try (BufferSalida salida = new BufferSalida(canal)) {
+            switch (formato) {
+                case CSV -> salida.ascii(CABECERA_CSV);
+                case BINARIO -> salida.entero(MAGIA_BINARIO);
+                case NDJSON -> {
+                    // Sin cabecera
+                }
+            }
+            Iterator<Estudiante> iterador = estudiantes.iterator();
+            while (iterador.hasNext()) {
+                Estudiante estudiante = iterador.next();
+                switch (formato) {
+                    case CSV -> escribirCsv(salida, estudiante);
+                    case NDJSON -> escribirJson(salida, estudiante);
+                    case BINARIO -> salida.estudiante(estudiante);
+                }
+                filas++;
+            }
+        }
+        return filas;
+    }
+
+    private static void escribirCsv(BufferSalida salida, Estudiante estudiante) throws IOException {
+        salida.decimal(estudiante.getId()).ascii(',')
+                .csv(estudiante.getNombre()).ascii(',')
+                .csv(estudiante.getEmail()).ascii(',')
+                .decimal(estudiante.getEdad()).ascii(',')
+                .csv(estudiante.getCurso()).ascii(',');
+        if (estudiante.getFechaRegistro() != null) {
+            salida.fecha(estudiante.getFechaRegistro());
+        }
+        salida.ascii('\n');
+    }
+
+    private static void escribirJson(BufferSalida salida, Estudiante estudiante) throws IOException {
+        salida.ascii("{\"id\":").decimal(estudiante.getId())
+                .ascii(",\"nombre\":").json(estudiante.getNombre())
+                .ascii(",\"email\":").json(estudiante.getEmail())
+                .ascii(",\"edad\":").decimal(estudiante.getEdad())
+                .ascii(",\"curso\":").json(estudiante.getCurso())
+                .ascii(",\"fecha_registro\":");
+        if (estudiante.getFechaRegistro() != null) {
+            salida.ascii('"').fecha(estudiante.getFechaRegistro()).ascii('"');
+        } else {
+            salida.ascii("null");
+        }
+        salida.ascii("}\n");
+    }
+
+    /** Espera un shard; si falla, cancela los demás y relanza su error. */
+    private static ArchivoExportado esperar(Future<ArchivoExportado> tarea, ExecutorService ejecutor)
+            throws IOException {
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ejecutor.shutdownNow();
+            throw new IOException("Exportación interrumpida", e);
+        } catch (ExecutionException e) {
+            ejecutor.shutdownNow();
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            if (causa instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Error exportando un shard: " + causa.getMessage(), causa);
+        }
+    }
+
+    /** Deja abierta la salida del llamador cuando se cierra el gzip o el canal que la envuelve. */
+    private static final class SinCerrar extends FilterOutputStream {
+
+        SinCerrar(OutputStream salida) {
+            super(salida);
+        }
+
+        @Override
+        public void write(byte[] bytes, int desde, int longitud) throws IOException {
+            out.write(bytes, desde, longitud);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.educacion.servicio;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Convierte un registro de importación, ya separado en bytes UTF-8, en sus campos.
+ * Los campos se decodifican directamente desde el array de bytes: no se crea un String
+ * por línea, la edad se lee como número sin pasar por String y las columnas que no se
+ * usan no se decodifican.
+ * Sin estado: se puede usar desde varios hilos.
+ */
+final class ParserRegistros {
+
+    /** Edad de los registros que no traen un número entero; la validación la rechaza. */
+    static final int EDAD_INVALIDA = Integer.MIN_VALUE;
+
+    static final String ERROR_JSON = "Registro JSON mal formado";
+
+    static final int NOMBRE = 0;
+    static final int EMAIL = 1;
+    static final int EDAD = 2;
+    static final int CURSO = 3;
+    private static final int IGNORADA = -1;
+
+    private static final String[] COLUMNAS = {"nombre", "email", "edad", "curso"};
+    private static final byte[][] CLAVES = {
+            bytes("nombre"), bytes("email"), bytes("edad"), bytes("curso")
+    };
+
+    /** Campos de un registro. {@code error} no es null si el registro no se pudo interpretar. */
+    record Campos(String nombre, String email, int edad, String curso, String error) {
+    }
+
+    private ParserRegistros() {
+    }
+
+    /**
+     * Lee la cabecera CSV y devuelve, para cada posición de columna, el campo que contiene
+     * (o -1 si no se usa). Los nombres no distinguen mayúsculas ni espacios alrededor.
+     */
+    static int[] columnasCsv(byte[] datos, int desde, int hasta) {
+        int[] columnas = new int[contarCamposCsv(datos, desde, hasta)];
+        Arrays.fill(columnas, IGNORADA);
+        boolean[] presentes = new boolean[COLUMNAS.length];
+        int inicio = desde;
+        for (int i = 0; i < columnas.length; i++) {
+            int fin = finCampoCsv(datos, inicio, hasta);
+            String nombre = decodificarCsv(datos, inicio, fin).trim();
+            for (int campo = 0; campo < COLUMNAS.length; campo++) {
+                if (COLUMNAS[campo].equalsIgnoreCase(nombre) && !presentes[campo]) {
+                    columnas[i] = campo;
+                    presentes[campo] = true;
+                }
+            }
+            inicio = fin + 1;
+        }
+        for (int campo = 0; campo < COLUMNAS.length; campo++) {
+            if (!presentes[campo]) {
+                throw new IllegalArgumentException("Falta la columna " + COLUMNAS[campo] + " en la cabecera CSV");
+            }
+        }
+        return columnas;
+    }
+
+    /**
+     * Un registro CSV (RFC 4180): campos separados por comas, entre comillas si contienen
+     * comas, comillas ({@code ""}) o saltos de línea. Los campos que faltan quedan en null.
+     */
+    static Campos parsearCsv(byte[] datos, int desde, int hasta, int[] columnas) {
+        String nombre = null;
+        String email = null;
+        String curso = null;
+        int edad = EDAD_INVALIDA;
+        int inicio = desde;
+        for (int i = 0; inicio <= hasta; i++) {
+            int fin = finCampoCsv(datos, inicio, hasta);
+            switch (i < columnas.length ? columnas[i] : IGNORADA) {
+                case NOMBRE -> nombre = decodificarCsv(datos, inicio, fin);
+                case EMAIL -> email = decodificarCsv(datos, inicio, fin);
+                case CURSO -> curso = decodificarCsv(datos, inicio, fin);
+                case EDAD -> edad = inicio < fin && datos[inicio] == '"'
+                        ? parsearEntero(decodificarCsv(datos, inicio, fin))
+                        : parsearEntero(datos, inicio, fin);
+                default -> {
+                    // Columna que no se importa: no se decodifica.
+                }
+            }
+            inicio = fin + 1;
+        }
+        return new Campos(nombre, email, edad, curso, null);
+    }
+
+    /**
+     * Un objeto JSON por línea con las claves nombre, email, edad (número) y curso;
+     * el resto de claves se ignoran.
+     */
+    static Campos parsearJson(byte[] datos, int desde, int hasta) {
+        try {
+            return new LectorJson(datos, desde, hasta).leerObjeto();
+        } catch (IndexOutOfBoundsException | IllegalStateException e) {
+            return new Campos(null, null, EDAD_INVALIDA, null, ERROR_JSON);
+        }
+    }
+
+    private static int contarCamposCsv(byte[] datos, int desde, int hasta) {
+        int campos = 0;
+        int inicio = desde;
+        while (inicio <= hasta) {
+            inicio = finCampoCsv(datos, inicio, hasta) + 1;
+            campos++;
+        }
+        return campos;
+    }
+
+    /** Posición de la coma que cierra el campo que empieza en {@code inicio}, o {@code hasta}. */
+    private static int finCampoCsv(byte[] datos, int inicio, int hasta) {
+        boolean entreComillas = false;
+        for (int i = inicio; i < hasta; i++) {
+            byte b = datos[i];
+            if (b == '"') {
+                entreComillas = !entreComillas;
+            } else if (b == ',' && !entreComillas) {
+                return i;
+            }
+        }
+        return hasta;
+    }
+
+    private static String decodificarCsv(byte[] datos, int desde, int hasta) {
+        if (hasta - desde < 2 || datos[desde] != '"' || datos[hasta - 1] != '"') {
+            return new String(datos, desde, hasta - desde, StandardCharsets.UTF_8);
+        }
+        String contenido = new String(datos, desde + 1, hasta - desde - 2, StandardCharsets.UTF_8);
+        return contenido.indexOf('"') < 0 ? contenido : contenido.replace("\"\"", "\"");
+    }
+
+    /** Entero con espacios alrededor y signo opcional, o {@link #EDAD_INVALIDA}. */
+    private static int parsearEntero(byte[] datos, int desde, int hasta) {
+        while (desde < hasta && datos[desde] == ' ') {
+            desde++;
+        }
+        while (hasta > desde && (datos[hasta - 1] == ' ' || datos[hasta - 1] == '\r')) {
+            hasta--;
+        }
+        boolean negativo = desde < hasta && datos[desde] == '-';
+        if (negativo || (desde < hasta && datos[desde] == '+')) {
+            desde++;
+        }
+        if (desde == hasta || hasta - desde > 9) {
+            return EDAD_INVALIDA;
+        }
+        int valor = 0;
+        for (int i = desde; i < hasta; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return EDAD_INVALIDA;
+            }
+            valor = valor * 10 + digito;
+        }
+        return negativo ? -valor : valor;
+    }
+
+    private static int parsearEntero(String texto) {
+        byte[] bytes = bytes(texto);
+        return parsearEntero(bytes, 0, bytes.length);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Analizador JSON mínimo para un objeto plano; lanza IllegalStateException si no es válido. */
+    private static final class LectorJson {
+
+        private final byte[] datos;
+        private final int hasta;
+        private int pos;
+
+        LectorJson(byte[] datos, int desde, int hasta) {
+            this.datos = datos;
+            this.pos = desde;
+            this.hasta = hasta;
+        }
+
+        Campos leerObjeto() {
+            String[] textos = new String[COLUMNAS.length];
+            int edad = EDAD_INVALIDA;
+            esperar('{');
+            espacios();
+            if (actual() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    espacios();
+                    int campo = leerClave();
+                    espacios();
+                    esperar(':');
+                    espacios();
+                    if (campo == EDAD) {
+                        edad = leerEdad();
+                    } else if (campo != IGNORADA) {
+                        textos[campo] = leerTextoONulo();
+                    } else {
+                        saltarValor();
+                    }
+                    espacios();
+                    byte b = siguiente();
+                    if (b == '}') {
+                        break;
+                    }
+                    if (b != ',') {
+                        throw new IllegalStateException();
+                    }
+                }
+            }
+            espacios();
+            if (pos != hasta) {
+                throw new IllegalStateException();
+            }
+            return new Campos(textos[NOMBRE], textos[EMAIL], edad, textos[CURSO], null);
+        }
+
+        private int leerClave() {
+            esperar('"');
+            int inicio = pos;
+            while (actual() != '"') {
+                if (actual() == '\\') {
+                    // Clave con escapes: se decodifica y se compara como texto.
+                    pos = inicio - 1;
+                    String clave = leerTexto();
+                    for (int campo = 0; campo < COLUMNAS.length; campo++) {
+                        if (COLUMNAS[campo].equals(clave)) {
+                            return campo;
+                        }
+                    }
+                    return IGNORADA;
+                }
+                pos++;
+            }
+            int fin = pos++;
+            for (int campo = 0; campo < CLAVES.length; campo++) {
+                if (Arrays.equals(datos, inicio, fin, CLAVES[campo], 0, CLAVES[campo].length)) {
+                    return campo;
+                }
+            }
+            return IGNORADA;
+        }
+
+        private int leerEdad() {
+            int inicio = pos;
+            byte primero = actual();
+            while (pos < hasta && datos[pos] != ',' && datos[pos] != '}' && datos[pos] > ' ') {
+                pos++;
+            }
+            if (primero == '"' || primero == '{' || primero == '[') {
+                pos = inicio;
+                saltarValor();
+                return EDAD_INVALIDA;
+            }
+            return parsearEntero(datos, inicio, pos);
+        }
+
+        private String leerTextoONulo() {
+            if (actual() == 'n') {
+                literal("null");
+                return null;
+            }
+            if (actual() != '"') {
+                // Número u otro valor donde se esperaba texto: se conserva su forma literal.
+                int inicio = pos;
+                saltarValor();
+                return new String(datos, inicio, pos - inicio, StandardCharsets.UTF_8);
+            }
+            return leerTexto();
+        }
+
+        private String leerTexto() {
+            esperar('"');
+            int inicio = pos;
+            while (actual() != '"') {
+                if (actual() == '\\') {
+                    return leerTextoConEscapes(inicio);
+                }
+                pos++;
+            }
+            return new String(datos, inicio, pos++ - inicio, StandardCharsets.UTF_8);
+        }
+
+        private String leerTextoConEscapes(int inicio) {
+            StringBuilder texto = new StringBuilder(new String(datos, inicio, pos - inicio, StandardCharsets.UTF_8));
+            while (true) {
+                int tramo = pos;
+                while (actual() != '"' && actual() != '\\') {
+                    pos++;
+                }
+                texto.append(new String(datos, tramo, pos - tramo, StandardCharsets.UTF_8));
+                if (siguiente() == '"') {
+                    return texto.toString();
+                }
+                byte escape = siguiente();
+                switch (escape) {
+                    case '"', '\\', '/' -> texto.append((char) escape);
+                    case 'b' -> texto.append('\b');
+                    case 'f' -> texto.append('\f');
+                    case 'n' -> texto.append('\n');
+                    case 'r' -> texto.append('\r');
+                    case 't' -> texto.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > hasta) {
+                            throw new IllegalStateException();
+                        }
+                        try {
+                            texto.append((char) Integer.parseInt(new String(datos, pos, 4, StandardCharsets.US_ASCII), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        pos += 4;
+                    }
+                    default -> throw new IllegalStateException();
+                }
+            }
+        }
+
+        private void saltarValor() {
+            byte b = actual();
+            if (b == '"') {
+                leerTexto();
+            } else if (b == '{' || b == '[') {
+                int profundidad = 0;
+                do {
+                    b = actual();
+                    if (b == '"') {
+                        leerTexto();
+                        continue;
+                    }
+                    if (b == '{' || b == '[') {
+                        profundidad++;
+                    } else if (b == '}' || b == ']') {
+                        profundidad--;
+                    }
+                    pos++;
+                } while (profundidad > 0);
+            } else {
+                int inicio = pos;
+                while (pos < hasta && datos[pos] != ',' && datos[pos] != '}' && datos[pos] > ' ') {
+                    pos++;
+                }
+                if (pos == inicio) {
+                    throw new IllegalStateException();
+                }
+            }
+        }
+
+        private void literal(String palabra) {
+            for (int i = 0; i < palabra.length(); i++) {
+                if (siguiente() != palabra.charAt(i)) {
+                    throw new IllegalStateException();
+                }
+            }
+        }
+
+        private void esperar(char c) {
+            if (siguiente() != c) {
+                throw new IllegalStateException();
+            }
+        }
+
+        private byte actual() {
+            if (pos >= hasta) {
+                throw new IllegalStateException();
+            }
+            return datos[pos];
+        }
+
+        private byte siguiente() {
+            byte b = actual();
+            pos++;
+            return b;
+        }
+
+        private void espacios() {
+            while (pos < hasta && (datos[pos] == ' ' || datos[pos] == '\t' || datos[pos] == '\r')) {
+                pos++;
+            }
+        }
+    }
+}
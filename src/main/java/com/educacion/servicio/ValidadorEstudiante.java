@@ -0,0 +1,135 @@
+package com.educacion.servicio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reglas de validación de los datos de un Estudiante.
+ * Aplica las mismas reglas que antes usaba EstudianteServicio, pero sin expresiones
+ * regulares ni copias de Strings: el email se revisa con un único recorrido y las
+ * longitudes se calculan sin llamar a trim().
+ * Es inmutable y se puede compartir entre hilos.
+ */
+public class ValidadorEstudiante {
+
+    public static final String ERROR_NOMBRE = "El nombre es obligatorio y debe tener al menos 2 caracteres";
+    public static final String ERROR_EMAIL = "El formato del email no es válido";
+    public static final String ERROR_EDAD = "La edad debe estar entre 18 y 100 años";
+    public static final String ERROR_CURSO = "El curso es obligatorio";
+
+    public static final int EDAD_MINIMA = 18;
+    public static final int EDAD_MAXIMA = 100;
+
+    /**
+     * Modo fail-fast: lanza IllegalArgumentException con el primer error encontrado.
+     * Si los datos son válidos no reserva memoria.
+     */
+    public void validar(String nombre, String email, int edad, String curso) {
+        if (!nombreValido(nombre)) {
+            throw new IllegalArgumentException(ERROR_NOMBRE);
+        }
+        if (!emailValido(email)) {
+            throw new IllegalArgumentException(ERROR_EMAIL);
+        }
+        if (!edadValida(edad)) {
+            throw new IllegalArgumentException(ERROR_EDAD);
+        }
+        if (!cursoValido(curso)) {
+            throw new IllegalArgumentException(ERROR_CURSO);
+        }
+    }
+
+    /**
+     * Devuelve todos los errores de una vez, en el mismo orden que validar().
+     * Para datos válidos devuelve una lista vacía compartida.
+     */
+    public List<String> violaciones(String nombre, String email, int edad, String curso) {
+        List<String> errores = null;
+        if (!nombreValido(nombre)) {
+            errores = agregar(errores, ERROR_NOMBRE);
+        }
+        if (!emailValido(email)) {
+            errores = agregar(errores, ERROR_EMAIL);
+        }
+        if (!edadValida(edad)) {
+            errores = agregar(errores, ERROR_EDAD);
+        }
+        if (!cursoValido(curso)) {
+            errores = agregar(errores, ERROR_CURSO);
+        }
+        return errores == null ? List.of() : errores;
+    }
+
+    /** Equivale a {@code nombre.trim().length() >= 2}. */
+    public boolean nombreValido(String nombre) {
+        if (nombre == null) {
+            return false;
+        }
+        int inicio = 0;
+        int fin = nombre.length() - 1;
+        while (inicio <= fin && nombre.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && nombre.charAt(fin) <= ' ') {
+            fin--;
+        }
+        return fin - inicio + 1 >= 2;
+    }
+
+    /**
+     * Equivale a {@code email.matches("^[A-Za-z0-9+_.-]+@(.+)$")}: una parte local con
+     * letras, dígitos o "+_.-", una arroba y al menos un carácter que no sea fin de línea.
+     */
+    public boolean emailValido(String email) {
+        if (email == null) {
+            return false;
+        }
+        int longitud = email.length();
+        int i = 0;
+        while (i < longitud && esCaracterLocal(email.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i >= longitud - 1 || email.charAt(i) != '@') {
+            return false;
+        }
+        for (int j = i + 1; j < longitud; j++) {
+            if (esFinDeLinea(email.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean edadValida(int edad) {
+        return edad >= EDAD_MINIMA && edad <= EDAD_MAXIMA;
+    }
+
+    /** Equivale a {@code !curso.trim().isEmpty()}. */
+    public boolean cursoValido(String curso) {
+        if (curso == null) {
+            return false;
+        }
+        for (int i = 0; i < curso.length(); i++) {
+            if (curso.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean esCaracterLocal(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    // Los mismos terminadores que excluye el "." de java.util.regex sin flags
+    private static boolean esFinDeLinea(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static List<String> agregar(List<String> errores, String error) {
+        List<String> lista = errores == null ? new ArrayList<>(4) : errores;
+        lista.add(error);
+        return lista;
+    }
+}
@@ -1,5 +1,6 @@
 -- Script SQL
 -- Proyecto TDD - Gestión de Estudiantes
+-- Mantener sincronizado con SchemaManager (la aplicación crea y migra el esquema sola).
 
 -- Eliminar tabla si existe (para reiniciar)
 DROP TABLE IF EXISTS estudiantes;
@@ -10,13 +11,13 @@ CREATE TABLE estudiantes (
     nombre VARCHAR(100) NOT NULL,
     email VARCHAR(150) UNIQUE NOT NULL,
     edad INTEGER NOT NULL CHECK (edad >= 18 AND edad <= 100),
-    curso VARCHAR(200), NOT NULL DEFAULT 'Sin asignar',
+    curso VARCHAR(200) NOT NULL DEFAULT 'Sin asignar',
     fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
     activo BOOLEAN DEFAULT TRUE
 );
 
 -- Insertar datos de ejemplo (5 registros)
-INSERT INTO estudiantes (nombre, email, edad, curso, fecha_registro, activo) VALUES
+INSERT INTO estudiantes (id, nombre, email, edad, curso, fecha_registro, activo) VALUES
 (1, 'Ana García', 'ana.garcia@email.com', 22, 'Java Básico', '2024-01-15 10:00:00', true),
 (2, 'Pedro López', 'pedro.lopez@email.com', 28, 'Spring Framework', '2024-01-16 11:30:00', true),
 (3, 'María Rodríguez', 'maria.rodriguez@email.com', 25, 'Testing y TDD', '2024-01-17 14:15:00', true),
@@ -34,7 +35,11 @@ FROM estudiantes WHERE edad >= 18;
 SELECT 'Emails únicos verificación:' as descripcion, COUNT(DISTINCT email) as cantidad
 FROM estudiantes;
 
--- Índices para mejorar rendimiento
-CREATE INDEX IF NOT EXISTS idx_estudiantes_email ON estudiantes(email);
-CREATE INDEX IF NOT EXISTS idx_estudiantes_activo ON estudiantes(activo);
-CREATE INDEX IF NOT EXISTS idx_estudiantes_nombre ON estudiantes(nombre);
\ No newline at end of file
+-- Índices parciales: solo estudiantes activos, que son los únicos que se consultan.
+-- El email ya tiene el índice de su restricción UNIQUE.
+CREATE INDEX IF NOT EXISTS idx_estudiantes_curso ON estudiantes(curso, nombre, id) WHERE activo = TRUE;
+CREATE INDEX IF NOT EXISTS idx_estudiantes_edad ON estudiantes(edad) WHERE activo = TRUE;
+CREATE INDEX IF NOT EXISTS idx_estudiantes_nombre ON estudiantes(nombre, id) WHERE activo = TRUE;
+
+-- Versión del esquema equivalente en SchemaManager
+PRAGMA user_version = 3;
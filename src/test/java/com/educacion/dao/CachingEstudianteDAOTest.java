@@ -0,0 +1,250 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del DAO con Caché")
+class CachingEstudianteDAOTest {
+
+    @Mock
+    private EstudianteDAO delegate;
+
+    private final AtomicLong reloj = new AtomicLong();
+    private CachingEstudianteDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new CachingEstudianteDAO(delegate, 2, Duration.ofSeconds(10), Duration.ofSeconds(1), reloj::get);
+    }
+
+    @Test
+    @DisplayName("Debería consultar el DAO una sola vez para el mismo ID")
+    void deberiaConsultarUnaSolaVez() {
+        // ARRANGE
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java")));
+        // ACT
+        Optional<Estudiante> primero = dao.obtenerPorId(1L);
+        Optional<Estudiante> segundo = dao.obtenerPorId(1L);
+        // ASSERT
+        assertEquals("Ana García", segundo.orElseThrow().getNombre());
+        assertNotSame(primero.get(), segundo.get());
+        verify(delegate, times(1)).obtenerPorId(1L);
+        assertEquals(1, dao.stats().hits());
+        assertEquals(1, dao.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Los aciertos deberían compartir la fecha de registro ya creada")
+    void deberiaCompartirFechaRegistroEnAciertos() {
+        // ARRANGE
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 0, 0);
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(
+                new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java", fecha, true)));
+        when(delegate.obtenerPorIds(List.of(2L))).thenReturn(Map.of());
+        dao.obtenerPorId(1L);
+        // ACT
+        Estudiante primero = dao.obtenerPorId(1L).orElseThrow();
+        Estudiante segundo = dao.obtenerPorIds(List.of(1L, 2L)).get(1L);
+        // ASSERT
+        assertNotSame(primero, segundo);
+        assertEquals(fecha, primero.getFechaRegistro());
+        assertSame(primero.getFechaRegistro(), segundo.getFechaRegistro());
+        assertTrue(primero.isActivo());
+    }
+
+    @Test
+    @DisplayName("Debería cachear los IDs inexistentes hasta que expire el TTL negativo")
+    void deberiaCachearIdsInexistentes() {
+        // ARRANGE
+        when(delegate.obtenerPorId(99L)).thenReturn(Optional.empty());
+        // ACT & ASSERT
+        assertTrue(dao.obtenerPorId(99L).isEmpty());
+        assertTrue(dao.obtenerPorId(99L).isEmpty());
+        verify(delegate, times(1)).obtenerPorId(99L);
+
+        reloj.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(dao.obtenerPorId(99L).isEmpty());
+        verify(delegate, times(2)).obtenerPorId(99L);
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada al actualizar y eliminar")
+    void deberiaInvalidarAlActualizarYEliminar() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java");
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(estudiante));
+        when(delegate.actualizar(estudiante)).thenReturn(true);
+        when(delegate.eliminar(1L)).thenReturn(true);
+        // ACT
+        dao.obtenerPorId(1L);
+        dao.actualizar(estudiante);
+        dao.obtenerPorId(1L);
+        dao.eliminar(1L);
+        dao.obtenerPorId(1L);
+        // ASSERT
+        verify(delegate, times(3)).obtenerPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Debería invalidar un ID cacheado como inexistente al crearlo")
+    void deberiaInvalidarIdNegativoAlCrear() {
+        // ARRANGE
+        Estudiante nuevo = new Estudiante("Luis Soto", "luis@test.com", 30, "Java");
+        when(delegate.obtenerPorId(5L)).thenReturn(Optional.empty(), Optional.of(new Estudiante(5L, "Luis Soto", "luis@test.com", 30, "Java")));
+        when(delegate.crear(nuevo)).thenAnswer(inv -> {
+            nuevo.setId(5L);
+            return nuevo;
+        });
+        // ACT
+        assertTrue(dao.obtenerPorId(5L).isEmpty());
+        dao.crear(nuevo);
+        // ASSERT
+        assertTrue(dao.obtenerPorId(5L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería expulsar la entrada menos usada al superar el tamaño máximo")
+    void deberiaExpulsarEntradaMenosUsada() {
+        // ARRANGE
+        for (long id = 1; id <= 3; id++) {
+            when(delegate.obtenerPorId(id)).thenReturn(Optional.of(new Estudiante(id, "Estudiante " + id, id + "@test.com", 20, "Java")));
+        }
+        // ACT
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(2L);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(3L);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(2L);
+        // ASSERT
+        verify(delegate, times(1)).obtenerPorId(1L);
+        verify(delegate, times(2)).obtenerPorId(2L);
+        assertEquals(2, dao.stats().evictions());
+        assertEquals(2, dao.stats().size());
+    }
+
+    @Test
+    @DisplayName("Debería pedir al DAO solo los IDs que no están en caché, en una llamada")
+    void deberiaPedirSoloIdsNoCacheados() {
+        // ARRANGE
+        Estudiante ana = new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java");
+        Estudiante luis = new Estudiante(2L, "Luis Soto", "luis@test.com", 30, "Java");
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(ana));
+        when(delegate.obtenerPorIds(List.of(2L, 3L))).thenReturn(Map.of(2L, luis));
+        dao.obtenerPorId(1L);
+        // ACT
+        Map<Long, Estudiante> resultado = dao.obtenerPorIds(List.of(2L, 1L, 3L));
+        Map<Long, Estudiante> repetido = dao.obtenerPorIds(List.of(3L, 2L));
+        // ASSERT
+        assertEquals(List.of(2L, 1L), List.copyOf(resultado.keySet()));
+        assertEquals(List.of(2L), List.copyOf(repetido.keySet()));
+        verify(delegate, times(1)).obtenerPorIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar los IDs creados en lote, creados si el email está libre y actualizados")
+    void deberiaInvalidarAlCrearEnLoteYActualizarYObtener() {
+        // ARRANGE
+        Estudiante ana = new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java");
+        Estudiante luis = new Estudiante(2L, "Luis Soto", "luis@test.com", 30, "Java");
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.empty());
+        when(delegate.obtenerPorId(2L)).thenReturn(Optional.empty());
+        ResultadoLote lote = new ResultadoLote();
+        lote.registrarCreado(ana);
+        when(delegate.crearTodos(List.of(ana), 10)).thenReturn(lote);
+        when(delegate.crearSiEmailLibre(luis)).thenReturn(Optional.of(luis));
+        when(delegate.actualizarYObtener(ana, null)).thenReturn(ResultadoActualizacion.actualizado(ana));
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(2L);
+        // ACT
+        dao.crearTodos(List.of(ana), 10);
+        dao.crearSiEmailLibre(luis);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(2L);
+        dao.actualizarYObtener(ana, null);
+        dao.obtenerPorId(1L);
+        // ASSERT
+        verify(delegate, times(3)).obtenerPorId(1L);
+        verify(delegate, times(2)).obtenerPorId(2L);
+    }
+
+    @Test
+    @DisplayName("Debería vaciar la caché y calcular la tasa de aciertos")
+    void deberiaVaciarCacheYCalcularTasaDeAciertos() {
+        // ARRANGE
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java")));
+        assertEquals(0.0, dao.stats().hitRate());
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(1L);
+        // ACT
+        CachingEstudianteDAO.Stats antes = dao.stats();
+        dao.invalidar(null);
+        dao.invalidarTodo();
+        CachingEstudianteDAO.Stats despues = dao.stats();
+        // ASSERT
+        assertEquals(0.75, antes.hitRate());
+        assertEquals(1, antes.size());
+        assertEquals(0, despues.size());
+        assertEquals(antes.hits(), despues.hits());
+        dao.obtenerPorId(1L);
+        verify(delegate, times(2)).obtenerPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un tamaño de caché no positivo")
+    void deberiaRechazarTamanoNoPositivo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingEstudianteDAO(delegate, 0, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+        assertEquals(0, new CachingEstudianteDAO(delegate).stats().size());
+    }
+
+    @Test
+    @DisplayName("No debería cachear operaciones distintas de obtenerPorId")
+    void noDeberiaCachearOtrasOperaciones() {
+        // ARRANGE
+        when(delegate.obtenerTodos()).thenReturn(List.of());
+        // ACT
+        dao.obtenerTodos();
+        dao.obtenerTodos();
+        // ASSERT
+        verify(delegate, times(2)).obtenerTodos();
+    }
+
+    @Test
+    @DisplayName("Debería devolver el mismo registro inmutable en cada acierto y compartirlo con obtenerPorId")
+    void deberiaCompartirRegistroEnAciertos() {
+        // ARRANGE
+        EstudianteRegistro ana = EstudianteRegistro.desde(new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java"));
+        when(delegate.obtenerRegistroPorId(1L)).thenReturn(Optional.of(ana));
+        // ACT
+        EstudianteRegistro primero = dao.obtenerRegistroPorId(1L).orElseThrow();
+        EstudianteRegistro segundo = dao.obtenerRegistroPorId(1L).orElseThrow();
+        Estudiante estudiante = dao.obtenerPorId(1L).orElseThrow();
+        // ASSERT
+        assertSame(ana, primero);
+        assertSame(primero, segundo);
+        assertEquals("Ana García", estudiante.getNombre());
+        verify(delegate, times(1)).obtenerRegistroPorId(1L);
+        verify(delegate, never()).obtenerPorId(any());
+        assertEquals(2, dao.stats().hits());
+    }
+}
@@ -0,0 +1,201 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Pool de Conexiones")
+class ConnectionPoolTest {
+
+    @TempDir
+    Path directorio;
+
+    private ConnectionPool pool;
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:sqlite:" + directorio.resolve("estudiantes.db");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la conexión devuelta al pool")
+    void deberiaReutilizarConexionDevuelta() throws SQLException {
+        pool = new ConnectionPool(url, 1, 2, Duration.ofSeconds(1), Duration.ZERO);
+        Connection primera;
+        try (ConnectionLease lease = pool.lease()) {
+            primera = lease.connection();
+            assertEquals(1, pool.metrics().active());
+        }
+        try (ConnectionLease lease = pool.lease()) {
+            assertSame(primera, lease.connection());
+        }
+        ConnectionPool.Metrics metricas = pool.metrics();
+        assertEquals(0, metricas.active());
+        assertEquals(1, metricas.idle());
+        assertEquals(1, metricas.total());
+        assertEquals(2, metricas.borrows());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar SQLTimeoutException cuando el pool está agotado")
+    void deberiaLanzarTimeoutCuandoPoolAgotado() throws SQLException {
+        pool = new ConnectionPool(url, 0, 1, Duration.ofMillis(50), Duration.ZERO);
+        try (ConnectionLease ignored = pool.lease()) {
+            assertThrows(SQLTimeoutException.class, () -> pool.lease());
+        }
+        assertEquals(1, pool.metrics().timeouts());
+        assertTrue(pool.metrics().totalWaitNanos() >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    @DisplayName("Debería calcular la espera media y máxima de los préstamos")
+    void deberiaCalcularEsperaMediaYMaxima() throws SQLException {
+        pool = new ConnectionPool(url, 0, 1, Duration.ofMillis(50), Duration.ZERO);
+        assertEquals(0, pool.metrics().averageWaitNanos());
+        try (ConnectionLease ignored = pool.lease()) {
+            assertThrows(SQLTimeoutException.class, () -> pool.lease());
+        }
+        ConnectionPool.Metrics metricas = pool.metrics();
+        // The timed-out attempt counts as a borrow too
+        assertEquals(2, metricas.borrows());
+        assertEquals(metricas.totalWaitNanos() / 2, metricas.averageWaitNanos());
+        assertTrue(metricas.maxWaitNanos() >= Duration.ofMillis(50).toNanos());
+        assertTrue(metricas.maxWaitNanos() <= metricas.totalWaitNanos());
+        assertEquals(1, pool.maxSize());
+    }
+
+    @Test
+    @DisplayName("Debería deshacer la transacción pendiente al devolver la conexión")
+    void deberiaDeshacerTransaccionPendienteAlDevolver() throws SQLException {
+        pool = new ConnectionPool(url, 1, 1, Duration.ofSeconds(1), Duration.ZERO);
+        try (ConnectionLease lease = pool.lease(); Statement stmt = lease.connection().createStatement()) {
+            stmt.execute("CREATE TABLE t (x INTEGER)");
+            lease.connection().setAutoCommit(false);
+            stmt.execute("INSERT INTO t VALUES (1)");
+        }
+        try (ConnectionLease lease = pool.lease(); Statement stmt = lease.connection().createStatement()) {
+            assertTrue(lease.connection().getAutoCommit());
+            assertFalse(stmt.executeQuery("SELECT x FROM t").next());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar tamaños inválidos y préstamos tras cerrar el pool")
+    void deberiaRechazarTamanosInvalidosYPoolCerrado() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionPool(url, 2, 1, Duration.ofSeconds(1), Duration.ZERO));
+        pool = new ConnectionPool(url, 0, 1, Duration.ofSeconds(1), Duration.ZERO);
+        pool.close();
+        assertThrows(SQLException.class, () -> pool.lease());
+        assertThrows(RuntimeException.class, () -> pool.get());
+    }
+
+    @Test
+    @DisplayName("Debería descartar conexiones inválidas al prestarlas")
+    void deberiaDescartarConexionesInvalidas() throws SQLException {
+        pool = new ConnectionPool(url, 1, 1, Duration.ofSeconds(1), Duration.ZERO);
+        Connection primera;
+        try (ConnectionLease lease = pool.lease()) {
+            primera = lease.connection();
+        }
+        primera.close();
+        try (ConnectionLease lease = pool.lease()) {
+            assertNotSame(primera, lease.connection());
+            assertFalse(lease.connection().isClosed());
+        }
+        assertEquals(1, pool.metrics().total());
+    }
+
+    @Test
+    @DisplayName("Debería cerrar conexiones ociosas respetando el tamaño mínimo")
+    void deberiaCerrarConexionesOciosas() throws Exception {
+        pool = new ConnectionPool(url, 1, 3, Duration.ofSeconds(1), Duration.ofMillis(20));
+        try (ConnectionLease a = pool.lease(); ConnectionLease b = pool.lease(); ConnectionLease c = pool.lease()) {
+            assertEquals(3, pool.metrics().total());
+        }
+        long limite = System.currentTimeMillis() + 2_000;
+        while (pool.metrics().total() > 1 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.metrics().total());
+        assertEquals(1, pool.metrics().idle());
+    }
+
+    @Test
+    @DisplayName("Debería devolver al pool la conexión obtenida con get() al cerrarla")
+    void deberiaDevolverConexionDeGetAlCerrarla() throws SQLException {
+        pool = new ConnectionPool(url, 0, 1, Duration.ofMillis(50), Duration.ZERO);
+        Connection connection = pool.get();
+        assertEquals(1, pool.metrics().active());
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(0, pool.metrics().active());
+        try (Connection otra = pool.get()) {
+            assertFalse(otra.isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería permitir que el DAO atienda varios hilos con el pool")
+    void deberiaAtenderVariosHilosConElDAO() throws Exception {
+        pool = new ConnectionPool(url, 1, 4, Duration.ofSeconds(5), Duration.ZERO);
+        try (ConnectionLease lease = pool.lease(); Statement stmt = lease.connection().createStatement()) {
+            stmt.execute("""
+                CREATE TABLE estudiantes (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    nombre VARCHAR(100) NOT NULL,
+                    email VARCHAR(150) UNIQUE NOT NULL,
+                    edad INTEGER NOT NULL CHECK (edad >= 18 AND edad <= 100),
+                    curso VARCHAR(200) NOT NULL DEFAULT 'Sin asignar',
+                    fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    activo BOOLEAN DEFAULT TRUE
+                )
+            """);
+            stmt.execute("PRAGMA journal_mode=WAL");
+        }
+        EstudianteDAO dao = new EstudianteDAOImpl(pool);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Estudiante>> futuros = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                int n = i;
+                futuros.add(executor.submit(() ->
+                        dao.crear(new Estudiante("Estudiante " + n, "e" + n + "@email.com", 20, "Java"))));
+            }
+            for (Future<Estudiante> futuro : futuros) {
+                assertNotNull(futuro.get().getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40, dao.obtenerTodos().size());
+        assertTrue(pool.metrics().total() <= 4);
+        assertEquals(0, pool.metrics().active());
+    }
+}
@@ -0,0 +1,41 @@
+package com.educacion.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the DAO contract through a decorator that overrides nothing,
+ * so every forwarding method of {@link DelegatingEstudianteDAO} is exercised.
+ */
+@DisplayName("Pruebas del DAO decorador base")
+class DelegatingEstudianteDAOTest extends EstudianteDAOContractTest {
+
+    private Connection connection;
+
+    @Override
+    protected EstudianteDAO crearEstudianteDAO() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaManager().aplicar(connection);
+        return new DelegatingEstudianteDAO(new EstudianteDAOImpl(() -> connection)) {
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un DAO delegado nulo")
+    void deberiaRechazarDelegadoNulo() {
+        assertThrows(IllegalArgumentException.class, () -> new DelegatingEstudianteDAO(null) {
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Índice de Emails en Memoria")
+class EmailIndexedEstudianteDAOTest {
+
+    private Connection connection;
+    private EstudianteDAO sqlDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE estudiantes (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    nombre VARCHAR(100) NOT NULL,
+                    email VARCHAR(150) UNIQUE NOT NULL,
+                    edad INTEGER NOT NULL CHECK (edad >= 18 AND edad <= 100),
+                    curso VARCHAR(200) NOT NULL DEFAULT 'Sin asignar',
+                    fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    activo BOOLEAN DEFAULT TRUE
+                )
+            """);
+        }
+        sqlDAO = new EstudianteDAOImpl(() -> connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería cargar al iniciar los emails de los estudiantes activos")
+    void deberiaCargarEmailsActivosAlIniciar() {
+        // Arrange
+        sqlDAO.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        Estudiante eliminado = sqlDAO.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java"));
+        sqlDAO.eliminar(eliminado.getId());
+        // Act
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        // Assert
+        assertEquals(1, dao.size());
+        assertTrue(dao.existeEmail("ana@test.com"));
+        assertFalse(dao.existeEmail("luis@test.com"));
+        assertFalse(dao.existeEmail(null));
+    }
+
+    @Test
+    @DisplayName("Debería mantener el índice consistente con las escrituras")
+    void deberiaMantenerIndiceConsistente() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        // Act & Assert - crear
+        Estudiante estudiante = dao.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        assertTrue(dao.existeEmail("ana@test.com"));
+        // Act & Assert - actualizar cambia el email indexado
+        estudiante.setEmail("ana.garcia@test.com");
+        assertTrue(dao.actualizar(estudiante));
+        assertFalse(dao.existeEmail("ana@test.com"));
+        assertTrue(dao.existeEmail("ana.garcia@test.com"));
+        // Act & Assert - eliminar lo quita del índice
+        assertTrue(dao.eliminar(estudiante.getId()));
+        assertFalse(dao.existeEmail("ana.garcia@test.com"));
+        assertEquals(0, dao.size());
+    }
+
+    @Test
+    @DisplayName("Debería indexar solo las filas creadas en un lote")
+    void deberiaIndexarFilasCreadasEnLote() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        dao.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        // Act
+        ResultadoLote resultado = dao.crearTodos(List.of(
+                new Estudiante("Luis Soto", "luis@test.com", 30, "Java"),
+                new Estudiante("Otra Ana", "ana@test.com", 25, "Java")));
+        // Assert
+        assertEquals(1, resultado.getFallos().size());
+        assertTrue(dao.existeEmail("luis@test.com"));
+        assertEquals(2, dao.size());
+    }
+
+    @Test
+    @DisplayName("No debería cambiar el índice si la actualización no afecta filas")
+    void noDeberiaCambiarIndiceSiActualizacionFalla() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        Estudiante inexistente = new Estudiante(42L, "Nadie", "nadie@test.com", 20, "Java");
+        // Act
+        boolean resultado = dao.actualizar(inexistente);
+        // Assert
+        assertFalse(resultado);
+        assertFalse(dao.existeEmail("nadie@test.com"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar desde el índice un email ocupado al crear si está libre")
+    void deberiaRechazarDesdeIndiceAlCrearSiEmailLibre() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        dao.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        // Act
+        boolean ocupado = dao.crearSiEmailLibre(new Estudiante("Otra Ana", "ana@test.com", 25, "Java")).isPresent();
+        boolean libre = dao.crearSiEmailLibre(new Estudiante("Luis Soto", "luis@test.com", 30, "Java")).isPresent();
+        // Assert
+        assertFalse(ocupado);
+        assertTrue(libre);
+        assertTrue(dao.existeEmail("luis@test.com"));
+        assertEquals(2, sqlDAO.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería cambiar el email indexado solo si actualizarYObtener aplica el cambio")
+    void deberiaCambiarEmailSoloSiActualizarYObtenerAplica() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        Estudiante ana = dao.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        dao.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java"));
+        // Act
+        ResultadoActualizacion conflicto = dao.actualizarYObtener(
+                new Estudiante(ana.getId(), "Ana García", "luis@test.com", 20, "Java"), null);
+        ResultadoActualizacion actualizado = dao.actualizarYObtener(
+                new Estudiante(ana.getId(), "Ana García", "ana.garcia@test.com", 20, "Java"), null);
+        // Assert
+        assertEquals(ResultadoActualizacion.Estado.CONFLICTO_EMAIL, conflicto.estado());
+        assertTrue(actualizado.isActualizado());
+        assertFalse(dao.existeEmail("ana@test.com"));
+        assertTrue(dao.existeEmail("ana.garcia@test.com"));
+        assertTrue(dao.existeEmail("luis@test.com"));
+    }
+
+    @Test
+    @DisplayName("Debería recargar el índice con las escrituras hechas por otro DAO")
+    void deberiaRecargarIndice() {
+        // Arrange
+        EmailIndexedEstudianteDAO dao = new EmailIndexedEstudianteDAO(sqlDAO);
+        sqlDAO.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        assertFalse(dao.existeEmail("ana@test.com"));
+        // Act
+        dao.recargar();
+        // Assert
+        assertTrue(dao.existeEmail("ana@test.com"));
+        assertEquals(1, dao.size());
+    }
+}
@@ -0,0 +1,449 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link EstudianteDAO} implementation must share.
+ * Each subclass provides a fresh, empty DAO per test.
+ */
+abstract class EstudianteDAOContractTest {
+
+    protected EstudianteDAO estudianteDAO;
+
+    protected abstract EstudianteDAO crearEstudianteDAO() throws Exception;
+
+    @BeforeEach
+    void prepararEstudianteDAO() throws Exception {
+        estudianteDAO = crearEstudianteDAO();
+    }
+
+    @Test
+    @DisplayName("Debería crear estudiante y asignar ID")
+    void deberiaCrearEstudianteYAsignarId() {
+        Estudiante estudiante = new Estudiante("Ana Martínez", "ana.martinez@email.com", 24, "Spring Boot");
+        Estudiante resultado = estudianteDAO.crear(estudiante);
+        assertNotNull(resultado.getId());
+        assertTrue(resultado.getId() > 0);
+    }
+
+    @Test
+    @DisplayName("Debería lanzar RuntimeException al duplicar email")
+    void deberiaLanzarExcepcionSiEmailDuplicado() {
+        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        Estudiante estudiante2 = new Estudiante("Pedro Pérez", "juan.perez@email.com", 30, "Python");
+        // KEY FIX: We now expect a RuntimeException, not a SQLException
+        assertThrows(RuntimeException.class, () -> estudianteDAO.crear(estudiante2));
+    }
+
+    @Test
+    @DisplayName("Debería obtener estudiante por ID")
+    void deberiaObtenerEstudiantePorId() {
+        Estudiante guardado = estudianteDAO.crear(new Estudiante("María González", "maria.gonzalez@email.com", 22, "Testing"));
+        Optional<Estudiante> resultado = estudianteDAO.obtenerPorId(guardado.getId());
+        assertTrue(resultado.isPresent());
+        assertEquals(guardado.getId(), resultado.get().getId());
+    }
+
+    @Test
+    @DisplayName("No debería obtener estudiante eliminado (soft delete)")
+    void noDeberiaObtenerEstudianteEliminado() {
+        Estudiante estudiante = estudianteDAO.crear(new Estudiante("Carlos López", "carlos.lopez@email.com", 28, "Java"));
+        estudianteDAO.eliminar(estudiante.getId());
+        Optional<Estudiante> resultado = estudianteDAO.obtenerPorId(estudiante.getId());
+        assertFalse(resultado.isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería obtener todos los estudiantes activos")
+    void deberiaObtenerTodosLosEstudiantesActivos() {
+        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("María García", "maria.garcia@email.com", 22, "Spring"));
+        List<Estudiante> resultado = estudianteDAO.obtenerTodos();
+        assertEquals(2, resultado.size());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar estudiante exitosamente")
+    void deberiaActualizarEstudianteExitosamente() {
+        Estudiante original = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        original.setCurso("Java Avanzado");
+        boolean resultado = estudianteDAO.actualizar(original);
+        assertTrue(resultado);
+
+        Optional<Estudiante> actualizado = estudianteDAO.obtenerPorId(original.getId());
+        assertTrue(actualizado.isPresent());
+        assertEquals("Java Avanzado", actualizado.get().getCurso());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar y devolver la fila guardada en una sola sentencia")
+    void deberiaActualizarYObtenerFilaGuardada() {
+        // Arrange
+        Estudiante original = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan@email.com", 25, "Java"));
+        Estudiante cambios = new Estudiante(original.getId(), "Juan Carlos Pérez", "juan.carlos@email.com", 26, "Java Avanzado");
+        // Act
+        ResultadoActualizacion resultado = estudianteDAO.actualizarYObtener(cambios, null);
+        // Assert
+        assertTrue(resultado.isActualizado());
+        assertEquals("juan.carlos@email.com", resultado.estudiante().getEmail());
+        assertNotNull(resultado.estudiante().getFechaRegistro());
+        assertEquals("Java Avanzado", estudianteDAO.obtenerPorId(original.getId()).orElseThrow().getCurso());
+    }
+
+    @Test
+    @DisplayName("Debería distinguir ID inexistente y email duplicado al actualizar")
+    void deberiaDistinguirInexistenteYEmailDuplicado() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Ana Martínez", "ana@email.com", 24, "Java"));
+        Estudiante juan = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan@email.com", 25, "Java"));
+        // Act
+        ResultadoActualizacion inexistente = estudianteDAO.actualizarYObtener(new Estudiante(999L, "Nadie", "nadie@email.com", 30, "Java"), null);
+        ResultadoActualizacion duplicado = estudianteDAO.actualizarYObtener(new Estudiante(juan.getId(), "Juan Pérez", "ana@email.com", 25, "Java"), null);
+        // Assert
+        assertEquals(ResultadoActualizacion.Estado.NO_ENCONTRADO, inexistente.estado());
+        assertEquals(ResultadoActualizacion.Estado.CONFLICTO_EMAIL, duplicado.estado());
+        assertNull(duplicado.estudiante());
+        assertFalse(duplicado.isActualizado());
+        assertThrows(IllegalArgumentException.class,
+                () -> ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.ACTUALIZADO));
+        assertEquals("juan@email.com", estudianteDAO.obtenerPorId(juan.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("No debería pisar un cambio concurrente al actualizar con valores esperados")
+    void noDeberiaPisarCambioConcurrente() {
+        // Arrange
+        Estudiante leido = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan@email.com", 25, "Java"));
+        Estudiante copiaLeida = new Estudiante(leido.getId(), "Juan Pérez", "juan@email.com", 25, "Java");
+        estudianteDAO.actualizarYObtener(new Estudiante(leido.getId(), "Juan Pérez", "juan@email.com", 25, "Python"), copiaLeida);
+        // Act
+        ResultadoActualizacion resultado = estudianteDAO.actualizarYObtener(
+                new Estudiante(leido.getId(), "Juan Pérez", "juan@email.com", 30, "Java"), copiaLeida);
+        // Assert
+        assertEquals(ResultadoActualizacion.Estado.MODIFICADO_CONCURRENTEMENTE, resultado.estado());
+        Estudiante guardado = estudianteDAO.obtenerPorId(leido.getId()).orElseThrow();
+        assertEquals("Python", guardado.getCurso());
+        assertEquals(25, guardado.getEdad());
+    }
+
+    @Test
+    @DisplayName("Debería retornar true si el email existe")
+    void deberiaRetornarTrueSiEmailExiste() {
+        // Arrange
+        String emailExistente = "test.existe@email.com";
+        estudianteDAO.crear(new Estudiante("Usuario Test", emailExistente, 30, "Cobertura"));
+        // Act
+        boolean resultado = estudianteDAO.existeEmail(emailExistente);
+        // Assert
+        assertTrue(resultado);
+    }
+
+    @Test
+    @DisplayName("Debería retornar false si el email no existe")
+    void deberiaRetornarFalseSiEmailNoExiste() {
+        // Arrange
+        String emailInexistente = "no.existe@email.com";
+        // Act
+        boolean resultado = estudianteDAO.existeEmail(emailInexistente);
+        // Assert
+        assertFalse(resultado);
+    }
+
+    @Test
+    @DisplayName("Debería crear con un solo INSERT si el email está libre")
+    void deberiaCrearSiEmailLibre() {
+        // Act
+        Optional<Estudiante> creado = estudianteDAO.crearSiEmailLibre(new Estudiante("Ana Martínez", "ana@email.com", 24, "Java"));
+        // Assert
+        assertTrue(creado.isPresent());
+        assertEquals("Ana Martínez", estudianteDAO.obtenerPorId(creado.get().getId()).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("Debería devolver vacío sin excepción si el email ya existe, aunque esté inactivo")
+    void deberiaDevolverVacioSiEmailOcupado() {
+        // Arrange
+        Estudiante activo = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan@email.com", 25, "Java"));
+        Estudiante inactivo = estudianteDAO.crear(new Estudiante("Luis Soto", "luis@email.com", 30, "Java"));
+        estudianteDAO.eliminar(inactivo.getId());
+        // Act
+        Optional<Estudiante> duplicado = estudianteDAO.crearSiEmailLibre(new Estudiante("Pedro Pérez", "juan@email.com", 30, "Python"));
+        Optional<Estudiante> duplicadoInactivo = estudianteDAO.crearSiEmailLibre(new Estudiante("Otro Luis", "luis@email.com", 30, "Python"));
+        // Assert
+        assertTrue(duplicado.isEmpty());
+        assertTrue(duplicadoInactivo.isEmpty());
+        assertEquals("Juan Pérez", estudianteDAO.obtenerPorId(activo.getId()).orElseThrow().getNombre());
+        assertEquals(1, estudianteDAO.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería crear estudiantes en lote y asignar IDs consecutivos")
+    void deberiaCrearEstudiantesEnLoteYAsignarIds() {
+        // Arrange
+        List<Estudiante> cohorte = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            cohorte.add(new Estudiante("Estudiante " + i, "estudiante" + i + "@email.com", 20 + i, "Java"));
+        }
+        // Act
+        ResultadoLote resultado = estudianteDAO.crearTodos(cohorte, 3);
+        // Assert
+        assertFalse(resultado.tieneFallos());
+        assertEquals(7, resultado.getCreados().size());
+        for (Estudiante estudiante : cohorte) {
+            Optional<Estudiante> guardado = estudianteDAO.obtenerPorId(estudiante.getId());
+            assertTrue(guardado.isPresent());
+            assertEquals(estudiante.getEmail(), guardado.get().getEmail());
+        }
+        assertEquals(7, estudianteDAO.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería reportar filas fallidas sin abortar el lote")
+    void deberiaReportarFilasFallidasSinAbortarLote() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        List<Estudiante> cohorte = List.of(
+                new Estudiante("Ana Ruiz", "ana.ruiz@email.com", 21, "Java"),
+                new Estudiante("Otro Juan", "juan.perez@email.com", 22, "Java"),
+                new Estudiante("Luis Soto", "luis.soto@email.com", 23, "Java"),
+                new Estudiante("Eva Díaz", "eva.diaz@email.com", 24, "Java")
+        );
+        // Act
+        ResultadoLote resultado = estudianteDAO.crearTodos(cohorte, 2);
+        // Assert
+        assertEquals(3, resultado.getCreados().size());
+        assertEquals(1, resultado.getFallos().size());
+        assertEquals(1, resultado.getFallos().get(0).indice());
+        assertNull(cohorte.get(1).getId());
+        assertEquals(4, estudianteDAO.obtenerTodos().size());
+        assertTrue(estudianteDAO.existeEmail("eva.diaz@email.com"));
+    }
+
+    @Test
+    @DisplayName("Debería crear en lotes del tamaño por defecto cuando no se indica el tamaño")
+    void deberiaCrearEnLotesDelTamanoPorDefecto() {
+        // Arrange - one row more than a default batch, so the last one goes in a second batch
+        List<Estudiante> cohorte = new ArrayList<>();
+        for (int i = 0; i <= EstudianteDAO.TAMANO_LOTE_POR_DEFECTO; i++) {
+            cohorte.add(new Estudiante("Estudiante " + i, "lote" + i + "@email.com", 20, "Java"));
+        }
+        // Act
+        ResultadoLote resultado = estudianteDAO.crearTodos(cohorte);
+        // Assert
+        assertFalse(resultado.tieneFallos());
+        assertEquals(cohorte.size(), resultado.getCreados().size());
+        assertTrue(cohorte.stream().allMatch(estudiante -> estudiante.getId() != null));
+        assertEquals(cohorte.size(), estudianteDAO.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería paginar por nombre e ID sin repetir ni saltar estudiantes")
+    void deberiaPaginarPorNombreEId() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Carlos", "carlos@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("Ana", "ana1@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("Ana", "ana2@email.com", 25, "Java"));
+        Estudiante eliminado = estudianteDAO.crear(new Estudiante("Beatriz", "beatriz@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("Diana", "diana@email.com", 25, "Java"));
+        estudianteDAO.eliminar(eliminado.getId());
+        // Act
+        Pagina primera = estudianteDAO.obtenerPagina(null, 2);
+        Pagina segunda = estudianteDAO.obtenerPagina(primera.siguiente(), 2);
+        // Assert
+        assertEquals(List.of("ana1@email.com", "ana2@email.com"),
+                primera.estudiantes().stream().map(Estudiante::getEmail).toList());
+        assertTrue(primera.hayMas());
+        assertEquals(List.of("carlos@email.com", "diana@email.com"),
+                segunda.estudiantes().stream().map(Estudiante::getEmail).toList());
+        assertFalse(segunda.hayMas());
+    }
+
+    @Test
+    @DisplayName("Debería continuar desde un cursor construido a mano y rechazar uno sin nombre")
+    void deberiaContinuarDesdeCursorManual() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 25, "Java"));
+        Estudiante beatriz = estudianteDAO.crear(new Estudiante("Beatriz", "beatriz@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("Carlos", "carlos@email.com", 25, "Java"));
+        // Act
+        Pagina pagina = estudianteDAO.obtenerPagina(new CursorPagina("Beatriz", beatriz.getId()), 10);
+        // Assert
+        assertEquals(List.of("carlos@email.com"), pagina.estudiantes().stream().map(Estudiante::getEmail).toList());
+        assertThrows(IllegalArgumentException.class, () -> new CursorPagina(null, 1L));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un tamaño de página no positivo")
+    void deberiaRechazarTamanoPaginaNoPositivo() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 25, "Java"));
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> estudianteDAO.obtenerPagina(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> estudianteDAO.obtenerPagina(null, -1));
+    }
+
+    @Test
+    @DisplayName("Debería obtener varios estudiantes activos por ID en orden, en bloques")
+    void deberiaObtenerVariosPorIds() {
+        // Arrange
+        List<Estudiante> estudiantes = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            estudiantes.add(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20, "Java"));
+        }
+        estudianteDAO.crearTodos(estudiantes);
+        long inactivo = estudiantes.get(10).getId();
+        estudianteDAO.eliminar(inactivo);
+        List<Long> ids = new ArrayList<>();
+        for (int i = estudiantes.size() - 1; i >= 0; i--) {
+            ids.add(estudiantes.get(i).getId());
+        }
+        ids.add(999_999L);
+        ids.add(ids.get(0));
+        // Act
+        Map<Long, Estudiante> resultado = estudianteDAO.obtenerPorIds(ids);
+        // Assert
+        assertEquals(1_199, resultado.size());
+        assertFalse(resultado.containsKey(inactivo));
+        assertFalse(resultado.containsKey(999_999L));
+        assertEquals(ids.get(0), resultado.keySet().iterator().next());
+        assertEquals("Estudiante 0", resultado.get(estudiantes.get(0).getId()).getNombre());
+        assertTrue(estudianteDAO.obtenerPorIds(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería filtrar por curso y rango de edad combinando los criterios")
+    void deberiaFiltrarPorCursoYRangoEdad() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("Carlos", "carlos@email.com", 30, "Java"));
+        estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        estudianteDAO.crear(new Estudiante("Beatriz", "beatriz@email.com", 45, "Java"));
+        estudianteDAO.crear(new Estudiante("Diana", "diana@email.com", 22, "Python"));
+        Estudiante eliminado = estudianteDAO.crear(new Estudiante("Elena", "elena@email.com", 21, "Java"));
+        estudianteDAO.eliminar(eliminado.getId());
+        // Act
+        List<Estudiante> porCurso = estudianteDAO.obtenerPorCurso("Java");
+        List<Estudiante> porEdad = estudianteDAO.obtenerPorRangoEdad(20, 30);
+        List<Estudiante> combinado = estudianteDAO.obtenerPorFiltro(
+                FiltroEstudiantes.builder().curso("Java").edadEntre(20, 30).limite(1).build());
+        // Assert
+        assertEquals(List.of("Ana", "Beatriz", "Carlos"), porCurso.stream().map(Estudiante::getNombre).toList());
+        assertEquals(List.of("Ana", "Carlos", "Diana"), porEdad.stream().map(Estudiante::getNombre).toList());
+        assertEquals(List.of("Ana"), combinado.stream().map(Estudiante::getNombre).toList());
+        assertEquals(4, estudianteDAO.obtenerPorFiltro(FiltroEstudiantes.builder().build()).size());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un filtro con rango de edad invertido")
+    void deberiaRechazarRangoEdadInvertido() {
+        assertThrows(IllegalArgumentException.class, () -> estudianteDAO.obtenerPorRangoEdad(30, 20));
+        assertThrows(IllegalArgumentException.class, () -> FiltroEstudiantes.builder().limite(0).build());
+    }
+
+    @Test
+    @DisplayName("Debería recorrer todos los estudiantes activos con un Stream")
+    void deberiaRecorrerEstudiantesConStream() {
+        // Arrange
+        estudianteDAO.crear(new Estudiante("María García", "maria.garcia@email.com", 22, "Spring"));
+        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        // Act
+        List<String> nombres;
+        try (Stream<Estudiante> estudiantes = estudianteDAO.streamTodos(1)) {
+            nombres = estudiantes.map(Estudiante::getNombre).collect(Collectors.toList());
+        }
+        // Assert
+        assertEquals(List.of("Juan Pérez", "María García"), nombres);
+        // The connection is still usable once the stream is closed
+        assertTrue(estudianteDAO.existeEmail("juan.perez@email.com"));
+    }
+
+    @Test
+    @DisplayName("Debería ordenar por nombre según los code points, como SQLite")
+    void deberiaOrdenarNombresPorCodePoint() {
+        // Arrange - U+1F600 is above U+FF21, although its UTF-16 surrogates sort below it
+        estudianteDAO.crear(new Estudiante("\uD83D\uDE00 Emoji", "emoji@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("\uFF21 Ancho", "ancho@email.com", 25, "Java"));
+        estudianteDAO.crear(new Estudiante("Zoe", "zoe@email.com", 25, "Java"));
+        // Act
+        List<String> emails = estudianteDAO.obtenerTodos().stream().map(Estudiante::getEmail).toList();
+        // Assert
+        assertEquals(List.of("zoe@email.com", "ancho@email.com", "emoji@email.com"), emails);
+    }
+
+    @Test
+    @DisplayName("El roster compacto debería tener los mismos estudiantes que obtenerTodos")
+    void deberiaObtenerRosterIgualQueObtenerTodos() {
+        // ARRANGE
+        estudianteDAO.crear(new Estudiante("José Núñez", "jose@email.com", 30, "Java"));
+        Estudiante eliminado = estudianteDAO.crear(new Estudiante("Beatriz", "bea@email.com", 25, "Python"));
+        estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 45, "Java"));
+        estudianteDAO.eliminar(eliminado.getId());
+        // ACT
+        RosterCompacto roster = estudianteDAO.obtenerRoster();
+        // ASSERT
+        List<Estudiante> todos = estudianteDAO.obtenerTodos();
+        assertEquals(todos.size(), roster.size());
+        for (int i = 0; i < todos.size(); i++) {
+            assertEquals(todos.get(i).toString(), roster.estudiante(i).toString());
+        }
+        assertEquals(List.of("Java"), roster.cursos());
+    }
+
+    @Test
+    @DisplayName("Debería recorrer un rango de IDs en orden y conocer el ID máximo")
+    void deberiaRecorrerRangoDeIds() {
+        // ARRANGE
+        assertEquals(0, estudianteDAO.obtenerIdMaximo());
+        for (int i = 1; i <= 5; i++) {
+            estudianteDAO.crear(new Estudiante("E" + (6 - i), "e" + i + "@email.com", 20 + i, "Java"));
+        }
+        estudianteDAO.eliminar(3L);
+        estudianteDAO.eliminar(5L);
+        // ACT
+        List<Long> ids;
+        try (Stream<Estudiante> estudiantes = estudianteDAO.streamPorRangoId(2, 5, 1)) {
+            ids = estudiantes.map(Estudiante::getId).toList();
+        }
+        // ASSERT - [2, 5) without the deleted 3; the deleted 5 still counts as the highest id
+        assertEquals(List.of(2L, 4L), ids);
+        assertEquals(5, estudianteDAO.obtenerIdMaximo());
+    }
+
+    @Test
+    @DisplayName("Los registros inmutables deberían tener los mismos datos que las lecturas de Estudiante")
+    void deberiaObtenerRegistrosIgualQueEstudiantes() {
+        // ARRANGE
+        estudianteDAO.crear(new Estudiante("José Núñez", "jose@email.com", 30, "Java"));
+        Estudiante eliminado = estudianteDAO.crear(new Estudiante("Beatriz", "bea@email.com", 25, "Python"));
+        Estudiante ana = estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 45, "Java"));
+        estudianteDAO.eliminar(eliminado.getId());
+        FiltroEstudiantes filtro = FiltroEstudiantes.builder().curso("Java").edadMinima(40).build();
+        // ACT
+        List<EstudianteRegistro> registros = estudianteDAO.obtenerRegistros();
+        List<EstudianteRegistro> filtrados = estudianteDAO.obtenerRegistrosPorFiltro(filtro);
+        Optional<EstudianteRegistro> porId = estudianteDAO.obtenerRegistroPorId(ana.getId());
+        // ASSERT
+        assertEquals(textos(estudianteDAO.obtenerTodos()), textos(registros.stream().map(EstudianteRegistro::aEstudiante).toList()));
+        assertEquals(textos(estudianteDAO.obtenerPorFiltro(filtro)), textos(filtrados.stream().map(EstudianteRegistro::aEstudiante).toList()));
+        assertEquals(estudianteDAO.obtenerPorId(ana.getId()).orElseThrow().toString(), porId.orElseThrow().aEstudiante().toString());
+        assertTrue(porId.get().tieneFechaRegistro());
+        assertTrue(estudianteDAO.obtenerRegistroPorId(eliminado.getId()).isEmpty());
+    }
+
+    private static List<String> textos(List<Estudiante> estudiantes) {
+        return estudiantes.stream().map(Estudiante::toString).toList();
+    }
+}
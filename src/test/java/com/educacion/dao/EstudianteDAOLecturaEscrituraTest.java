@@ -0,0 +1,118 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del DAO con Conexiones de Lectura y Escritura Separadas")
+class EstudianteDAOLecturaEscrituraTest {
+
+    @TempDir
+    Path directorio;
+
+    private ConnectionPool lecturas;
+    private ConnectionPool escrituras;
+    private EstudianteDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + directorio.resolve("estudiantes.db");
+        escrituras = new ConnectionPool(PerfilSqlite.RAPIDO.fabrica(url), 1, 1, Duration.ofSeconds(5), Duration.ZERO);
+        try (ConnectionLease lease = escrituras.lease()) {
+            new SchemaManager().aplicar(lease.connection());
+        }
+        lecturas = new ConnectionPool(PerfilSqlite.RAPIDO.fabricaLectura(url), 1, 4, Duration.ofSeconds(5), Duration.ZERO);
+        dao = new EstudianteDAOImpl(lecturas, escrituras);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lecturas.close();
+        escrituras.close();
+    }
+
+    @Test
+    @DisplayName("Una lectura posterior debería ver la escritura ya confirmada")
+    void deberiaLeerLoEscrito() {
+        // ACT
+        Estudiante creado = dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        dao.actualizar(new Estudiante(creado.getId(), "Ana María", "ana@email.com", 21, "Java"));
+        // ASSERT
+        assertEquals("Ana María", dao.obtenerPorId(creado.getId()).orElseThrow().getNombre());
+        assertTrue(dao.existeEmail("ana@email.com"));
+        assertEquals(1, dao.obtenerTodos().size());
+        // schema + crear + actualizar on the writer; the three reads on the read pool
+        assertEquals(3, escrituras.metrics().borrows());
+        assertEquals(3, lecturas.metrics().borrows());
+    }
+
+    @Test
+    @DisplayName("Las conexiones de lectura deberían rechazar escrituras")
+    void deberiaRechazarEscriturasEnConexionesDeLectura() throws SQLException {
+        try (ConnectionLease lease = lecturas.lease(); Statement stmt = lease.connection().createStatement()) {
+            assertThrows(SQLException.class,
+                    () -> stmt.executeUpdate("INSERT INTO estudiantes(nombre, email, edad) VALUES('Ana', 'ana@email.com', 20)"));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería serializar escrituras concurrentes mientras se lee en paralelo")
+    void deberiaSerializarEscriturasConcurrentes() {
+        // ARRANGE
+        int hilos = 8;
+        int altasPorHilo = 25;
+        List<CompletableFuture<Void>> tareas = new ArrayList<>();
+        // ACT
+        try (ExecutorService executor = Executors.newFixedThreadPool(hilos)) {
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                tareas.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < altasPorHilo; i++) {
+                        String email = "h" + hilo + "e" + i + "@email.com";
+                        dao.crear(new Estudiante("Estudiante " + hilo + "-" + i, email, 20, "Java"));
+                        assertTrue(dao.existeEmail(email));
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(tareas.toArray(CompletableFuture[]::new)).join();
+        }
+        // ASSERT
+        assertEquals(hilos * altasPorHilo, dao.obtenerTodos().size());
+        assertEquals(1, escrituras.metrics().total());
+    }
+
+    @Test
+    @DisplayName("Una lectura no debería esperar a una transacción de escritura abierta")
+    void noDeberiaBloquearLecturasDuranteEscritura() throws SQLException {
+        // ARRANGE
+        Estudiante creado = dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        try (ConnectionLease escritor = escrituras.lease()) {
+            Connection connection = escritor.connection();
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate("UPDATE estudiantes SET nombre = 'Ana María'");
+            }
+            // ACT
+            String nombre = dao.obtenerPorId(creado.getId()).orElseThrow().getNombre();
+            // ASSERT: the uncommitted change is not visible
+            assertEquals("Ana", nombre);
+            connection.rollback();
+        }
+    }
+}
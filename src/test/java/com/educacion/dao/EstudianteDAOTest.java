@@ -2,7 +2,6 @@ package com.educacion.dao;
 
 import com.educacion.modelo.Estudiante;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -10,36 +9,31 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Pruebas de Integración DAO Estudiante")
-class EstudianteDAOTest {
+class EstudianteDAOTest extends EstudianteDAOContractTest {
 
-    private EstudianteDAO estudianteDAO;
     private Connection connection;
     private static final String DB_URL = "jdbc:sqlite::memory:";
 
-    @BeforeEach
-    void setUp() throws SQLException {
+    @Override
+    protected EstudianteDAO crearEstudianteDAO() throws SQLException {
         connection = DriverManager.getConnection(DB_URL);
-        String createTableSQL = """
-            CREATE TABLE estudiantes (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                nombre VARCHAR(100) NOT NULL,
-                email VARCHAR(150) UNIQUE NOT NULL,
-                edad INTEGER NOT NULL CHECK (edad >= 18 AND edad <= 100),
-                curso VARCHAR(200) NOT NULL DEFAULT 'Sin asignar',
-                fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
-                activo BOOLEAN DEFAULT TRUE
-            )
-        """;
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createTableSQL);
-        }
-        estudianteDAO = new EstudianteDAOImpl(() -> connection);
+        new SchemaManager().aplicar(connection);
+        return new EstudianteDAOImpl(() -> connection);
     }
 
     @AfterEach
@@ -50,83 +44,138 @@ class EstudianteDAOTest {
     }
 
     @Test
-    @DisplayName("Debería crear estudiante y asignar ID")
-    void deberiaCrearEstudianteYAsignarId() {
-        Estudiante estudiante = new Estudiante("Ana Martínez", "ana.martinez@email.com", 24, "Spring Boot");
-        Estudiante resultado = estudianteDAO.crear(estudiante);
-        assertNotNull(resultado.getId());
-        assertTrue(resultado.getId() > 0);
-    }
-
-    @Test
-    @DisplayName("Debería lanzar RuntimeException al duplicar email")
-    void deberiaLanzarExcepcionSiEmailDuplicado() {
-        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
-        Estudiante estudiante2 = new Estudiante("Pedro Pérez", "juan.perez@email.com", 30, "Python");
-        // KEY FIX: We now expect a RuntimeException, not a SQLException
-        assertThrows(RuntimeException.class, () -> estudianteDAO.crear(estudiante2));
-    }
-
-    @Test
-    @DisplayName("Debería obtener estudiante por ID")
-    void deberiaObtenerEstudiantePorId() {
-        Estudiante guardado = estudianteDAO.crear(new Estudiante("María González", "maria.gonzalez@email.com", 22, "Testing"));
-        Optional<Estudiante> resultado = estudianteDAO.obtenerPorId(guardado.getId());
-        assertTrue(resultado.isPresent());
-        assertEquals(guardado.getId(), resultado.get().getId());
-    }
-
-    @Test
-    @DisplayName("No debería obtener estudiante eliminado (soft delete)")
-    void noDeberiaObtenerEstudianteEliminado() {
-        Estudiante estudiante = estudianteDAO.crear(new Estudiante("Carlos López", "carlos.lopez@email.com", 28, "Java"));
-        estudianteDAO.eliminar(estudiante.getId());
-        Optional<Estudiante> resultado = estudianteDAO.obtenerPorId(estudiante.getId());
-        assertFalse(resultado.isPresent());
+    @DisplayName("Debería reutilizar los statements ya compilados")
+    void deberiaReutilizarStatementsCompilados() {
+        // Arrange
+        EstudianteDAOImpl dao = (EstudianteDAOImpl) estudianteDAO;
+        Estudiante guardado = dao.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        StatementCache.Stats antes = dao.statementCacheStats();
+        // Act
+        dao.obtenerPorId(guardado.getId());
+        dao.obtenerPorId(guardado.getId());
+        dao.existeEmail("juan.perez@email.com");
+        dao.existeEmail("otro@email.com");
+        // Assert
+        StatementCache.Stats despues = dao.statementCacheStats();
+        assertEquals(2, despues.misses() - antes.misses());
+        assertEquals(2, despues.hits() - antes.hits());
     }
 
     @Test
-    @DisplayName("Debería obtener todos los estudiantes activos")
-    void deberiaObtenerTodosLosEstudiantesActivos() {
-        estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
-        estudianteDAO.crear(new Estudiante("María García", "maria.garcia@email.com", 22, "Spring"));
-        List<Estudiante> resultado = estudianteDAO.obtenerTodos();
-        assertEquals(2, resultado.size());
+    @DisplayName("Debería reutilizar el statement de IN para bloques de tamaño parecido")
+    void deberiaReutilizarStatementDeInPorTamano() {
+        // Arrange
+        EstudianteDAOImpl dao = (EstudianteDAOImpl) estudianteDAO;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(dao.crear(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20, "Java")).getId());
+        }
+        StatementCache.Stats antes = dao.statementCacheStats();
+        // Act - 3 y 4 IDs comparten el statement de 4 parámetros
+        Map<Long, Estudiante> tres = dao.obtenerPorIds(ids.subList(0, 3));
+        Map<Long, Estudiante> cuatro = dao.obtenerPorIds(ids);
+        // Assert
+        StatementCache.Stats despues = dao.statementCacheStats();
+        assertEquals(3, tres.size());
+        assertEquals(4, cuatro.size());
+        assertEquals(1, despues.misses() - antes.misses());
+        assertEquals(1, despues.hits() - antes.hits());
     }
 
     @Test
-    @DisplayName("Debería actualizar estudiante exitosamente")
-    void deberiaActualizarEstudianteExitosamente() {
-        Estudiante original = estudianteDAO.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
-        original.setCurso("Java Avanzado");
-        boolean resultado = estudianteDAO.actualizar(original);
-        assertTrue(resultado);
-
-        Optional<Estudiante> actualizado = estudianteDAO.obtenerPorId(original.getId());
-        assertTrue(actualizado.isPresent());
-        assertEquals("Java Avanzado", actualizado.get().getCurso());
+    @DisplayName("Debería mantener en caché todas las formas de SQL con el tamaño por defecto")
+    void deberiaMantenerTodasLasFormasEnCachePorDefecto() {
+        // Arrange
+        EstudianteDAOImpl dao = (EstudianteDAOImpl) estudianteDAO;
+        StatementCache.Stats antes = dao.statementCacheStats();
+        // Act - cada operación, cada tamaño de bloque de IN y cada combinación de criterios
+        Estudiante juan = dao.crear(new Estudiante("Juan Pérez", "juan.perez@email.com", 25, "Java"));
+        dao.crearSiEmailLibre(new Estudiante("Ana García", "ana.garcia@email.com", 22, "Java"));
+        dao.crearTodos(List.of(new Estudiante("Luis Soto", "luis.soto@email.com", 30, "Python")));
+        dao.obtenerPorId(juan.getId());
+        for (int tamano = 1; tamano <= 512; tamano *= 2) {
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1; id <= tamano; id++) {
+                ids.add(id);
+            }
+            dao.obtenerPorIds(ids);
+        }
+        dao.obtenerTodos();
+        for (int combinacion = 0; combinacion < 16; combinacion++) {
+            dao.obtenerPorFiltro(new FiltroEstudiantes(
+                    (combinacion & 1) != 0 ? "Java" : null,
+                    (combinacion & 2) != 0 ? 18 : null,
+                    (combinacion & 4) != 0 ? 40 : null,
+                    (combinacion & 8) != 0 ? 10 : null));
+        }
+        Pagina pagina = dao.obtenerPagina(null, 1);
+        dao.obtenerPagina(pagina.siguiente(), 1);
+        dao.obtenerIdMaximo();
+        dao.actualizar(juan);
+        dao.actualizarYObtener(juan, null);
+        dao.actualizarYObtener(juan, new Estudiante("Otro", "otro@email.com", 1, "Otro"));
+        dao.eliminar(juan.getId());
+        dao.existeEmail("juan.perez@email.com");
+        // Assert - una compilación por forma y ningún desalojo
+        StatementCache.Stats despues = dao.statementCacheStats();
+        assertTrue(despues.misses() - antes.misses() <= EstudianteDAOImpl.STATEMENTS_POR_CONEXION_POR_DEFECTO);
+        assertEquals(0, despues.evictions() - antes.evictions());
+        // Una segunda pasada por los filtros ya no compila nada
+        dao.obtenerPorFiltro(new FiltroEstudiantes("Java", 18, 40, 10));
+        dao.obtenerPorFiltro(new FiltroEstudiantes(null, null, null, null));
+        assertEquals(despues.misses(), dao.statementCacheStats().misses());
     }
 
     @Test
-    @DisplayName("Debería retornar true si el email existe")
-    void deberiaRetornarTrueSiEmailExiste() {
+    @DisplayName("Debería conservar la fecha de registro y el estado guardados")
+    void deberiaConservarFechaRegistroYEstadoGuardados() throws SQLException {
         // Arrange
-        String emailExistente = "test.existe@email.com";
-        estudianteDAO.crear(new Estudiante("Usuario Test", emailExistente, 30, "Cobertura"));
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO estudiantes(nombre, email, edad, curso, fecha_registro, activo) "
+                    + "VALUES('Ana García', 'ana.garcia@email.com', 22, 'Java Básico', '2024-01-15 10:00:00', TRUE)");
+        }
         // Act
-        boolean resultado = estudianteDAO.existeEmail(emailExistente);
+        Estudiante estudiante = estudianteDAO.obtenerTodos().get(0);
         // Assert
-        assertTrue(resultado);
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 0, 0), estudiante.getFechaRegistro());
+        assertTrue(estudiante.isActivo());
+        assertEquals("Java Básico", estudiante.getCurso());
     }
 
     @Test
-    @DisplayName("Debería retornar false si el email no existe")
-    void deberiaRetornarFalseSiEmailNoExiste() {
-        // Arrange
-        String emailInexistente = "no.existe@email.com";
+    @DisplayName("Debería devolver el estudiante correcto con una conexión compartida entre hilos")
+    void deberiaDevolverEstudianteCorrectoConConexionCompartida() throws Exception {
+        // Arrange - the same cached statements are used by every thread on the shared connection
+        List<Estudiante> guardados = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            guardados.add(estudianteDAO.crear(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20 + i % 10, "Java")));
+        }
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Integer>> errores = new ArrayList<>();
         // Act
-        boolean resultado = estudianteDAO.existeEmail(emailInexistente);
-        // Assert
-        assertFalse(resultado);
+        try {
+            for (int hilo = 0; hilo < 8; hilo++) {
+                errores.add(hilos.submit(() -> {
+                    salida.await();
+                    int incorrectos = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        Estudiante esperado = guardados.get(ThreadLocalRandom.current().nextInt(guardados.size()));
+                        Optional<Estudiante> leido = estudianteDAO.obtenerPorId(esperado.getId());
+                        if (leido.isEmpty() || !esperado.getEmail().equals(leido.get().getEmail())) {
+                            incorrectos++;
+                        }
+                    }
+                    return incorrectos;
+                }));
+            }
+            salida.countDown();
+            // Assert - neither a wrong row nor an exception from a statement another thread rebound
+            for (Future<Integer> resultado : errores) {
+                assertEquals(0, resultado.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del DAO en Memoria")
+class InMemoryEstudianteDAOTest extends EstudianteDAOContractTest {
+
+    @TempDir
+    Path directorio;
+
+    private InMemoryEstudianteDAO persistente;
+
+    @Override
+    protected EstudianteDAO crearEstudianteDAO() {
+        return new InMemoryEstudianteDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (persistente != null) {
+            persistente.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería recuperar los datos y la secuencia de IDs tras cerrar y reabrir")
+    void deberiaRecuperarTrasReabrir() {
+        // ARRANGE
+        try (InMemoryEstudianteDAO dao = new InMemoryEstudianteDAO(directorio, Duration.ZERO)) {
+            dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+            Estudiante luis = dao.crear(new Estudiante("Luis", "luis@email.com", 30, "Python"));
+            dao.eliminar(luis.getId());
+        }
+        // ACT
+        persistente = new InMemoryEstudianteDAO(directorio, Duration.ZERO);
+        Estudiante nuevo = persistente.crear(new Estudiante("Eva", "eva@email.com", 22, "Java"));
+        // ASSERT
+        assertEquals(3L, nuevo.getId());
+        assertEquals(List.of("Ana", "Eva"), persistente.obtenerTodos().stream().map(Estudiante::getNombre).toList());
+        assertFalse(persistente.crearSiEmailLibre(new Estudiante("Otro", "luis@email.com", 30, "Java")).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería recuperar desde el log sin snapshot y descartar un registro incompleto")
+    void deberiaRecuperarTrasCaidaConRegistroIncompleto() throws IOException {
+        // ARRANGE: the DAO is never closed, as if the process had crashed
+        Path original = directorio.resolve("original");
+        InMemoryEstudianteDAO caido = new InMemoryEstudianteDAO(original, Duration.ZERO);
+        caido.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        caido.actualizar(new Estudiante(1L, "Ana María", "ana@email.com", 21, "Java"));
+        Path copia = copiar(original, directorio.resolve("copia"));
+        Files.write(copia.resolve("log-0.bin"), new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+        // ACT
+        persistente = new InMemoryEstudianteDAO(copia, Duration.ZERO);
+        persistente.crear(new Estudiante("Luis", "luis@email.com", 30, "Python"));
+        persistente.close();
+        persistente = new InMemoryEstudianteDAO(copia, Duration.ZERO);
+        // ASSERT
+        assertEquals("Ana María", persistente.obtenerPorId(1L).orElseThrow().getNombre());
+        assertEquals("Luis", persistente.obtenerPorId(2L).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("El snapshot debería sustituir a los logs anteriores")
+    void deberiaCompactarConSnapshot() throws IOException {
+        // ARRANGE
+        persistente = new InMemoryEstudianteDAO(directorio, Duration.ZERO);
+        persistente.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        // ACT
+        persistente.snapshot();
+        persistente.crear(new Estudiante("Luis", "luis@email.com", 30, "Python"));
+        // ASSERT
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(List.of("log-1.bin", "snapshot-1.bin"),
+                    archivos.map(archivo -> archivo.getFileName().toString()).sorted().toList());
+        }
+        persistente.close();
+        persistente = new InMemoryEstudianteDAO(directorio, Duration.ZERO);
+        assertEquals(2, persistente.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Un registro fallido no debería dejar bytes delante del siguiente")
+    void noDeberiaArrastrarBytesDeRegistroFallido() throws IOException {
+        // ARRANGE: the second row has no name, so encoding fails after the first one is buffered
+        InMemoryEstudianteDAO.Fila ana = new InMemoryEstudianteDAO.Fila(1L, "Ana", "ana@email.com", 20, "Java", null, true);
+        InMemoryEstudianteDAO.Fila sinNombre = new InMemoryEstudianteDAO.Fila(2L, null, "x@email.com", 20, "Java", null, true);
+        InMemoryEstudianteDAO.Fila luis = new InMemoryEstudianteDAO.Fila(3L, "Luis", "luis@email.com", 30, "Python", null, true);
+        try (SnapshotJournal journal = new SnapshotJournal(directorio)) {
+            journal.recuperar(fila -> { });
+            // ACT
+            assertThrows(NullPointerException.class, () -> journal.registrar(List.of(ana, sinNombre)));
+            journal.registrar(luis);
+        }
+        // ASSERT
+        List<InMemoryEstudianteDAO.Fila> recuperadas = new ArrayList<>();
+        try (SnapshotJournal journal = new SnapshotJournal(directorio)) {
+            journal.recuperar(recuperadas::add);
+        }
+        assertEquals(List.of(luis), recuperadas);
+    }
+
+    @Test
+    @DisplayName("Debería cerrar con snapshots periódicos en marcha")
+    void deberiaCerrarConSnapshotsPeriodicos() {
+        // ARRANGE
+        try (InMemoryEstudianteDAO dao = new InMemoryEstudianteDAO(directorio, Duration.ofMillis(1))) {
+            for (int i = 0; i < 50; i++) {
+                dao.crear(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20, "Java"));
+            }
+        }
+        // ACT
+        persistente = new InMemoryEstudianteDAO(directorio, Duration.ZERO);
+        // ASSERT
+        assertEquals(50, persistente.obtenerTodos().size());
+    }
+
+    private static Path copiar(Path origen, Path destino) throws IOException {
+        Files.createDirectories(destino);
+        try (Stream<Path> archivos = Files.list(origen)) {
+            for (Path archivo : archivos.toList()) {
+                Files.copy(archivo, destino.resolve(archivo.getFileName()));
+            }
+        }
+        return destino;
+    }
+}
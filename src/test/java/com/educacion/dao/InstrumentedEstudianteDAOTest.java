@@ -0,0 +1,106 @@
+package com.educacion.dao;
+
+import com.educacion.metricas.MetricasOperacion;
+import com.educacion.metricas.RegistroMetricas;
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del DAO Instrumentado")
+class InstrumentedEstudianteDAOTest {
+
+    @Mock
+    private EstudianteDAO delegate;
+
+    private RegistroMetricas registro;
+    private InstrumentedEstudianteDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroMetricas();
+        dao = new InstrumentedEstudianteDAO(delegate, registro);
+    }
+
+    @Test
+    @DisplayName("Debería contar las llamadas de cada operación por separado")
+    void deberiaContarLlamadasPorOperacion() {
+        // ARRANGE
+        when(delegate.obtenerPorId(1L)).thenReturn(Optional.of(new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java")));
+        when(delegate.existeEmail("ana@test.com")).thenReturn(true);
+        // ACT
+        dao.obtenerPorId(1L);
+        dao.obtenerPorId(1L);
+        boolean existe = dao.existeEmail("ana@test.com");
+        // ASSERT
+        assertTrue(existe);
+        assertEquals(2, resumen("dao.obtenerPorId").llamadas());
+        assertEquals(1, resumen("dao.existeEmail").llamadas());
+        assertEquals(0, resumen("dao.crear").llamadas());
+    }
+
+    @Test
+    @DisplayName("Debería registrar el error y relanzar la excepción")
+    void deberiaRegistrarErrorYRelanzar() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante("Ana García", "ana@test.com", 20, "Java");
+        when(delegate.crear(estudiante)).thenThrow(new RuntimeException("Error creating student: UNIQUE"));
+        // ACT & ASSERT
+        assertThrows(RuntimeException.class, () -> dao.crear(estudiante));
+        assertEquals(1, resumen("dao.crear").llamadas());
+        assertEquals(1, resumen("dao.crear").errores());
+    }
+
+    @Test
+    @DisplayName("Debería registrar cada operación del DAO bajo su propio nombre")
+    void deberiaRegistrarCadaOperacionBajoSuNombre() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java");
+        FiltroEstudiantes filtro = FiltroEstudiantes.builder().curso("Java").build();
+        // ACT
+        dao.crear(estudiante);
+        dao.obtenerPorId(1L);
+        dao.obtenerPorIds(List.of(1L));
+        dao.obtenerTodos();
+        dao.obtenerPorFiltro(filtro);
+        dao.actualizar(estudiante);
+        dao.actualizarYObtener(estudiante, null);
+        dao.eliminar(1L);
+        dao.existeEmail("ana@test.com");
+        dao.crearSiEmailLibre(estudiante);
+        dao.crearTodos(List.of(estudiante), 10);
+        dao.obtenerPagina(null, 10);
+        dao.streamTodos(10);
+        dao.obtenerRoster();
+        dao.streamPorRangoId(1L, 2L, 10);
+        dao.obtenerIdMaximo();
+        dao.obtenerRegistroPorId(1L);
+        dao.obtenerRegistros();
+        dao.obtenerRegistrosPorFiltro(filtro);
+        // ASSERT
+        Map<String, MetricasOperacion.Resumen> instantanea = registro.instantanea();
+        assertEquals(19, instantanea.size());
+        instantanea.forEach((nombre, resumen) -> {
+            assertTrue(nombre.startsWith("dao."), nombre);
+            assertEquals(1, resumen.llamadas(), nombre);
+            assertEquals(0, resumen.errores(), nombre);
+        });
+        verify(delegate).crearTodos(List.of(estudiante), 10);
+        verify(delegate).streamPorRangoId(1L, 2L, 10);
+    }
+
+    private MetricasOperacion.Resumen resumen(String operacion) {
+        return registro.instantanea().get(operacion);
+    }
+}
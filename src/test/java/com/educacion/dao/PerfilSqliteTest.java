@@ -0,0 +1,85 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de los Perfiles de SQLite")
+class PerfilSqliteTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("El perfil rápido debería activar WAL, synchronous NORMAL, mmap y temp_store en memoria")
+    void deberiaAplicarPerfilRapido() throws SQLException {
+        // ACT
+        try (Connection connection = PerfilSqlite.RAPIDO.fabrica(url()).open()) {
+            // ASSERT
+            assertEquals("wal", pragma(connection, "journal_mode"));
+            assertEquals("1", pragma(connection, "synchronous"));
+            assertEquals("2", pragma(connection, "temp_store"));
+            assertEquals("-64000", pragma(connection, "cache_size"));
+            assertEquals(String.valueOf(256L * 1024 * 1024), pragma(connection, "mmap_size"));
+        }
+    }
+
+    @Test
+    @DisplayName("El perfil durable debería sincronizar cada commit y no usar mmap")
+    void deberiaAplicarPerfilDurable() throws SQLException {
+        // ACT
+        try (Connection connection = PerfilSqlite.DURABLE.fabrica(url()).open()) {
+            // ASSERT
+            assertEquals("wal", pragma(connection, "journal_mode"));
+            assertEquals("2", pragma(connection, "synchronous"));
+            assertEquals("0", pragma(connection, "mmap_size"));
+            assertEquals(String.valueOf(PerfilSqlite.BUSY_TIMEOUT_MS), pragma(connection, "busy_timeout"));
+        }
+    }
+
+    @Test
+    @DisplayName("Con WAL una lectura no debería bloquearse por una transacción de escritura abierta")
+    void deberiaLeerMientrasOtraConexionEscribe() throws SQLException {
+        // ARRANGE
+        try (ConnectionPool pool = new ConnectionPool(PerfilSqlite.RAPIDO.fabrica(url()), 2, 2,
+                Duration.ofSeconds(5), Duration.ZERO)) {
+            try (ConnectionLease lease = pool.lease()) {
+                new SchemaManager().aplicar(lease.connection());
+            }
+            EstudianteDAO dao = new EstudianteDAOImpl(pool);
+            dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+            try (ConnectionLease escritor = pool.lease()) {
+                escritor.connection().setAutoCommit(false);
+                try (Statement stmt = escritor.connection().createStatement()) {
+                    stmt.executeUpdate("UPDATE estudiantes SET nombre = 'Ana María'");
+                }
+                // ACT: the other pooled connection reads while the write is uncommitted
+                String nombre = dao.obtenerTodos().get(0).getNombre();
+                // ASSERT
+                assertEquals("Ana", nombre);
+                escritor.connection().rollback();
+            }
+        }
+    }
+
+    private String url() {
+        return "jdbc:sqlite:" + directorio.resolve("estudiantes.db");
+    }
+
+    private static String pragma(Connection connection, String nombre) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA " + nombre)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
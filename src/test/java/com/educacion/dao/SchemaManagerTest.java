@@ -0,0 +1,130 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Esquema e Índices")
+class SchemaManagerTest {
+
+    private Connection connection;
+    private final SchemaManager schemaManager = new SchemaManager();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        schemaManager.aplicar(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería poder aplicarse varias veces sin error")
+    void deberiaSerIdempotente() throws SQLException {
+        // ACT
+        schemaManager.aplicar(connection);
+        new EstudianteDAOImpl(() -> connection).crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        // ASSERT
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name LIKE 'idx_estudiantes_%'")) {
+            assertEquals(SchemaManager.INDICES.size(), rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería dejar la base de datos en la última versión del esquema")
+    void deberiaRegistrarVersionDelEsquema() throws SQLException {
+        // ACT
+        int anterior = schemaManager.aplicar(connection);
+        // ASSERT
+        assertEquals(SchemaManager.VERSION_ACTUAL, anterior);
+        assertEquals(SchemaManager.VERSION_ACTUAL, schemaManager.version(connection));
+    }
+
+    @Test
+    @DisplayName("Debería migrar una base creada con schema.sql sin perder datos")
+    void deberiaMigrarEsquemaAntiguo() throws SQLException {
+        // ARRANGE: version 0 database with the indexes schema.sql used to create
+        try (Connection antigua = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = antigua.createStatement()) {
+            stmt.execute(SchemaManager.TABLA_ESTUDIANTES);
+            stmt.execute("INSERT INTO estudiantes (nombre, email, edad, curso) VALUES ('Ana', 'ana@email.com', 22, 'Java')");
+            stmt.execute("CREATE INDEX idx_estudiantes_email ON estudiantes(email)");
+            stmt.execute("CREATE INDEX idx_estudiantes_activo ON estudiantes(activo)");
+            stmt.execute("CREATE INDEX idx_estudiantes_nombre ON estudiantes(nombre)");
+            // ACT
+            int anterior = schemaManager.aplicar(antigua);
+            // ASSERT
+            assertEquals(0, anterior);
+            assertEquals(SchemaManager.VERSION_ACTUAL, schemaManager.version(antigua));
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT sql FROM sqlite_master WHERE name = 'idx_estudiantes_nombre'")) {
+                assertTrue(rs.getString(1).contains("WHERE activo = TRUE"));
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT COUNT(*) FROM sqlite_master WHERE name IN ('idx_estudiantes_email', 'idx_estudiantes_activo')")) {
+                assertEquals(0, rs.getInt(1));
+            }
+            assertTrue(new EstudianteDAOImpl(() -> antigua).existeEmail("ana@email.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una base de datos con una versión más nueva que la soportada")
+    void deberiaRechazarVersionMasNueva() throws SQLException {
+        // ARRANGE
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + (SchemaManager.VERSION_ACTUAL + 1));
+        }
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> schemaManager.aplicar(connection));
+    }
+
+    @Test
+    @DisplayName("Las consultas por curso, edad y nombre deberían usar su índice parcial")
+    void deberiaUsarIndicesParciales() throws SQLException {
+        String select = "SELECT id FROM estudiantes WHERE activo = TRUE";
+        // ACT + ASSERT
+        assertPlanUsa("idx_estudiantes_curso", select + " AND curso = 'Java' ORDER BY nombre, id");
+        assertPlanUsa("idx_estudiantes_edad", select + " AND edad >= 20 AND edad <= 30 ORDER BY nombre, id");
+        assertPlanUsa("idx_estudiantes_nombre", select + " ORDER BY nombre, id");
+        assertPlanUsa("sqlite_autoindex_estudiantes", "SELECT 1 FROM estudiantes WHERE email = 'a@b.com' AND activo = TRUE");
+    }
+
+    @Test
+    @DisplayName("La consulta por curso no debería necesitar ordenar en memoria")
+    void deberiaEvitarOrdenacionPorCurso() throws SQLException {
+        String plan = plan("SELECT id FROM estudiantes WHERE activo = TRUE AND curso = 'Java' ORDER BY nombre, id");
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    private void assertPlanUsa(String indice, String sql) throws SQLException {
+        String plan = plan(sql);
+        assertTrue(plan.contains(indice), plan);
+    }
+
+    private String plan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
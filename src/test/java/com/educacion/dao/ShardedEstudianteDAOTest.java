@@ -0,0 +1,240 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the DAO contract over three in-memory SQLite shards (three is not a power of two,
+ * so some ids point to no shard), plus the behaviour specific to sharding.
+ */
+@DisplayName("Pruebas del DAO repartido en shards")
+class ShardedEstudianteDAOTest extends EstudianteDAOContractTest {
+
+    private static final int SHARDS = 3;
+
+    @TempDir
+    Path directorio;
+
+    private final List<Connection> conexiones = new ArrayList<>();
+    private ShardedEstudianteDAO sharded;
+    private Connection rutas;
+
+    @Override
+    protected EstudianteDAO crearEstudianteDAO() throws SQLException {
+        List<EstudianteDAO> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            Connection connection = abrirConexion();
+            new SchemaManager().aplicar(connection);
+            shards.add(new EstudianteDAOImpl(() -> connection));
+        }
+        rutas = abrirConexion();
+        sharded = new ShardedEstudianteDAO(shards, () -> rutas);
+        return sharded;
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : conexiones) {
+            connection.close();
+        }
+    }
+
+    @Override
+    @Test
+    @DisplayName("Debería recorrer un rango de IDs globales en orden y conocer el ID máximo")
+    void deberiaRecorrerRangoDeIds() {
+        // ARRANGE
+        assertEquals(0, estudianteDAO.obtenerIdMaximo());
+        List<Long> creados = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            creados.add(estudianteDAO.crear(new Estudiante("E" + i, "e" + i + "@email.com", 20 + i, "Java")).getId());
+        }
+        long eliminado = creados.get(4);
+        estudianteDAO.eliminar(eliminado);
+        List<Long> ordenados = creados.stream().sorted().toList();
+        long desde = ordenados.get(2);
+        long hasta = ordenados.get(9);
+        // ACT
+        List<Long> ids;
+        try (Stream<Estudiante> estudiantes = estudianteDAO.streamPorRangoId(desde, hasta, 1)) {
+            ids = estudiantes.map(Estudiante::getId).toList();
+        }
+        // ASSERT - [desde, hasta) by global id, without the deleted one
+        assertEquals(ordenados.subList(2, 9).stream().filter(id -> id != eliminado).toList(), ids);
+        assertEquals(ordenados.get(ordenados.size() - 1), estudianteDAO.obtenerIdMaximo());
+    }
+
+    @Test
+    @DisplayName("Debería repartir los estudiantes entre los shards con IDs globales únicos")
+    void deberiaRepartirEntreShardsConIdsUnicos() {
+        // ARRANGE
+        List<Estudiante> estudiantes = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            estudiantes.add(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20, "Java"));
+        }
+        // ACT
+        estudianteDAO.crearTodos(estudiantes.subList(0, 30), 7);
+        estudiantes.subList(30, 60).forEach(estudianteDAO::crear);
+        // ASSERT
+        Set<Long> ids = new HashSet<>();
+        Set<Integer> shardsUsados = new HashSet<>();
+        for (Estudiante estudiante : estudiantes) {
+            assertTrue(ids.add(estudiante.getId()));
+            shardsUsados.add(sharded.shardDe(estudiante.getId()));
+            assertEquals(estudiante.getEmail(), estudianteDAO.obtenerPorId(estudiante.getId()).orElseThrow().getEmail());
+        }
+        assertEquals(Set.of(0, 1, 2), shardsUsados);
+    }
+
+    @Test
+    @DisplayName("Debería impedir un email repetido entre shards al actualizar y liberar el anterior")
+    void deberiaMantenerEmailUnicoEntreShards() {
+        // ARRANGE - two students in different shards
+        Estudiante ana = estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+        Estudiante otro = null;
+        for (int i = 0; otro == null; i++) {
+            Estudiante candidato = estudianteDAO.crear(new Estudiante("Luis " + i, "luis" + i + "@email.com", 30, "Java"));
+            if (sharded.shardDe(candidato.getId()) != sharded.shardDe(ana.getId())) {
+                otro = candidato;
+            }
+        }
+        Estudiante conEmailDeAna = new Estudiante(otro.getId(), otro.getNombre(), "ana@email.com", 30, "Java");
+        // ACT & ASSERT
+        assertThrows(RuntimeException.class, () -> estudianteDAO.actualizar(conEmailDeAna));
+        assertEquals(ResultadoActualizacion.Estado.CONFLICTO_EMAIL,
+                estudianteDAO.actualizarYObtener(conEmailDeAna, null).estado());
+        assertTrue(estudianteDAO.actualizar(new Estudiante(ana.getId(), "Ana", "ana.nueva@email.com", 20, "Java")));
+        // The old email is free again, even for a student in another shard
+        assertTrue(estudianteDAO.actualizar(conEmailDeAna));
+        assertFalse(estudianteDAO.crearSiEmailLibre(new Estudiante("Eva", "ana.nueva@email.com", 25, "Java")).isPresent());
+        assertEquals("ana@email.com", estudianteDAO.obtenerPorId(otro.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("Solo un email movido a otro shard debería pasar por la tabla de rutas")
+    void deberiaRegistrarSoloEmailsMovidos() throws SQLException {
+        // ARRANGE
+        for (int i = 0; i < 10; i++) {
+            estudianteDAO.crear(new Estudiante("E" + i, "e" + i + "@email.com", 20, "Java"));
+        }
+        Estudiante luis = estudianteDAO.crear(new Estudiante("Luis", "luis@email.com", 30, "Java"));
+        String movido = emailDeOtroShard(sharded, sharded.shardDe(luis.getId()));
+        assertEquals(0, filasDeRutas());
+        // ACT
+        assertTrue(estudianteDAO.actualizar(new Estudiante(luis.getId(), "Luis", movido, 30, "Java")));
+        // ASSERT - the moved email is taken everywhere, including its home shard
+        assertEquals(1, filasDeRutas());
+        assertTrue(estudianteDAO.existeEmail(movido));
+        assertThrows(RuntimeException.class, () -> estudianteDAO.crear(new Estudiante("Eva", movido, 25, "Java")));
+        assertTrue(estudianteDAO.crearSiEmailLibre(new Estudiante("Eva", movido, 25, "Java")).isEmpty());
+        ResultadoLote lote = estudianteDAO.crearTodos(List.of(new Estudiante("Eva", movido, 25, "Java")));
+        assertEquals(0, lote.getFallos().get(0).indice());
+        // Leaving the moved email forgets it
+        assertTrue(estudianteDAO.actualizar(new Estudiante(luis.getId(), "Luis", "luis@email.com", 30, "Java")));
+        assertEquals(0, filasDeRutas());
+        assertTrue(estudianteDAO.crearSiEmailLibre(new Estudiante("Eva", movido, 25, "Java")).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería recordar los emails movidos al reabrir")
+    void deberiaRecordarEmailsMovidosAlReabrir() throws SQLException {
+        // ARRANGE
+        String movido;
+        try (ShardedEstudianteDAO dao = ShardedEstudianteDAO.abrir(directorio, 2, PerfilSqlite.RAPIDO)) {
+            Estudiante ana = dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java"));
+            movido = emailDeOtroShard(dao, dao.shardDe(ana.getId()));
+            assertEquals(ResultadoActualizacion.Estado.ACTUALIZADO,
+                    dao.actualizarYObtener(new Estudiante(ana.getId(), "Ana", movido, 20, "Java"), null).estado());
+        }
+        // ACT & ASSERT
+        try (ShardedEstudianteDAO dao = ShardedEstudianteDAO.abrir(directorio, 2, PerfilSqlite.RAPIDO)) {
+            assertTrue(dao.existeEmail(movido));
+            assertThrows(RuntimeException.class, () -> dao.crear(new Estudiante("Otra", movido, 21, "Java")));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería mezclar los shards por nombre al listar, paginar y recorrer")
+    void deberiaMezclarShardsPorNombre() {
+        // ARRANGE
+        List<String> nombres = List.of("Zoe", "Ana", "Ñandú", "Luis", "Ana", "😀", "Bea", "ﬁ", "Carla", "Ana");
+        for (int i = 0; i < nombres.size(); i++) {
+            estudianteDAO.crear(new Estudiante(nombres.get(i), "m" + i + "@email.com", 20, "Java"));
+        }
+        List<String> esperados = nombres.stream().sorted(OrdenSqlite.TEXTO).toList();
+        // ACT
+        List<Estudiante> todos = estudianteDAO.obtenerTodos();
+        List<Estudiante> paginados = new ArrayList<>();
+        CursorPagina cursor = null;
+        do {
+            Pagina pagina = estudianteDAO.obtenerPagina(cursor, 3);
+            paginados.addAll(pagina.estudiantes());
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+        List<Estudiante> recorridos;
+        try (Stream<Estudiante> stream = estudianteDAO.streamTodos(2)) {
+            recorridos = stream.toList();
+        }
+        // ASSERT
+        assertEquals(esperados, todos.stream().map(Estudiante::getNombre).toList());
+        assertEquals(todos.stream().map(Estudiante::getId).toList(), paginados.stream().map(Estudiante::getId).toList());
+        assertEquals(todos.stream().map(Estudiante::getId).toList(), recorridos.stream().map(Estudiante::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Debería reabrir los archivos de los shards y rechazar otro número de shards")
+    void deberiaReabrirYRechazarOtroNumeroDeShards() throws SQLException {
+        // ARRANGE
+        long id;
+        try (ShardedEstudianteDAO dao = ShardedEstudianteDAO.abrir(directorio, 2, PerfilSqlite.RAPIDO)) {
+            id = dao.crear(new Estudiante("Ana", "ana@email.com", 20, "Java")).getId();
+        }
+        // ACT & ASSERT
+        try (ShardedEstudianteDAO dao = ShardedEstudianteDAO.abrir(directorio, 2, PerfilSqlite.RAPIDO)) {
+            assertEquals("Ana", dao.obtenerPorId(id).orElseThrow().getNombre());
+            assertTrue(dao.existeEmail("ana@email.com"));
+            assertThrows(RuntimeException.class, () -> dao.crear(new Estudiante("Otra Ana", "ana@email.com", 21, "Java")));
+        }
+        assertThrows(IllegalStateException.class, () -> ShardedEstudianteDAO.abrir(directorio, 3, PerfilSqlite.RAPIDO));
+    }
+
+    private static String emailDeOtroShard(ShardedEstudianteDAO dao, int shard) {
+        for (int i = 0; ; i++) {
+            String email = "movido" + i + "@email.com";
+            if (dao.shardParaEmail(email) != shard) {
+                return email;
+            }
+        }
+    }
+
+    private int filasDeRutas() throws SQLException {
+        try (Statement stmt = rutas.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM rutas_email")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private Connection abrirConexion() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        conexiones.add(connection);
+        return connection;
+    }
+}
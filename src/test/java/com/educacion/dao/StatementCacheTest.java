@@ -0,0 +1,104 @@
+package com.educacion.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de la Caché de Statements")
+class StatementCacheTest {
+
+    private Connection connection;
+    private StatementCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        cache = new StatementCache(2);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería devolver el mismo statement para la misma conexión y SQL")
+    void deberiaDevolverMismoStatement() throws SQLException {
+        PreparedStatement primero = cache.preparar(connection, "SELECT 1");
+        PreparedStatement segundo = cache.preparar(connection, "SELECT 1");
+        assertSame(primero, segundo);
+        assertEquals(new StatementCache.Stats(1, 1, 0), cache.stats());
+    }
+
+    @Test
+    @DisplayName("Debería cerrar el statement menos usado al superar el tamaño máximo")
+    void deberiaCerrarStatementMenosUsado() throws SQLException {
+        PreparedStatement uno = cache.preparar(connection, "SELECT 1");
+        PreparedStatement dos = cache.preparar(connection, "SELECT 2");
+        cache.preparar(connection, "SELECT 1");
+        cache.preparar(connection, "SELECT 3");
+        assertTrue(dos.isClosed());
+        assertFalse(uno.isClosed());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("Debería olvidar los statements de una conexión cerrada")
+    void deberiaOlvidarStatementsDeConexionCerrada() throws SQLException {
+        PreparedStatement viejo = cache.preparar(connection, "SELECT 1");
+        connection.close();
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        PreparedStatement nuevo = cache.preparar(connection, "SELECT 1");
+        assertNotSame(viejo, nuevo);
+        assertTrue(viejo.isClosed());
+        cache.invalidar(connection);
+        assertTrue(nuevo.isClosed());
+    }
+
+    @Test
+    @DisplayName("Debería reservar una conexión compartida hasta cerrar el préstamo")
+    void deberiaReservarConexionCompartidaHastaCerrarPrestamo() throws Exception {
+        // Arrange
+        ExecutorService otroHilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<PreparedStatement> espera;
+            try (ConnectionLease primero = ConnectionLease.unmanaged(connection)) {
+                PreparedStatement pstmt = cache.preparar(primero, "SELECT 1");
+                // Act - a second lease on the same connection waits for the first one
+                espera = otroHilo.submit(() -> {
+                    try (ConnectionLease segundo = ConnectionLease.unmanaged(connection)) {
+                        return cache.preparar(segundo, "SELECT 1");
+                    }
+                });
+                assertThrows(TimeoutException.class, () -> espera.get(100, TimeUnit.MILLISECONDS));
+                // Assert - the same lease takes the statement again without blocking itself
+                assertSame(pstmt, cache.preparar(primero, "SELECT 1"));
+            }
+            assertNotNull(espera.get(5, TimeUnit.SECONDS));
+        } finally {
+            otroHilo.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("No debería bloquear los préstamos exclusivos de un pool")
+    void noDeberiaBloquearPrestamosExclusivos() throws SQLException {
+        try (ConnectionLease primero = new ConnectionLease(connection, () -> { });
+             ConnectionLease segundo = new ConnectionLease(connection, () -> { })) {
+            assertSame(cache.preparar(primero, "SELECT 1"), cache.preparar(segundo, "SELECT 1"));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.educacion.dao;
+
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the DAO contract through a write-behind DAO with the default settings, plus the
+ * behaviour specific to queued writes. Those tests build their own DAO over the same database.
+ */
+@DisplayName("Pruebas del DAO con Escritura Diferida")
+class WriteBehindEstudianteDAOTest extends EstudianteDAOContractTest {
+
+    @TempDir
+    Path directorio;
+
+    private ConnectionPool pool;
+    private EstudianteDAO lecturas;
+    private WriteBehindEstudianteDAO porDefecto;
+    private WriteBehindEstudianteDAO dao;
+
+    @Override
+    protected EstudianteDAO crearEstudianteDAO() throws SQLException {
+        // One connection for each writer plus the readers
+        pool = new ConnectionPool(PerfilSqlite.RAPIDO.fabrica("jdbc:sqlite:" + directorio.resolve("estudiantes.db")),
+                1, 4, Duration.ofSeconds(5), Duration.ZERO);
+        try (ConnectionLease lease = pool.lease()) {
+            new SchemaManager().aplicar(lease.connection());
+        }
+        lecturas = new EstudianteDAOImpl(pool);
+        porDefecto = new WriteBehindEstudianteDAO(lecturas, pool);
+        return porDefecto;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dao != null) {
+            dao.close();
+        }
+        porDefecto.close();
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Debería agrupar varias altas en menos transacciones")
+    void deberiaAgruparAltasEnTransacciones() {
+        // ARRANGE
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofMillis(50));
+        List<CompletableFuture<Estudiante>> futuros = new ArrayList<>();
+        // ACT
+        for (int i = 0; i < 50; i++) {
+            futuros.add(dao.crearAsync(new Estudiante("Estudiante " + i, "e" + i + "@test.com", 20, "Java")));
+        }
+        // ASSERT
+        futuros.forEach(futuro -> assertNotNull(futuro.join().getId()));
+        assertEquals(50, lecturas.obtenerTodos().size());
+        assertEquals(50, dao.getOperaciones());
+        assertTrue(dao.getTransacciones() < 50, "transacciones: " + dao.getTransacciones());
+    }
+
+    @Test
+    @DisplayName("Debería fallar solo la operación inválida dentro del grupo")
+    void deberiaFallarSoloOperacionInvalida() {
+        // ARRANGE
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofMillis(50));
+        // ACT
+        CompletableFuture<Estudiante> ana = dao.crearAsync(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        CompletableFuture<Estudiante> duplicada = dao.crearAsync(new Estudiante("Otra Ana", "ana@test.com", 25, "Java"));
+        CompletableFuture<Estudiante> luis = dao.crearAsync(new Estudiante("Luis Soto", "luis@test.com", 30, "Java"));
+        // ASSERT
+        assertNotNull(ana.join().getId());
+        assertNotNull(luis.join().getId());
+        CompletionException error = assertThrows(CompletionException.class, duplicada::join);
+        assertTrue(error.getCause().getMessage().contains("UNIQUE"));
+        assertEquals(2, dao.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería ver las escrituras pendientes en las lecturas puntuales")
+    void deberiaLeerEscriturasPendientes() {
+        // ARRANGE
+        Estudiante ana = lecturas.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        Estudiante luis = lecturas.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java"));
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofSeconds(1));
+        // ACT
+        CompletableFuture<Boolean> actualizacion = dao.actualizarAsync(new Estudiante(ana.getId(), "Ana García", "ana@test.com", 21, "Python"));
+        CompletableFuture<Boolean> eliminacion = dao.eliminarAsync(luis.getId());
+        CompletableFuture<Estudiante> alta = dao.crearAsync(new Estudiante("Eva Ruiz", "eva@test.com", 22, "Java"));
+        // ASSERT - visibles aunque no se hayan confirmado
+        assertEquals("Python", dao.obtenerPorId(ana.getId()).orElseThrow().getCurso());
+        assertTrue(dao.obtenerPorId(luis.getId()).isEmpty());
+        assertTrue(dao.existeEmail("eva@test.com"));
+        // ASSERT - y persistidas al completar
+        assertTrue(actualizacion.join());
+        assertTrue(eliminacion.join());
+        assertNotNull(alta.join().getId());
+        assertEquals("Python", lecturas.obtenerPorId(ana.getId()).orElseThrow().getCurso());
+        assertTrue(lecturas.obtenerPorId(luis.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar lo pendiente al cerrar y rechazar escrituras posteriores")
+    void deberiaVaciarAlCerrarYRechazarDespues() {
+        // ARRANGE
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofSeconds(1));
+        CompletableFuture<Estudiante> alta = dao.crearAsync(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        // ACT
+        dao.close();
+        // ASSERT
+        assertTrue(alta.isDone());
+        assertEquals(1, lecturas.obtenerTodos().size());
+        assertThrows(IllegalStateException.class,
+                () -> dao.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java")));
+    }
+
+    @Test
+    @DisplayName("No debería mostrar en las lecturas puntuales una actualización que se va a rechazar")
+    void noDeberiaLeerActualizacionRechazada() {
+        // ARRANGE
+        Estudiante ana = lecturas.crear(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        lecturas.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java"));
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofSeconds(1));
+        // ACT - an unknown id and a UNIQUE conflict, both still queued when read
+        CompletableFuture<Boolean> inexistente = dao.actualizarAsync(new Estudiante(999L, "Nadie", "nadie@test.com", 40, "Java"));
+        CompletableFuture<Boolean> conflicto = dao.actualizarAsync(new Estudiante(ana.getId(), "Ana García", "luis@test.com", 20, "Java"));
+        // ASSERT
+        assertTrue(dao.obtenerPorId(999L).isEmpty());
+        assertEquals("ana@test.com", dao.obtenerPorId(ana.getId()).orElseThrow().getEmail());
+        assertEquals("ana@test.com", dao.obtenerRegistroPorId(ana.getId()).orElseThrow().email());
+        assertEquals(List.of(ana.getId()), List.copyOf(dao.obtenerPorIds(List.of(999L, ana.getId())).keySet()));
+        assertFalse(inexistente.join());
+        assertThrows(CompletionException.class, conflicto::join);
+    }
+
+    @Test
+    @DisplayName("Debería cerrarse y fallar lo pendiente si el hilo escritor muere")
+    void deberiaCerrarseSiHiloEscritorMuere() {
+        // ARRANGE - reading nombre inside the INSERT throws an Error on the writer thread
+        dao = new WriteBehindEstudianteDAO(lecturas, pool, 1_000, 100, Duration.ofMillis(50));
+        Estudiante bomba = new Estudiante("Bomba", "bomba@test.com", 20, "Java") {
+            @Override
+            public String getNombre() {
+                throw new OutOfMemoryError("simulado");
+            }
+        };
+        // ACT
+        CompletableFuture<Estudiante> fallida = dao.crearAsync(bomba);
+        CompletableFuture<Estudiante> siguiente = dao.crearAsync(new Estudiante("Ana García", "ana@test.com", 20, "Java"));
+        // ASSERT - nothing blocks: queued, later, synchronous writes and close() all return
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            CompletionException error = assertThrows(CompletionException.class, fallida::join);
+            assertInstanceOf(OutOfMemoryError.class, error.getCause().getCause());
+            assertThrows(CompletionException.class, siguiente::join);
+            assertThrows(IllegalStateException.class,
+                    () -> dao.crear(new Estudiante("Luis Soto", "luis@test.com", 30, "Java")));
+            dao.vaciar();
+            dao.close();
+        });
+        assertTrue(lecturas.obtenerTodos().isEmpty());
+    }
+}
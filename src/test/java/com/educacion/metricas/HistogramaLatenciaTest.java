@@ -0,0 +1,49 @@
+package com.educacion.metricas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Histograma de Latencias")
+class HistogramaLatenciaTest {
+
+    @Test
+    @DisplayName("Debería acotar el error relativo de cada cubeta")
+    void deberiaAcotarErrorRelativo() {
+        for (long valor = 1; valor < (1L << 40); valor = valor * 3 / 2 + 1) {
+            // ACT
+            int indice = HistogramaLatencia.indice(valor);
+            long maximo = HistogramaLatencia.valorMaximo(indice);
+            // ASSERT
+            assertTrue(maximo >= valor, "cubeta por debajo de " + valor);
+            assertTrue(maximo - valor <= valor / 32 + 1, "cubeta demasiado ancha para " + valor);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería calcular los percentiles sobre las cuentas registradas")
+    void deberiaCalcularPercentiles() {
+        // ARRANGE
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 1_000; i++) {
+            histograma.registrar(i * 1_000L);
+        }
+        // ACT
+        long[] cuentas = histograma.copiarCuentas();
+        long p50 = HistogramaLatencia.percentil(cuentas, 50);
+        long p99 = HistogramaLatencia.percentil(cuentas, 99);
+        // ASSERT
+        assertEquals(500_000, p50, 500_000 / 32.0);
+        assertEquals(990_000, p99, 990_000 / 32.0);
+        assertEquals(0, HistogramaLatencia.percentil(new long[HistogramaLatencia.CUBETAS], 99));
+    }
+
+    @Test
+    @DisplayName("Debería acumular los valores enormes en la última cubeta")
+    void deberiaAcumularValoresEnormesEnUltimaCubeta() {
+        // ACT & ASSERT
+        assertEquals(HistogramaLatencia.CUBETAS - 1, HistogramaLatencia.indice(Long.MAX_VALUE));
+        assertEquals(0, HistogramaLatencia.indice(-5));
+    }
+}
@@ -0,0 +1,94 @@
+package com.educacion.metricas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Registro de Métricas")
+class RegistroMetricasTest {
+
+    @Test
+    @DisplayName("Debería devolver la misma métrica para el mismo nombre")
+    void deberiaDevolverMismaMetrica() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        // ACT & ASSERT
+        assertSame(registro.operacion("dao.crear"), registro.operacion("dao.crear"));
+    }
+
+    @Test
+    @DisplayName("Debería resumir llamadas, errores y latencias")
+    void deberiaResumirLlamadasYErrores() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        MetricasOperacion metricas = registro.operacion("servicio.crearEstudiante");
+        // ACT
+        metricas.registrar(1_000);
+        metricas.registrar(3_000);
+        metricas.registrarError(5_000);
+        MetricasOperacion.Resumen resumen = registro.instantanea().get("servicio.crearEstudiante");
+        // ASSERT
+        assertEquals(3, resumen.llamadas());
+        assertEquals(1, resumen.errores());
+        assertEquals(3_000, resumen.mediaNanos());
+        assertEquals(5_000, resumen.maxNanos());
+        assertTrue(resumen.p50Nanos() >= 3_000 && resumen.p50Nanos() < 5_000);
+    }
+
+    @Test
+    @DisplayName("Debería volcar las métricas como texto y como JSON")
+    void deberiaVolcarTextoYJson() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.operacion("dao.obtenerPorId").registrar(2_000);
+        // ACT
+        String texto = registro.comoTexto();
+        String json = registro.comoJson();
+        // ASSERT
+        assertTrue(texto.contains("dao.obtenerPorId"));
+        assertTrue(json.startsWith("{\"dao.obtenerPorId\":{\"llamadas\":1,\"errores\":0,"));
+        assertTrue(json.contains("\"max_ns\":2000"));
+    }
+
+    @Test
+    @DisplayName("Debería usar punto decimal en el texto aunque el locale use coma")
+    void deberiaUsarPuntoDecimalConCualquierLocale() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.operacion("dao.obtenerPorId").registrar(2_000);
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("es-ES"));
+        try {
+            // ACT
+            String texto = registro.comoTexto();
+            // ASSERT
+            assertTrue(texto.contains("2.0"), texto);
+            assertFalse(texto.contains("2,0"), texto);
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería volcar periódicamente hasta cerrarse")
+    void deberiaVolcarPeriodicamente() throws InterruptedException {
+        // ARRANGE
+        BlockingQueue<String> volcados = new ArrayBlockingQueue<>(100);
+        try (RegistroMetricas registro = new RegistroMetricas()) {
+            registro.operacion("dao.crear").registrar(1_000);
+            // ACT
+            registro.programarVolcado(Duration.ofMillis(10), true, volcados::offer);
+            // ASSERT
+            String volcado = volcados.poll(5, TimeUnit.SECONDS);
+            assertNotNull(volcado);
+            assertTrue(volcado.contains("dao.crear"));
+        }
+    }
+}
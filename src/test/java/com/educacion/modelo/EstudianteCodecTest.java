@@ -0,0 +1,104 @@
+package com.educacion.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del codec binario de Estudiante")
+class EstudianteCodecTest {
+
+    @Test
+    @DisplayName("Debería codificar y decodificar los siete campos, también en un buffer directo")
+    void deberiaCodificarYDecodificarTodosLosCampos() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1_234_567_890_123L, "José 😀 Núñez", "jose@email.com", 30,
+                "Java", LocalDateTime.of(2024, 2, 29, 23, 59, 58), false);
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64))) {
+            // ACT
+            EstudianteCodec.codificar(estudiante, buffer);
+            int escritos = buffer.position();
+            buffer.flip();
+            Estudiante leido = EstudianteCodec.decodificar(buffer);
+            // ASSERT
+            assertEquals(EstudianteCodec.tamano(estudiante), escritos);
+            assertEquals(escritos, buffer.position());
+            assertEquals(estudiante.toString(), leido.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería ocupar pocos bytes y conservar los campos nulos y los negativos")
+    void deberiaSerCompactoYConservarNulos() {
+        // ARRANGE
+        Estudiante sinDatos = new Estudiante(null, null, "", -1, "C", null, true);
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        // ACT
+        EstudianteCodec.codificar(sinDatos, buffer);
+        buffer.flip();
+        Estudiante leido = EstudianteCodec.decodificar(buffer);
+        // ASSERT - version, length, flags, age, three strings
+        assertEquals(8, buffer.limit());
+        assertEquals(sinDatos.toString(), leido.toString());
+    }
+
+    @Test
+    @DisplayName("Debería codificar y decodificar una lista, con textos de más de 127 bytes")
+    void deberiaCodificarListas() {
+        // ARRANGE
+        List<Estudiante> estudiantes = List.of(
+                new Estudiante(1L, "Ana", "ana@email.com", 22, "Java", LocalDateTime.of(2024, 1, 1, 0, 0), true),
+                new Estudiante(2L, "Luis", "luis@email.com", 35, "Python", null, true),
+                new Estudiante(3L, "Ñ".repeat(100), "largo@email.com", 40, "C".repeat(20_000), null, true));
+        ByteBuffer buffer = ByteBuffer.allocate(EstudianteCodec.tamano(estudiantes));
+        // ACT
+        EstudianteCodec.codificarTodos(estudiantes, buffer);
+        buffer.flip();
+        List<Estudiante> leidos = EstudianteCodec.decodificarTodos(buffer);
+        // ASSERT
+        assertEquals(buffer.capacity(), buffer.limit());
+        assertFalse(buffer.hasRemaining());
+        assertEquals(estudiantes.stream().map(Estudiante::toString).toList(),
+                leidos.stream().map(Estudiante::toString).toList());
+    }
+
+    @Test
+    @DisplayName("Debería saltar los campos que agregue una versión posterior")
+    void deberiaSaltarCamposDesconocidos() {
+        // ARRANGE - a record whose length covers two extra trailing bytes
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        EstudianteCodec.codificar(new Estudiante(5L, "Eva", "eva@email.com", 40, "Go", null, true), buffer);
+        int longitud = buffer.get(1);
+        buffer.put(1, (byte) (longitud + 2)).put((byte) 9).put((byte) 9);
+        EstudianteCodec.codificar(new Estudiante(6L, "Leo", "leo@email.com", 41, "Go", null, true), buffer);
+        buffer.flip();
+        // ACT
+        Estudiante primero = EstudianteCodec.decodificar(buffer);
+        Estudiante segundo = EstudianteCodec.decodificar(buffer);
+        // ASSERT
+        assertEquals("Eva", primero.getNombre());
+        assertEquals(6L, segundo.getId());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar otra versión, datos corruptos y buffers sin sitio")
+    void deberiaRechazarDatosNoValidos() {
+        Estudiante estudiante = new Estudiante(1L, "Ana", "ana@email.com", 22, "Java", null, true);
+        assertThrows(BufferOverflowException.class,
+                () -> EstudianteCodec.codificar(estudiante, ByteBuffer.allocate(EstudianteCodec.tamano(estudiante) - 1)));
+
+        ByteBuffer otraVersion = ByteBuffer.wrap(new byte[]{2, 0});
+        assertThrows(IllegalArgumentException.class, () -> EstudianteCodec.decodificar(otraVersion));
+
+        ByteBuffer largoFalso = ByteBuffer.wrap(new byte[]{EstudianteCodec.VERSION, 100, 0});
+        assertThrows(IllegalArgumentException.class, () -> EstudianteCodec.decodificar(largoFalso));
+
+        ByteBuffer listaFalsa = ByteBuffer.wrap(new byte[]{EstudianteCodec.VERSION, (byte) 0xFF, (byte) 0xFF, 0x7F});
+        assertThrows(IllegalArgumentException.class, () -> EstudianteCodec.decodificarTodos(listaFalsa));
+    }
+}
@@ -0,0 +1,62 @@
+package com.educacion.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del registro inmutable de Estudiante")
+class EstudianteRegistroTest {
+
+    @Test
+    @DisplayName("Debería convertir desde y hacia Estudiante sin perder datos")
+    void deberiaConvertirDesdeYHaciaEstudiante() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(7L, "Ana García", "ana@email.com", 22, "Java",
+                LocalDateTime.of(1969, 12, 31, 23, 59, 58, 123_000_000), false);
+        // ACT
+        EstudianteRegistro registro = EstudianteRegistro.desde(estudiante);
+        Estudiante copia = registro.aEstudiante();
+        // ASSERT - dates before 1970 keep their milliseconds too
+        assertEquals(7L, registro.id());
+        assertEquals(estudiante.toString(), copia.toString());
+        assertNotSame(copia, registro.aEstudiante());
+    }
+
+    @Test
+    @DisplayName("Debería representar la falta de fecha y rechazar estudiantes sin ID")
+    void deberiaRepresentarFechaNulaYRechazarSinId() {
+        // ARRANGE
+        Estudiante sinFecha = new Estudiante(1L, "Luis", "luis@email.com", 30, "Go", null, true);
+        // ACT
+        EstudianteRegistro registro = EstudianteRegistro.desde(sinFecha);
+        // ASSERT
+        assertFalse(registro.tieneFechaRegistro());
+        assertEquals(EstudianteRegistro.SIN_FECHA, registro.fechaRegistroMillis());
+        assertNull(registro.fechaRegistro());
+        assertNull(registro.aEstudiante().getFechaRegistro());
+        assertThrows(IllegalArgumentException.class,
+                () -> EstudianteRegistro.desde(new Estudiante("Eva", "eva@email.com", 20, "Go")));
+    }
+
+    @Test
+    @DisplayName("Los métodos with deberían devolver una copia con un solo campo cambiado")
+    void deberiaCopiarConUnCampoCambiado() {
+        // ARRANGE
+        EstudianteRegistro original = new EstudianteRegistro(3L, "Ana", "ana@email.com", 22, "Java", 0L, true);
+        LocalDateTime fecha = LocalDateTime.of(2024, 9, 1, 8, 30);
+        // ACT
+        EstudianteRegistro cambiado = original.withNombre("Ana María").withEdad(23).withActivo(false)
+                .withFechaRegistro(fecha);
+        // ASSERT
+        assertEquals(new EstudianteRegistro(3L, "Ana", "ana@email.com", 22, "Java", 0L, true), original);
+        assertEquals(new EstudianteRegistro(3L, "Ana María", "ana@email.com", 23, "Java",
+                cambiado.fechaRegistroMillis(), false), cambiado);
+        assertEquals(fecha, cambiado.fechaRegistro());
+        assertEquals("Python", original.withCurso("Python").curso());
+        assertEquals("otra@email.com", original.withEmail("otra@email.com").email());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), original.fechaRegistro());
+    }
+}
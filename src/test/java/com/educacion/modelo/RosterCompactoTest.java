@@ -0,0 +1,120 @@
+package com.educacion.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Roster Compacto")
+class RosterCompactoTest {
+
+    @Test
+    @DisplayName("Debería devolver por columnas los datos agregados, incluido texto no ASCII")
+    void deberiaDevolverLasColumnas() {
+        // ARRANGE
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        // ACT
+        RosterCompacto roster = RosterCompacto.builder(1)
+                .agregar(new Estudiante(7L, "José Núñez", "jose@email.com", 30, "Java Básico", fecha, true))
+                .agregar(new Estudiante(3L, "Zoë 😀", "zoe@email.com", 18, "Python", null, true))
+                .agregar(new Estudiante(9L, "Ana", "ana@email.com", 45, "Java Básico", fecha, true))
+                .build();
+        // ASSERT
+        assertEquals(3, roster.size());
+        assertEquals(7L, roster.id(0));
+        assertEquals("José Núñez", roster.nombre(0));
+        assertEquals("Zoë 😀", roster.nombre(1));
+        assertEquals("zoe@email.com", roster.email(1));
+        assertEquals(45, roster.edad(2));
+        assertEquals(fecha, roster.fechaRegistro(0));
+        assertNull(roster.fechaRegistro(1));
+        assertEquals(RosterCompacto.SIN_FECHA, roster.fechaRegistroEpoch(1));
+    }
+
+    @Test
+    @DisplayName("Debería codificar cada curso distinto una sola vez")
+    void deberiaCodificarLosCursosEnUnDiccionario() {
+        // ARRANGE
+        RosterCompacto.Builder builder = RosterCompacto.builder();
+        String[] cursos = {"Java", "Python", "Java", "Java", "Python"};
+        for (int i = 0; i < cursos.length; i++) {
+            builder.agregar(new Estudiante((long) i + 1, "E" + i, "e" + i + "@email.com", 20, cursos[i]));
+        }
+        // ACT
+        RosterCompacto roster = builder.build();
+        // ASSERT
+        assertEquals(List.of("Java", "Python"), roster.cursos());
+        assertEquals(1, roster.codigoCurso(4));
+        assertEquals("Java", roster.curso(3));
+    }
+
+    @Test
+    @DisplayName("La vista como lista debería crear estudiantes iguales a los originales")
+    void deberiaCrearEstudiantesDesdeLaVista() {
+        // ARRANGE
+        LocalDateTime fecha = LocalDateTime.of(2024, 3, 1, 8, 0, 15);
+        Estudiante original = new Estudiante(5L, "Laura", "laura@email.com", 22, "DevOps", fecha, true);
+        RosterCompacto roster = RosterCompacto.builder().agregar(original).build();
+        // ACT
+        Estudiante vista = roster.comoLista().get(0);
+        // ASSERT
+        assertNotSame(vista, roster.comoLista().get(0));
+        assertEquals(original.toString(), vista.toString());
+        assertThrows(UnsupportedOperationException.class, () -> roster.comoLista().remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> roster.id(1));
+    }
+
+    @Test
+    @DisplayName("Debería recorrer el roster en orden y con el tamaño de la vista")
+    void deberiaRecorrerElRosterEnOrden() {
+        // ARRANGE
+        RosterCompacto roster = RosterCompacto.builder()
+                .agregar(new Estudiante(2L, "Beatriz", "beatriz@email.com", 31, "Java"))
+                .agregar(new Estudiante(1L, "Ana", "ana@email.com", 20, "Python"))
+                .build();
+        // ACT
+        List<Estudiante> lista = roster.comoLista();
+        List<Long> recorridos = new ArrayList<>();
+        for (Estudiante estudiante : roster) {
+            recorridos.add(estudiante.getId());
+        }
+        // ASSERT
+        assertEquals(2, lista.size());
+        assertEquals(List.of(2L, 1L), recorridos);
+        assertEquals(List.of("Beatriz", "Ana"), lista.stream().map(Estudiante::getNombre).toList());
+        assertEquals("Python", lista.get(1).getCurso());
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(2));
+        assertFalse(RosterCompacto.vacio().iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Debería crecer más allá de la capacidad inicial")
+    void deberiaCrecerMasAllaDeLaCapacidad() {
+        // ARRANGE
+        RosterCompacto.Builder builder = RosterCompacto.builder(0);
+        // ACT
+        for (int i = 1; i <= 1_000; i++) {
+            builder.agregar(new Estudiante((long) i, "Estudiante " + i, "e" + i + "@email.com", 18 + i % 60, "Java"));
+        }
+        RosterCompacto roster = builder.build();
+        // ASSERT
+        assertEquals(1_000, roster.size());
+        assertEquals("Estudiante 1000", roster.nombre(999));
+        assertEquals("e500@email.com", roster.email(499));
+        assertTrue(RosterCompacto.vacio().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar estudiantes sin ID o sin nombre")
+    void deberiaRechazarDatosIncompletos() {
+        RosterCompacto.Builder builder = RosterCompacto.builder();
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.agregar(new Estudiante("Ana", "ana@email.com", 20, "Java")));
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.agregar(new Estudiante(1L, null, "ana@email.com", 20, "Java")));
+    }
+}
@@ -0,0 +1,211 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.EstudianteDAOImpl;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.InMemoryEstudianteDAO;
+import com.educacion.dao.Pagina;
+import com.educacion.dao.ResultadoLote;
+import com.educacion.dao.SchemaManager;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
+import com.educacion.modelo.RosterCompacto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio Estudiante Asíncrono")
+class EstudianteServicioAsyncTest {
+
+    @Mock
+    private EstudianteDAO estudianteDAO;
+
+    private EstudianteServicioAsync servicioAsync;
+
+    @AfterEach
+    void tearDown() {
+        if (servicioAsync != null) {
+            servicioAsync.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería completar el futuro con el resultado del servicio")
+    void deberiaCompletarConResultado() {
+        // ARRANGE
+        servicioAsync = new EstudianteServicioAsync(new EstudianteServicio(estudianteDAO), 4);
+        Estudiante estudiante = new Estudiante(1L, "Juan Pérez", "juan@test.com", 25, "Java");
+        when(estudianteDAO.obtenerPorId(1L)).thenReturn(Optional.of(estudiante));
+        // ACT
+        Optional<Estudiante> resultado = servicioAsync.obtenerEstudiantePorId(1L).join();
+        // ASSERT
+        assertEquals(Optional.of(estudiante), resultado);
+    }
+
+    @Test
+    @DisplayName("Debería completar el futuro con la excepción de validación")
+    void deberiaCompletarConExcepcion() {
+        // ARRANGE
+        servicioAsync = new EstudianteServicioAsync(new EstudianteServicio(estudianteDAO), 4);
+        // ACT
+        CompletableFuture<Boolean> futuro = servicioAsync.eliminarEstudiante(-1L);
+        // ASSERT
+        CompletionException exception = assertThrows(CompletionException.class, futuro::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals("ID debe ser un número positivo", exception.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("No debería superar la concurrencia máxima configurada")
+    void noDeberiaSuperarConcurrenciaMaxima() {
+        // ARRANGE
+        servicioAsync = new EstudianteServicioAsync(new EstudianteServicio(estudianteDAO), 2);
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(estudianteDAO.obtenerPorId(anyLong())).thenAnswer(inv -> {
+            maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            enCurso.decrementAndGet();
+            return Optional.empty();
+        });
+        // ACT
+        List<CompletableFuture<Optional<Estudiante>>> futuros = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            futuros.add(servicioAsync.obtenerEstudiantePorId(id));
+        }
+        CompletableFuture.allOf(futuros.toArray(CompletableFuture[]::new)).join();
+        // ASSERT
+        assertTrue(maximo.get() <= 2, "concurrencia observada: " + maximo.get());
+        verify(estudianteDAO, times(20)).obtenerPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Debería ejecutar cada operación del servicio y completar su futuro")
+    void deberiaEjecutarCadaOperacion(@TempDir Path directorio) {
+        // ARRANGE - un DAO real, para que cada operación siga su camino sin errores
+        try (InMemoryEstudianteDAO dao = new InMemoryEstudianteDAO()) {
+            servicioAsync = new EstudianteServicioAsync(new EstudianteServicio(dao), 4);
+            FiltroEstudiantes filtro = FiltroEstudiantes.builder().curso("Java").build();
+            // ACT
+            Estudiante ana = servicioAsync.crearEstudiante("Ana García", "ana@test.com", 20, "Java").join();
+            ResultadoLote lote = servicioAsync.crearEstudiantes(List.of(
+                    new Estudiante("Luis Soto", "luis@test.com", 30, "Java"),
+                    new Estudiante("Eva Ruiz", "eva@test.com", 22, "Python"))).join();
+            Estudiante actualizada = servicioAsync.actualizarEstudiante(ana.getId(), "Ana María", "ana@test.com", 21, "Java").join();
+            Estudiante leida = servicioAsync.actualizarEstudianteLeido(actualizada, "Ana María García", "ana@test.com", 21, "Java").join();
+            // ASSERT - las lecturas se lanzan todas a la vez
+            List<Long> ids = List.of(ana.getId(), lote.getCreados().get(0).getId());
+            CompletableFuture<Optional<Estudiante>> porId = servicioAsync.obtenerEstudiantePorId(ana.getId());
+            CompletableFuture<Map<Long, Estudiante>> porIds = servicioAsync.obtenerEstudiantesPorIds(ids);
+            CompletableFuture<List<Estudiante>> todos = servicioAsync.obtenerTodosLosEstudiantes();
+            CompletableFuture<RosterCompacto> roster = servicioAsync.obtenerRosterEstudiantes();
+            CompletableFuture<List<Estudiante>> porCurso = servicioAsync.obtenerEstudiantesPorCurso("Java");
+            CompletableFuture<List<Estudiante>> porEdad = servicioAsync.obtenerEstudiantesPorRangoEdad(21, 22);
+            CompletableFuture<List<Estudiante>> porFiltro = servicioAsync.obtenerEstudiantesPorFiltro(filtro);
+            CompletableFuture<Optional<EstudianteRegistro>> registro = servicioAsync.obtenerRegistroEstudiantePorId(ana.getId());
+            CompletableFuture<List<EstudianteRegistro>> registros = servicioAsync.obtenerRegistrosEstudiantes();
+            CompletableFuture<List<EstudianteRegistro>> registrosPorFiltro = servicioAsync.obtenerRegistrosEstudiantesPorFiltro(filtro);
+            CompletableFuture<Pagina> pagina = servicioAsync.obtenerPaginaEstudiantes(null, 2);
+            CompletableFuture<Long> exportados = servicioAsync.exportarEstudiantes(
+                    directorio.resolve("estudiantes.csv"), ExportadorEstudiantes.Formato.CSV, false);
+
+            assertEquals("Ana María García", leida.getNombre());
+            assertEquals("Ana María García", porId.join().orElseThrow().getNombre());
+            assertEquals(ids, List.copyOf(porIds.join().keySet()));
+            assertEquals(3, todos.join().size());
+            assertEquals(3, roster.join().size());
+            assertEquals(2, porCurso.join().size());
+            assertEquals(2, porEdad.join().size());
+            assertEquals(2, porFiltro.join().size());
+            assertEquals("ana@test.com", registro.join().orElseThrow().email());
+            assertEquals(3, registros.join().size());
+            assertEquals(2, registrosPorFiltro.join().size());
+            assertTrue(pagina.join().hayMas());
+            assertEquals(3L, exportados.join());
+            assertTrue(servicioAsync.eliminarEstudiante(ana.getId()).join());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería liberar el turno cuando la operación falla")
+    void deberiaLiberarTurnoSiOperacionFalla() {
+        // ARRANGE - un solo turno: si el fallo no lo devolviera, la segunda llamada no terminaría
+        servicioAsync = new EstudianteServicioAsync(new EstudianteServicio(estudianteDAO), 1);
+        when(estudianteDAO.obtenerPorId(1L)).thenThrow(new RuntimeException("Error de base de datos"));
+        when(estudianteDAO.obtenerPorId(2L)).thenReturn(Optional.empty());
+        // ACT
+        CompletableFuture<Optional<Estudiante>> fallido = servicioAsync.obtenerEstudiantePorId(1L);
+        CompletableFuture<Optional<Estudiante>> siguiente = servicioAsync.obtenerEstudiantePorId(2L);
+        // ASSERT
+        CompletionException exception = assertThrows(CompletionException.class, fallido::join);
+        assertEquals("Error de base de datos", exception.getCause().getMessage());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(siguiente.join().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una configuración inválida y las operaciones tras cerrar")
+    void deberiaRechazarConfiguracionInvalidaYOperacionesTrasCerrar() {
+        // ARRANGE
+        EstudianteServicio servicio = new EstudianteServicio(estudianteDAO);
+        assertThrows(IllegalArgumentException.class, () -> new EstudianteServicioAsync(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EstudianteServicioAsync(servicio, 0));
+        servicioAsync = new EstudianteServicioAsync(servicio, 1);
+        // ACT
+        servicioAsync.close();
+        CompletableFuture<Boolean> rechazada = servicioAsync.eliminarEstudiante(1L);
+        // ASSERT - el rechazo llega en el futuro, no como excepción
+        CompletionException exception = assertThrows(CompletionException.class, rechazada::join);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería devolver en cada futuro su estudiante con un DAO SQLite de una sola conexión")
+    void deberiaDevolverEstudianteCorrectoConDaoSqlite() throws SQLException {
+        // ARRANGE - una única conexión compartida por todos los hilos virtuales
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            new SchemaManager().aplicar(connection);
+            EstudianteServicio servicio = new EstudianteServicio(new EstudianteDAOImpl(() -> connection));
+            servicioAsync = new EstudianteServicioAsync(servicio, 8);
+            List<Estudiante> creados = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                creados.add(servicio.crearEstudiante("Estudiante " + i, "e" + i + "@test.com", 20, "Java"));
+            }
+            // ACT
+            List<CompletableFuture<Optional<Estudiante>>> futuros = new ArrayList<>();
+            for (int vuelta = 0; vuelta < 25; vuelta++) {
+                for (Estudiante estudiante : creados) {
+                    futuros.add(servicioAsync.obtenerEstudiantePorId(estudiante.getId()));
+                }
+            }
+            // ASSERT
+            for (int i = 0; i < futuros.size(); i++) {
+                Estudiante esperado = creados.get(i % creados.size());
+                assertEquals(esperado.getEmail(), futuros.get(i).join().orElseThrow().getEmail());
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.InMemoryEstudianteDAO;
+import com.educacion.metricas.MetricasOperacion;
+import com.educacion.metricas.RegistroMetricas;
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio Instrumentado")
+class EstudianteServicioInstrumentadoTest {
+
+    @Mock
+    private EstudianteDAO estudianteDAO;
+
+    @Test
+    @DisplayName("Debería medir la validación por separado de la operación")
+    void deberiaMedirValidacionPorSeparado() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        EstudianteServicio servicio = new EstudianteServicioInstrumentado(estudianteDAO, registro);
+        // ACT
+        assertThrows(IllegalArgumentException.class,
+                () -> servicio.crearEstudiante("Ana García", "ana@test.com", 15, "Java"));
+        // ASSERT
+        assertEquals(1, registro.instantanea().get("servicio.validarDatosEstudiante").errores());
+        assertEquals(1, registro.instantanea().get("servicio.crearEstudiante").errores());
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería contar las operaciones correctas sin errores")
+    void deberiaContarOperacionesCorrectas() {
+        // ARRANGE
+        RegistroMetricas registro = new RegistroMetricas();
+        EstudianteServicio servicio = new EstudianteServicioInstrumentado(estudianteDAO, registro);
+        when(estudianteDAO.obtenerPorId(1L)).thenReturn(Optional.of(new Estudiante(1L, "Ana García", "ana@test.com", 20, "Java")));
+        // ACT
+        servicio.obtenerEstudiantePorId(1L);
+        // ASSERT
+        assertEquals(1, registro.instantanea().get("servicio.obtenerEstudiantePorId").llamadas());
+        assertEquals(0, registro.instantanea().get("servicio.obtenerEstudiantePorId").errores());
+    }
+
+    @Test
+    @DisplayName("Debería medir cada operación del servicio bajo su propio nombre")
+    void deberiaMedirCadaOperacionBajoSuNombre(@TempDir Path directorio) {
+        // ARRANGE - un DAO real, para que cada operación siga su camino sin errores
+        RegistroMetricas registro = new RegistroMetricas();
+        try (InMemoryEstudianteDAO dao = new InMemoryEstudianteDAO()) {
+            EstudianteServicio servicio = new EstudianteServicioInstrumentado(dao, registro);
+            FiltroEstudiantes filtro = FiltroEstudiantes.builder().curso("Java").build();
+            // ACT
+            Estudiante ana = servicio.crearEstudiante("Ana García", "ana@test.com", 20, "Java");
+            servicio.crearEstudiantes(List.of(new Estudiante("Luis Soto", "luis@test.com", 30, "Java")));
+            servicio.obtenerEstudiantePorId(ana.getId());
+            servicio.obtenerEstudiantesPorIds(List.of(ana.getId()));
+            servicio.obtenerTodosLosEstudiantes();
+            servicio.obtenerRosterEstudiantes();
+            servicio.obtenerEstudiantesPorCurso("Java");
+            servicio.obtenerEstudiantesPorRangoEdad(18, 40);
+            servicio.obtenerEstudiantesPorFiltro(filtro);
+            servicio.obtenerRegistroEstudiantePorId(ana.getId());
+            servicio.obtenerRegistrosEstudiantes();
+            servicio.obtenerRegistrosEstudiantesPorFiltro(filtro);
+            servicio.obtenerPaginaEstudiantes(null, 10);
+            try (Stream<Estudiante> estudiantes = servicio.streamTodosLosEstudiantes()) {
+                assertEquals(2, estudiantes.count());
+            }
+            servicio.exportarEstudiantes(directorio.resolve("todos.csv"), ExportadorEstudiantes.Formato.CSV, false);
+            servicio.exportarEstudiantesPorShards(directorio, ExportadorEstudiantes.Formato.CSV, false, 2);
+            Estudiante leido = servicio.actualizarEstudiante(ana.getId(), "Ana María", "ana@test.com", 21, "Java");
+            servicio.actualizarEstudianteLeido(leido, "Ana María García", "ana@test.com", 21, "Java");
+            servicio.eliminarEstudiante(ana.getId());
+        }
+        // ASSERT
+        Map<String, MetricasOperacion.Resumen> instantanea = registro.instantanea();
+        for (String operacion : List.of("crearEstudiante", "crearEstudiantes", "obtenerEstudiantePorId",
+                "obtenerEstudiantesPorIds", "obtenerTodosLosEstudiantes", "obtenerRosterEstudiantes",
+                "obtenerEstudiantesPorCurso", "obtenerEstudiantesPorRangoEdad", "obtenerEstudiantesPorFiltro",
+                "obtenerRegistroEstudiantePorId", "obtenerRegistrosEstudiantes", "obtenerRegistrosEstudiantesPorFiltro",
+                "obtenerPaginaEstudiantes", "streamTodosLosEstudiantes", "exportarEstudiantes",
+                "exportarEstudiantesPorShards", "actualizarEstudiante", "actualizarEstudianteLeido",
+                "eliminarEstudiante")) {
+            assertEquals(1, instantanea.get("servicio." + operacion).llamadas(), operacion);
+            assertEquals(0, instantanea.get("servicio." + operacion).errores(), operacion);
+        }
+        assertEquals(4, instantanea.get("servicio.validarDatosEstudiante").llamadas());
+    }
+}
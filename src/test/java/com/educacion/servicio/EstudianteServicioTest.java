@@ -1,7 +1,13 @@
 package com.educacion.servicio;
 
+import com.educacion.dao.CursorPagina;
 import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.FiltroEstudiantes;
+import com.educacion.dao.Pagina;
+import com.educacion.dao.ResultadoActualizacion;
+import com.educacion.dao.ResultadoLote;
 import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteRegistro;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +17,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -68,6 +76,23 @@ class EstudianteServicioTest {
         verifyNoInteractions(estudianteDAO);
     }
 
+    @Test
+    @DisplayName("Debería obtener el registro inmutable por ID validando el ID")
+    void deberiaObtenerRegistroPorId() {
+        // ARRANGE
+        EstudianteRegistro registro = new EstudianteRegistro(1L, "Carlos Mendoza", "carlos.mendoza@email.com", 28,
+                "Testing", EstudianteRegistro.SIN_FECHA, true);
+        when(estudianteDAO.obtenerRegistroPorId(1L)).thenReturn(Optional.of(registro));
+        // ACT
+        Optional<EstudianteRegistro> resultado = estudianteServicio.obtenerRegistroEstudiantePorId(1L);
+        // ASSERT
+        assertSame(registro, resultado.orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerRegistroEstudiantePorId(0L));
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerRegistrosEstudiantesPorFiltro(null));
+        verify(estudianteDAO).obtenerRegistroPorId(1L);
+        verifyNoMoreInteractions(estudianteDAO);
+    }
+
     // ========== Pruebas READ para listar Estudiantes ==========
     @Test
     @DisplayName("Debería obtener todos los estudiantes exitosamente")
@@ -112,11 +137,8 @@ class EstudianteServicioTest {
         int edad = 26;
         String curso = "Java Avanzado";
 
-        Estudiante estudianteExistente = new Estudiante(id, "Juan Pérez", "juan.perez@email.com", 25, "Java");
-
-        when(estudianteDAO.obtenerPorId(id)).thenReturn(Optional.of(estudianteExistente));
-        when(estudianteDAO.existeEmail(email)).thenReturn(false);
-        when(estudianteDAO.actualizar(any(Estudiante.class))).thenReturn(true);
+        when(estudianteDAO.actualizarYObtener(any(Estudiante.class), isNull()))
+                .thenAnswer(inv -> ResultadoActualizacion.actualizado(inv.getArgument(0)));
         // ACT
         Estudiante resultado = estudianteServicio.actualizarEstudiante(id, nombre, email, edad, curso);
 
@@ -128,9 +150,8 @@ class EstudianteServicioTest {
         assertEquals(edad, resultado.getEdad());
         assertEquals(curso, resultado.getCurso());
 
-        verify(estudianteDAO).obtenerPorId(id);
-        verify(estudianteDAO).existeEmail(email);
-        verify(estudianteDAO).actualizar(any(Estudiante.class));
+        verify(estudianteDAO).actualizarYObtener(any(Estudiante.class), isNull());
+        verifyNoMoreInteractions(estudianteDAO);
     }
 
     @Test
@@ -139,7 +160,8 @@ class EstudianteServicioTest {
         // ARRANGE
         Long id = 99L;
 
-        when(estudianteDAO.obtenerPorId(id)).thenReturn(Optional.empty());
+        when(estudianteDAO.actualizarYObtener(any(Estudiante.class), isNull()))
+                .thenReturn(ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.NO_ENCONTRADO));
 
         // ACT & ASSERT
         IllegalArgumentException exception = assertThrows(
@@ -148,10 +170,23 @@ class EstudianteServicioTest {
         );
 
         assertEquals("No existe estudiante con ID: " + id, exception.getMessage());
-        verify(estudianteDAO).obtenerPorId(id);
         verify(estudianteDAO, never()).actualizar(any(Estudiante.class));
     }
 
+    @Test
+    @DisplayName("Debería rechazar un ID nulo o un estudiante leído nulo al actualizar")
+    void deberiaRechazarIdNuloOLeidoNuloAlActualizar() {
+        // ACT & ASSERT - un null literal debe resolverse a un solo método
+        IllegalArgumentException sinId = assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.actualizarEstudiante(null, "Nombre", "email@test.com", 25, "Curso"));
+        IllegalArgumentException sinLeido = assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.actualizarEstudianteLeido(null, "Nombre", "email@test.com", 25, "Curso"));
+
+        assertEquals("ID debe ser un número positivo", sinId.getMessage());
+        assertEquals("El estudiante leído es obligatorio", sinLeido.getMessage());
+        verifyNoInteractions(estudianteDAO);
+    }
+
     // ========== Pruebas DELETE para eliminar Estudiante ==========
     @Test
     @DisplayName("Debería eliminar estudiante existosamente")
@@ -205,8 +240,7 @@ class EstudianteServicioTest {
         int edad = 25;
         String curso = "Java";
 
-        when(estudianteDAO.existeEmail(email)).thenReturn(false);
-        when(estudianteDAO.crear(any(Estudiante.class))).thenThrow(new RuntimeException("Error de BD"));
+        when(estudianteDAO.crearSiEmailLibre(any(Estudiante.class))).thenThrow(new RuntimeException("Error de BD"));
 
         // ACT & ASSERT
         assertThrows(RuntimeException.class, () -> {
@@ -214,6 +248,23 @@ class EstudianteServicioTest {
         });
     }
 
+    @Test
+    @DisplayName("Debería lanzar excepción si el email ya está registrado al crear")
+    void deberiaLanzarExcepcionSiEmailYaRegistradoAlCrear() {
+        // ARRANGE
+        when(estudianteDAO.crearSiEmailLibre(any(Estudiante.class))).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> estudianteServicio.crearEstudiante("Ana García", "ana@test.com", 20, "Java")
+        );
+
+        assertEquals("Ya existe un estudiante con el email: ana@test.com", exception.getMessage());
+        verify(estudianteDAO, never()).existeEmail(anyString());
+        verify(estudianteDAO, never()).crear(any(Estudiante.class));
+    }
+
     /**
     * Pruebas adicionales para alcanzar 80% de cobertura en EstudianteServicio
     * Casos edge y branches no cubiertas
@@ -278,10 +329,9 @@ class EstudianteServicioTest {
     public void deberiaFallarAlActualizarConEmailExistente() {
         // Arrange
         Long id = 1L;
-        Estudiante estudianteExistente = new Estudiante(id, "Juan Original", "juan@test.com", 20, "Java");
 
-        when(estudianteDAO.obtenerPorId(id)).thenReturn(Optional.of(estudianteExistente));
-        when(estudianteDAO.existeEmail("nuevo@test.com")).thenReturn(true);
+        when(estudianteDAO.actualizarYObtener(any(Estudiante.class), isNull()))
+                .thenReturn(ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.CONFLICTO_EMAIL));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -296,10 +346,9 @@ class EstudianteServicioTest {
     public void deberiaActualizarConMismoEmail() {
         // Arrange
         Long id = 1L;
-        Estudiante estudianteExistente = new Estudiante(id, "Juan Original", "juan@test.com", 20, "Java");
 
-        when(estudianteDAO.obtenerPorId(id)).thenReturn(Optional.of(estudianteExistente));
-        when(estudianteDAO.actualizar(any(Estudiante.class))).thenReturn(true);
+        when(estudianteDAO.actualizarYObtener(any(Estudiante.class), isNull()))
+                .thenAnswer(inv -> ResultadoActualizacion.actualizado(inv.getArgument(0)));
 
         // Act
         Estudiante resultado = estudianteServicio.actualizarEstudiante(id, "Juan Actualizado", "juan@test.com", 25, "Python");
@@ -311,22 +360,22 @@ class EstudianteServicioTest {
         assertEquals(25, resultado.getEdad());
         assertEquals("Python", resultado.getCurso());
 
-        verify(estudianteDAO).actualizar(estudianteExistente);
         verify(estudianteDAO, never()).existeEmail(anyString());
+        verify(estudianteDAO, never()).obtenerPorId(anyLong());
     }
 
     @Test
-    @DisplayName("Debería fallar cuando actualizar retorna false")
+    @DisplayName("Debería fallar si el estudiante cambió desde que se leyó")
     public void deberiaFallarCuandoActualizarRetornaFalse() {
         // Arrange
         Long id = 1L;
-        Estudiante estudianteExistente = new Estudiante(id, "Juan Original", "juan@test.com", 20, "Java");
+        Estudiante estudianteLeido = new Estudiante(id, "Juan Original", "juan@test.com", 20, "Java");
 
-        when(estudianteDAO.obtenerPorId(id)).thenReturn(Optional.of(estudianteExistente));
-        when(estudianteDAO.actualizar(any(Estudiante.class))).thenReturn(false);
+        when(estudianteDAO.actualizarYObtener(any(Estudiante.class), eq(estudianteLeido)))
+                .thenReturn(ResultadoActualizacion.fallido(ResultadoActualizacion.Estado.MODIFICADO_CONCURRENTEMENTE));
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            estudianteServicio.actualizarEstudiante(id, "Juan Actualizado", "juan@test.com", 25, "Python");
+            estudianteServicio.actualizarEstudianteLeido(estudianteLeido, "Juan Actualizado", "juan@test.com", 25, "Python");
         });
         assertEquals("No se pudo actualizar el estudiante con ID: 1", exception.getMessage());
     }
@@ -335,8 +384,7 @@ class EstudianteServicioTest {
     @DisplayName("Debería validar emails con formatos límite válidos")
     public void deberiaValidarEmailsConFormatosLimite() {
         // Arrange
-        when(estudianteDAO.existeEmail(anyString())).thenReturn(false);
-        when(estudianteDAO.crear(any(Estudiante.class))).thenReturn(new Estudiante(1L, "Test", "test@domain.co", 20, "Test"));
+        when(estudianteDAO.crearSiEmailLibre(any(Estudiante.class))).thenReturn(Optional.of(new Estudiante(1L, "Test", "test@domain.co", 20, "Test")));
         // Act & Assert - Email mínimo válido
         assertDoesNotThrow(() -> {
             estudianteServicio.crearEstudiante("Test User", "a@b.co", 20, "Test");
@@ -370,8 +418,7 @@ class EstudianteServicioTest {
     @DisplayName("Debería crear estudiante con edad límite válida (18 y 100)")
     public void deberiaCrearEstudianteConEdadLimite() {
         // Arrange
-        when(estudianteDAO.existeEmail(anyString())).thenReturn(false);
-        when(estudianteDAO.crear(any(Estudiante.class))).thenReturn(new Estudiante(1L, "Test", "test@test.com", 18, "Test"));
+        when(estudianteDAO.crearSiEmailLibre(any(Estudiante.class))).thenReturn(Optional.of(new Estudiante(1L, "Test", "test@test.com", 18, "Test")));
         // Act & Assert - Edad mínima válida (18)
         assertDoesNotThrow(() -> {
             estudianteServicio.crearEstudiante("Test User 18", "test18@test.com", 18, "Test");
@@ -380,4 +427,137 @@ class EstudianteServicioTest {
         assertDoesNotThrow(() -> {
             estudianteServicio.crearEstudiante("Test User 100", "test100@test.com", 100, "Test");
         });
-    }}
+    }
+    // ========== Pruebas de alta masiva ==========
+    @Test
+    @DisplayName("Debería crear estudiantes en lote y reportar inválidos con su posición original")
+    void deberiaCrearEstudiantesEnLoteYReportarInvalidos() {
+        // ARRANGE
+        Estudiante valido1 = new Estudiante("Ana García", "ana@test.com", 20, "Java");
+        Estudiante invalido = new Estudiante("A", "a@test.com", 20, "Java");
+        Estudiante valido2 = new Estudiante("Luis Soto", "luis@test.com", 30, "Java");
+        ResultadoLote resultadoDAO = new ResultadoLote();
+        resultadoDAO.registrarCreado(valido1);
+        resultadoDAO.registrarFallo(1, valido2, "UNIQUE constraint failed");
+        when(estudianteDAO.crearTodos(List.of(valido1, valido2), 100)).thenReturn(resultadoDAO);
+        // ACT
+        ResultadoLote resultado = estudianteServicio.crearEstudiantes(List.of(valido1, invalido, valido2), 100);
+        // ASSERT
+        assertEquals(List.of(valido1), resultado.getCreados());
+        assertEquals(2, resultado.getFallos().size());
+        assertEquals(1, resultado.getFallos().get(0).indice());
+        assertEquals("El nombre es obligatorio y debe tener al menos 2 caracteres", resultado.getFallos().get(0).motivo());
+        assertEquals(2, resultado.getFallos().get(1).indice());
+    }
+
+    @Test
+    @DisplayName("No debería llamar al DAO si ningún estudiante del lote es válido")
+    void noDeberiaLlamarAlDAOSiNingunoEsValido() {
+        // ACT
+        ResultadoLote resultado = estudianteServicio.crearEstudiantes(List.of(new Estudiante("Juan Pérez", "sin-arroba", 20, "Java")));
+        // ASSERT
+        assertEquals(1, resultado.getFallos().size());
+        assertTrue(resultado.getCreados().isEmpty());
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción si la lista o el tamaño de lote son inválidos")
+    void deberiaLanzarExcepcionSiLoteInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.crearEstudiantes(null));
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.crearEstudiantes(List.of(), 0));
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    // ========== Pruebas de paginación y streaming ==========
+    @Test
+    @DisplayName("Debería delegar la página al DAO con el cursor recibido")
+    void deberiaObtenerPaginaDeEstudiantes() {
+        // ARRANGE
+        CursorPagina cursor = new CursorPagina("Juan Pérez", 7L);
+        Pagina pagina = new Pagina(List.of(new Estudiante(8L, "Lucía Ruiz", "lucia@test.com", 20, "Java")), null);
+        when(estudianteDAO.obtenerPagina(cursor, 50)).thenReturn(pagina);
+        // ACT
+        Pagina resultado = estudianteServicio.obtenerPaginaEstudiantes(cursor, 50);
+        // ASSERT
+        assertSame(pagina, resultado);
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción si el límite de página es inválido")
+    void deberiaLanzarExcepcionSiLimiteDePaginaInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerPaginaEstudiantes(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.obtenerPaginaEstudiantes(null, EstudianteServicio.LIMITE_MAXIMO_PAGINA + 1));
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería devolver el Stream del DAO")
+    void deberiaDevolverStreamDelDAO() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1L, "Juan Pérez", "juan@test.com", 25, "Java");
+        when(estudianteDAO.streamTodos()).thenReturn(Stream.of(estudiante));
+        // ACT
+        try (Stream<Estudiante> resultado = estudianteServicio.streamTodosLosEstudiantes()) {
+            // ASSERT
+            assertEquals(List.of(estudiante), resultado.toList());
+        }
+    }
+
+    // ========== Pruebas de consulta de varios estudiantes ==========
+    @Test
+    @DisplayName("Debería obtener varios estudiantes por ID con una sola llamada al DAO")
+    void deberiaObtenerVariosEstudiantesPorIds() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1L, "Juan Pérez", "juan@test.com", 25, "Java");
+        when(estudianteDAO.obtenerPorIds(List.of(1L, 2L))).thenReturn(Map.of(1L, estudiante));
+        // ACT
+        Map<Long, Estudiante> resultado = estudianteServicio.obtenerEstudiantesPorIds(List.of(1L, 2L));
+        // ASSERT
+        assertEquals(Map.of(1L, estudiante), resultado);
+        verify(estudianteDAO, never()).obtenerPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar la consulta si algún ID es inválido")
+    void deberiaRechazarIdsInvalidos() {
+        // ACT & ASSERT
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.obtenerEstudiantesPorIds(Arrays.asList(1L, null)));
+        assertEquals("ID debe ser un número positivo", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerEstudiantesPorIds(List.of(3L, -1L)));
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerEstudiantesPorIds(null));
+        verifyNoInteractions(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería delegar las consultas por curso y por filtro en el DAO")
+    void deberiaConsultarPorCursoYFiltro() {
+        // ARRANGE
+        Estudiante estudiante = new Estudiante(1L, "Juan Pérez", "juan@test.com", 25, "Java");
+        FiltroEstudiantes filtro = FiltroEstudiantes.builder().curso("Java").edadEntre(20, 30).build();
+        when(estudianteDAO.obtenerPorCurso("Java")).thenReturn(List.of(estudiante));
+        when(estudianteDAO.obtenerPorFiltro(filtro)).thenReturn(List.of(estudiante));
+        // ACT
+        List<Estudiante> porCurso = estudianteServicio.obtenerEstudiantesPorCurso("Java");
+        List<Estudiante> porFiltro = estudianteServicio.obtenerEstudiantesPorFiltro(filtro);
+        // ASSERT
+        assertEquals(List.of(estudiante), porCurso);
+        assertEquals(List.of(estudiante), porFiltro);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar consultas con curso vacío, rango invertido o sin filtro")
+    void deberiaRechazarConsultasInvalidas() {
+        // ACT & ASSERT
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.obtenerEstudiantesPorCurso("  "));
+        assertEquals("El curso es obligatorio", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> estudianteServicio.obtenerEstudiantesPorRangoEdad(30, 20));
+        assertEquals("La edad mínima no puede ser mayor que la edad máxima", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> estudianteServicio.obtenerEstudiantesPorFiltro(null));
+        verifyNoInteractions(estudianteDAO);
+    }
+}
@@ -0,0 +1,228 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.DelegatingEstudianteDAO;
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.InMemoryEstudianteDAO;
+import com.educacion.modelo.Estudiante;
+import com.educacion.modelo.EstudianteCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Pruebas del Exportador de Estudiantes")
+class ExportadorEstudiantesTest {
+
+    @TempDir
+    Path directorio;
+
+    private InMemoryEstudianteDAO estudianteDAO;
+    private ExportadorEstudiantes exportador;
+
+    @BeforeEach
+    void setUp() {
+        estudianteDAO = new InMemoryEstudianteDAO();
+        exportador = new ExportadorEstudiantes(estudianteDAO);
+    }
+
+    @Test
+    @DisplayName("Debería exportar a CSV con comillas, fechas y la cabecera")
+    void deberiaExportarCsv() throws IOException {
+        // ARRANGE
+        ExportadorEstudiantes conFilas = exportadorCon(
+                new Estudiante(3L, "Ana\nMaría", "ana@email.com", 22, "Java", null, true),
+                new Estudiante(1L, "Núñez, José", "jose@email.com", 30, "Spring \"Boot\"",
+                        LocalDateTime.of(2024, 3, 5, 9, 7, 1), true));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        // ACT
+        long filas = conFilas.exportar(salida, ExportadorEstudiantes.Formato.CSV, false);
+        // ASSERT
+        assertEquals(2, filas);
+        assertEquals("id,nombre,email,edad,curso,fecha_registro\n"
+                + "3,\"Ana\nMaría\",ana@email.com,22,Java,\n"
+                + "1,\"Núñez, José\",jose@email.com,30,\"Spring \"\"Boot\"\"\",2024-03-05 09:07:01\n",
+                salida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debería exportar NDJSON con escapes y caracteres fuera del plano básico")
+    void deberiaExportarNdjson() throws IOException {
+        // ARRANGE
+        ExportadorEstudiantes conFilas = exportadorCon(
+                new Estudiante(1L, "José \"Pepe\"\t\u0001 😀", "jose@email.com", 30, "Java\\EE", null, true));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        // ACT
+        conFilas.exportar(salida, ExportadorEstudiantes.Formato.NDJSON, false);
+        // ASSERT
+        assertEquals("{\"id\":1,\"nombre\":\"José \\\"Pepe\\\"\\t\\u0001 😀\",\"email\":\"jose@email.com\","
+                + "\"edad\":30,\"curso\":\"Java\\\\EE\",\"fecha_registro\":null}\n",
+                salida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debería exportar en binario comprimido con gzip y leerse con EstudianteCodec")
+    void deberiaExportarBinarioConGzip() throws IOException {
+        // ARRANGE
+        LocalDateTime fecha = LocalDateTime.of(2023, 12, 31, 23, 59, 59);
+        ExportadorEstudiantes conFilas = exportadorCon(
+                new Estudiante(7L, "Zoë", "zoe@email.com", 41, "Python", fecha, true),
+                new Estudiante(9L, "Ana", "ana@email.com", 22, "Java", null, true));
+        Path archivo = directorio.resolve("roster.bin.gz");
+        // ACT
+        long filas = conFilas.exportar(archivo, ExportadorEstudiantes.Formato.BINARIO, true);
+        // ASSERT
+        assertEquals(2, filas);
+        assertFalse(Files.exists(directorio.resolve("roster.bin.gz.tmp")));
+        ByteBuffer contenido;
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(archivo))) {
+            contenido = ByteBuffer.wrap(entrada.readAllBytes());
+        }
+        assertEquals(ExportadorEstudiantes.MAGIA_BINARIO, contenido.getInt());
+        assertEquals("Estudiante{id=7, nombre='Zoë', email='zoe@email.com', edad=41, curso='Python', "
+                + "fechaRegistro=2023-12-31T23:59:59, activo=true}", EstudianteCodec.decodificar(contenido).toString());
+        assertEquals(9L, EstudianteCodec.decodificar(contenido).getId());
+        assertFalse(contenido.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Debería repartir los IDs en un archivo por shard y volver a importarse igual")
+    void deberiaExportarPorShards() throws IOException {
+        // ARRANGE
+        for (int i = 0; i < 3_000; i++) {
+            estudianteDAO.crear(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 18 + i % 60, "Curso " + i % 7));
+        }
+        estudianteDAO.eliminar(10L);
+        // ACT
+        List<ExportadorEstudiantes.ArchivoExportado> archivos =
+                exportador.exportarPorShards(directorio, ExportadorEstudiantes.Formato.CSV, true, 4);
+        // ASSERT
+        assertEquals(4, archivos.size());
+        assertEquals(directorio.resolve("estudiantes-0.csv.gz"), archivos.get(0).archivo());
+        assertEquals(2_999, archivos.stream().mapToLong(ExportadorEstudiantes.ArchivoExportado::filas).sum());
+        List<String> primerShard = leerGzip(archivos.get(0).archivo()).lines().toList();
+        assertEquals(ExportadorEstudiantes.CABECERA_CSV.trim(), primerShard.get(0));
+        assertEquals(750, primerShard.size());
+        assertTrue(primerShard.get(1).startsWith("1,Estudiante 0,"));
+
+        InMemoryEstudianteDAO copia = new InMemoryEstudianteDAO();
+        for (ExportadorEstudiantes.ArchivoExportado archivo : archivos) {
+            Path csv = directorio.resolve(archivo.archivo().getFileName().toString().replace(".gz", ""));
+            Files.writeString(csv, leerGzip(archivo.archivo()));
+            ImportadorEstudiantes.builder(copia).build().importar(csv);
+        }
+        assertEquals(2_999, copia.obtenerTodos().size());
+        assertTrue(copia.existeEmail("e2999@email.com"));
+        assertFalse(copia.existeEmail("e9@email.com"));
+    }
+
+    @Test
+    @DisplayName("Debería exportar con gzip a una salida del llamador sin cerrarla")
+    void deberiaExportarGzipSinCerrarLaSalida() throws IOException {
+        // ARRANGE
+        estudianteDAO.crear(new Estudiante("Ana", "ana@email.com", 22, "Java"));
+        estudianteDAO.crear(new Estudiante("Luis", "luis@email.com", 30, "Python"));
+        boolean[] cerrada = {false};
+        ByteArrayOutputStream salida = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                cerrada[0] = true;
+            }
+        };
+        // ACT
+        long filas = exportador.exportar(salida, ExportadorEstudiantes.Formato.NDJSON, true);
+        // ASSERT
+        assertEquals(2, filas);
+        assertFalse(cerrada[0]);
+        try (InputStream entrada = new GZIPInputStream(new ByteArrayInputStream(salida.toByteArray()))) {
+            List<String> lineas = new String(entrada.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertEquals(2, lineas.size());
+            assertTrue(lineas.get(0).startsWith("{\"id\":1,\"nombre\":\"Ana\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería relanzar el error del shard que falla sin dejar temporales")
+    void deberiaRelanzarElFalloDeUnShard() throws IOException {
+        // ARRANGE
+        for (int i = 0; i < 100; i++) {
+            estudianteDAO.crear(new Estudiante("Estudiante " + i, "e" + i + "@email.com", 20, "Java"));
+        }
+        // ACT & ASSERT - cada tipo de error llega al llamador como se documenta
+        IOException disco = assertThrows(IOException.class, () -> exportadorQueFallaEnShard(
+                new UncheckedIOException(new IOException("Disco lleno")))
+                .exportarPorShards(directorio, ExportadorEstudiantes.Formato.CSV, false, 4));
+        assertEquals("Disco lleno", disco.getMessage());
+        IllegalStateException estado = assertThrows(IllegalStateException.class, () -> exportadorQueFallaEnShard(
+                new IllegalStateException("Conexión perdida"))
+                .exportarPorShards(directorio, ExportadorEstudiantes.Formato.CSV, false, 4));
+        assertEquals("Conexión perdida", estado.getMessage());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertTrue(archivos.noneMatch(archivo -> archivo.toString().endsWith(".tmp")));
+        }
+        IOException error = assertThrows(IOException.class, () -> exportadorQueFallaEnShard(
+                new StackOverflowError("Sin pila"))
+                .exportarPorShards(directorio.resolve("error"), ExportadorEstudiantes.Formato.CSV, false, 4));
+        assertEquals("Error exportando un shard: Sin pila", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar argumentos inválidos")
+    void deberiaRechazarArgumentosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportador.exportar((Path) null, ExportadorEstudiantes.Formato.CSV, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportador.exportar(new ByteArrayOutputStream(), null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportador.exportarPorShards(directorio, ExportadorEstudiantes.Formato.CSV, false, 0));
+    }
+
+    private static ExportadorEstudiantes exportadorCon(Estudiante... estudiantes) {
+        EstudianteDAO conFilas = mock(EstudianteDAO.class);
+        when(conFilas.streamTodos(anyInt())).thenReturn(Stream.of(estudiantes));
+        return new ExportadorEstudiantes(conFilas);
+    }
+
+    /** Exportador cuyo segundo shard falla con el error dado tras escribir su primera fila. */
+    private ExportadorEstudiantes exportadorQueFallaEnShard(Throwable fallo) {
+        return new ExportadorEstudiantes(new DelegatingEstudianteDAO(estudianteDAO) {
+            @Override
+            public Stream<Estudiante> streamPorRangoId(long idDesde, long idHasta, int fetchSize) {
+                Stream<Estudiante> estudiantes = delegate.streamPorRangoId(idDesde, idHasta, fetchSize);
+                if (idDesde == 1) {
+                    return estudiantes;
+                }
+                return estudiantes.peek(estudiante -> {
+                    if (estudiante.getId() > idDesde) {
+                        if (fallo instanceof Error error) {
+                            throw error;
+                        }
+                        throw (RuntimeException) fallo;
+                    }
+                });
+            }
+        });
+    }
+
+    private static String leerGzip(Path archivo) throws IOException {
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(archivo))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.educacion.servicio;
+
+import com.educacion.dao.DelegatingEstudianteDAO;
+import com.educacion.dao.EstudianteDAO;
+import com.educacion.dao.InMemoryEstudianteDAO;
+import com.educacion.dao.ResultadoLote;
+import com.educacion.modelo.Estudiante;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Importador de Estudiantes")
+class ImportadorEstudiantesTest {
+
+    @TempDir
+    Path directorio;
+
+    private InMemoryEstudianteDAO estudianteDAO;
+
+    @BeforeEach
+    void setUp() {
+        estudianteDAO = new InMemoryEstudianteDAO();
+    }
+
+    @Test
+    @DisplayName("Debería importar un CSV con BOM, CRLF, columnas en otro orden y campos entre comillas")
+    void deberiaImportarCsv() throws IOException {
+        // ARRANGE
+        Path archivo = escribir("alumnos.csv", "﻿email,Curso,nombre,edad,notas\r\n"
+                + "jose@email.com,Java,\"Núñez, José\",30,x\r\n"
+                + "\r\n"
+                + "ana@email.com,\"Spring \"\"Boot\"\"\",\"Ana\nMaría\", 22 ,\r\n");
+        // ACT
+        ImportadorEstudiantes.Progreso progreso = ImportadorEstudiantes.builder(estudianteDAO).build().importar(archivo);
+        // ASSERT
+        assertEquals(2, progreso.importados());
+        assertEquals(0, progreso.rechazados());
+        assertEquals(100.0, progreso.porcentaje());
+        Estudiante jose = estudianteDAO.obtenerPorId(1L).orElseThrow();
+        assertEquals("Núñez, José", jose.getNombre());
+        assertEquals("Java", jose.getCurso());
+        assertEquals(30, jose.getEdad());
+        Estudiante ana = estudianteDAO.obtenerPorId(2L).orElseThrow();
+        assertEquals("Ana\nMaría", ana.getNombre());
+        assertEquals("Spring \"Boot\"", ana.getCurso());
+        assertEquals(22, ana.getEdad());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar inválidos y duplicados y escribirlos en el informe con su línea")
+    void deberiaRechazarInvalidosYDuplicados() throws IOException {
+        // ARRANGE
+        estudianteDAO.crear(new Estudiante("Previo", "previo@email.com", 40, "Java"));
+        Path archivo = escribir("alumnos.csv", """
+                nombre,email,edad,curso
+                Ana,ana@email.com,20,Java
+                X,malo,17,Java
+                Ana Bis,ana@email.com,21,Java
+                Otro,previo@email.com,30,Java
+                Luis,luis@email.com,veinte,Java
+                """);
+        Path informe = directorio.resolve("errores.csv");
+        // ACT
+        ImportadorEstudiantes.Progreso progreso = ImportadorEstudiantes.builder(estudianteDAO)
+                .informeErrores(informe).build().importar(archivo);
+        // ASSERT
+        assertEquals(5, progreso.registros());
+        assertEquals(1, progreso.importados());
+        assertEquals(2, progreso.invalidos());
+        assertEquals(2, progreso.duplicados());
+        assertEquals(List.of(
+                "linea,motivo,registro",
+                "3,\"" + ValidadorEstudiante.ERROR_NOMBRE + "; " + ValidadorEstudiante.ERROR_EMAIL + "; "
+                        + ValidadorEstudiante.ERROR_EDAD + "\",\"X,malo,17,Java\"",
+                "4,\"" + ImportadorEstudiantes.ERROR_EMAIL_REPETIDO + "\",\"Ana Bis,ana@email.com,21,Java\"",
+                "5,\"Ya existe un estudiante con el email: previo@email.com\",\"Otro,previo@email.com,30,Java\"",
+                "6,\"" + ValidadorEstudiante.ERROR_EDAD + "\",\"Luis,luis@email.com,veinte,Java\""
+        ), Files.readAllLines(informe));
+    }
+
+    @Test
+    @DisplayName("Debería importar NDJSON con escapes, claves desconocidas y registros mal formados")
+    void deberiaImportarNdjson() throws IOException {
+        // ARRANGE
+        Path archivo = escribir("alumnos.ndjson", """
+                {"nombre": "Jos\\u00e9 \\"Pepe\\"", "extra": {"a": [1, "}"]}, "email": "jose@email.com", "edad": 30, "curso": "Java"}
+                {"nombre": "Ana", "email": "ana@email.com", "edad": 25
+                {"edad": 22, "curso": "Python", "email": "eva@email.com", "nombre": "Eva", "activo": true}
+                """);
+        // ACT
+        ImportadorEstudiantes.Progreso progreso = ImportadorEstudiantes.builder(estudianteDAO).build().importar(archivo);
+        // ASSERT
+        assertEquals(2, progreso.importados());
+        assertEquals(1, progreso.invalidos());
+        assertEquals("José \"Pepe\"", estudianteDAO.obtenerPorId(1L).orElseThrow().getNombre());
+        assertEquals("Eva", estudianteDAO.obtenerPorId(2L).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("Debería conservar el orden del archivo con varios hilos y ventanas pequeñas")
+    void deberiaConservarElOrdenConVariosHilos() throws IOException {
+        // ARRANGE
+        StringBuilder csv = new StringBuilder("nombre,email,edad,curso\n");
+        for (int i = 0; i < 1_000; i++) {
+            csv.append("\"Estudiante\n").append(i).append("\",e").append(i).append("@email.com,").append(18 + i % 60).append(",Java\n");
+        }
+        Path archivo = escribir("alumnos.csv", csv.toString());
+        // ACT
+        ImportadorEstudiantes.Progreso progreso = ImportadorEstudiantes.builder(estudianteDAO)
+                .hilos(4).tamanoLote(7).ventana(100).build().importar(archivo);
+        // ASSERT
+        assertEquals(1_000, progreso.importados());
+        assertEquals(Files.size(archivo), progreso.bytesProcesados());
+        for (int i = 0; i < 1_000; i += 111) {
+            assertEquals("e" + i + "@email.com", estudianteDAO.obtenerPorId((long) i + 1).orElseThrow().getEmail());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería reanudar desde el checkpoint tras un fallo sin repetir filas")
+    void deberiaReanudarDesdeElCheckpoint() throws IOException {
+        // ARRANGE
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            ndjson.append("{\"nombre\":\"E").append(i).append("\",\"email\":\"e").append(i)
+                    .append("@email.com\",\"edad\":20,\"curso\":\"Java\"}\n");
+        }
+        Path archivo = escribir("alumnos.jsonl", ndjson.toString());
+        Path checkpoint = directorio.resolve("importacion.checkpoint");
+        EstudianteDAO fallaAlTercerLote = new DelegatingEstudianteDAO(estudianteDAO) {
+            private int lotes;
+
+            @Override
+            public ResultadoLote crearTodos(Collection<Estudiante> estudiantes, int tamanoLote) {
+                if (++lotes == 3) {
+                    throw new RuntimeException("Conexión perdida");
+                }
+                return delegate.crearTodos(estudiantes, tamanoLote);
+            }
+        };
+        assertThrows(RuntimeException.class, () -> ImportadorEstudiantes.builder(fallaAlTercerLote)
+                .tamanoLote(10).hilos(1).checkpoint(checkpoint).build().importar(archivo));
+        assertEquals(20, estudianteDAO.obtenerTodos().size());
+        // ACT
+        ImportadorEstudiantes.Progreso progreso = ImportadorEstudiantes.builder(estudianteDAO)
+                .tamanoLote(10).checkpoint(checkpoint).build().importar(archivo);
+        // ASSERT
+        assertEquals(50, progreso.importados());
+        assertEquals(0, progreso.duplicados());
+        assertEquals(50, estudianteDAO.obtenerTodos().size());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un CSV sin las columnas obligatorias o un registro mayor que la ventana")
+    void deberiaRechazarArchivosNoImportables() throws IOException {
+        Path sinEdad = escribir("sin_edad.csv", "nombre,email,curso\nAna,ana@email.com,Java\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ImportadorEstudiantes.builder(estudianteDAO).build().importar(sinEdad));
+        assertEquals("Falta la columna edad en la cabecera CSV", error.getMessage());
+
+        Path largo = escribir("largo.csv", "nombre,email,edad,curso\n" + "A".repeat(200) + ",a@email.com,20,Java\n");
+        assertThrows(IOException.class,
+                () -> ImportadorEstudiantes.builder(estudianteDAO).ventana(64).build().importar(largo));
+        assertThrows(IllegalArgumentException.class,
+                () -> ImportadorEstudiantes.builder(estudianteDAO).build().importar(directorio.resolve("alumnos.txt")));
+    }
+
+    @Test
+    @DisplayName("Debería validar los parámetros del builder y respetar el formato indicado")
+    void deberiaValidarParametrosDelBuilder() throws IOException {
+        // ARRANGE
+        ImportadorEstudiantes.Builder builder = ImportadorEstudiantes.builder(estudianteDAO);
+        Path archivo = escribir("alumnos.txt", "{\"nombre\":\"Ana\",\"email\":\"ana@email.com\",\"edad\":20,\"curso\":\"Java\"}\n");
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> ImportadorEstudiantes.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.hilos(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.tamanoLote(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.ventana(0));
+        ImportadorEstudiantes.Progreso progreso = builder.formato(ImportadorEstudiantes.Formato.NDJSON).build().importar(archivo);
+        assertEquals(1, progreso.importados());
+    }
+
+    private Path escribir(String nombre, String contenido) throws IOException {
+        return Files.writeString(directorio.resolve(nombre), contenido, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.educacion.servicio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Parser de Registros")
+class ParserRegistrosTest {
+
+    @Test
+    @DisplayName("Debería decodificar todos los escapes JSON, incluido \\u en valores y claves")
+    void deberiaDecodificarEscapes() {
+        // ARRANGE
+        String json = "{\"nombre\": \"A\\\"b\\\\c\\/d\\be\\ff\\ng\\rh\\ti\\u00f1\", "
+                + "\"em\\u0061il\": \"ana@email.com\", \"edad\": 20, \"curso\": \"Java\"}";
+        // ACT
+        ParserRegistros.Campos campos = parsear(json);
+        // ASSERT
+        assertNull(campos.error());
+        assertEquals("A\"b\\c/d\be\ff\ng\rh\tiñ", campos.nombre());
+        assertEquals("ana@email.com", campos.email());
+        assertEquals(20, campos.edad());
+        assertEquals("Java", campos.curso());
+    }
+
+    @Test
+    @DisplayName("Debería saltar valores anidados y claves con escapes desconocidas")
+    void deberiaSaltarValoresAnidados() {
+        // ARRANGE
+        String json = "{\"ex\\ttra\": 1, \"otro\": {\"a\": [1, {\"b\": \"]}\"}], \"c\": \"x\\\"\"}, "
+                + "\"lista\": [[], {}], \"nombre\": \"Eva\", \"curso\": null, \"email\": 42, \"edad\": {\"n\": 1}}";
+        // ACT
+        ParserRegistros.Campos campos = parsear(json);
+        // ASSERT
+        assertNull(campos.error());
+        assertEquals("Eva", campos.nombre());
+        assertNull(campos.curso());
+        assertEquals("42", campos.email());
+        assertEquals(ParserRegistros.EDAD_INVALIDA, campos.edad());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar un objeto vacío y una edad entre comillas como inválida")
+    void deberiaAceptarObjetoVacioYEdadNoNumerica() {
+        ParserRegistros.Campos vacio = parsear("{ } ");
+        assertNull(vacio.error());
+        assertNull(vacio.nombre());
+        assertEquals(ParserRegistros.EDAD_INVALIDA, vacio.edad());
+        assertEquals(ParserRegistros.EDAD_INVALIDA, parsear("{\"edad\": \"20\"}").edad());
+        assertEquals(-3, parsear("{\"edad\": -3}").edad());
+    }
+
+    @Test
+    @DisplayName("Debería marcar como mal formados los registros JSON inválidos")
+    void deberiaRechazarJsonMalFormado() {
+        String[] invalidos = {
+                "",
+                "[]",
+                "{\"nombre\" \"Ana\"}",
+                "{\"nombre\": \"Ana\";}",
+                "{\"nombre\": \"Ana\"} x",
+                "{\"nombre\": \"A\\x\"}",
+                "{\"nombre\": \"A\\u00\"}",
+                "{\"nombre\": \"A\\uzzzz\"}",
+                "{\"nombre\": nul}",
+                "{\"otro\": , \"nombre\": \"Ana\"}",
+                "{\"nombre\": \"Ana"
+        };
+        for (String json : invalidos) {
+            assertEquals(ParserRegistros.ERROR_JSON, parsear(json).error(), json);
+        }
+    }
+
+    private static ParserRegistros.Campos parsear(String json) {
+        byte[] datos = json.getBytes(StandardCharsets.UTF_8);
+        return ParserRegistros.parsearJson(datos, 0, datos.length);
+    }
+}
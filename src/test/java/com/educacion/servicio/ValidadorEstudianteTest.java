@@ -0,0 +1,64 @@
+package com.educacion.servicio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Validador de Estudiantes")
+class ValidadorEstudianteTest {
+
+    private final ValidadorEstudiante validador = new ValidadorEstudiante();
+
+    @Test
+    @DisplayName("Debería aceptar los mismos emails que la expresión regular original")
+    void deberiaAceptarMismosEmailsQueLaRegex() {
+        List<String> emails = List.of(
+                "a@b.co", "test.user@domain.co.uk", "juan+tag@email.com", "a_b-c.d@x", "a@b@c",
+                "@dominio.com", "sin-arroba", "usuario@", "", "   ", "usu ario@email.com", "ñandú@email.com",
+                "user@dom ain.com", "user@domain.com\n", "user@\r", "user@a b", "user@a\u0085", "u@\t");
+        for (String email : emails) {
+            assertEquals(email.matches("^[A-Za-z0-9+_.-]+@(.+)$"), validador.emailValido(email),
+                    "Email: [" + email + "]");
+        }
+        assertFalse(validador.emailValido(null));
+    }
+
+    @Test
+    @DisplayName("Debería medir el nombre como trim() sin copiarlo")
+    void deberiaMedirNombreComoTrim() {
+        List<String> nombres = List.of("", " ", "A", " A ", "Ab", "  Ab  ", "\tA\n", "A B", "\u0000AB\u0001");
+        for (String nombre : nombres) {
+            assertEquals(nombre.trim().length() >= 2, validador.nombreValido(nombre), "Nombre: [" + nombre + "]");
+        }
+        assertFalse(validador.nombreValido(null));
+    }
+
+    @Test
+    @DisplayName("Debería exigir un curso con algún carácter visible")
+    void deberiaExigirCursoNoVacio() {
+        assertTrue(validador.cursoValido(" Java "));
+        assertFalse(validador.cursoValido(" \t "));
+        assertFalse(validador.cursoValido(null));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar el primer error en modo fail-fast")
+    void deberiaLanzarPrimerErrorEnModoFailFast() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> validador.validar("A", "sin-arroba", 10, ""));
+        assertEquals(ValidadorEstudiante.ERROR_NOMBRE, exception.getMessage());
+        assertDoesNotThrow(() -> validador.validar("Ana García", "ana@test.com", 18, "Java"));
+    }
+
+    @Test
+    @DisplayName("Debería reunir todas las violaciones en una sola pasada")
+    void deberiaReunirTodasLasViolaciones() {
+        assertEquals(List.of(ValidadorEstudiante.ERROR_NOMBRE, ValidadorEstudiante.ERROR_EMAIL,
+                        ValidadorEstudiante.ERROR_EDAD, ValidadorEstudiante.ERROR_CURSO),
+                validador.violaciones(" ", null, 101, " "));
+        assertTrue(validador.violaciones("Ana García", "ana@test.com", 100, "Java").isEmpty());
+    }
+}